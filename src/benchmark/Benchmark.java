@@ -0,0 +1,206 @@
+package benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Arnés mínimo de microbenchmarks al estilo de JMH.
+ * <p>
+ * Cada caso se ejecuta en iteraciones de duración fija: primero unas de
+ * calentamiento, que se descartan, y luego las de medición. Dentro de cada
+ * iteración la operación se llama en lotes para que el coste de leer el reloj
+ * no domine las operaciones muy cortas, y su resultado se acumula en un campo
+ * volátil para que el JIT no la elimine. La memoria reservada se mide por hilo
+ * con {@link com.sun.management.ThreadMXBean} cuando la JVM lo permite.
+ * </p>
+ */
+public final class Benchmark {
+
+    /**
+     * Modo de medición, equivalente a los de JMH.
+     */
+    public enum Mode {
+        THROUGHPUT("thrpt", "ops/s"),
+        AVERAGE_TIME("avgt", "ns/op");
+
+        private final String shortName;
+        private final String units;
+
+        Mode(String shortName, String units) {
+            this.shortName = shortName;
+            this.units = units;
+        }
+
+        public String getShortName() {
+            return shortName;
+        }
+
+        public String getUnits() {
+            return units;
+        }
+    }
+
+    /**
+     * Operación a medir. Devuelve un valor que el arnés consume para evitar
+     * que el compilador descarte el trabajo.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        long run() throws Exception;
+    }
+
+    /**
+     * Resultado de un caso.
+     * @param score Media por iteración en las unidades del modo
+     * @param error Desviación estándar entre iteraciones
+     * @param bytesPerOp Bytes reservados por operación, o -1 si no se pueden medir
+     * @param allocRate Tasa de reserva de memoria en MB/s, o -1 si no se puede medir
+     */
+    public record Result(String name, Mode mode, int iterations, double score, double error,
+                         double bytesPerOp, double allocRate) {
+
+        public static String header() {
+            return String.format("%-36s %6s %4s %14s %12s %-6s %10s %10s",
+                "Benchmark", "Mode", "Cnt", "Score", "Error", "Units", "B/op", "MB/s");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s %6s %4d %14.3f ± %10.3f %-6s %10s %10s",
+                name, mode.getShortName(), iterations, score, error, mode.getUnits(),
+                bytesPerOp < 0 ? "n/d" : String.format("%.1f", bytesPerOp),
+                allocRate < 0 ? "n/d" : String.format("%.1f", allocRate));
+        }
+    }
+
+    /** Duración objetivo de cada lote entre lecturas del reloj. */
+    private static final long BATCH_NANOS = 20_000;
+
+    private static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final boolean quiet;
+
+    /**
+     * @param warmupIterations Iteraciones de calentamiento
+     * @param measurementIterations Iteraciones medidas
+     * @param iterationMillis Duración de cada iteración en milisegundos
+     * @param quiet Si es true se descarta la salida por consola del juego durante la medición
+     */
+    public Benchmark(int warmupIterations, int measurementIterations, long iterationMillis, boolean quiet) {
+        if (warmupIterations < 0 || measurementIterations <= 0 || iterationMillis <= 0) {
+            throw new IllegalArgumentException("Configuración de iteraciones inválida.");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.quiet = quiet;
+    }
+
+    /**
+     * Mide una operación en el modo indicado.
+     * @param name Nombre del caso en el informe
+     * @param mode Modo de medición
+     * @param operation Operación a medir
+     * @return El resultado agregado de las iteraciones medidas
+     * @throws Exception Si la operación falla
+     */
+    public Result run(String name, Mode mode, Operation operation) throws Exception {
+        com.sun.management.ThreadMXBean allocations = allocationBean();
+        long threadId = Thread.currentThread().getId();
+        PrintStream out = System.out;
+        if (quiet) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        try {
+            long batch = 1;
+            for (int i = 0; i < warmupIterations; i++) {
+                long[] measured = iterate(operation, batch);
+                batch = nextBatch(measured[0], measured[1]);
+            }
+
+            double[] scores = new double[measurementIterations];
+            long totalOps = 0;
+            long totalNanos = 0;
+            long totalBytes = 0;
+            for (int i = 0; i < measurementIterations; i++) {
+                long bytesBefore = allocations != null ? allocations.getThreadAllocatedBytes(threadId) : 0;
+                long[] measured = iterate(operation, batch);
+                if (allocations != null) {
+                    totalBytes += allocations.getThreadAllocatedBytes(threadId) - bytesBefore;
+                }
+                long ops = measured[0];
+                long nanos = measured[1];
+                scores[i] = mode == Mode.THROUGHPUT ? ops * 1e9 / nanos : (double) nanos / ops;
+                totalOps += ops;
+                totalNanos += nanos;
+                batch = nextBatch(ops, nanos);
+            }
+
+            double bytesPerOp = allocations != null ? (double) totalBytes / totalOps : -1;
+            double allocRate = allocations != null ? totalBytes / (totalNanos / 1e9) / 1_000_000 : -1;
+            return new Result(name, mode, measurementIterations, mean(scores), stdDev(scores),
+                bytesPerOp, allocRate);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    /**
+     * Ejecuta lotes de la operación hasta agotar la duración de la iteración.
+     * @return Operaciones realizadas y nanosegundos transcurridos
+     */
+    private long[] iterate(Operation operation, long batch) throws Exception {
+        long accumulator = 0;
+        long ops = 0;
+        long start = System.nanoTime();
+        long end = start + iterationNanos;
+        long now;
+        do {
+            for (long i = 0; i < batch; i++) {
+                accumulator += operation.run();
+            }
+            ops += batch;
+            now = System.nanoTime();
+        } while (now < end);
+        sink += accumulator;
+        return new long[] {ops, now - start};
+    }
+
+    private static long nextBatch(long ops, long nanos) {
+        return Math.max(1, ops * BATCH_NANOS / Math.max(1, nanos));
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double stdDev(double[] values) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double mean = mean(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+}
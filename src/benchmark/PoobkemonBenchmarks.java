@@ -0,0 +1,143 @@
+package benchmark;
+
+import domain.Attack;
+import domain.AttackFactory;
+import domain.BattleArenaNormal;
+import domain.BattleSimulator;
+import domain.EnsembleStrategy;
+import domain.ExpertStrategy;
+import domain.LearnedStrategy;
+import domain.Machine;
+import domain.MachineFactory;
+import domain.MachineStrategy;
+import domain.Pokemon;
+import domain.PokemonFactory;
+import domain.PokemonType;
+import domain.Poobkemon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Suite de benchmarks de los caminos calientes de batalla, IA y fábricas.
+ * <p>
+ * Uso: {@code PoobkemonBenchmarks [-wi n] [-i n] [-r ms] [-bm thrpt|avgt|all] [filtro]},
+ * donde el filtro es una expresión regular sobre el nombre del caso.
+ * </p>
+ */
+public class PoobkemonBenchmarks {
+
+    private static final long SEED = 42;
+
+    private record Case(String name, Benchmark.Operation operation) {}
+
+    public static void main(String[] args) throws Exception {
+        int warmup = 3;
+        int iterations = 5;
+        long millis = 1000;
+        List<Benchmark.Mode> modes = List.of(Benchmark.Mode.values());
+        Pattern filter = Pattern.compile(".*");
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi" -> warmup = Integer.parseInt(args[++i]);
+                case "-i" -> iterations = Integer.parseInt(args[++i]);
+                case "-r" -> millis = Long.parseLong(args[++i]);
+                case "-bm" -> modes = parseModes(args[++i]);
+                default -> filter = Pattern.compile(args[i]);
+            }
+        }
+
+        Benchmark benchmark = new Benchmark(warmup, iterations, millis, true);
+        System.out.println(Benchmark.Result.header());
+        for (Case c : cases()) {
+            if (!filter.matcher(c.name()).find()) {
+                continue;
+            }
+            for (Benchmark.Mode mode : modes) {
+                System.out.println(benchmark.run(c.name(), mode, c.operation()));
+            }
+        }
+    }
+
+    private static List<Benchmark.Mode> parseModes(String value) {
+        return switch (value) {
+            case "thrpt" -> List.of(Benchmark.Mode.THROUGHPUT);
+            case "avgt" -> List.of(Benchmark.Mode.AVERAGE_TIME);
+            case "all" -> List.of(Benchmark.Mode.values());
+            default -> throw new IllegalArgumentException("Modo desconocido: " + value);
+        };
+    }
+
+    /**
+     * Construye los casos. El estado de cada uno se prepara una sola vez; las
+     * operaciones solo restauran lo imprescindible (como los PP) para que cada
+     * llamada haga el mismo trabajo.
+     */
+    private static List<Case> cases() throws Exception {
+        List<Case> cases = new ArrayList<>();
+
+        Pokemon charizard = PokemonFactory.createPokemon("Charizard");
+        Pokemon venusaur = PokemonFactory.createPokemon("Venusaur");
+        Attack cascada = AttackFactory.createAttack("Cascada");
+        SplittableRandom damageRandom = new SplittableRandom(SEED);
+        cases.add(new Case("Attack.calcDaño", () -> {
+            cascada.setPowerPoint(5);
+            return cascada.calcDaño(charizard, venusaur, damageRandom);
+        }));
+
+        int[] typePair = {0};
+        cases.add(new Case("PokemonType.against", () -> {
+            int pair = typePair[0] = (typePair[0] + 1) % (PokemonType.COUNT * PokemonType.COUNT);
+            PokemonType attack = PokemonType.fromIndex(pair / PokemonType.COUNT);
+            PokemonType defender = PokemonType.fromIndex(pair % PokemonType.COUNT);
+            return (long) (attack.against(defender) * 2);
+        }));
+
+        List<String> teams = new ArrayList<>(Poobkemon.getAvailablePokemon());
+        BattleArenaNormal arena = new BattleArenaNormal(SEED);
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(teams.subList(0, 6)), new ArrayList<>(teams.subList(6, 12)), "Expert", "Expert");
+        Machine machine = (Machine) arena.getCoaches()[0];
+        ExpertStrategy expert = new ExpertStrategy();
+        cases.add(new Case("ExpertStrategy.selectAttack", () -> expert.selectAttack(machine, arena)));
+        cases.add(new Case("ExpertStrategy.selectPokemon", () -> expert.selectPokemon(machine, arena)));
+        cases.add(new Case("ExpertStrategy.decideAction", () -> expert.decideAction(machine, arena)));
+        for (MachineFactory.MachineType type : List.of(MachineFactory.MachineType.ATTACKING,
+                MachineFactory.MachineType.DEFENSIVE, MachineFactory.MachineType.CHANGING)) {
+            MachineStrategy strategy = MachineFactory.createStrategy(type);
+            cases.add(new Case(type.getDisplayName() + "Strategy.selectAttack", () -> strategy.selectAttack(machine, arena)));
+        }
+        MachineStrategy ensemble = new EnsembleStrategy(new ExpertStrategy(),
+            MachineFactory.createStrategy(MachineFactory.MachineType.ATTACKING),
+            MachineFactory.createStrategy(MachineFactory.MachineType.CHANGING));
+        cases.add(new Case("EnsembleStrategy.selectAttack", () -> ensemble.selectAttack(machine, arena)));
+        LearnedStrategy learned = new LearnedStrategy(LearnedStrategy.Model.DEFAULT);
+        cases.add(new Case("LearnedStrategy.selectAttack", () -> learned.selectAttack(machine, arena)));
+        cases.add(new Case("LearnedStrategy.selectPokemon", () -> learned.selectPokemon(machine, arena)));
+
+        List<String> attackNames = AttackFactory.getAttackNames();
+        int[] attackIndex = {0};
+        cases.add(new Case("AttackFactory.createAttack", () -> {
+            attackIndex[0] = (attackIndex[0] + 1) % attackNames.size();
+            return AttackFactory.createAttack(attackNames.get(attackIndex[0])).getBaseDamage();
+        }));
+
+        int[] pokemonIndex = {0};
+        cases.add(new Case("PokemonFactory.createPokemon", () -> {
+            pokemonIndex[0] = (pokemonIndex[0] + 1) % teams.size();
+            return PokemonFactory.createPokemon(teams.get(pokemonIndex[0])).getPs();
+        }));
+
+        BattleSimulator simulator = new BattleSimulator();
+        BattleSimulator.Team team0 = new BattleSimulator.Team("Expert", teams.subList(0, 6));
+        BattleSimulator.Team team1 = new BattleSimulator.Team("Attacking", teams.subList(6, 12));
+        long[] battleSeed = {SEED};
+        cases.add(new Case("BattleArenaNormal.machineVsMachine",
+            () -> simulator.simulate(team0, team1, battleSeed[0]++).turns()));
+
+        return cases;
+    }
+}
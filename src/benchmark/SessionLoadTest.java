@@ -0,0 +1,162 @@
+package benchmark;
+
+import domain.BattleSessionManager;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prueba de carga de {@link BattleSessionManager}: muchas batallas abiertas a
+ * la vez y varios hilos jugando turnos sobre sesiones al azar.
+ * <p>
+ * Uso: {@code SessionLoadTest [-s sesiones] [-t hilos] [-n acciones por hilo] [-m tipo de máquina]}.
+ * Cada acción es un turno del humano seguido de la respuesta de la máquina;
+ * se mide su latencia, incluida la espera por el cerrojo de la sesión, y al
+ * final se muestran los percentiles y el rendimiento total.
+ * </p>
+ */
+public class SessionLoadTest {
+
+    private static final long SEED = 42;
+    private static final int TEAM_SIZE = 6;
+
+    public static void main(String[] args) throws Exception {
+        int sessions = 5000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int actions = 20000;
+        String machineType = "Attacking";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-s" -> sessions = Integer.parseInt(args[++i]);
+                case "-t" -> threads = Integer.parseInt(args[++i]);
+                case "-n" -> actions = Integer.parseInt(args[++i]);
+                case "-m" -> machineType = args[++i];
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        BattleSessionManager manager = new BattleSessionManager();
+        long[] ids = new long[sessions];
+        SplittableRandom setupRandom = new SplittableRandom(SEED);
+        long setupStart = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            ids[i] = start(manager, machineType, setupRandom);
+        }
+        long setupNanos = System.nanoTime() - setupStart;
+        System.out.printf("%d sesiones creadas en %.1f ms%n", sessions, setupNanos / 1e6);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(player(manager, ids, actions, machineType, random.split())));
+        }
+        long[] latencies = new long[threads * actions];
+        int filled = 0;
+        for (Future<long[]> result : results) {
+            long[] partial = result.get();
+            System.arraycopy(partial, 0, latencies, filled, partial.length);
+            filled += partial.length;
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%d acciones con %d hilos en %.1f ms (%.0f acciones/s)%n",
+            latencies.length, threads, elapsed / 1e6, latencies.length / (elapsed / 1e9));
+        System.out.printf("p50 %.1f us  p99 %.1f us  p99.9 %.1f us  máx %.1f us%n",
+            percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+            percentile(latencies, 0.999) / 1e3, latencies[latencies.length - 1] / 1e3);
+        for (long id : ids) {
+            manager.end(id);
+        }
+    }
+
+    /**
+     * Hilo jugador: elige una sesión al azar, juega un turno completo y anota
+     * su latencia. Las batallas terminadas se sustituyen por otras nuevas.
+     */
+    private static Callable<long[]> player(BattleSessionManager manager, long[] ids,
+                                            int actions, String machineType,
+                                            SplittableRandom random) {
+        return () -> {
+            long[] latencies = new long[actions];
+            for (int i = 0; i < actions; i++) {
+                int slot = random.nextInt(ids.length);
+                long id;
+                synchronized (ids) {
+                    id = ids[slot];
+                }
+                long begin = System.nanoTime();
+                boolean finished;
+                try {
+                    finished = manager.act(id, game -> {
+                        playHumanTurn(game);
+                        game.processMachineTurn();
+                        game.changeTurn();
+                        return game.getBattleArena().isBattleFinished();
+                    });
+                } catch (PoobkemonException e) {
+                    // Otro hilo ya sustituyó la sesión; se cuenta igual
+                    finished = false;
+                }
+                latencies[i] = System.nanoTime() - begin;
+                if (finished && manager.end(id)) {
+                    long replacement = start(manager, machineType, random);
+                    synchronized (ids) {
+                        ids[slot] = replacement;
+                    }
+                }
+            }
+            return latencies;
+        };
+    }
+
+    /**
+     * Turno del humano: ataca con el primer movimiento o, si su pokémon está
+     * debilitado, cambia al primero que siga vivo.
+     */
+    private static void playHumanTurn(Poobkemon game) throws PoobkemonException {
+        if (game.getActivePokemonCurrentHP(true) <= 0) {
+            List<String> alive = game.getPokemonsVivos(true);
+            if (!alive.isEmpty()) {
+                game.cambiarPokemonActivo(true, alive.get(0));
+            }
+        } else {
+            game.attack(game.getActivePokemonMoves(true).get(0), false, true);
+        }
+        game.changeTurn();
+    }
+
+    private static long start(BattleSessionManager manager, String machineType,
+                              SplittableRandom random) throws PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        List<String> attacks = Poobkemon.getPhysicalAttacks();
+        ArrayList<String> human = new ArrayList<>();
+        ArrayList<String> machine = new ArrayList<>();
+        String[][] humanAttacks = new String[TEAM_SIZE][4];
+        for (int i = 0; i < TEAM_SIZE; i++) {
+            human.add(available.get(random.nextInt(available.size())));
+            machine.add(available.get(random.nextInt(available.size())));
+            for (int j = 0; j < 4; j++) {
+                humanAttacks[i][j] = attacks.get(random.nextInt(attacks.size()));
+            }
+        }
+        return manager.startHumanVsMachine("Humano", "Máquina", human, machine,
+            new ArrayList<>(), humanAttacks, machineType);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
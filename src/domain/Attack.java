@@ -1,43 +1,51 @@
 package domain;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public abstract class Attack {
-    protected String name;
-    protected String type;
-    protected int baseDamage;
-    protected int precision;
+    protected final AttackTemplate template; // Datos fijos, compartidos por todas las copias del ataque
     protected int powerPoint;
-    private String attackType;
-    protected String effect; // Nuevo campo para el efecto del ataque
     
     public Attack(String name, String type, int baseDamage, int powerPoint, int precision, String attackType, String effect) {
-        this.name = name;
-        this.type = type;
-        this.baseDamage = baseDamage;
-        this.powerPoint = powerPoint;
-        this.precision = precision;
-        this.attackType = attackType;
-        this.effect = effect;
+        this(new AttackTemplate(name, type, baseDamage, powerPoint, precision, attackType, effect, null, 0));
+    }
+
+    /**
+     * Crea una copia del ataque a partir de su plantilla, con todos sus PP.
+     */
+    protected Attack(AttackTemplate template) {
+        this.template = template;
+        this.powerPoint = template.powerPoint();
+    }
+
+    public AttackTemplate getTemplate() {
+        return template;
     }
 
     public String getName() {
-        return name;
+        return template.name();
     }
 
     
     public int getBaseDamage() {
-        return baseDamage;
+        return template.baseDamage();
     }
 
     public String getType() {
-        return type;
+        return template.type();
+    }
+
+    /**
+     * Obtiene el tipo del ataque para consultar la tabla de efectividad.
+     * @return El tipo, o null si el tipo no está reconocido
+     */
+    public PokemonType getPokemonType() {
+        return template.pokemonType();
     }
 
     public int getPrecision() {
-        return precision;
+        return template.precision();
     }
     
     public void setPowerPoint(int pp) {
@@ -53,7 +61,7 @@ public abstract class Attack {
     }
 
     public String getAttackType() {
-        return this.attackType;
+        return template.attackType();
     }
     
     /**
@@ -61,7 +69,7 @@ public abstract class Attack {
      * @return El efecto del ataque, o null si no tiene.
      */
     public String getEffect() {
-        return effect;
+        return template.effect();
     }
     
     /**
@@ -71,7 +79,7 @@ public abstract class Attack {
     public int getMaxPowerPoint() {
         // Valores predeterminados según el tipo de ataque
         // Puedes ajustar esto según tus necesidades
-        switch (attackType) {
+        switch (template.attackType()) {
             case "Physical":
             case "Special":
                 return 15;
@@ -83,31 +91,41 @@ public abstract class Attack {
     }
 
     public int calcDaño(Pokemon atacante, Pokemon defensor) {
+        return calcDaño(atacante, defensor, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Calcula el daño del ataque usando la fuente de aleatoriedad de la batalla.
+     * @param random Generador aleatorio de la batalla, usado para la precisión
+     * @return El daño causado, o 0 si el ataque falla o no tiene PP
+     */
+    public int calcDaño(Pokemon atacante, Pokemon defensor, RandomGenerator random) {
         if (powerPoint <= 0) return 0;
 
-        Random rand = new Random();
-        if (rand.nextInt(100) + 1 > precision) {
-            System.out.println("El ataque falló debido a la precisión.");
+        if (random.nextInt(100) + 1 > template.precision()) {
+            BattleLogger.debug("El ataque falló debido a la precisión.");
             return 0;
         }
 
-        Integer tipoAtaque = efectivity.numberType.get(this.getType());
-        Integer tipoDefensor = efectivity.numberType.get(defensor.getType());
-        if (tipoAtaque == null) {
+        PokemonType pokemonType = template.pokemonType();
+        PokemonType tipoDefensor = defensor.getPokemonType();
+        if (pokemonType == null) {
             throw new RuntimeException("Tipo de ataque no reconocido: " + this.getType());
         }
         if (tipoDefensor == null) {
             throw new RuntimeException("Tipo de defensor no reconocido: " + defensor.getType());
         }
-        double efectividad = efectivity.efectividad(tipoAtaque, tipoDefensor);
-        int danioBase = (int) ((atacante.getSpecialAttack() * baseDamage * efectividad) / defensor.getSpecialDefense());
+        double efectividad = pokemonType.against(tipoDefensor, defensor.getSecondaryType());
+        int danioBase = (int) ((atacante.getSpecialAttack() * template.baseDamage() * efectividad) / defensor.getSpecialDefense());
         danioBase = Math.max(danioBase, 1); // Mínimo 1 de daño
 
-        System.out.println("Efectividad: " + efectividad + ", Daño calculado: " + danioBase);
         usarAtaque();
         return danioBase;
     }
 
+    /**
+     * Copia el ataque con los PP que le quedan; la plantilla se comparte.
+     */
     @Override
     public abstract Attack clone();
 }
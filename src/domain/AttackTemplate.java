@@ -0,0 +1,21 @@
+package domain;
+
+/**
+ * Datos fijos de un ataque, compartidos por todas sus copias.
+ * <p>
+ * Cada {@link Attack} de cada pokémon referencia su plantilla y solo guarda
+ * los PP que le quedan, así que copiar un ataque no copia nombre, tipo ni
+ * efecto. {@code affects} y {@code turnosDuracion} solo tienen sentido en los
+ * ataques de estado.
+ * </p>
+ */
+public record AttackTemplate(String name, String type, PokemonType pokemonType, int baseDamage, int powerPoint,
+                             int precision, String attackType, String effect, AttributeType affects,
+                             int turnosDuracion) {
+
+    public AttackTemplate(String name, String type, int baseDamage, int powerPoint, int precision,
+                          String attackType, String effect, AttributeType affects, int turnosDuracion) {
+        this(name, type, PokemonType.fromName(type), baseDamage, powerPoint, precision, attackType, effect,
+            affects, turnosDuracion);
+    }
+}
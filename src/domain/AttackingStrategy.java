@@ -1,15 +1,12 @@
 package domain;
 
 import java.util.List;
-import java.util.Random;
 
 /**
  * Estrategia agresiva que prioriza ataques con alto daño.
  */
 public class AttackingStrategy implements MachineStrategy {
     
-    private final Random random = new Random();
-    
     @Override
     public int decideAction(Machine machine, BattleArena battleArena) {
         // Prioriza atacar (80% probabilidad)
@@ -18,8 +15,10 @@ public class AttackingStrategy implements MachineStrategy {
         // Si está muy dañado, considera cambiar o usar ítem
         if (active != null && active.getPs() < active.getTotalPs() * 0.3) {
             // 75% probabilidad de cambiar si hay otros pokémon disponibles
-            if (random.nextInt(100) < 75 && machine.getPokemons().size() > 1) {
-                for (Pokemon p : machine.getPokemons()) {
+            List<Pokemon> pokemons = machine.getPokemons();
+            if (battleArena.getRandom().nextInt(100) < 75 && pokemons.size() > 1) {
+                for (int i = 0; i < pokemons.size(); i++) {
+                    Pokemon p = pokemons.get(i);
                     if (p != active && p.getPs() > 0) {
                         return 3; // Cambiar pokémon
                     }
@@ -27,7 +26,7 @@ public class AttackingStrategy implements MachineStrategy {
             }
             
             // 20% probabilidad de usar ítem si tiene disponibles
-            if (random.nextInt(100) < 20 && !machine.getItems().isEmpty()) {
+            if (battleArena.getRandom().nextInt(100) < 20 && !machine.getItems().isEmpty()) {
                 return 2; // Usar ítem
             }
         }
@@ -37,19 +36,16 @@ public class AttackingStrategy implements MachineStrategy {
     }
     
     @Override
-    public String selectAttack(Machine machine, BattleArena battleArena) {
+    public int selectAttack(Machine machine, BattleArena battleArena) {
         Pokemon active = machine.getActivePokemon();
         List<Attack> attacks = active.getAtaques();
         
-        if (attacks.isEmpty()) {
-            return null;
-        }
-        
         // Busca el ataque más fuerte disponible
-        Attack bestAttack = null;
+        int bestAttack = -1;
         int maxPower = 0;
         
-        for (Attack attack : attacks) {
+        for (int i = 0; i < attacks.size(); i++) {
+            Attack attack = attacks.get(i);
             // Prefiere ataques físicos o especiales, no de estado
             if ((attack instanceof PhysicalAttack || attack instanceof SpecialAttack) && 
                 attack.getPowerPoint() > 0) {
@@ -57,30 +53,30 @@ public class AttackingStrategy implements MachineStrategy {
                 int power = attack.getBaseDamage();
                 if (power > maxPower) {
                     maxPower = power;
-                    bestAttack = attack;
+                    bestAttack = i;
                 }
             }
         }
         
         // Si no encontró ataque físico/especial, usa cualquiera disponible
-        if (bestAttack == null) {
-            for (Attack attack : attacks) {
-                if (attack.getPowerPoint() > 0) {
-                    bestAttack = attack;
+        if (bestAttack < 0) {
+            for (int i = 0; i < attacks.size(); i++) {
+                if (attacks.get(i).getPowerPoint() > 0) {
+                    bestAttack = i;
                     break;
                 }
             }
         }
         
-        return bestAttack != null ? bestAttack.getName() : null;
+        return bestAttack;
     }
     
     @Override
-    public String selectItem(Machine machine, BattleArena battleArena) {
+    public int selectItem(Machine machine, BattleArena battleArena) {
         List<Item> items = machine.getItems();
         
         if (items.isEmpty()) {
-            return null;
+            return -1;
         }
         
         // Prioriza ítems de curación si la vida está baja
@@ -89,15 +85,15 @@ public class AttackingStrategy implements MachineStrategy {
         
         if (healthRatio < 0.5) {
             // Busca el mejor ítem de curación
-            for (Item item : items) {
-                if (item.getName().contains("Poción")) {
-                    return item.getName();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).getName().contains("Poción")) {
+                    return i;
                 }
             }
         }
         
         // Si no hay ítems específicos, elige uno al azar
-        return items.get(random.nextInt(items.size())).getName();
+        return battleArena.getRandom().nextInt(items.size());
     }
     
     @Override
@@ -1,37 +1,154 @@
 package domain;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.random.RandomGenerator;
 
 public abstract class BattleArena {
     protected int currentTurn = 0;
-    private static final int MAX_TIME_SECONDS = 20;
+    /** Tiempo máximo de cada turno, en segundos. */
+    public static final int MAX_TIME_SECONDS = 20;
     protected Coach[] coaches = new Coach[2];
-    private boolean isPaused;
-    private Timer turnTimer;
-    private Random rand = new Random();
-    private long timeRemaining = MAX_TIME_SECONDS * 1000L; // Tiempo restante en milisegundos
-    private long pauseStartTime; // Momento en que se pausó el juego
+    private final TurnClock turnClock = new TurnClock(MAX_TIME_SECONDS * 1000L);
+    protected final RandomGenerator rand;
     protected boolean battleFinished;
     protected boolean isPlayer1Turn;
+    protected int turnNumber; // Turnos jugados desde el inicio de la batalla
+    private final List<BattleListener> listeners = new CopyOnWriteArrayList<>();
+    private BattleState.Layout stateLayout; // Disposición compartida por los estados de esta batalla
+    private MatchupTable matchups; // Enfrentamientos precalculados para las estrategias
 
 
     public BattleArena() {
-        this.isPaused = false;
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Crea una arena cuya aleatoriedad depende solo de la semilla dada,
+     * de modo que la batalla se puede reproducir.
+     * @param seed Semilla de la batalla
+     */
+    public BattleArena(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Crea una arena con la fuente de aleatoriedad indicada. Es la única
+     * fuente que usan la arena, los ataques y las máquinas de esta batalla.
+     * @param random Generador aleatorio de la batalla
+     */
+    protected BattleArena(RandomGenerator random) {
+        this.rand = random;
         this.battleFinished = false;
     }
 
+    /**
+     * Obtiene la fuente de aleatoriedad de esta batalla.
+     */
+    public RandomGenerator getRandom() {
+        return rand;
+    }
+
+    /**
+     * Registra un oyente que recibirá todos los eventos de esta batalla.
+     */
+    public void addListener(BattleListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BattleListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Indica si hay oyentes; permite evitar el trabajo de preparar eventos que nadie recibirá.
+     */
+    protected boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    protected void emit(BattleEvent.Type type, int coach, int slot, int arg, int value) {
+        BattleEvent event = new BattleEvent(type, turnNumber, coach, slot, arg, value);
+        for (BattleListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+
+    /**
+     * Guarda el estado completo de la batalla en un estado nuevo.
+     * Todos los estados de la misma batalla comparten disposición.
+     */
+    public BattleState snapshot() {
+        BattleState state = new BattleState(getStateLayout());
+        state.captureFrom(this);
+        return state;
+    }
+
+    /**
+     * Guarda el estado de la batalla en un estado existente, sin reservar memoria.
+     */
+    public void snapshot(BattleState into) {
+        into.captureFrom(this);
+    }
+
+    /**
+     * Devuelve la batalla a un estado guardado con {@link #snapshot()}.
+     */
+    public void restore(BattleState state) {
+        state.restoreTo(this);
+    }
+
+    /**
+     * Obtiene la disposición de los estados de esta batalla, creándola si los
+     * equipos han cambiado de forma desde la última vez.
+     */
+    public BattleState.Layout getStateLayout() {
+        if (stateLayout == null || !stateLayout.matches(this)) {
+            stateLayout = BattleState.Layout.of(this);
+        }
+        return stateLayout;
+    }
+
+    /**
+     * Obtiene la tabla de enfrentamientos de esta batalla, creándola si los
+     * equipos han cambiado desde la última vez.
+     */
+    public MatchupTable getMatchups() {
+        if (matchups == null || !matchups.matches(this)) {
+            matchups = new MatchupTable(this);
+        }
+        return matchups;
+    }
+
+    /**
+     * Número de turnos jugados desde el inicio de la batalla.
+     */
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
     /**
      * Configura los entrenadores y determina quién inicia.
      */
     public void setupCoaches(String coachName1, String coachName2, ArrayList<String> pokemons1,
                              ArrayList<String> pokemons2, ArrayList<String> items1, ArrayList<String> items2,
                              String[][] pokemAttacks1, String[][] pokemAttacks2) throws PoobkemonException {
-        boolean firstStarts = rand.nextBoolean();
+        setupCoaches(coachName1, coachName2, pokemons1, pokemons2, items1, items2, pokemAttacks1, pokemAttacks2,
+            rand.nextBoolean());
+    }
 
+    /**
+     * Configura los entrenadores con un orden ya decidido, por ejemplo para
+     * reproducir en un cliente la batalla que arbitra un servidor.
+     * @param firstStarts true si el primer entrenador juega como coaches[0]
+     */
+    public void setupCoaches(String coachName1, String coachName2, ArrayList<String> pokemons1,
+                             ArrayList<String> pokemons2, ArrayList<String> items1, ArrayList<String> items2,
+                             String[][] pokemAttacks1, String[][] pokemAttacks2,
+                             boolean firstStarts) throws PoobkemonException {
         // Crear y asignar entrenadores
         if (firstStarts) {
             coaches[0] = new HumanCoach(coachName1, createPokemonList(pokemons1, pokemAttacks1), items1);
@@ -48,7 +165,6 @@ public abstract class BattleArena {
      * Verifica si la batalla ha terminado.
      */
     public boolean isBattleFinished() {
-    	System.out.println(coaches[0].areAllPokemonFainted() || coaches[1].areAllPokemonFainted());
         return this.battleFinished||coaches[0].areAllPokemonFainted() || coaches[1].areAllPokemonFainted();
     }
 
@@ -56,39 +172,29 @@ public abstract class BattleArena {
      * Inicia el temporizador para un turno específico.
      */
     protected void startTurnTimer(final int coachIndex) {
-        turnTimer = new Timer();
-        turnTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (!isPaused) {
-                    //System.out.println("Tiempo excedido para " + coaches[coachIndex].getName());
-                    coaches[coachIndex].handleTurnTimeout();
-                    cancelTurnTimer();
-                    currentTurn = 1 - coachIndex; // Cambiar turno automáticamente
-                }
+        turnClock.start(() -> {
+            coaches[coachIndex].handleTurnTimeout();
+            if (hasListeners()) {
+                emit(BattleEvent.Type.TIMEOUT, coachIndex, coaches[coachIndex].getActivePokemonIndex(), 0, 0);
             }
-        }, timeRemaining);
+            currentTurn = 1 - coachIndex; // Cambiar turno automáticamente
+        });
     }
 
     /**
      * Cancela el temporizador de turno activo.
      */
     protected void cancelTurnTimer() {
-        if (turnTimer != null) {
-            turnTimer.cancel();
-            turnTimer = null;
-        }
+        turnClock.cancel();
     }
 
     /**
      * Pausa la batalla.
      */
     public void pauseBattle() {
-        if (!isPaused) {
-            this.isPaused = true;
-            pauseStartTime = System.currentTimeMillis(); // Guardar el momento en que se pausó
-            cancelTurnTimer(); // Detener el temporizador
-            System.out.println("La batalla ha sido pausada.");
+        if (!turnClock.isPaused()) {
+            turnClock.pause();
+            BattleLogger.info("La batalla ha sido pausada.");
         }
     }
 
@@ -96,15 +202,19 @@ public abstract class BattleArena {
      * Reanuda la batalla.
      */
     public void resumeBattle() {
-        if (isPaused) {
-            this.isPaused = false;
-            long pauseDuration = System.currentTimeMillis() - pauseStartTime; // Calcular la duración de la pausa
-            timeRemaining -= pauseDuration; // Reducir el tiempo restante por la duración de la pausa
-            System.out.println("La batalla ha sido reanudada. Tiempo restante: " + timeRemaining / 1000 + " segundos.");
-            startTurnTimer(currentTurn); // Reiniciar el temporizador con el tiempo restante
+        if (turnClock.isPaused()) {
+            turnClock.resume();
+            BattleLogger.info("La batalla ha sido reanudada. Tiempo restante: " + turnClock.getRemainingMillis() / 1000 + " segundos.");
         }
     }
 
+    /**
+     * Reloj del turno en curso, compartido con el planificador del resto de batallas.
+     */
+    public TurnClock getTurnClock() {
+        return turnClock;
+    }
+
     /**
      * Finaliza la batalla y limpia recursos.
      */
@@ -149,6 +259,7 @@ public abstract class BattleArena {
      */
     protected void nextTurn() {
         currentTurn = 1 - currentTurn;
+        turnNumber++;
     }
 
     /**
@@ -159,40 +270,89 @@ public abstract class BattleArena {
     }
 
     public int attack(String nombreAtaque, boolean toItself, boolean esJugador1) throws PoobkemonException {
+        Pokemon attacker = coaches[esJugador1 ? 0 : 1].getActivePokemon();
+        return attack(attacker.indexOfAtaque(nombreAtaque), toItself, esJugador1);
+    }
+
+    /**
+     * Ataca con el movimiento de la posición indicada del pokémon activo.
+     * @return El daño causado
+     */
+    public int attack(int move, boolean toItself, boolean esJugador1) throws PoobkemonException {
         Coach currentCoach = coaches[esJugador1 ? 0 : 1];
         Coach opponentCoach = coaches[esJugador1 ? 1 : 0];
         Pokemon attacker = currentCoach.getActivePokemon();
         Pokemon defender = opponentCoach.getActivePokemon();
 
-        Attack attack = attacker.getAtaquePorNombre(nombreAtaque); // Implementa este método si no existe
+        Attack attack = attacker.getAtaque(move);
 
         if (attack == null) throw new PoobkemonException("El Pokémon no conoce este ataque.");
 
-        if (toItself) {
-            return attacker.attack(attacker, attack);
-        } else {
-            return attacker.attack(defender, attack);
+        Pokemon target = toItself ? attacker : defender;
+        if (!hasListeners()) {
+            return attacker.attack(target, attack, rand);
         }
-    }
 
+        int ppBefore = attack.getPowerPoint();
+        int attackerHpBefore = attacker.getPs();
+        int targetHpBefore = target.getPs();
+        int damage = attacker.attack(target, attack, rand);
+        emitAttack(esJugador1 ? 0 : 1, toItself ? (esJugador1 ? 0 : 1) : (esJugador1 ? 1 : 0),
+                   attacker, target, attack, ppBefore, attackerHpBefore, targetHpBefore);
+        return damage;
+    }
 
-    public void useItem(String itemName) throws PoobkemonException {
-        // Obtener el entrenador actual
-        Coach currentCoach = getCurrentCoach();
+    /**
+     * Emite los eventos de un ataque ya resuelto. Un ataque que tenía PP y no
+     * los gastó ha fallado por precisión; uno sin PP no tiene efecto.
+     */
+    private void emitAttack(int attackerCoach, int targetCoach, Pokemon attacker, Pokemon target, Attack attack,
+                            int ppBefore, int attackerHpBefore, int targetHpBefore) {
+        int attackerSlot = coaches[attackerCoach].getPokemons().indexOf(attacker);
+        int move = attacker.getAtaques().indexOf(attack);
+        int ppAfter = attack.getPowerPoint();
+        emit(BattleEvent.Type.ATTACK, attackerCoach, attackerSlot, move, ppAfter);
+        if (ppBefore <= 0) {
+            return; // Sin PP el ataque no tiene efecto
+        }
+        if (ppAfter == ppBefore) {
+            emit(BattleEvent.Type.MISS, attackerCoach, attackerSlot, move, 0);
+            return;
+        }
+        int targetSlot = coaches[targetCoach].getPokemons().indexOf(target);
+        emit(BattleEvent.Type.DAMAGE, targetCoach, targetSlot, targetHpBefore - target.getPs(), target.getPs());
+        if (target != attacker && attacker.getPs() != attackerHpBefore) {
+            emit(BattleEvent.Type.DAMAGE, attackerCoach, attackerSlot, attackerHpBefore - attacker.getPs(),
+                 attacker.getPs());
+        }
+    }
 
-        // Buscar el ítem por su nombre
-        Item item = ItemFactory.createItem(itemName);
 
-        // Delegar el uso del ítem al entrenador actual
-        currentCoach.useItem(item);
+    public void useItem(String itemName) throws PoobkemonException {
+        // El nombre se resuelve una sola vez; el evento lleva el identificador real
+        useItem(ItemFactory.getItemId(itemName), currentTurn == 0);
     }
 
     public void switchToPokemon(int index) throws PoobkemonException {
-        System.out.println(2);
         // Obtener el entrenador actual
         Coach currentCoach = getCurrentCoach();
+        int previous = currentCoach.getActivePokemonIndex();
         // Cambiar al Pokémon activo
         currentCoach.switchPokemon(index);
+        emitSwitch(currentTurn, previous);
+    }
+
+    private void emitItem(int coach, int itemId) {
+        if (hasListeners()) {
+            Coach c = coaches[coach];
+            emit(BattleEvent.Type.ITEM, coach, c.getActivePokemonIndex(), itemId, c.getActivePokemon().getPs());
+        }
+    }
+
+    private void emitSwitch(int coach, int previous) {
+        if (hasListeners() && coaches[coach].getActivePokemonIndex() != previous) {
+            emit(BattleEvent.Type.SWITCH, coach, coaches[coach].getActivePokemonIndex(), previous, 0);
+        }
     }
 
     private ArrayList<Pokemon> createPokemonList(ArrayList<String> pokemonNames, String[][] pokemAttacks) {
@@ -221,6 +381,9 @@ public abstract class BattleArena {
 
     public void flee() {
         getCurrentCoach().fleeBattle(); // Marca al entrenador actual como que ha huido
+        if (hasListeners()) {
+            emit(BattleEvent.Type.FLEE, currentTurn, getCurrentCoach().getActivePokemonIndex(), 0, 0);
+        }
         setbattleFinished(true); // Marca la batalla como terminada
         endBattle(); // Finaliza la batalla
     }
@@ -235,19 +398,26 @@ public abstract class BattleArena {
             coaches[0].getActivePokemon().setTurnStatus(coaches[0].getActivePokemon().getTurnStatus() - 1);
             
             coaches[0].getActivePokemon().setPs(coaches[0].getActivePokemon().getPs() - 10);
+            if (hasListeners()) {
+                Pokemon active = coaches[0].getActivePokemon();
+                emit(BattleEvent.Type.STATUS_TICK, 0, coaches[0].getActivePokemonIndex(), active.getStatus(), active.getPs());
+            }
         }
             
     }
 
     public void changeTurn() {
         currentTurn = 1 - currentTurn;
+        turnNumber++;
         //startTurnTimer(currentTurn);
     }   
 
     public void setCurrentPokemon(int index) throws PoobkemonException {
         // Cambia el Pokémon activo al indicado por el jugador
         Coach currentCoach = getCurrentCoach();
+        int previous = currentCoach.getActivePokemonIndex();
         currentCoach.switchToPokemon(index);
+        emitSwitch(currentTurn, previous);
     }
 
     public boolean whoStarts(){
@@ -283,6 +453,14 @@ public abstract class BattleArena {
         return activo.getPPMaxDeAtaque(nombreAtaque);
     }
 
+    public int getPPDeAtaqueActual(boolean esJugador1, int move) {
+        return coaches[esJugador1 ? 0 : 1].getActivePokemon().getPPDeAtaque(move);
+    }
+
+    public int getPPMaxDeAtaqueActual(boolean esJugador1, int move) {
+        return coaches[esJugador1 ? 0 : 1].getActivePokemon().getPPMaxDeAtaque(move);
+    }
+
     public List<String> getItemsJugador(boolean esJugador1) {
         return coaches[esJugador1 ? 0 : 1].getNombreItems(); // Ajusta según tu estructura
     }
@@ -303,12 +481,49 @@ public abstract class BattleArena {
         return vivos;
     }
 
+    /**
+     * Posiciones en el equipo de los pokémon que aún pueden luchar.
+     */
+    public int[] getPokemonsVivosSlots(boolean esJugador1) {
+        List<Pokemon> team = coaches[esJugador1 ? 0 : 1].getPokemons();
+        int[] slots = new int[team.size()];
+        int count = 0;
+        for (int i = 0; i < team.size(); i++) {
+            if (team.get(i).getPs() > 0) slots[count++] = i;
+        }
+        return Arrays.copyOf(slots, count);
+    }
+
+    public String getPokemonName(boolean esJugador1, int slot) {
+        Pokemon pokemon = coaches[esJugador1 ? 0 : 1].getPokemon(slot);
+        return pokemon != null ? pokemon.getName() : null;
+    }
+
     public void cambiarPokemonActivo(boolean esJugador1, String nombrePokemon) {
-        coaches[esJugador1 ? 0 : 1].cambiarPokemonActivo(nombrePokemon);
+        int coach = esJugador1 ? 0 : 1;
+        int previous = coaches[coach].getActivePokemonIndex();
+        coaches[coach].cambiarPokemonActivo(nombrePokemon);
+        emitSwitch(coach, previous);
+    }
+
+    public void cambiarPokemonActivo(boolean esJugador1, int slot) {
+        int coach = esJugador1 ? 0 : 1;
+        int previous = coaches[coach].getActivePokemonIndex();
+        coaches[coach].cambiarPokemonActivo(slot);
+        emitSwitch(coach, previous);
     }
 
     public void useItem(String nombreItem, boolean esJugador1) throws PoobkemonException {
-        coaches[esJugador1 ? 0 : 1].useItem(nombreItem);
+        useItem(ItemFactory.getItemId(nombreItem), esJugador1);
+    }
+
+    /**
+     * Usa una unidad del ítem con ese identificador del inventario del jugador.
+     */
+    public void useItem(int itemId, boolean esJugador1) throws PoobkemonException {
+        int coach = esJugador1 ? 0 : 1;
+        coaches[coach].useItem(itemId);
+        emitItem(coach, itemId);
     }
 
     public List<String> getPokemonsMuertos(boolean esJugador1) {
@@ -320,7 +535,19 @@ public abstract class BattleArena {
     }
 
     public void revivirPokemon(boolean esJugador1, String nombrePokemon) throws PoobkemonException {
-        coaches[esJugador1 ? 0 : 1].revivirPokemon(nombrePokemon);
+        int coach = esJugador1 ? 0 : 1;
+        // El entrenador revive al primer pokémon debilitado con ese nombre
+        int slot = -1;
+        List<Pokemon> pokemons = coaches[coach].getPokemons();
+        for (int i = 0; i < pokemons.size() && slot < 0; i++) {
+            if (pokemons.get(i).getName().equals(nombrePokemon) && pokemons.get(i).getPs() == 0) {
+                slot = i;
+            }
+        }
+        coaches[coach].revivirPokemon(nombrePokemon);
+        if (hasListeners()) {
+            emit(BattleEvent.Type.REVIVE, coach, slot, 0, pokemons.get(slot).getPs());
+        }
     }
 
     public void setPokemonStatus(int status, boolean esJugador1) {
@@ -340,7 +567,24 @@ public abstract class BattleArena {
     }
 
     public void eliminarItem(boolean esJugador1, String nombreItem) {
-        coaches[esJugador1 ? 0 : 1].eliminarItem(nombreItem);
+        int coach = esJugador1 ? 0 : 1;
+        int itemId = ItemFactory.getItemId(nombreItem);
+        int units = coaches[coach].getItemCount(itemId);
+        coaches[coach].eliminarItem(nombreItem);
+        emitDiscard(coach, itemId, units);
+    }
+
+    public void eliminarItem(boolean esJugador1, int itemId) {
+        int coach = esJugador1 ? 0 : 1;
+        int units = Math.min(coaches[coach].getItemCount(itemId), 1);
+        coaches[coach].eliminarItem(itemId);
+        emitDiscard(coach, itemId, units);
+    }
+
+    private void emitDiscard(int coach, int itemId, int units) {
+        if (units > 0 && hasListeners()) {
+            emit(BattleEvent.Type.DISCARD, coach, coaches[coach].getActivePokemonIndex(), itemId, units);
+        }
     }
 
     public int getPokemonHP(boolean esJugador1, String nombrePokemon) {
@@ -355,6 +599,30 @@ public abstract class BattleArena {
         return pokemon != null ? pokemon.getTotalPs() : 0;
     }
 
+    public int getPokemonHP(boolean esJugador1, int slot) {
+        Pokemon pokemon = getCoach(esJugador1 ? 0 : 1).getPokemon(slot);
+        return pokemon != null ? pokemon.getPs() : 0;
+    }
+
+    public int getPokemonMaxHP(boolean esJugador1, int slot) {
+        Pokemon pokemon = getCoach(esJugador1 ? 0 : 1).getPokemon(slot);
+        return pokemon != null ? pokemon.getTotalPs() : 0;
+    }
+
+    /**
+     * Mezcla una lista usando el generador indicado (Fisher-Yates).
+     * @param list Lista a mezclar
+     * @param random Generador aleatorio de la batalla
+     */
+    protected static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T tmp = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, tmp);
+        }
+    }
+
     /**
      * Establece un entrenador en la posición especificada.
      * @param index Índice del entrenador (0 para el primer jugador, 1 para el segundo)
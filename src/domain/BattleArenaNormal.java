@@ -9,6 +9,10 @@ public class BattleArenaNormal extends BattleArena {
         super();
     }
 
+    public BattleArenaNormal(long seed) {
+        super(seed);
+    }
+
 
     /**
      * Aplica los efectos de estado a los Pokémon activos de ambos entrenadores.
@@ -17,7 +21,9 @@ public class BattleArenaNormal extends BattleArena {
         for (Coach coach : getCoaches()) {
             Pokemon activePokemon = coach.getActivePokemon();
             if (activePokemon.getStatus() != 0) {
-                System.out.println("Pokémon " + activePokemon.getName() + " está afectado por su estado.");
+                if (BattleLogger.isDebugEnabled()) {
+                    BattleLogger.debug("Pokémon " + activePokemon.getName() + " está afectado por su estado.");
+                }
                 activePokemon.applyEffectDamage();
             }
         }
@@ -75,23 +81,8 @@ public class BattleArenaNormal extends BattleArena {
     }
     
     // Crear la máquina según el tipo
-    Machine machine;
-    switch (machineType) {
-        case "Attacking":
-            machine = new AttackingMachine(machineName, machinePokemonList, new ArrayList<>());
-            break;
-        case "Defensive":
-            machine = new DefensiveMachine(machineName, machinePokemonList, new ArrayList<>());
-            break;
-        case "Changing":
-            machine = new ChangingMachine(machineName, machinePokemonList, new ArrayList<>());
-            break;
-        case "Expert":
-            machine = new ExpertMachine(machineName, machinePokemonList, new ArrayList<>());
-            break;
-        default:
-            machine = new AttackingMachine(machineName, machinePokemonList, new ArrayList<>());
-    }
+    Machine machine = MachineFactory.createMachine(MachineFactory.MachineType.fromName(machineType), machineName,
+        machinePokemonList, new ArrayList<>());
     
     // Asignar los entrenadores al array de coaches
     coaches[0] = humanCoach;  // Humano es el jugador 1
@@ -111,6 +102,7 @@ public class BattleArenaNormal extends BattleArena {
 
     // Establecer al humano como oponente de la máquina
     machine.setOpponent(humanCoach); 
+    machine.setBattleArena(this);
 }
 
 /**
@@ -164,23 +156,8 @@ public void setupMachineVsHuman(String machineName, String humanName,
         }
         
         // Crear la máquina según el tipo
-        Machine machine;
-        switch (machineType) {
-            case "Attacking":
-                machine = new AttackingMachine(machineName, machinePokemonList, new ArrayList<>());
-                break;
-            case "Defensive":
-                machine = new DefensiveMachine(machineName, machinePokemonList, new ArrayList<>());
-                break;
-            case "Changing":
-                machine = new ChangingMachine(machineName, machinePokemonList, new ArrayList<>());
-                break;
-            case "Expert":
-                machine = new ExpertMachine(machineName, machinePokemonList, new ArrayList<>());
-                break;
-            default:
-                machine = new AttackingMachine(machineName, machinePokemonList, new ArrayList<>());
-        }
+        Machine machine = MachineFactory.createMachine(MachineFactory.MachineType.fromName(machineType), machineName,
+            machinePokemonList, new ArrayList<>());
         
         // Asignar los entrenadores al array de coaches, pero ahora la máquina es el jugador 1
         coaches[0] = machine;      // Máquina es el jugador 1
@@ -200,6 +177,7 @@ public void setupMachineVsHuman(String machineName, String humanName,
 
         // Establecer al humano como oponente de la máquina
         machine.setOpponent(humanCoach); 
+        machine.setBattleArena(this);
     }
 
     /**
@@ -239,46 +217,18 @@ public void setupMachineVsHuman(String machineName, String humanName,
     }
     
     // Crear la primera máquina según su tipo
-    Machine machine1;
-    switch (machine1Type) {
-        case "Attacking":
-            machine1 = new AttackingMachine(machine1Name, machine1PokemonList, new ArrayList<>());
-            break;
-        case "Defensive":
-            machine1 = new DefensiveMachine(machine1Name, machine1PokemonList, new ArrayList<>());
-            break;
-        case "Changing":
-            machine1 = new ChangingMachine(machine1Name, machine1PokemonList, new ArrayList<>());
-            break;
-        case "Expert":
-            machine1 = new ExpertMachine(machine1Name, machine1PokemonList, new ArrayList<>());
-            break;
-        default:
-            machine1 = new AttackingMachine(machine1Name, machine1PokemonList, new ArrayList<>());
-    }
+    Machine machine1 = MachineFactory.createMachine(MachineFactory.MachineType.fromName(machine1Type), machine1Name,
+        machine1PokemonList, new ArrayList<>());
     
     // Crear la segunda máquina según su tipo
-    Machine machine2;
-    switch (machine2Type) {
-        case "Attacking":
-            machine2 = new AttackingMachine(machine2Name, machine2PokemonList, new ArrayList<>());
-            break;
-        case "Defensive":
-            machine2 = new DefensiveMachine(machine2Name, machine2PokemonList, new ArrayList<>());
-            break;
-        case "Changing":
-            machine2 = new ChangingMachine(machine2Name, machine2PokemonList, new ArrayList<>());
-            break;
-        case "Expert":
-            machine2 = new ExpertMachine(machine2Name, machine2PokemonList, new ArrayList<>());
-            break;
-        default:
-            machine2 = new AttackingMachine(machine2Name, machine2PokemonList, new ArrayList<>());
-    }
+    Machine machine2 = MachineFactory.createMachine(MachineFactory.MachineType.fromName(machine2Type), machine2Name,
+        machine2PokemonList, new ArrayList<>());
     
     // Establecer los oponentes para que cada máquina conozca a su rival
     machine1.setOpponent(machine2);
     machine2.setOpponent(machine1);
+    machine1.setBattleArena(this);
+    machine2.setBattleArena(this);
     
     // Asignar las máquinas al array de coaches
     coaches[0] = machine1;
@@ -347,6 +297,8 @@ public void setupMachineVsHuman(String machineName, String humanName,
                 addRandomAttacks(selectedAttacks, statusAttacks, 2);
                 break;
             case "Expert":
+            case "Search":
+            case "Learned":
                 // Selección balanceada y estratégica
                 addRandomAttacks(selectedAttacks, physicalAttacks, 1);
                 addRandomAttacks(selectedAttacks, specialAttacks, 1);
@@ -396,7 +348,7 @@ public void setupMachineVsHuman(String machineName, String humanName,
         }
         
         // Seleccionar un ataque aleatorio
-        int randomIndex = (int)(Math.random() * availableAttacks.size());
+        int randomIndex = rand.nextInt(availableAttacks.size());
         String attackName = availableAttacks.get(randomIndex);
         
         // Crear el ataque y agregarlo a la lista
@@ -1,7 +1,6 @@
 package domain;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class BattleArenaSurvival extends BattleArena {
@@ -10,6 +9,10 @@ public class BattleArenaSurvival extends BattleArena {
         super();
     }
 
+    public BattleArenaSurvival(long seed) {
+        super(seed);
+    }
+
     
     public void attack(String moveName, String itself) throws PoobkemonException {
         Coach currentCoach = getCurrentCoach();
@@ -34,7 +37,7 @@ public class BattleArenaSurvival extends BattleArena {
             attacker.attack(defender, attack);
             }
         } else {
-            System.out.println("No puedes usar este ataque, no tienes PP.");
+            BattleLogger.info("No puedes usar este ataque, no tienes PP.");
         }
     }
 
@@ -49,7 +52,7 @@ public class BattleArenaSurvival extends BattleArena {
         }
         
         // Mezclar la lista para obtener Pokémon aleatorios
-        Collections.shuffle(allPokemon);
+        shuffle(allPokemon, rand);
         
         // Seleccionar 6 Pokémon para cada jugador
         ArrayList<String> pokemons1 = new ArrayList<>(allPokemon.subList(0, 6));
@@ -80,13 +83,15 @@ public class BattleArenaSurvival extends BattleArena {
         String[][] pokemAttacks = new String[pokemons.size()][4];
 
         for (int i = 0; i < pokemons.size(); i++) {
-            Collections.shuffle(allMoves); // Mezclar los movimientos
+            shuffle(allMoves, rand); // Mezclar los movimientos
             for (int j = 0; j < 4; j++) {
                 pokemAttacks[i][j] = allMoves.get(j); // Asignar los primeros 4 movimientos
             }
             // Mostrar los movimientos asignados en consola
-            System.out.println("Pokémon: " + pokemons.get(i) + " - Movimientos: " + 
-                String.join(", ", pokemAttacks[i]));
+            if (BattleLogger.isDebugEnabled()) {
+                BattleLogger.debug("Pokémon: " + pokemons.get(i) + " - Movimientos: " +
+                    String.join(", ", pokemAttacks[i]));
+            }
         }
         return pokemAttacks;
     }
@@ -0,0 +1,56 @@
+package domain;
+
+/**
+ * Evento de batalla compacto. Todos los campos son enteros para que se pueda
+ * serializar en un tamaño fijo (ver {@link ReplayWriter}).
+ * <p>
+ * Los pokémon, movimientos e ítems se identifican por su posición en el
+ * equipo del entrenador, no por nombre. Los valores de PS y PP son absolutos
+ * (el valor después del evento), así que una repetición se puede reconstruir
+ * hasta cualquier turno sin volver a calcular daños.
+ * </p>
+ *
+ * @param type Tipo de evento
+ * @param turn Número de turno de la batalla en que ocurrió
+ * @param coach Entrenador al que afecta (0 o 1)
+ * @param slot Posición del pokémon en el equipo del entrenador
+ * @param arg Dato propio del tipo de evento (ver {@link Type})
+ * @param value Valor resultante tras el evento (ver {@link Type})
+ */
+public record BattleEvent(Type type, int turn, int coach, int slot, int arg, int value) {
+
+    /**
+     * Tipos de evento y significado de {@code arg} y {@code value} en cada uno.
+     */
+    public enum Type {
+        /** Uso de un movimiento: arg = índice del movimiento, value = PP restantes. */
+        ATTACK,
+        /** Cambio de PS por un ataque: arg = PS perdidos (negativo si cura), value = PS restantes. */
+        DAMAGE,
+        /** Ataque fallido por precisión: arg = índice del movimiento. */
+        MISS,
+        /** Cambio de pokémon activo: slot = nuevo activo, arg = activo anterior. */
+        SWITCH,
+        /** Uso de un ítem: arg = identificador del ítem en {@link ItemFactory} (-1 si no venía del inventario), value = PS restantes. */
+        ITEM,
+        /** Daño por estado alterado: arg = estado, value = PS restantes. */
+        STATUS_TICK,
+        /** Tiempo de turno agotado; todos los movimientos del activo pierden un PP. */
+        TIMEOUT,
+        /** El entrenador huye y la batalla termina. */
+        FLEE,
+        /** Un pokémon debilitado vuelve a la batalla: slot = pokémon revivido, value = PS restantes. */
+        REVIVE,
+        /** Se retiran ítems del inventario sin aplicarlos: arg = identificador del ítem, value = unidades retiradas. */
+        DISCARD;
+
+        private static final Type[] VALUES = values();
+
+        static Type fromOrdinal(int ordinal) {
+            if (ordinal < 0 || ordinal >= VALUES.length) {
+                throw new IllegalArgumentException("Tipo de evento desconocido: " + ordinal);
+            }
+            return VALUES[ordinal];
+        }
+    }
+}
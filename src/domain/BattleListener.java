@@ -0,0 +1,11 @@
+package domain;
+
+/**
+ * Recibe los eventos que emite una {@link BattleArena}.
+ * Se invoca en el hilo que ejecuta la acción, así que debe ser rápido.
+ */
+@FunctionalInterface
+public interface BattleListener {
+
+    void onEvent(BattleEvent event);
+}
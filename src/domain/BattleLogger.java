@@ -0,0 +1,175 @@
+package domain;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Registro de eventos de batalla con niveles.
+ * <p>
+ * El nivel se fija al arrancar con la propiedad del sistema
+ * {@code poobkemon.log.level} (TRACE, DEBUG, INFO, WARN, ERROR u OFF; por
+ * defecto WARN) y se guarda en constantes {@code static final}, así que el JIT
+ * elimina por completo las llamadas de niveles desactivados. Los mensajes
+ * costosos se construyen de forma perezosa con un {@link Supplier} o tras
+ * comprobar {@link #isDebugEnabled()}.
+ * </p>
+ * <p>
+ * Cuando un nivel está activo los mensajes no se escriben en el hilo de la
+ * batalla: se encolan en un búfer circular acotado que vacía un hilo demonio.
+ * Si el búfer se llena los mensajes se descartan y se cuentan, nunca se
+ * bloquea la batalla.
+ * </p>
+ */
+public final class BattleLogger {
+
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    /** Nivel mínimo que se registra. */
+    public static final Level LEVEL = parseLevel(System.getProperty("poobkemon.log.level"));
+
+    private static final boolean TRACE_ENABLED = LEVEL.compareTo(Level.TRACE) <= 0;
+    private static final boolean DEBUG_ENABLED = LEVEL.compareTo(Level.DEBUG) <= 0;
+    private static final boolean INFO_ENABLED = LEVEL.compareTo(Level.INFO) <= 0;
+    private static final boolean WARN_ENABLED = LEVEL.compareTo(Level.WARN) <= 0;
+    private static final boolean ERROR_ENABLED = LEVEL.compareTo(Level.ERROR) <= 0;
+
+    /** Capacidad del búfer de mensajes pendientes. */
+    public static final int CAPACITY = 8192;
+
+    // Fuera de Sink, para poder consultarlo sin arrancar el hilo escritor
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    private static volatile PrintStream output = System.err;
+
+    private BattleLogger() {
+    }
+
+    public static boolean isTraceEnabled() { return TRACE_ENABLED; }
+    public static boolean isDebugEnabled() { return DEBUG_ENABLED; }
+    public static boolean isInfoEnabled() { return INFO_ENABLED; }
+    public static boolean isWarnEnabled() { return WARN_ENABLED; }
+    public static boolean isErrorEnabled() { return ERROR_ENABLED; }
+
+    public static void trace(String message) {
+        if (TRACE_ENABLED) Sink.publish(Level.TRACE, message, null);
+    }
+
+    public static void trace(Supplier<String> message) {
+        if (TRACE_ENABLED) Sink.publish(Level.TRACE, message.get(), null);
+    }
+
+    public static void debug(String message) {
+        if (DEBUG_ENABLED) Sink.publish(Level.DEBUG, message, null);
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (DEBUG_ENABLED) Sink.publish(Level.DEBUG, message.get(), null);
+    }
+
+    public static void info(String message) {
+        if (INFO_ENABLED) Sink.publish(Level.INFO, message, null);
+    }
+
+    public static void info(Supplier<String> message) {
+        if (INFO_ENABLED) Sink.publish(Level.INFO, message.get(), null);
+    }
+
+    public static void warn(String message) {
+        if (WARN_ENABLED) Sink.publish(Level.WARN, message, null);
+    }
+
+    public static void warn(String message, Throwable error) {
+        if (WARN_ENABLED) Sink.publish(Level.WARN, message, error);
+    }
+
+    public static void error(String message, Throwable error) {
+        if (ERROR_ENABLED) Sink.publish(Level.ERROR, message, error);
+    }
+
+    /**
+     * Cambia el destino de los mensajes (por defecto {@code System.err}).
+     */
+    public static void setOutput(PrintStream output) {
+        BattleLogger.output = output;
+    }
+
+    /**
+     * Número de mensajes descartados porque el búfer estaba lleno.
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    /**
+     * Interpreta un nombre de nivel sin distinguir mayúsculas.
+     * @return El nivel, o WARN si el valor falta o no es válido
+     */
+    public static Level parseLevel(String value) {
+        if (value == null || value.isBlank()) {
+            return Level.WARN;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.WARN;
+        }
+    }
+
+    private record Entry(long timestamp, Level level, String thread, String message, Throwable error) {}
+
+    /**
+     * Búfer y hilo escritor. Se inicializan la primera vez que se publica un
+     * mensaje, de modo que con el registro desactivado nunca se crea el hilo.
+     */
+    private static final class Sink {
+        private static final BlockingQueue<Entry> QUEUE = new ArrayBlockingQueue<>(CAPACITY);
+
+        static {
+            Thread writer = new Thread(Sink::drain, "poobkemon-log");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(Sink::flush, "poobkemon-log-flush"));
+        }
+
+        static void publish(Level level, String message, Throwable error) {
+            Entry entry = new Entry(System.currentTimeMillis(), level, Thread.currentThread().getName(), message, error);
+            if (!QUEUE.offer(entry)) {
+                DROPPED.incrementAndGet();
+            }
+        }
+
+        private static void drain() {
+            try {
+                while (true) {
+                    write(QUEUE.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Escribe lo pendiente al terminar la JVM, ya que el hilo escritor es demonio.
+         */
+        private static void flush() {
+            Entry entry;
+            while ((entry = QUEUE.poll()) != null) {
+                write(entry);
+            }
+            output.flush();
+        }
+
+        private static void write(Entry entry) {
+            PrintStream out = output;
+            out.println(Instant.ofEpochMilli(entry.timestamp()) + " " + entry.level() + " [" + entry.thread() + "] "
+                + entry.message());
+            if (entry.error() != null) {
+                entry.error().printStackTrace(out);
+            }
+        }
+    }
+}
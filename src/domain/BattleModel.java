@@ -0,0 +1,329 @@
+package domain;
+
+import java.util.List;
+
+/**
+ * Reglas de la batalla aplicadas directamente sobre un {@link BattleState}.
+ * <p>
+ * Reproduce el cálculo de {@link Attack#calcDaño} y los efectos de
+ * {@link StatusAttack} e {@link Item}, pero sin tocar la arena ni sus objetos,
+ * para que una búsqueda pueda avanzar y retroceder estados en varios hilos a
+ * la vez. Los datos que no cambian durante la batalla (potencia, precisión,
+ * tipos, PS máximos) se copian a arreglos al crear el modelo, y la
+ * efectividad de cada movimiento contra cada pokémon rival queda precalculada.
+ * El modelo es inmutable y se puede compartir entre hilos.
+ * </p>
+ */
+public final class BattleModel {
+
+    /** Acciones de un turno; coinciden con los códigos de {@link MachineStrategy#decideAction}. */
+    public static final int ATTACK = 1;
+    public static final int ITEM = 2;
+    public static final int SWITCH = 3;
+
+    private final BattleState.Layout layout;
+    private final int[][] totalPs;
+    private final int[][][] baseDamage;
+    private final int[][][] precision;
+    private final AttributeType[][][] statusEffect; // null si el movimiento no es de estado
+    private final double[][][][] effectiveness; // [entrenador][pokémon][movimiento][pokémon rival]
+    private final Item.AttributeType[][] itemEffect;
+    private final int[][] itemValue;
+    private final int[][] itemGroup; // primer ítem con el mismo efecto y valor
+    private final int maxActions;
+
+    /**
+     * Crea el modelo de una arena ya configurada.
+     */
+    public BattleModel(BattleArena arena) {
+        this.layout = arena.getStateLayout();
+        totalPs = new int[2][];
+        baseDamage = new int[2][][];
+        precision = new int[2][][];
+        statusEffect = new AttributeType[2][][];
+        effectiveness = new double[2][][][];
+        itemEffect = new Item.AttributeType[2][];
+        itemValue = new int[2][];
+        itemGroup = new int[2][];
+
+        int widest = 0;
+        for (int c = 0; c < 2; c++) {
+            List<Pokemon> pokemons = arena.getCoach(c).getPokemons();
+            List<Pokemon> rivals = arena.getCoach(1 - c).getPokemons();
+            int size = pokemons.size();
+            totalPs[c] = new int[size];
+            baseDamage[c] = new int[size][];
+            precision[c] = new int[size][];
+            statusEffect[c] = new AttributeType[size][];
+            effectiveness[c] = new double[size][][];
+            for (int s = 0; s < size; s++) {
+                Pokemon pokemon = pokemons.get(s);
+                totalPs[c][s] = pokemon.getTotalPs();
+                List<Attack> attacks = pokemon.getAtaques();
+                baseDamage[c][s] = new int[attacks.size()];
+                precision[c][s] = new int[attacks.size()];
+                statusEffect[c][s] = new AttributeType[attacks.size()];
+                effectiveness[c][s] = new double[attacks.size()][rivals.size()];
+                for (int m = 0; m < attacks.size(); m++) {
+                    Attack attack = attacks.get(m);
+                    baseDamage[c][s][m] = attack.getBaseDamage();
+                    precision[c][s][m] = attack.getPrecision();
+                    if (attack instanceof StatusAttack status) {
+                        statusEffect[c][s][m] = status.getAffects();
+                    }
+                    for (int r = 0; r < rivals.size(); r++) {
+                        Pokemon rival = rivals.get(r);
+                        // calcDaño rechaza tipos desconocidos; aquí cuentan como neutros
+                        effectiveness[c][s][m][r] = attack.getPokemonType() == null || rival.getPokemonType() == null
+                            ? 1.0 : attack.getPokemonType().against(rival.getPokemonType(), rival.getSecondaryType());
+                    }
+                }
+            }
+            int items = layout.itemCount(c);
+            itemEffect[c] = new Item.AttributeType[items];
+            itemValue[c] = new int[items];
+            itemGroup[c] = new int[items];
+            for (int i = 0; i < items; i++) {
+                itemEffect[c][i] = layout.item(c, i).getApplyTo();
+                itemValue[c][i] = layout.item(c, i).getEffectValue();
+                itemGroup[c][i] = i;
+                for (int j = 0; j < i; j++) {
+                    if (itemEffect[c][j] == itemEffect[c][i] && itemValue[c][j] == itemValue[c][i]) {
+                        itemGroup[c][i] = itemGroup[c][j];
+                        break;
+                    }
+                }
+            }
+
+            int moves = 1;
+            for (int s = 0; s < size; s++) {
+                moves = Math.max(moves, layout.moveCount(c, s));
+            }
+            widest = Math.max(widest, Math.max(moves + items, size));
+        }
+        this.maxActions = widest;
+    }
+
+    /**
+     * Codifica una acción en un entero, para recorrerlas sin reservar memoria.
+     * @param type {@link #ATTACK}, {@link #ITEM} o {@link #SWITCH}
+     * @param index Movimiento, ítem del inventario inicial o pokémon, según el tipo
+     */
+    public static int action(int type, int index) {
+        return type << 8 | index;
+    }
+
+    public static int actionType(int action) {
+        return action >>> 8;
+    }
+
+    public static int actionIndex(int action) {
+        return action & 0xFF;
+    }
+
+    /** Tamaño suficiente para el arreglo que recibe {@link #actions}. */
+    public int maxActions() {
+        return maxActions;
+    }
+
+    /**
+     * Escribe las acciones legales del entrenador cuyo turno es, tal como las
+     * permite el turno de una máquina: si su pokémon activo está debilitado
+     * solo puede cambiarlo; si no, atacar o usar un ítem. Los ítems iguales se
+     * ofrecen una sola vez, y sin movimientos útiles queda un ataque sin efecto.
+     * @return Número de acciones escritas
+     */
+    public int actions(BattleState state, int[] into) {
+        int coach = state.getCurrentTurn();
+        int active = state.getActiveIndex(coach);
+        int count = 0;
+        if (state.getPs(coach, active) <= 0) {
+            for (int s = 0; s < layout.pokemonCount(coach); s++) {
+                if (state.getPs(coach, s) > 0) {
+                    into[count++] = action(SWITCH, s);
+                }
+            }
+            return count;
+        }
+        for (int m = 0; m < layout.moveCount(coach, active); m++) {
+            if (isUsable(state, coach, active, m)) {
+                into[count++] = action(ATTACK, m);
+            }
+        }
+        if (count == 0) {
+            into[count++] = action(ATTACK, 0);
+        }
+        for (int i = 0; i < itemGroup[coach].length; i++) {
+            if (canUseItem(state, coach, i) && !heldEarlier(state, coach, i)) {
+                into[count++] = action(ITEM, i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Probabilidad de que la acción tenga efecto; solo los ataques pueden fallar.
+     */
+    public double chance(BattleState state, int action) {
+        if (actionType(action) != ATTACK) {
+            return 1.0;
+        }
+        int coach = state.getCurrentTurn();
+        return hitChance(coach, state.getActiveIndex(coach), actionIndex(action));
+    }
+
+    /**
+     * Aplica una acción codificada con {@link #action} y pasa el turno.
+     * @param hit Si el ataque acierta; se ignora en el resto de acciones
+     */
+    public void apply(BattleState state, int action, boolean hit) {
+        switch (actionType(action)) {
+            case ATTACK -> applyAttack(state, actionIndex(action), hit);
+            case ITEM -> applyItem(state, actionIndex(action));
+            case SWITCH -> applySwitch(state, actionIndex(action));
+            default -> throw new IllegalArgumentException("Acción desconocida: " + action);
+        }
+    }
+
+    private boolean heldEarlier(BattleState state, int coach, int item) {
+        for (int j = 0; j < item; j++) {
+            if (itemGroup[coach][j] == itemGroup[coach][item] && state.hasItem(coach, j)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public BattleState.Layout getLayout() {
+        return layout;
+    }
+
+    public int getTotalPs(int coach, int slot) {
+        return totalPs[coach][slot];
+    }
+
+    /**
+     * Probabilidad de que el movimiento acierte; los de estado siempre se aplican.
+     */
+    public double hitChance(int coach, int slot, int move) {
+        if (statusEffect[coach][slot][move] != null) {
+            return 1.0;
+        }
+        return Math.max(0, Math.min(100, precision[coach][slot][move])) / 100.0;
+    }
+
+    /**
+     * Indica si el movimiento tiene algún efecto: los de estado siempre, el
+     * resto solo si les quedan PP.
+     */
+    public boolean isUsable(BattleState state, int coach, int slot, int move) {
+        return statusEffect[coach][slot][move] != null || state.getPowerPoint(coach, slot, move) > 0;
+    }
+
+    /**
+     * Daño que causaría el movimiento si acierta, igual que {@link Attack#calcDaño}.
+     */
+    public int damage(BattleState state, int coach, int slot, int move, int rivalSlot) {
+        int defense = state.getStat(1 - coach, rivalSlot, AttributeType.SPECIAL_DEFENSE);
+        int damage = (int) ((state.getStat(coach, slot, AttributeType.SPECIAL_ATTACK) * baseDamage[coach][slot][move]
+            * effectiveness[coach][slot][move][rivalSlot]) / defense);
+        return Math.max(damage, 1);
+    }
+
+    /**
+     * Aplica un ataque del entrenador cuyo turno es. Un fallo no cambia nada,
+     * como en la arena, salvo pasar el turno.
+     */
+    public void applyAttack(BattleState state, int move, boolean hit) {
+        int coach = state.getCurrentTurn();
+        int slot = state.getActiveIndex(coach);
+        AttributeType status = statusEffect[coach][slot][move];
+        int pp = state.getPowerPoint(coach, slot, move);
+        if (status != null) {
+            int value = state.getStat(coach, slot, status);
+            if (status != AttributeType.HP) {
+                state.setStat(coach, slot, status, value + 10);
+            } else if (value > 0) {
+                state.setPs(coach, slot, Math.min(value + 10, totalPs[coach][slot]));
+            }
+            state.setPowerPoint(coach, slot, move, pp - 1);
+        } else if (pp > 0 && hit) {
+            int rival = 1 - coach;
+            int rivalSlot = state.getActiveIndex(rival);
+            int ps = state.getPs(rival, rivalSlot) - damage(state, coach, slot, move, rivalSlot);
+            state.setPs(rival, rivalSlot, Math.max(ps, 0));
+            state.setPowerPoint(coach, slot, move, pp - 1);
+        }
+        endTurn(state);
+    }
+
+    /**
+     * Indica si el entrenador puede usar ahora el ítem sobre su pokémon activo.
+     */
+    public boolean canUseItem(BattleState state, int coach, int item) {
+        if (!state.hasItem(coach, item)) {
+            return false;
+        }
+        int slot = state.getActiveIndex(coach);
+        int ps = state.getPs(coach, slot);
+        if (ps == totalPs[coach][slot]) {
+            return false;
+        }
+        return switch (itemEffect[coach][item]) {
+            case HP -> ps > 0;
+            case REVIVE -> ps == 0;
+            default -> ps > 0;
+        };
+    }
+
+    /**
+     * Aplica un ítem del entrenador cuyo turno es sobre su pokémon activo.
+     */
+    public void applyItem(BattleState state, int item) {
+        int coach = state.getCurrentTurn();
+        int slot = state.getActiveIndex(coach);
+        int value = itemValue[coach][item];
+        int ps = state.getPs(coach, slot);
+        switch (itemEffect[coach][item]) {
+            case HP -> state.setPs(coach, slot, Math.min(ps + value, totalPs[coach][slot]));
+            case REVIVE -> state.setPs(coach, slot, Math.min(value, totalPs[coach][slot]));
+            case PHYSICAL_ATTACK -> addStat(state, coach, slot, AttributeType.PHYSICAL_ATTACK, value);
+            case PHYSICAL_DEFENSE -> addStat(state, coach, slot, AttributeType.PHYSICAL_DEFENSE, value);
+            case SPECIAL_ATTACK -> addStat(state, coach, slot, AttributeType.SPECIAL_ATTACK, value);
+            case SPECIAL_DEFENSE -> addStat(state, coach, slot, AttributeType.SPECIAL_DEFENSE, value);
+            case SPEED -> addStat(state, coach, slot, AttributeType.SPEED, value);
+            case EVASION -> addStat(state, coach, slot, AttributeType.EVASION, value);
+        }
+        state.removeItem(coach, item);
+        endTurn(state);
+    }
+
+    /**
+     * Cambia el pokémon activo del entrenador cuyo turno es.
+     */
+    public void applySwitch(BattleState state, int slot) {
+        state.setActiveIndex(state.getCurrentTurn(), slot);
+        endTurn(state);
+    }
+
+    /**
+     * Indica si todos los pokémon del entrenador están debilitados.
+     */
+    public boolean isDefeated(BattleState state, int coach) {
+        for (int s = 0; s < layout.pokemonCount(coach); s++) {
+            if (state.getPs(coach, s) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addStat(BattleState state, int coach, int slot, AttributeType stat, int value) {
+        state.setStat(coach, slot, stat, state.getStat(coach, slot, stat) + value);
+    }
+
+    private static void endTurn(BattleState state) {
+        state.setCurrentTurn(1 - state.getCurrentTurn());
+        state.setTurnNumber(state.getTurnNumber() + 1);
+    }
+}
@@ -0,0 +1,173 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aloja muchas batallas independientes a la vez, cada una con su propia
+ * fachada {@link Poobkemon}, identificadas por un número de sesión.
+ * <p>
+ * Las sesiones se guardan en un mapa concurrente y cada una tiene su propio
+ * cerrojo: las operaciones sobre sesiones distintas avanzan en paralelo y las
+ * de una misma sesión se ejecutan de una en una, que es lo que esperan la
+ * arena y los entrenadores, que no son seguros entre hilos.
+ * </p>
+ */
+public class BattleSessionManager {
+
+    /**
+     * Operación sobre la fachada de una sesión, ejecutada con su cerrojo.
+     */
+    @FunctionalInterface
+    public interface SessionAction<T> {
+        T apply(Poobkemon game) throws PoobkemonException;
+    }
+
+    private static final class Session {
+        final ReentrantLock lock = new ReentrantLock();
+        final Poobkemon game = new Poobkemon();
+    }
+
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /**
+     * Crea una sesión con una batalla humano contra máquina.
+     * @return Identificador de la sesión
+     * @see Poobkemon#startBattleHumanVsMachine
+     */
+    public long startHumanVsMachine(String humanName, String machineName,
+                                    ArrayList<String> humanPokemon, ArrayList<String> machinePokemon,
+                                    ArrayList<String> humanItems, String[][] humanAttacks,
+                                    String machineType) throws PoobkemonException {
+        return start(game -> {
+            game.startBattleHumanVsMachine(humanName, machineName, humanPokemon, machinePokemon,
+                humanItems, humanAttacks, machineType);
+            return null;
+        });
+    }
+
+    /**
+     * Crea una sesión con una batalla entre dos máquinas.
+     * @return Identificador de la sesión
+     * @see Poobkemon#startBattleMachineVsMachine
+     */
+    public long startMachineVsMachine(String machine1Name, String machine2Name,
+                                      ArrayList<String> machine1Pokemon, ArrayList<String> machine2Pokemon,
+                                      String machine1Type, String machine2Type) throws PoobkemonException {
+        return start(game -> {
+            game.startBattleMachineVsMachine(machine1Name, machine2Name, machine1Pokemon, machine2Pokemon,
+                machine1Type, machine2Type);
+            return null;
+        });
+    }
+
+    private long start(SessionAction<Void> setup) throws PoobkemonException {
+        Session session = new Session();
+        setup.apply(session.game);
+        long id = nextId.getAndIncrement();
+        sessions.put(id, session);
+        return id;
+    }
+
+    /**
+     * Ejecuta una acción sobre la batalla de una sesión, en exclusiva.
+     * @throws PoobkemonException Si la sesión no existe o la acción falla
+     */
+    public <T> T act(long sessionId, SessionAction<T> action) throws PoobkemonException {
+        Session session = get(sessionId);
+        session.lock.lock();
+        try {
+            return action.apply(session.game);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Consulta la batalla de una sesión. Usa el mismo cerrojo que
+     * {@link #act} para no leer un turno a medias.
+     */
+    public <T> T query(long sessionId, SessionAction<T> query) throws PoobkemonException {
+        return act(sessionId, query);
+    }
+
+    /**
+     * Ataca con el pokémon activo del humano y pasa el turno.
+     * @return El daño causado
+     * @throws PoobkemonException Si le toca a la máquina o el ataque falla; el turno no cambia
+     */
+    public int attack(long sessionId, String moveName) throws PoobkemonException {
+        return act(sessionId, game -> {
+            if (game.getBattleArena().getCurrentCoach().isMachine()) {
+                throw new PoobkemonException(PoobkemonException.NOT_YOUR_TURN);
+            }
+            int damage = game.attack(moveName, false, game.getBattleArena().getCurrentTurn() == 0);
+            game.changeTurn();
+            return damage;
+        });
+    }
+
+    /**
+     * Juega el turno de la máquina y pasa el turno.
+     * @return La descripción de la acción de la máquina
+     * @throws PoobkemonException Si no le toca a la máquina o la acción falla; el turno no cambia
+     */
+    public String playMachineTurn(long sessionId) throws PoobkemonException {
+        return act(sessionId, game -> {
+            String result = game.playMachineTurn();
+            game.changeTurn();
+            return result;
+        });
+    }
+
+    /**
+     * Indica si la batalla de la sesión ya terminó.
+     */
+    public boolean isFinished(long sessionId) throws PoobkemonException {
+        return query(sessionId, game -> game.getBattleArena().isBattleFinished());
+    }
+
+    /**
+     * Termina la batalla de una sesión y la elimina.
+     * @return true si la sesión existía
+     */
+    public boolean end(long sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        session.lock.lock();
+        try {
+            if (session.game.getBattleArena() != null) {
+                session.game.getBattleArena().endBattle();
+            }
+        } finally {
+            session.lock.unlock();
+        }
+        return true;
+    }
+
+    /** Número de sesiones abiertas. */
+    public int size() {
+        return sessions.size();
+    }
+
+    /** Identificadores de las sesiones abiertas; la vista refleja altas y bajas. */
+    public Set<Long> getSessionIds() {
+        return Collections.unmodifiableSet(sessions.keySet());
+    }
+
+    private Session get(long sessionId) throws PoobkemonException {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            throw new PoobkemonException(PoobkemonException.UNKNOWN_SESSION + sessionId);
+        }
+        return session;
+    }
+}
@@ -0,0 +1,175 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulador de batallas sin interfaz gráfica.
+ * <p>
+ * Ejecuta una batalla máquina contra máquina sobre {@link BattleArenaNormal}
+ * hasta que termina, sin temporizadores ni esperas, y devuelve un resultado
+ * compacto. Pensado para torneos y ejecuciones masivas.
+ * </p>
+ */
+public class BattleSimulator {
+
+    /**
+     * Límite de turnos por defecto. Evita batallas infinitas cuando ambos
+     * equipos se quedan sin PP.
+     */
+    public static final int DEFAULT_MAX_TURNS = 500;
+
+    private final int maxTurns;
+
+    /**
+     * Especificación de un equipo: tipo de máquina y nombres de sus pokémon.
+     * @param machineType Tipo de máquina (Attacking, Defensive, Changing, Expert)
+     * @param pokemons Nombres de los pokémon del equipo
+     */
+    public record Team(String machineType, List<String> pokemons) {}
+
+    /**
+     * Resultado de una batalla simulada.
+     * @param winner Índice del entrenador ganador (0 o 1), o -1 si hubo empate por límite de turnos
+     * @param turns Número de turnos jugados
+     * @param hpLeft0 PS totales restantes del entrenador 0
+     * @param hpLeft1 PS totales restantes del entrenador 1
+     */
+    public record Result(int winner, int turns, int hpLeft0, int hpLeft1) {
+
+        public boolean isDraw() {
+            return winner < 0;
+        }
+    }
+
+    public BattleSimulator() {
+        this(DEFAULT_MAX_TURNS);
+    }
+
+    public BattleSimulator(int maxTurns) {
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("El límite de turnos debe ser positivo: " + maxTurns);
+        }
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Simula una batalla completa entre dos equipos controlados por máquinas.
+     * @param team0 Equipo del entrenador 0 (empieza la batalla)
+     * @param team1 Equipo del entrenador 1
+     * @return El resultado de la batalla
+     * @throws PoobkemonException Si la batalla no se puede configurar
+     */
+    public Result simulate(Team team0, Team team1) throws PoobkemonException {
+        return setupAndRun(new BattleArenaNormal(), team0, team1);
+    }
+
+    /**
+     * Simula una batalla reproducible: la misma semilla con los mismos equipos
+     * produce siempre el mismo resultado.
+     * @param team0 Equipo del entrenador 0 (empieza la batalla)
+     * @param team1 Equipo del entrenador 1
+     * @param seed Semilla de la batalla
+     * @return El resultado de la batalla
+     * @throws PoobkemonException Si la batalla no se puede configurar
+     */
+    public Result simulate(Team team0, Team team1, long seed) throws PoobkemonException {
+        return setupAndRun(new BattleArenaNormal(seed), team0, team1);
+    }
+
+    private Result setupAndRun(BattleArenaNormal arena, Team team0, Team team1) throws PoobkemonException {
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(team0.pokemons()), new ArrayList<>(team1.pokemons()),
+            team0.machineType(), team1.machineType());
+        return run(arena);
+    }
+
+    /**
+     * Ejecuta hasta el final una arena ya configurada con dos máquinas.
+     * @param arena La arena de batalla
+     * @return El resultado de la batalla
+     * @throws PoobkemonException Si algún entrenador no es una máquina
+     */
+    public Result run(BattleArena arena) throws PoobkemonException {
+        Coach[] coaches = arena.getCoaches();
+        for (Coach coach : coaches) {
+            if (!(coach instanceof Machine)) {
+                throw new PoobkemonException("El simulador solo admite batallas entre máquinas.");
+            }
+        }
+
+        int turns = 0;
+        while (turns < maxTurns && !coaches[0].areAllPokemonFainted() && !coaches[1].areAllPokemonFainted()) {
+            playTurn(arena, (Machine) arena.getCurrentCoach());
+            arena.changeTurn();
+            turns++;
+        }
+
+        int winner = -1;
+        if (coaches[1].areAllPokemonFainted()) {
+            winner = 0;
+        } else if (coaches[0].areAllPokemonFainted()) {
+            winner = 1;
+        }
+        return new Result(winner, turns, remainingHp(coaches[0]), remainingHp(coaches[1]));
+    }
+
+    /**
+     * Juega el turno de una máquina: cambia de pokémon si el activo está
+     * debilitado, o usa un ítem o ataca según su estrategia.
+     */
+    private void playTurn(BattleArena arena, Machine machine) throws PoobkemonException {
+        if (machine.getActivePokemon().getPs() <= 0) {
+            arena.switchToPokemon(chooseReplacement(machine));
+            return;
+        }
+
+        if (!machine.getItems().isEmpty() && machine.shouldUseItem()) {
+            int itemIndex = machine.selectItem();
+            if (itemIndex >= 0 && itemIndex < machine.getItems().size()) {
+                try {
+                    arena.useItem(machine.getItems().get(itemIndex).getId(), arena.getCurrentTurn() == 0);
+                    return;
+                } catch (PoobkemonException | IllegalStateException e) {
+                    // El ítem no se pudo usar: se ataca en su lugar
+                }
+            }
+        }
+
+        List<Attack> attacks = machine.getActivePokemon().getAtaques();
+        if (attacks.isEmpty()) {
+            return;
+        }
+        int moveIndex = machine.selectMove();
+        if (moveIndex < 0 || moveIndex >= attacks.size()) {
+            moveIndex = 0;
+        }
+        arena.attack(moveIndex, false, arena.getCurrentTurn() == 0);
+    }
+
+    /**
+     * Pide a la máquina su pokémon de reemplazo y, si elige uno debilitado,
+     * toma el primero que siga con vida.
+     */
+    private int chooseReplacement(Machine machine) {
+        List<Pokemon> pokemons = machine.getPokemons();
+        int index = machine.selectBestPokemon();
+        if (index >= 0 && index < pokemons.size() && pokemons.get(index).getPs() > 0) {
+            return index;
+        }
+        for (int i = 0; i < pokemons.size(); i++) {
+            if (pokemons.get(i).getPs() > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private int remainingHp(Coach coach) {
+        int total = 0;
+        for (Pokemon pokemon : coach.getPokemons()) {
+            total += pokemon.getPs();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,350 @@
+package domain;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estado completo de una batalla empaquetado en un único {@code int[]}.
+ * <p>
+ * Sirve para guardar y restaurar una {@link BattleArena} sin copiar el grafo de
+ * entrenadores, pokémon y ataques: capturar, restaurar y copiar son simples
+ * recorridos o un {@link System#arraycopy}, sin reservar memoria. Todos los
+ * estados de una misma batalla comparten un {@link Layout} inmutable que
+ * describe dónde está cada dato.
+ * </p>
+ * <p>
+ * Por pokémon se guardan PS, estadísticas, estado alterado y PP de cada
+ * movimiento; por entrenador, el pokémon activo, si ha huido y cuántas unidades
+ * le quedan de cada ítem con el que empezó; y de la arena, el turno actual, el
+ * número de turno y si la batalla terminó.
+ * </p>
+ */
+public final class BattleState {
+
+    // Campos de la arena
+    private static final int CURRENT_TURN = 0;
+    private static final int TURN_NUMBER = 1;
+    private static final int FINISHED = 2;
+    private static final int ARENA_FIELDS = 3;
+
+    // Campos de cada entrenador, relativos a su desplazamiento
+    private static final int ACTIVE = 0;
+    private static final int FLED = 1;
+    private static final int COACH_FIELDS = 2; // después, las unidades de cada ítem
+
+    // Campos de cada pokémon, relativos a su desplazamiento; después van los PP
+    private static final int PS = 0;
+    private static final int SPEED = 1;
+    private static final int SPECIAL_ATTACK = 2;
+    private static final int PHYSICAL_ATTACK = 3;
+    private static final int SPECIAL_DEFENSE = 4;
+    private static final int PHYSICAL_DEFENSE = 5;
+    private static final int EVASION = 6;
+    private static final int STATUS = 7;
+    private static final int TURN_STATUS = 8;
+    private static final int POKEMON_FIELDS = 9;
+
+    /**
+     * Disposición de los datos para una batalla concreta: cuántos pokémon y
+     * movimientos tiene cada entrenador y en qué posición empieza cada uno.
+     * También conserva qué ítems tenía cada entrenador al empezar, que son
+     * los que se siguen.
+     */
+    public static final class Layout {
+        private final int[] coachOffset = new int[2];
+        private final int[][] pokemonOffset = new int[2][];
+        private final int[][] moveCount = new int[2][];
+        private final int[][] itemIds = new int[2][];
+        private final int size;
+
+        private Layout(BattleArena arena) {
+            int offset = ARENA_FIELDS;
+            for (int c = 0; c < 2; c++) {
+                Coach coach = arena.getCoach(c);
+                coachOffset[c] = offset;
+                int kinds = 0;
+                itemIds[c] = new int[coach.itemCounts.length];
+                for (int id = 0; id < coach.itemCounts.length; id++) {
+                    if (coach.itemCounts[id] > 0) {
+                        itemIds[c][kinds++] = id;
+                    }
+                }
+                itemIds[c] = Arrays.copyOf(itemIds[c], kinds);
+                offset += COACH_FIELDS + kinds;
+                List<Pokemon> pokemons = coach.getPokemons();
+                pokemonOffset[c] = new int[pokemons.size()];
+                moveCount[c] = new int[pokemons.size()];
+                for (int s = 0; s < pokemons.size(); s++) {
+                    pokemonOffset[c][s] = offset;
+                    moveCount[c][s] = pokemons.get(s).getAtaques().size();
+                    offset += POKEMON_FIELDS + moveCount[c][s];
+                }
+            }
+            this.size = offset;
+        }
+
+        /**
+         * Crea la disposición de una arena ya configurada.
+         */
+        public static Layout of(BattleArena arena) {
+            return new Layout(arena);
+        }
+
+        /**
+         * Indica si la arena sigue teniendo la forma descrita por esta disposición.
+         */
+        public boolean matches(BattleArena arena) {
+            for (int c = 0; c < 2; c++) {
+                List<Pokemon> pokemons = arena.getCoach(c).getPokemons();
+                if (pokemons.size() != moveCount[c].length) {
+                    return false;
+                }
+                for (int s = 0; s < pokemons.size(); s++) {
+                    if (pokemons.get(s).getAtaques().size() != moveCount[c][s]) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /** Número de enteros de cada estado. */
+        public int size() {
+            return size;
+        }
+
+        public int pokemonCount(int coach) {
+            return moveCount[coach].length;
+        }
+
+        public int moveCount(int coach, int slot) {
+            return moveCount[coach][slot];
+        }
+
+        /** Número de ítems distintos que tenía el entrenador al empezar. */
+        public int itemCount(int coach) {
+            return itemIds[coach].length;
+        }
+
+        /** Ítem de la posición dada entre los que tenía el entrenador al empezar. */
+        public Item item(int coach, int index) {
+            return ItemFactory.getItem(itemIds[coach][index]);
+        }
+    }
+
+    private final Layout layout;
+    private final int[] data;
+
+    /**
+     * Crea un estado vacío con la disposición dada, listo para {@link #captureFrom}.
+     */
+    public BattleState(Layout layout) {
+        this.layout = layout;
+        this.data = new int[layout.size];
+    }
+
+    /**
+     * Captura el estado de una arena con una disposición nueva.
+     */
+    public static BattleState capture(BattleArena arena) {
+        BattleState state = new BattleState(Layout.of(arena));
+        state.captureFrom(arena);
+        return state;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Copia en este estado los datos actuales de la arena.
+     * La arena debe tener la forma de {@link #getLayout()}.
+     */
+    public void captureFrom(BattleArena arena) {
+        data[CURRENT_TURN] = arena.currentTurn;
+        data[TURN_NUMBER] = arena.turnNumber;
+        data[FINISHED] = arena.battleFinished ? 1 : 0;
+        for (int c = 0; c < 2; c++) {
+            Coach coach = arena.getCoach(c);
+            int base = layout.coachOffset[c];
+            data[base + ACTIVE] = coach.activePokemonIndex;
+            data[base + FLED] = coach.getHasFled() ? 1 : 0;
+            for (int k = 0; k < layout.itemIds[c].length; k++) {
+                data[base + COACH_FIELDS + k] = coach.itemCounts[layout.itemIds[c][k]];
+            }
+
+            List<Pokemon> pokemons = coach.getPokemons();
+            for (int s = 0; s < layout.pokemonOffset[c].length; s++) {
+                Pokemon p = pokemons.get(s);
+                int o = layout.pokemonOffset[c][s];
+                data[o + PS] = p.ps;
+                data[o + SPEED] = p.speed;
+                data[o + SPECIAL_ATTACK] = p.specialAttack;
+                data[o + PHYSICAL_ATTACK] = p.physicalAttack;
+                data[o + SPECIAL_DEFENSE] = p.specialDefense;
+                data[o + PHYSICAL_DEFENSE] = p.physicalDefense;
+                data[o + EVASION] = p.evasion;
+                data[o + STATUS] = p.status;
+                data[o + TURN_STATUS] = p.turnStatus;
+                List<Attack> attacks = p.getAtaques();
+                for (int m = 0; m < layout.moveCount[c][s]; m++) {
+                    data[o + POKEMON_FIELDS + m] = attacks.get(m).powerPoint;
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve la arena al estado guardado. La arena debe tener la forma de
+     * {@link #getLayout()}.
+     */
+    public void restoreTo(BattleArena arena) {
+        arena.currentTurn = data[CURRENT_TURN];
+        arena.turnNumber = data[TURN_NUMBER];
+        arena.battleFinished = data[FINISHED] != 0;
+        for (int c = 0; c < 2; c++) {
+            Coach coach = arena.getCoach(c);
+            int base = layout.coachOffset[c];
+            coach.activePokemonIndex = data[base + ACTIVE];
+            coach.setFled(data[base + FLED] != 0);
+            boolean itemsChanged = false;
+            for (int k = 0; k < layout.itemIds[c].length; k++) {
+                int id = layout.itemIds[c][k];
+                int count = data[base + COACH_FIELDS + k];
+                if (coach.itemCounts[id] != count) {
+                    coach.itemCounts[id] = count;
+                    itemsChanged = true;
+                }
+            }
+            if (itemsChanged) {
+                coach.itemsChanged();
+            }
+
+            List<Pokemon> pokemons = coach.getPokemons();
+            for (int s = 0; s < layout.pokemonOffset[c].length; s++) {
+                Pokemon p = pokemons.get(s);
+                int o = layout.pokemonOffset[c][s];
+                p.ps = data[o + PS];
+                if (p.speed != data[o + SPEED] || p.specialAttack != data[o + SPECIAL_ATTACK]
+                        || p.physicalAttack != data[o + PHYSICAL_ATTACK] || p.specialDefense != data[o + SPECIAL_DEFENSE]
+                        || p.physicalDefense != data[o + PHYSICAL_DEFENSE] || p.evasion != data[o + EVASION]) {
+                    p.statsChanged();
+                }
+                p.speed = data[o + SPEED];
+                p.specialAttack = data[o + SPECIAL_ATTACK];
+                p.physicalAttack = data[o + PHYSICAL_ATTACK];
+                p.specialDefense = data[o + SPECIAL_DEFENSE];
+                p.physicalDefense = data[o + PHYSICAL_DEFENSE];
+                p.evasion = data[o + EVASION];
+                p.status = data[o + STATUS];
+                p.turnStatus = data[o + TURN_STATUS];
+                List<Attack> attacks = p.getAtaques();
+                for (int m = 0; m < layout.moveCount[c][s]; m++) {
+                    attacks.get(m).powerPoint = data[o + POKEMON_FIELDS + m];
+                }
+            }
+        }
+    }
+
+    /**
+     * Copia otro estado de la misma disposición sin reservar memoria.
+     */
+    public void copyFrom(BattleState other) {
+        if (other.layout != layout) {
+            throw new IllegalArgumentException("Los estados tienen disposiciones distintas.");
+        }
+        System.arraycopy(other.data, 0, data, 0, data.length);
+    }
+
+    /**
+     * Crea una copia independiente con la misma disposición.
+     */
+    public BattleState copy() {
+        BattleState copy = new BattleState(layout);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Número de enteros del estado. Con {@link #get} y {@link #set} permite
+     * transmitir solo las posiciones que cambian entre dos estados.
+     */
+    public int size() { return data.length; }
+    public int get(int index) { return data[index]; }
+    public void set(int index, int value) { data[index] = value; }
+
+    public int getCurrentTurn() { return data[CURRENT_TURN]; }
+    public int getTurnNumber() { return data[TURN_NUMBER]; }
+    public boolean isFinished() { return data[FINISHED] != 0; }
+    public int getActiveIndex(int coach) { return data[layout.coachOffset[coach] + ACTIVE]; }
+    public boolean hasFled(int coach) { return data[layout.coachOffset[coach] + FLED] != 0; }
+    public int getPs(int coach, int slot) { return data[layout.pokemonOffset[coach][slot] + PS]; }
+    public int getStatus(int coach, int slot) { return data[layout.pokemonOffset[coach][slot] + STATUS]; }
+
+    public int getPowerPoint(int coach, int slot, int move) {
+        return data[layout.pokemonOffset[coach][slot] + POKEMON_FIELDS + move];
+    }
+
+    /**
+     * Valor de una estadística de un pokémon; {@code HP} son sus PS actuales.
+     */
+    public int getStat(int coach, int slot, AttributeType stat) {
+        return data[layout.pokemonOffset[coach][slot] + statField(stat)];
+    }
+
+    /**
+     * Indica si al entrenador le queda alguna unidad del ítem de la posición
+     * dada de {@link Layout#item}.
+     */
+    public boolean hasItem(int coach, int index) {
+        return getItemCount(coach, index) > 0;
+    }
+
+    public int getItemCount(int coach, int index) {
+        return data[layout.coachOffset[coach] + COACH_FIELDS + index];
+    }
+
+    // Modificadores para búsquedas que avanzan el estado sin tocar la arena
+
+    public void setCurrentTurn(int turn) { data[CURRENT_TURN] = turn; }
+    public void setTurnNumber(int turnNumber) { data[TURN_NUMBER] = turnNumber; }
+    public void setActiveIndex(int coach, int slot) { data[layout.coachOffset[coach] + ACTIVE] = slot; }
+    public void setPs(int coach, int slot, int ps) { data[layout.pokemonOffset[coach][slot] + PS] = ps; }
+
+    public void setPowerPoint(int coach, int slot, int move, int pp) {
+        data[layout.pokemonOffset[coach][slot] + POKEMON_FIELDS + move] = pp;
+    }
+
+    public void setStat(int coach, int slot, AttributeType stat, int value) {
+        data[layout.pokemonOffset[coach][slot] + statField(stat)] = value;
+    }
+
+    /**
+     * Quita del inventario una unidad del ítem de la posición dada de {@link Layout#item}.
+     */
+    public void removeItem(int coach, int index) {
+        data[layout.coachOffset[coach] + COACH_FIELDS + index]--;
+    }
+
+    private static int statField(AttributeType stat) {
+        return switch (stat) {
+            case HP -> PS;
+            case SPEED -> SPEED;
+            case SPECIAL_ATTACK -> SPECIAL_ATTACK;
+            case PHYSICAL_ATTACK -> PHYSICAL_ATTACK;
+            case SPECIAL_DEFENSE -> SPECIAL_DEFENSE;
+            case PHYSICAL_DEFENSE -> PHYSICAL_DEFENSE;
+            case EVASION -> EVASION;
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BattleState other && other.layout == layout && Arrays.equals(other.data, data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+}
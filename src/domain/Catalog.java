@@ -0,0 +1,601 @@
+package domain;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo de especies, ataques, ítems y tabla de tipos del juego, leído de
+ * los ficheros JSON del directorio de datos (ver {@link #dataDir()}).
+ * <p>
+ * Al leer los JSON se valida todo el catálogo de una vez: nombres o ids repetidos,
+ * tipos desconocidos, valores fuera de rango y una tabla de tipos incompleta
+ * se informan juntos en una sola excepción. El resultado se compila en una
+ * imagen binaria ({@value #CACHE_FILE}) junto a los JSON; mientras estos no
+ * cambien, las cargas siguientes proyectan la imagen en memoria y la recorren
+ * sin analizar texto ni volver a validar.
+ * </p>
+ */
+public final class Catalog {
+
+    public static final String DIR_PROPERTY = "poobkemon.data";
+    public static final String DEFAULT_DIR = "data";
+    public static final String CACHE_FILE = "catalog.bin";
+
+    private static final String TYPES_FILE = "types.json";
+    private static final String POKEMON_FILE = "pokemon.json";
+    private static final String ATTACKS_FILE = "attacks.json";
+    private static final String ITEMS_FILE = "items.json";
+
+    private static final int MAGIC = 0x504B4354; // "PKCT"
+    private static final int VERSION = 2;
+    private static final String[] CATEGORIES = {"Physical", "Special", "Status"};
+
+    /**
+     * Datos de un ítem del catálogo.
+     */
+    public record ItemData(String name, String description, int effectValue, Item.AttributeType applyTo) {}
+
+    private final double[] typeChart;
+    private final List<PokemonSpecies> species;
+    private final List<AttackTemplate> attacks;
+    private final List<ItemData> items;
+
+    private Catalog(double[] typeChart, List<PokemonSpecies> species, List<AttackTemplate> attacks,
+                    List<ItemData> items) {
+        this.typeChart = typeChart;
+        this.species = Collections.unmodifiableList(species);
+        this.attacks = Collections.unmodifiableList(attacks);
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    private static final class DefaultHolder {
+        static final Catalog INSTANCE;
+        static final RuntimeException FAILURE;
+
+        static {
+            Catalog catalog = null;
+            RuntimeException failure = null;
+            try {
+                catalog = loadDefault();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            INSTANCE = catalog;
+            FAILURE = failure;
+        }
+    }
+
+    /**
+     * Catálogo del directorio de datos, cargado una sola vez. Si no hay
+     * directorio de datos se usa el que venga empaquetado con las clases.
+     * @throws IllegalStateException Si no se encuentra o no se puede cargar ningún catálogo
+     */
+    public static Catalog getDefault() {
+        if (DefaultHolder.INSTANCE == null) {
+            throw new IllegalStateException("No se pudo cargar el catálogo de datos: "
+                + DefaultHolder.FAILURE.getMessage() + ". Ejecuta el juego desde la raíz del proyecto o indica el"
+                + " directorio de datos con -D" + DIR_PROPERTY + "=<directorio>.", DefaultHolder.FAILURE);
+        }
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static Catalog loadDefault() {
+        Path dir = dataDir();
+        if (dir != null) {
+            return load(dir);
+        }
+        Catalog bundled = loadResources();
+        if (bundled == null) {
+            throw new IllegalStateException("no hay directorio " + DEFAULT_DIR + " con " + TYPES_FILE
+                + " en " + Path.of("").toAbsolutePath() + " ni junto al código, ni en el classpath");
+        }
+        return bundled;
+    }
+
+    /**
+     * Directorio de datos del juego. Si está definida {@value #DIR_PROPERTY} se
+     * usa tal cual; si no, se busca {@value #DEFAULT_DIR} desde el directorio de
+     * trabajo y después desde donde está el código (la carpeta de clases o el
+     * jar), subiendo por sus carpetas superiores.
+     * @return El directorio, o null si no se encuentra
+     */
+    public static Path dataDir() {
+        String configured = System.getProperty(DIR_PROPERTY);
+        if (configured != null) {
+            return Path.of(configured);
+        }
+        List<Path> starts = new ArrayList<>(2);
+        starts.add(Path.of("").toAbsolutePath());
+        try {
+            CodeSource source = Catalog.class.getProtectionDomain().getCodeSource();
+            if (source != null) {
+                starts.add(Path.of(source.getLocation().toURI()));
+            }
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+            BattleLogger.warn("No se pudo localizar el código del juego", e);
+        }
+        return findDataDir(starts);
+    }
+
+    /**
+     * Fichero del directorio de datos.
+     * @return La ruta, o null si no se encuentra el directorio de datos
+     */
+    public static Path dataFile(String name) {
+        Path dir = dataDir();
+        return dir != null ? dir.resolve(name) : null;
+    }
+
+    /**
+     * Busca {@value #DEFAULT_DIR} en cada punto de partida y en sus carpetas superiores.
+     * @return El primer directorio con los ficheros del catálogo, o null si no hay ninguno
+     */
+    public static Path findDataDir(List<Path> starts) {
+        for (Path start : starts) {
+            for (Path dir = start.toAbsolutePath(); dir != null; dir = dir.getParent()) {
+                Path candidate = dir.resolve(DEFAULT_DIR);
+                if (Files.isRegularFile(candidate.resolve(TYPES_FILE))) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Carga el catálogo empaquetado como recursos ({@code /data/*.json}), sin imagen binaria.
+     * @return El catálogo, o null si no están todos los recursos
+     */
+    private static Catalog loadResources() {
+        String[] files = {TYPES_FILE, POKEMON_FILE, ATTACKS_FILE, ITEMS_FILE};
+        String[] contents = new String[files.length];
+        for (int i = 0; i < files.length; i++) {
+            try (InputStream in = Catalog.class.getResourceAsStream("/" + DEFAULT_DIR + "/" + files[i])) {
+                if (in == null) {
+                    return null;
+                }
+                contents[i] = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el recurso " + files[i], e);
+            }
+        }
+        return parse(contents[0], contents[1], contents[2], contents[3]);
+    }
+
+    /**
+     * Tabla de efectividad por ordinal de {@link PokemonType}, indexada por
+     * {@code atacante * COUNT + defensor}.
+     */
+    public double[] getTypeChart() {
+        return typeChart.clone();
+    }
+
+    public List<PokemonSpecies> getSpecies() {
+        return species;
+    }
+
+    public List<AttackTemplate> getAttacks() {
+        return attacks;
+    }
+
+    public List<ItemData> getItems() {
+        return items;
+    }
+
+    /**
+     * Carga el catálogo de un directorio: de la imagen binaria si está al día
+     * y, si no, de los JSON, regenerando la imagen.
+     * @throws UncheckedIOException Si falta algún fichero de datos
+     * @throws IllegalArgumentException Si los datos no son válidos
+     */
+    public static Catalog load(Path dir) {
+        try {
+            long stamp = stamp(dir);
+            Path cache = dir.resolve(CACHE_FILE);
+            if (Files.isRegularFile(cache)) {
+                try {
+                    Catalog catalog = read(cache, stamp);
+                    if (catalog != null) {
+                        return catalog;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    BattleLogger.warn("La imagen del catálogo no es válida, se regenera", e);
+                }
+            }
+            Catalog catalog = parse(Files.readString(dir.resolve(TYPES_FILE)),
+                Files.readString(dir.resolve(POKEMON_FILE)),
+                Files.readString(dir.resolve(ATTACKS_FILE)),
+                Files.readString(dir.resolve(ITEMS_FILE)));
+            try {
+                catalog.write(cache, stamp);
+            } catch (IOException e) {
+                BattleLogger.warn("No se pudo guardar la imagen del catálogo en " + cache, e);
+            }
+            return catalog;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el catálogo de " + dir.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Huella de los ficheros de datos: cambia si alguno cambia de tamaño o de fecha.
+     */
+    static long stamp(Path dir) throws IOException {
+        long stamp = VERSION;
+        for (String file : new String[] {TYPES_FILE, POKEMON_FILE, ATTACKS_FILE, ITEMS_FILE}) {
+            Path path = dir.resolve(file);
+            stamp = stamp * 31 + file.hashCode();
+            stamp = stamp * 31 + Files.size(path);
+            stamp = stamp * 31 + Files.getLastModifiedTime(path).toMillis();
+        }
+        return stamp;
+    }
+
+    // ---------------------------------------------------------------- JSON
+
+    /**
+     * Construye y valida el catálogo a partir del contenido de los JSON.
+     * @throws IllegalArgumentException Con todos los problemas encontrados
+     */
+    public static Catalog parse(String typesJson, String pokemonJson, String attacksJson, String itemsJson) {
+        List<String> problems = new ArrayList<>();
+        double[] chart = parseTypes(typesJson, problems);
+        List<PokemonSpecies> species = parseSpecies(pokemonJson, problems);
+        List<AttackTemplate> attacks = parseAttacks(attacksJson, problems);
+        List<ItemData> items = parseItems(itemsJson, problems);
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Catálogo no válido:\n - " + String.join("\n - ", problems));
+        }
+        return new Catalog(chart, species, attacks, items);
+    }
+
+    private static double[] parseTypes(String json, List<String> problems) {
+        double[] chart = new double[PokemonType.COUNT * PokemonType.COUNT];
+        try {
+            JSONObject root = new JSONObject(json);
+            JSONArray names = root.getJSONArray("types");
+            JSONObject rows = root.getJSONObject("effectiveness");
+            PokemonType[] columns = new PokemonType[names.length()];
+            boolean[] seen = new boolean[PokemonType.COUNT];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = PokemonType.fromName(names.getString(i));
+                if (columns[i] == null) {
+                    problems.add("Tipo desconocido en types: " + names.getString(i));
+                } else if (seen[columns[i].ordinal()]) {
+                    problems.add("Tipo repetido en types: " + names.getString(i));
+                } else {
+                    seen[columns[i].ordinal()] = true;
+                }
+            }
+            for (int t = 0; t < PokemonType.COUNT; t++) {
+                PokemonType attacker = PokemonType.fromIndex(t);
+                if (!seen[t]) {
+                    problems.add("Falta el tipo en types: " + attacker.getDisplayName());
+                    continue;
+                }
+                JSONArray row = rows.optJSONArray(attacker.getDisplayName());
+                if (row == null || row.length() != columns.length) {
+                    problems.add("La fila de efectividad de " + attacker.getDisplayName()
+                        + " debe tener " + columns.length + " valores");
+                    continue;
+                }
+                for (int i = 0; i < columns.length; i++) {
+                    double value = row.getDouble(i);
+                    if (value < 0) {
+                        problems.add("Efectividad negativa de " + attacker.getDisplayName() + " contra " + names.getString(i));
+                    }
+                    if (columns[i] != null) {
+                        chart[t * PokemonType.COUNT + columns[i].ordinal()] = value;
+                    }
+                }
+            }
+        } catch (JSONException e) {
+            problems.add(TYPES_FILE + ": " + e.getMessage());
+        }
+        return chart;
+    }
+
+    private static List<PokemonSpecies> parseSpecies(String json, List<String> problems) {
+        List<PokemonSpecies> result = new ArrayList<>();
+        Map<String, Integer> names = new HashMap<>();
+        Map<Integer, String> ids = new HashMap<>();
+        JSONArray entries = entries(json, "pokemon", problems);
+        for (int i = 0; i < entries.length(); i++) {
+            try {
+                JSONObject entry = entries.getJSONObject(i);
+                String name = name(entry, "pokemon", i, names, problems);
+                PokemonType type = type(entry, "pokemon", name, problems);
+                int id = entry.getInt("id");
+                PokemonType secondaryType = null;
+                if (entry.has("secondaryType")) {
+                    secondaryType = PokemonType.fromName(entry.getString("secondaryType"));
+                    if (secondaryType == null) {
+                        problems.add("pokemon " + name + ": segundo tipo desconocido " + entry.getString("secondaryType"));
+                    } else if (secondaryType == type) {
+                        problems.add("pokemon " + name + ": el segundo tipo repite el primero");
+                    }
+                }
+                String previous = ids.putIfAbsent(id, name);
+                if (previous != null) {
+                    problems.add("Id repetido en pokemon: " + id + " (\"" + previous + "\" y \"" + name + "\")");
+                }
+                int ps = entry.getInt("ps");
+                if (ps <= 0) {
+                    problems.add("pokemon " + name + ": los PS deben ser positivos");
+                }
+                int[] stats = new int[5];
+                String[] keys = {"speed", "specialAttack", "physicalAttack", "specialDefense", "physicalDefense"};
+                for (int s = 0; s < keys.length; s++) {
+                    stats[s] = entry.getInt(keys[s]);
+                    if (stats[s] < 0) {
+                        problems.add("pokemon " + name + ": " + keys[s] + " no puede ser negativo");
+                    }
+                }
+                if (type != null) {
+                    result.add(new PokemonSpecies(name, id, ps, stats[0], stats[1], stats[2],
+                        stats[3], stats[4], type.getDisplayName(), type, secondaryType, entry.getInt("evasion")));
+                }
+            } catch (JSONException e) {
+                problems.add("pokemon[" + i + "]: " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private static List<AttackTemplate> parseAttacks(String json, List<String> problems) {
+        List<AttackTemplate> result = new ArrayList<>();
+        Map<String, Integer> names = new HashMap<>();
+        JSONArray entries = entries(json, "attacks", problems);
+        for (int i = 0; i < entries.length(); i++) {
+            try {
+                JSONObject entry = entries.getJSONObject(i);
+                String name = name(entry, "attacks", i, names, problems);
+                PokemonType type = type(entry, "attacks", name, problems);
+                String category = entry.getString("category");
+                int categoryIndex = List.of(CATEGORIES).indexOf(category);
+                if (categoryIndex < 0) {
+                    problems.add("attacks " + name + ": categoría desconocida " + category);
+                    continue;
+                }
+                int baseDamage = entry.getInt("baseDamage");
+                int powerPoint = entry.getInt("powerPoint");
+                int precision = entry.getInt("precision");
+                if (baseDamage < 0 || powerPoint <= 0 || precision < 0 || precision > 100) {
+                    problems.add("attacks " + name + ": daño, PP o precisión fuera de rango");
+                }
+                AttributeType affects = null;
+                int duration = 0;
+                if (CATEGORIES[2].equals(category)) {
+                    affects = attributeType(entry.getString("affects"), "attacks " + name, problems);
+                    duration = entry.getInt("duration");
+                }
+                if (type != null) {
+                    result.add(new AttackTemplate(name, type.getDisplayName(), type, baseDamage, powerPoint, precision,
+                        CATEGORIES[categoryIndex], affects != null ? affects.name() : null, affects, duration));
+                }
+            } catch (JSONException e) {
+                problems.add("attacks[" + i + "]: " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private static List<ItemData> parseItems(String json, List<String> problems) {
+        List<ItemData> result = new ArrayList<>();
+        Map<String, Integer> names = new HashMap<>();
+        JSONArray entries = entries(json, "items", problems);
+        for (int i = 0; i < entries.length(); i++) {
+            try {
+                JSONObject entry = entries.getJSONObject(i);
+                String name = name(entry, "items", i, names, problems);
+                Item.AttributeType applyTo;
+                try {
+                    applyTo = Item.AttributeType.valueOf(entry.getString("applyTo"));
+                } catch (IllegalArgumentException e) {
+                    problems.add("items " + name + ": atributo desconocido " + entry.getString("applyTo"));
+                    continue;
+                }
+                result.add(new ItemData(name, entry.getString("description"), entry.getInt("value"), applyTo));
+            } catch (JSONException e) {
+                problems.add("items[" + i + "]: " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private static JSONArray entries(String json, String key, List<String> problems) {
+        try {
+            return new JSONObject(json).getJSONArray(key);
+        } catch (JSONException e) {
+            problems.add(key + ": " + e.getMessage());
+            return new JSONArray();
+        }
+    }
+
+    /**
+     * Lee el nombre de una entrada y comprueba que no esté repetido.
+     */
+    private static String name(JSONObject entry, String section, int index, Map<String, Integer> names,
+                               List<String> problems) {
+        String name = entry.getString("name");
+        if (name.isBlank()) {
+            problems.add(section + "[" + index + "]: nombre vacío");
+        }
+        Integer previous = names.putIfAbsent(name, index);
+        if (previous != null) {
+            problems.add("Nombre repetido en " + section + ": \"" + name + "\" (entradas " + previous + " y " + index + ")");
+        }
+        return name;
+    }
+
+    private static PokemonType type(JSONObject entry, String section, String name, List<String> problems) {
+        PokemonType type = PokemonType.fromName(entry.getString("type"));
+        if (type == null) {
+            problems.add(section + " " + name + ": tipo desconocido " + entry.getString("type"));
+        }
+        return type;
+    }
+
+    private static AttributeType attributeType(String value, String where, List<String> problems) {
+        try {
+            return AttributeType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            problems.add(where + ": atributo desconocido " + value);
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------ Imagen binaria
+
+    /**
+     * Guarda el catálogo como imagen binaria. Se escribe en un fichero
+     * temporal y se renombra, para que nunca quede una imagen a medias.
+     * @param stamp Huella de los datos de origen, para saber si la imagen está al día
+     */
+    public void write(Path file, long stamp) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(stamp);
+
+        out.writeInt(typeChart.length);
+        for (double value : typeChart) {
+            out.writeDouble(value);
+        }
+        out.writeInt(species.size());
+        for (PokemonSpecies s : species) {
+            writeString(out, s.name());
+            out.writeInt(s.id());
+            out.writeByte(s.pokemonType().ordinal());
+            out.writeByte(s.secondaryType() != null ? s.secondaryType().ordinal() : -1);
+            out.writeInt(s.ps());
+            out.writeInt(s.speed());
+            out.writeInt(s.specialAttack());
+            out.writeInt(s.physicalAttack());
+            out.writeInt(s.specialDefense());
+            out.writeInt(s.physicalDefense());
+            out.writeInt(s.evasion());
+        }
+        out.writeInt(attacks.size());
+        for (AttackTemplate a : attacks) {
+            writeString(out, a.name());
+            out.writeByte(List.of(CATEGORIES).indexOf(a.attackType()));
+            out.writeByte(a.pokemonType().ordinal());
+            out.writeInt(a.baseDamage());
+            out.writeInt(a.powerPoint());
+            out.writeInt(a.precision());
+            out.writeByte(a.affects() != null ? a.affects().ordinal() : -1);
+            out.writeInt(a.turnosDuracion());
+        }
+        out.writeInt(items.size());
+        for (ItemData item : items) {
+            writeString(out, item.name());
+            writeString(out, item.description());
+            out.writeInt(item.effectValue());
+            out.writeByte(item.applyTo().ordinal());
+        }
+        out.flush();
+
+        writeAtomically(file, bytes.toByteArray());
+    }
+
+    /**
+     * Escribe un fichero en uno temporal y lo renombra, para que nunca quede a medias.
+     */
+    static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, content);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lee una imagen binaria proyectándola en memoria.
+     * @return El catálogo, o null si la imagen es de otra versión o de otros datos
+     */
+    public static Catalog read(Path file, long stamp) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (in.remaining() < 16 || in.getInt() != MAGIC || in.getInt() != VERSION || in.getLong() != stamp) {
+            return null;
+        }
+
+        double[] chart = new double[in.getInt()];
+        for (int i = 0; i < chart.length; i++) {
+            chart[i] = in.getDouble();
+        }
+        int speciesCount = in.getInt();
+        List<PokemonSpecies> species = new ArrayList<>(speciesCount);
+        for (int i = 0; i < speciesCount; i++) {
+            String name = readString(in);
+            int id = in.getInt();
+            PokemonType type = PokemonType.fromIndex(in.get());
+            byte secondary = in.get();
+            PokemonType secondaryType = secondary >= 0 ? PokemonType.fromIndex(secondary) : null;
+            species.add(new PokemonSpecies(name, id, in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                in.getInt(), in.getInt(), type.getDisplayName(), type, secondaryType, in.getInt()));
+        }
+        int attackCount = in.getInt();
+        List<AttackTemplate> attacks = new ArrayList<>(attackCount);
+        AttributeType[] attributes = AttributeType.values();
+        for (int i = 0; i < attackCount; i++) {
+            String name = readString(in);
+            String category = CATEGORIES[in.get()];
+            PokemonType type = PokemonType.fromIndex(in.get());
+            int baseDamage = in.getInt();
+            int powerPoint = in.getInt();
+            int precision = in.getInt();
+            byte affects = in.get();
+            AttributeType attribute = affects >= 0 ? attributes[affects] : null;
+            attacks.add(new AttackTemplate(name, type.getDisplayName(), type, baseDamage, powerPoint, precision,
+                category, attribute != null ? attribute.name() : null, attribute, in.getInt()));
+        }
+        int itemCount = in.getInt();
+        List<ItemData> items = new ArrayList<>(itemCount);
+        Item.AttributeType[] applies = Item.AttributeType.values();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new ItemData(readString(in), readString(in), in.getInt(), applies[in.get()]));
+        }
+        return new Catalog(chart, species, attacks, items);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
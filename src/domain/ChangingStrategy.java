@@ -1,15 +1,12 @@
 package domain;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Estrategia que prioriza el cambio de Pokémon para obtener ventaja de tipo.
  */
 public class ChangingStrategy implements MachineStrategy {
     
-    private final Random random = new Random();
     private int turnCounter = 0;
     
     @Override
@@ -24,25 +21,28 @@ public class ChangingStrategy implements MachineStrategy {
         }
         
         // Verificar si tenemos desventaja de tipo
-        boolean hasTypeDisadvantage = hasTypeDisadvantage(active, opponentActive);
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int rival = matchups.rivalSlot(side);
+        boolean hasTypeDisadvantage = matchups.typeAdvantage(side, machine.getActivePokemonIndex(), rival) < 1.0;
         
         // Si tenemos desventaja de tipo, consideramos cambiar (70% de probabilidad)
-        if (hasTypeDisadvantage && random.nextInt(100) < 70) {
+        if (hasTypeDisadvantage && battleArena.getRandom().nextInt(100) < 70) {
             // Buscar un Pokémon con ventaja de tipo
-            int betterPokemonIndex = findBetterPokemon(machine, opponentActive);
+            int betterPokemonIndex = findBetterPokemon(machine, matchups, side, rival);
             if (betterPokemonIndex >= 0) {
                 return 3; // Cambiar Pokémon
             }
         }
         
         // Cada 3 turnos, considera cambiar de Pokémon para confundir al oponente
-        if (turnCounter % 3 == 0 && machine.getPokemons().size() > 1 && random.nextInt(100) < 40) {
+        if (turnCounter % 3 == 0 && machine.getPokemons().size() > 1 && battleArena.getRandom().nextInt(100) < 40) {
             return 3; // Cambiar Pokémon
         }
         
         // Si el Pokémon está debilitado, usar ítem o cambiar
         if (active.getPs() < active.getTotalPs() * 0.3) {
-            if (!machine.getItems().isEmpty() && random.nextInt(100) < 40) {
+            if (!machine.getItems().isEmpty() && battleArena.getRandom().nextInt(100) < 40) {
                 return 2; // Usar ítem
             }
         }
@@ -52,47 +52,45 @@ public class ChangingStrategy implements MachineStrategy {
     }
     
     @Override
-    public String selectAttack(Machine machine, BattleArena battleArena) {
+    public int selectAttack(Machine machine, BattleArena battleArena) {
         Pokemon active = machine.getActivePokemon();
         Pokemon opponent = getOpponentPokemon(machine, battleArena);
         List<Attack> attacks = active.getAtaques();
         
-        if (attacks.isEmpty()) {
-            return null;
-        }
-        
         // Seleccionar ataque con mejor efectividad de tipo
-        Attack bestAttack = null;
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int slot = machine.getActivePokemonIndex();
+        int bestAttack = -1;
         double bestEffectiveness = 0;
         
-        for (Attack attack : attacks) {
+        for (int m = 0; m < attacks.size(); m++) {
+            Attack attack = attacks.get(m);
             if (attack.getPowerPoint() <= 0) continue;
             
             double effectiveness = 1.0;
             if (opponent != null) {
-                int attackType = efectivity.numberType.getOrDefault(attack.getType(), 10);
-                int defenderType = efectivity.numberType.getOrDefault(opponent.getType(), 10);
-                effectiveness = efectivity.efectividad(attackType, defenderType);
+                effectiveness = matchups.effectiveness(side, slot, m, matchups.rivalSlot(side));
             }
             
             // Combinar efectividad con potencia de ataque
             double attackScore = attack.getBaseDamage() * effectiveness;
             
-            if (bestAttack == null || attackScore > bestEffectiveness) {
-                bestAttack = attack;
+            if (bestAttack < 0 || attackScore > bestEffectiveness) {
+                bestAttack = m;
                 bestEffectiveness = attackScore;
             }
         }
         
-        return bestAttack != null ? bestAttack.getName() : null;
+        return bestAttack;
     }
     
     @Override
-    public String selectItem(Machine machine, BattleArena battleArena) {
+    public int selectItem(Machine machine, BattleArena battleArena) {
         List<Item> items = machine.getItems();
         
         if (items.isEmpty()) {
-            return null;
+            return -1;
         }
         
         // Priorizar ítems de curación
@@ -100,15 +98,15 @@ public class ChangingStrategy implements MachineStrategy {
         double healthRatio = (double) active.getPs() / active.getTotalPs();
         
         if (healthRatio < 0.5) {
-            for (Item item : items) {
-                if (item.getName().contains("Poción")) {
-                    return item.getName();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).getName().contains("Poción")) {
+                    return i;
                 }
             }
         }
         
         // Si no hay pociones, elegir cualquier ítem
-        return items.get(random.nextInt(items.size())).getName();
+        return battleArena.getRandom().nextInt(items.size());
     }
     
     @Override
@@ -121,7 +119,9 @@ public class ChangingStrategy implements MachineStrategy {
         }
         
         // Buscar el Pokémon con mejor ventaja de tipo
-        return findBetterPokemon(machine, opponentActive);
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        return findBetterPokemon(machine, matchups, side, matchups.rivalSlot(side));
     }
     
     @Override
@@ -134,16 +134,20 @@ public class ChangingStrategy implements MachineStrategy {
         }
         
         // Contar cuántos Pokémon tienen ventaja
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int rival = matchups.rivalSlot(side);
+        List<Pokemon> pokemons = machine.getPokemons();
         int pokemonWithAdvantage = 0;
-        for (Pokemon p : machine.getPokemons()) {
-            if (p.getPs() > 0 && !hasTypeDisadvantage(p, opponentActive)) {
+        for (int i = 0; i < pokemons.size(); i++) {
+            if (pokemons.get(i).getPs() > 0 && matchups.typeAdvantage(side, i, rival) >= 1.0) {
                 pokemonWithAdvantage++;
             }
         }
         
         // Si ningún Pokémon tiene ventaja y estamos en mala situación, considerar huir
         if (pokemonWithAdvantage == 0) {
-            return random.nextInt(100) < 5; // 5% de probabilidad
+            return battleArena.getRandom().nextInt(100) < 5; // 5% de probabilidad
         }
         
         return false;
@@ -160,19 +164,7 @@ public class ChangingStrategy implements MachineStrategy {
         return null;
     }
     
-    private boolean hasTypeDisadvantage(Pokemon attacker, Pokemon defender) {
-        if (attacker == null || defender == null) return false;
-        
-        int attackerType = efectivity.numberType.getOrDefault(attacker.getType(), 10);
-        int defenderType = efectivity.numberType.getOrDefault(defender.getType(), 10);
-        
-        // Si la efectividad es menor que 1, tenemos desventaja
-        return efectivity.efectividad(attackerType, defenderType) < 1.0;
-    }
-    
-    private int findBetterPokemon(Machine machine, Pokemon opponent) {
-        if (opponent == null) return -1;
-        
+    private int findBetterPokemon(Machine machine, MatchupTable matchups, int side, int rival) {
         List<Pokemon> pokemons = machine.getPokemons();
         Pokemon current = machine.getActivePokemon();
         int bestIndex = -1;
@@ -186,9 +178,7 @@ public class ChangingStrategy implements MachineStrategy {
                 continue;
             }
             
-            int pokemonType = efectivity.numberType.getOrDefault(p.getType(), 10);
-            int opponentType = efectivity.numberType.getOrDefault(opponent.getType(), 10);
-            double typeAdvantage = efectivity.efectividad(pokemonType, opponentType);
+            double typeAdvantage = matchups.typeAdvantage(side, i, rival);
             
             if (typeAdvantage > bestAdvantage) {
                 bestAdvantage = typeAdvantage;
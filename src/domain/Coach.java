@@ -1,6 +1,8 @@
 package domain;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class Coach {
@@ -8,7 +10,10 @@ public abstract class Coach {
     //private String name; // Nombre del entrenador
     protected List<Pokemon> pokemons; // Lista de Pokémon del entrenador
     protected int activePokemonIndex; // Índice del Pokémon actualmente en batalla
-    protected List<Item> items; // Lista de objetos del entrenador
+    // Unidades de cada ítem del inventario, indexadas por su identificador en ItemFactory
+    final int[] itemCounts = new int[ItemFactory.getItemTypeCount()];
+    private List<Item> itemsView; // Vistas del inventario; null cuando hay que rehacerlas
+    private List<String> itemNamesView;
     private int score;
     private boolean fled = false;
 
@@ -25,16 +30,38 @@ public abstract class Coach {
     public abstract String getName();
 
     public void agregarItem(String nombreItem) {
-        Item item = ItemFactory.createItem(nombreItem);
-        items.add(item);
+        agregarItem(ItemFactory.createItem(nombreItem).getId());
+    }
+
+    /**
+     * Añade una unidad del ítem con ese identificador al inventario.
+     */
+    public void agregarItem(int itemId) {
+        itemCounts[itemId]++;
+        itemsChanged();
     }
 
     public void createItems(ArrayList<String> items) {
-        this.items = new ArrayList<>();
+        Arrays.fill(itemCounts, 0);
         for (String nombreItem : items) {
-            Item item = ItemFactory.createItem(nombreItem);
-            this.items.add(item);
+            itemCounts[ItemFactory.createItem(nombreItem).getId()]++;
         }
+        itemsChanged();
+    }
+
+    /**
+     * Unidades que quedan del ítem con ese identificador.
+     */
+    public int getItemCount(int itemId) {
+        return itemId >= 0 && itemId < itemCounts.length ? itemCounts[itemId] : 0;
+    }
+
+    /**
+     * Descarta las vistas del inventario; se llama tras cada cambio en {@link #itemCounts}.
+     */
+    void itemsChanged() {
+        itemsView = null;
+        itemNamesView = null;
     }
 
 
@@ -63,6 +90,10 @@ public abstract class Coach {
     }
     
 
+    public int getActivePokemonIndex() {
+        return activePokemonIndex;
+    }
+
     public Pokemon getActivePokemon() {
         return pokemons.get(activePokemonIndex);
     }
@@ -73,7 +104,6 @@ public abstract class Coach {
      * @throws PoobkemonException si el índice es inválido o el Pokémon está debilitado.
      */
     public void switchToPokemon(int index) throws PoobkemonException {
-        System.out.println(3);
         if (index < 0 || index >= pokemons.size()) {
             throw new PoobkemonException(PoobkemonException.INVALID_POKEMON_INDEX);
         }
@@ -82,7 +112,9 @@ public abstract class Coach {
             throw new PoobkemonException(PoobkemonException.FAINTED_POKEMON);
         }
         this.activePokemonIndex = index;
-        System.out.println("El entrenador ha cambiado al Pokémon activo a: " + selected.getName());
+        if (BattleLogger.isDebugEnabled()) {
+            BattleLogger.debug("El entrenador ha cambiado al Pokémon activo a: " + selected.getName());
+        }
     }
 
     public void cambiarPokemonActivo(String nombrePokemon) {
@@ -94,6 +126,15 @@ public abstract class Coach {
         }
     }
 
+    /**
+     * Cambia al pokémon de la posición indicada si existe y puede luchar.
+     */
+    public void cambiarPokemonActivo(int slot) {
+        if (slot >= 0 && slot < pokemons.size() && pokemons.get(slot).getPs() > 0) {
+            activePokemonIndex = slot;
+        }
+    }
+
     public boolean areAllPokemonFainted() {
     	
         for (Pokemon pokemon : pokemons) {
@@ -112,7 +153,7 @@ public abstract class Coach {
         if (activePokemon.getPs() == activePokemon.getTotalPs()) {
             throw new PoobkemonException(PoobkemonException.FULL_POKEMON_HEALTH);
         }
-        if(activePokemon.getPs() <= 0 && item.getName()=="Revivir") {
+        if(activePokemon.getPs() <= 0 && item.getApplyTo() != Item.AttributeType.REVIVE) {
             throw new PoobkemonException(PoobkemonException.POKEMON_HAS_BEEN_FAINTED);
         }
         item.applyItemEffect(activePokemon);
@@ -121,22 +162,25 @@ public abstract class Coach {
     public void usarItem(String nombreItem) throws PoobkemonException {
         // ...lógica de uso...
         // Elimina el ítem del inventario:
-        items.removeIf(item -> item.getName().equals(nombreItem));
+        eliminarItem(nombreItem);
     }
 
     public void useItem(String nombreItem) throws PoobkemonException {
-        Item item = null;
-        for (Item it : items) {
-            if (it.getName().equals(nombreItem)) {
-                item = it;
-                break;
-            }
+        useItem(ItemFactory.getItemId(nombreItem));
+    }
+
+    /**
+     * Usa sobre el pokémon activo una unidad del ítem con ese identificador
+     * y la retira del inventario.
+     */
+    public void useItem(int itemId) throws PoobkemonException {
+        if (getItemCount(itemId) == 0) {
+            throw new PoobkemonException("No tienes ese ítem.");
         }
-        if (item == null) throw new PoobkemonException("No tienes ese ítem.");
-        // Aplica el ítem al pokémon activo de este coach
-        item.applyItemEffect(getActivePokemon());
-        // Elimina el ítem del inventario
-        items.remove(item);
+        // Aplica el ítem al pokémon activo de este coach y lo elimina del inventario
+        ItemFactory.getItem(itemId).applyItemEffect(getActivePokemon());
+        itemCounts[itemId]--;
+        itemsChanged();
     }
 
     public int getScore() {
@@ -168,12 +212,23 @@ public abstract class Coach {
         this.fled = true;
     }
 
+    void setFled(boolean fled) {
+        this.fled = fled;
+    }
+
+    /**
+     * Nombres del inventario, uno por unidad y por orden de identificador.
+     * La lista no se puede modificar y solo se rehace cuando cambia el inventario.
+     */
     public List<String> getNombreItems() {
-        List<String> nombres = new ArrayList<>();
-        for (Item item : items) {
-            nombres.add(item.getName());
+        if (itemNamesView == null) {
+            List<String> nombres = new ArrayList<>();
+            for (Item item : getItems()) {
+                nombres.add(item.getName());
+            }
+            itemNamesView = Collections.unmodifiableList(nombres);
         }
-        return nombres;
+        return itemNamesView;
     }
 
     public void revivirPokemon(String nombrePokemon) throws PoobkemonException {
@@ -186,12 +241,42 @@ public abstract class Coach {
         throw new PoobkemonException("No se pudo revivir el pokémon.");
     }
 
+    /**
+     * Retira todas las unidades del ítem con ese nombre.
+     */
     public void eliminarItem(String nombreItem) {
-        items.removeIf(item -> item.getName().equals(nombreItem));
+        int itemId = ItemFactory.getItemId(nombreItem);
+        if (itemId >= 0) {
+            itemCounts[itemId] = 0;
+            itemsChanged();
+        }
+    }
+
+    /**
+     * Retira una unidad del ítem con ese identificador, si la hay.
+     */
+    public void eliminarItem(int itemId) {
+        if (getItemCount(itemId) > 0) {
+            itemCounts[itemId]--;
+            itemsChanged();
+        }
     }
 
+    /**
+     * Inventario, un ítem por unidad y por orden de identificador. La lista
+     * no se puede modificar y solo se rehace cuando cambia el inventario.
+     */
     public List<Item> getItems() {
-        return items;
+        if (itemsView == null) {
+            List<Item> view = new ArrayList<>();
+            for (int id = 0; id < itemCounts.length; id++) {
+                for (int n = 0; n < itemCounts[id]; n++) {
+                    view.add(ItemFactory.getItem(id));
+                }
+            }
+            itemsView = Collections.unmodifiableList(view);
+        }
+        return itemsView;
     }
     
     /**
@@ -207,7 +292,9 @@ public abstract class Coach {
                 // Verificar que el Pokémon no esté debilitado
                 if (pokemons.get(i).getPs() > 0) {
                     activePokemonIndex = i;
-                    System.out.println("El entrenador ha establecido a " + pokemon.getName() + " como Pokémon activo.");
+                    if (BattleLogger.isDebugEnabled()) {
+                        BattleLogger.debug("El entrenador ha establecido a " + pokemon.getName() + " como Pokémon activo.");
+                    }
                 }
                 break;
             }
@@ -218,6 +305,13 @@ public abstract class Coach {
         return false;
     }
 
+    /**
+     * Pokémon de la posición indicada del equipo, o null si no existe.
+     */
+    public Pokemon getPokemon(int slot) {
+        return slot >= 0 && slot < pokemons.size() ? pokemons.get(slot) : null;
+    }
+
     public Pokemon getPokemonByName(String nombrePokemon) {
         for (Pokemon pokemon : pokemons) { // Asumiendo que tienes una lista llamada 'pokemons' en Coach
             if (pokemon.getName().equalsIgnoreCase(nombrePokemon)) {
@@ -1,16 +1,12 @@
 package domain;
 
 import java.util.List;
-import java.util.Random;
-import java.util.ArrayList;
 
 /**
  * Estrategia defensiva que prioriza la supervivencia y uso de ítems.
  */
 public class DefensiveStrategy implements MachineStrategy {
     
-    private final Random random = new Random();
-    
     @Override
     public int decideAction(Machine machine, BattleArena battleArena) {
         Pokemon active = machine.getActivePokemon();
@@ -18,13 +14,15 @@ public class DefensiveStrategy implements MachineStrategy {
         // Si la vida está por debajo del 50%, considera opciones defensivas
         if (active != null && active.getPs() < active.getTotalPs() * 0.5) {
             // 50% probabilidad de usar ítem si tiene disponibles
-            if (random.nextInt(100) < 50 && !machine.getItems().isEmpty()) {
+            if (battleArena.getRandom().nextInt(100) < 50 && !machine.getItems().isEmpty()) {
                 return 2; // Usar ítem
             }
             
             // 30% probabilidad de cambiar si hay otros pokémon disponibles
-            if (random.nextInt(100) < 30 && machine.getPokemons().size() > 1) {
-                for (Pokemon p : machine.getPokemons()) {
+            List<Pokemon> pokemons = machine.getPokemons();
+            if (battleArena.getRandom().nextInt(100) < 30 && pokemons.size() > 1) {
+                for (int i = 0; i < pokemons.size(); i++) {
+                    Pokemon p = pokemons.get(i);
                     if (p != active && p.getPs() > 0) {
                         return 3; // Cambiar pokémon
                     }
@@ -37,18 +35,15 @@ public class DefensiveStrategy implements MachineStrategy {
     }
     
     @Override
-    public String selectAttack(Machine machine, BattleArena battleArena) {
+    public int selectAttack(Machine machine, BattleArena battleArena) {
         Pokemon active = machine.getActivePokemon();
         List<Attack> attacks = active.getAtaques();
         
-        if (attacks.isEmpty()) {
-            return null;
-        }
-        
         // Prioriza ataques de estado primero
-        for (Attack attack : attacks) {
+        for (int i = 0; i < attacks.size(); i++) {
+            Attack attack = attacks.get(i);
             if (attack instanceof StatusAttack && attack.getPowerPoint() > 0) {
-                return attack.getName();
+                return i;
             }
         }
         
@@ -63,60 +58,69 @@ public class DefensiveStrategy implements MachineStrategy {
         
         if (opponentPokemon != null) {
             // Busca el ataque más efectivo contra el tipo del oponente
-            Attack bestAttack = null;
+            MatchupTable matchups = battleArena.getMatchups();
+            int side = matchups.coachIndex(machine);
+            int slot = machine.getActivePokemonIndex();
+            int rival = matchups.rivalSlot(side);
+            int bestAttack = -1;
             double bestEffectiveness = 0;
             
-            for (Attack attack : attacks) {
+            for (int m = 0; m < attacks.size(); m++) {
+                Attack attack = attacks.get(m);
                 if (attack.getPowerPoint() <= 0) continue;
                 
-                int attackType = efectivity.numberType.getOrDefault(attack.getType(), 10);
-                int defenderType = efectivity.numberType.getOrDefault(opponentPokemon.getType(), 10);
-                double effectiveness = efectivity.efectividad(attackType, defenderType);
+                double effectiveness = matchups.effectiveness(side, slot, m, rival);
                 
                 if (effectiveness > bestEffectiveness) {
                     bestEffectiveness = effectiveness;
-                    bestAttack = attack;
+                    bestAttack = m;
                 }
             }
             
-            if (bestAttack != null) {
-                return bestAttack.getName();
+            if (bestAttack >= 0) {
+                return bestAttack;
             }
         }
         
         // Si no pudo determinar por efectividad, elige un ataque al azar con PP
-        List<Attack> availableAttacks = new ArrayList<>();
-        for (Attack attack : attacks) {
-            if (attack.getPowerPoint() > 0) {
-                availableAttacks.add(attack);
+        int available = 0;
+        for (int i = 0; i < attacks.size(); i++) {
+            if (attacks.get(i).getPowerPoint() > 0) {
+                available++;
             }
         }
         
-        if (!availableAttacks.isEmpty()) {
-            return availableAttacks.get(random.nextInt(availableAttacks.size())).getName();
+        if (available > 0) {
+            int chosen = battleArena.getRandom().nextInt(available);
+            for (int i = 0; i < attacks.size(); i++) {
+                if (attacks.get(i).getPowerPoint() > 0 && chosen-- == 0) {
+                    return i;
+                }
+            }
         }
         
-        return null;
+        return -1;
     }
     
     @Override
-    public String selectItem(Machine machine, BattleArena battleArena) {
+    public int selectItem(Machine machine, BattleArena battleArena) {
         List<Item> items = machine.getItems();
         
         if (items.isEmpty()) {
-            return null;
+            return -1;
         }
         
         // Prioriza ítems defensivos o de curación
-        for (Item item : items) {
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
             if (item.getName().contains("Poción") || 
                 item.getName().contains("Revivir")) {
-                return item.getName();
+                return i;
             }
         }
         
         // Si no hay ítems específicos, elige uno al azar
-        return items.get(random.nextInt(items.size())).getName();
+        return battleArena.getRandom().nextInt(items.size());
     }
     
     @Override
@@ -152,7 +156,7 @@ public class DefensiveStrategy implements MachineStrategy {
         // 5% de probabilidad de huir si la situación es muy desfavorable
         Pokemon active = machine.getActivePokemon();
         if (active != null && active.getPs() < active.getTotalPs() * 0.2) {
-            return random.nextInt(100) < 5;
+            return battleArena.getRandom().nextInt(100) < 5;
         }
         return false;
     }
@@ -0,0 +1,120 @@
+package domain;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Estrategia que reúne varias y decide por mayoría.
+ * <p>
+ * Cada decisión se pide a todas las estrategias y gana la respuesta más
+ * repetida; en caso de empate, la de la estrategia que aparece antes. Las
+ * respuestas vacías (-1) no votan. Los votos se cuentan sobre un array
+ * reutilizado, así que decidir no reserva memoria; por lo mismo, una
+ * instancia no debe decidir desde dos hilos a la vez.
+ * </p>
+ */
+public class EnsembleStrategy implements MachineStrategy {
+
+    private final MachineStrategy[] members;
+    private final int[] votes;
+
+    /**
+     * @param members Estrategias que votan, de mayor a menor prioridad en los empates
+     */
+    public EnsembleStrategy(MachineStrategy... members) {
+        if (members.length == 0) {
+            throw new IllegalArgumentException("El conjunto necesita al menos una estrategia");
+        }
+        this.members = members.clone();
+        this.votes = new int[members.length];
+    }
+
+    @Override
+    public int decideAction(Machine machine, BattleArena battleArena) {
+        for (int i = 0; i < members.length; i++) {
+            votes[i] = members[i].decideAction(machine, battleArena);
+        }
+        return majority();
+    }
+
+    @Override
+    public int selectAttack(Machine machine, BattleArena battleArena) {
+        for (int i = 0; i < members.length; i++) {
+            votes[i] = members[i].selectAttack(machine, battleArena);
+        }
+        return majority();
+    }
+
+    @Override
+    public int selectItem(Machine machine, BattleArena battleArena) {
+        for (int i = 0; i < members.length; i++) {
+            votes[i] = members[i].selectItem(machine, battleArena);
+        }
+        return majority();
+    }
+
+    @Override
+    public int selectPokemon(Machine machine, BattleArena battleArena) {
+        for (int i = 0; i < members.length; i++) {
+            votes[i] = members[i].selectPokemon(machine, battleArena);
+        }
+        return majority();
+    }
+
+    @Override
+    public boolean shouldFlee(Machine machine, BattleArena battleArena) {
+        int yes = 0;
+        for (MachineStrategy member : members) {
+            if (member.shouldFlee(machine, battleArena)) {
+                yes++;
+            }
+        }
+        return yes * 2 > members.length;
+    }
+
+    @Override
+    public boolean supportsPrefetch() {
+        for (MachineStrategy member : members) {
+            if (member.supportsPrefetch()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void prefetch(BattleModel model, BattleState predicted, int coach, BooleanSupplier cancelled) {
+        for (MachineStrategy member : members) {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            if (member.supportsPrefetch()) {
+                member.prefetch(model, predicted, coach, cancelled);
+            }
+        }
+    }
+
+    /**
+     * Respuesta más votada de {@link #votes}, o -1 si ninguna estrategia respondió.
+     */
+    private int majority() {
+        int best = -1;
+        int bestCount = 0;
+        for (int i = 0; i < votes.length; i++) {
+            if (votes[i] < 0) {
+                continue;
+            }
+            // Los votos anteriores iguales ya se contaron con su primera aparición
+            int count = 0;
+            for (int j = i; j < votes.length; j++) {
+                if (votes[j] == votes[i]) {
+                    count++;
+                }
+            }
+            if (count > bestCount) {
+                bestCount = count;
+                best = votes[i];
+            }
+        }
+        return best;
+    }
+}
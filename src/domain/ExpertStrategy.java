@@ -1,16 +1,136 @@
 package domain;
 
-import java.util.ArrayList;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Estrategia experta que combina análisis de situación y toma de decisiones avanzadas.
+ * <p>
+ * Los pesos con los que puntúa pokémon y ataques salen de {@value Weights#FILE}
+ * en el directorio de datos si existe (lo genera {@link ExpertTuner}) y, si no,
+ * de {@link Weights#DEFAULT}.
+ * </p>
  */
 public class ExpertStrategy implements MachineStrategy {
+
+    /**
+     * Pesos de la estrategia.
+     * @param health Peso de la vida restante al elegir pokémon
+     * @param offense Peso de la ventaja de tipo ofensiva
+     * @param defense Peso de la resistencia de tipo
+     * @param speed Peso de la velocidad relativa
+     * @param attack Peso del ataque relativo
+     * @param styleBonus Factor para los ataques de la categoría (física o especial) en la que el pokémon es más fuerte
+     */
+    public record Weights(double health, double offense, double defense, double speed, double attack,
+                          double styleBonus) {
+
+        /** Fichero de pesos en el directorio de datos. */
+        public static final String FILE = "expert-weights.json";
+        /** Pesos elegidos a mano, usados si no hay fichero. */
+        public static final Weights DEFAULT = new Weights(0.3, 0.25, 0.2, 0.15, 0.1, 1.2);
+        /** Número de pesos, en el orden de {@link #toArray()}. */
+        public static final int COUNT = 6;
+
+        private static final class DefaultHolder {
+            static final Weights INSTANCE = loadOrDefault(Catalog.dataFile(FILE));
+        }
+
+        /**
+         * Pesos del directorio de datos, cargados una vez.
+         */
+        public static Weights getDefault() {
+            return DefaultHolder.INSTANCE;
+        }
+
+        public static Weights fromArray(double[] values) {
+            if (values.length != COUNT) {
+                throw new IllegalArgumentException("Se esperaban " + COUNT + " pesos y hay " + values.length);
+            }
+            return new Weights(values[0], values[1], values[2], values[3], values[4], values[5]);
+        }
+
+        public double[] toArray() {
+            return new double[] {health, offense, defense, speed, attack, styleBonus};
+        }
+
+        /**
+         * Lee los pesos de un fichero JSON.
+         * @throws UncheckedIOException Si no se puede leer
+         * @throws IllegalArgumentException Si el contenido no es válido
+         */
+        public static Weights load(Path file) {
+            try {
+                JSONObject json = new JSONObject(Files.readString(file));
+                return new Weights(json.getDouble("health"), json.getDouble("offense"), json.getDouble("defense"),
+                    json.getDouble("speed"), json.getDouble("attack"), json.getDouble("styleBonus"));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudieron leer los pesos de " + file.toAbsolutePath(), e);
+            } catch (JSONException e) {
+                throw new IllegalArgumentException("Pesos no válidos en " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Lee los pesos de un fichero si existe y es válido; si no (o si es null), {@link #DEFAULT}.
+         */
+        public static Weights loadOrDefault(Path file) {
+            if (file == null || !Files.isRegularFile(file)) {
+                return DEFAULT;
+            }
+            try {
+                return load(file);
+            } catch (UncheckedIOException | IllegalArgumentException e) {
+                BattleLogger.warn("No se pudieron cargar los pesos de la estrategia experta", e);
+                return DEFAULT;
+            }
+        }
+
+        /**
+         * Guarda los pesos como JSON, sin dejar nunca el fichero a medias.
+         */
+        public void write(Path file) throws IOException {
+            JSONObject json = new JSONObject();
+            json.put("health", health);
+            json.put("offense", offense);
+            json.put("defense", defense);
+            json.put("speed", speed);
+            json.put("attack", attack);
+            json.put("styleBonus", styleBonus);
+            Catalog.writeAtomically(file, json.toString(2).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    /** Pociones en orden de potencia. */
+    private static final String[] POTION_TYPES = {"Poción Máxima", "Poción Hiperpoción", "Poción Super", "Poción"};
+    /** Efectos que debilitan al oponente. */
+    private static final String[] DEBUFF_EFFECTS = {
+        "BajarAtaque", "BajarDefensa", "BajarVelocidad", "BajarAtaqueEspecial", "BajarDefensaEspecial"};
     
-    private final Random random = new Random();
+    private final Weights weights;
     private int turnCounter = 0;
+
+    /**
+     * Crea la estrategia con los pesos de {@link Weights#getDefault()}.
+     */
+    public ExpertStrategy() {
+        this(Weights.getDefault());
+    }
+
+    public ExpertStrategy(Weights weights) {
+        this.weights = weights;
+    }
+
+    public Weights getWeights() {
+        return weights;
+    }
     
     @Override
     public int decideAction(Machine machine, BattleArena battleArena) {
@@ -23,16 +143,21 @@ public class ExpertStrategy implements MachineStrategy {
             return 1;
         }
         
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int slot = machine.getActivePokemonIndex();
+        int rival = matchups.rivalSlot(side);
+        
         double healthRatio = (double) active.getPs() / active.getTotalPs();
         double opponentHealthRatio = (double) opponent.getPs() / opponent.getTotalPs();
-        boolean typeDisadvantage = hasTypeDisadvantage(active, opponent);
-        boolean typeAdvantage = hasTypeAdvantage(active, opponent);
+        boolean typeDisadvantage = matchups.typeAdvantage(side, slot, rival) < 1.0;
+        boolean typeAdvantage = matchups.typeAdvantage(side, slot, rival) > 1.0;
         
         // Estrategia basada en múltiples factores
         
         // 1. Si tenemos desventaja de tipo y hay mejores opciones, cambiar
         if (typeDisadvantage && machine.getPokemons().size() > 1) {
-            int betterPokemon = findBetterPokemon(machine, opponent);
+            int betterPokemon = findBetterPokemon(machine, matchups, side, rival);
             if (betterPokemon >= 0) {
                 return 3; // Cambiar Pokémon
             }
@@ -44,7 +169,7 @@ public class ExpertStrategy implements MachineStrategy {
         }
         
         // 3. Si el oponente está casi derrotado y tenemos un buen ataque, atacar
-        if (opponentHealthRatio < 0.2 && canDeliverFinishingBlow(active, opponent)) {
+        if (opponentHealthRatio < 0.2 && canDeliverFinishingBlow(active, matchups, side, slot, rival)) {
             return 1; // Atacar para terminar
         }
         
@@ -63,39 +188,38 @@ public class ExpertStrategy implements MachineStrategy {
     }
     
     @Override
-    public String selectAttack(Machine machine, BattleArena battleArena) {
+    public int selectAttack(Machine machine, BattleArena battleArena) {
         Pokemon active = machine.getActivePokemon();
         Pokemon opponent = getOpponentPokemon(machine, battleArena);
         List<Attack> attacks = active.getAtaques();
         
-        if (attacks.isEmpty()) {
-            return null;
-        }
-        
         // Primera ronda: considera ataques de estado
         if (turnCounter <= 2) {
-            for (Attack attack : attacks) {
+            for (int i = 0; i < attacks.size(); i++) {
+                Attack attack = attacks.get(i);
                 if (attack instanceof StatusAttack && attack.getPowerPoint() > 0) {
                     // Verificar si afecta estadísticas del oponente negativamente
                     if (isDebuffAttack(attack)) {
-                        return attack.getName();
+                        return i;
                     }
                 }
             }
         }
         
         // Fase media: usa los ataques con mejor relación efectividad/poder
-        Attack bestAttack = null;
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int slot = machine.getActivePokemonIndex();
+        int bestAttack = -1;
         double bestScore = 0;
         
-        for (Attack attack : attacks) {
+        for (int m = 0; m < attacks.size(); m++) {
+            Attack attack = attacks.get(m);
             if (attack.getPowerPoint() <= 0) continue;
             
             double effectiveness = 1.0;
             if (opponent != null) {
-                int attackType = efectivity.numberType.getOrDefault(attack.getType(), 10);
-                int defenderType = efectivity.numberType.getOrDefault(opponent.getType(), 10);
-                effectiveness = efectivity.efectividad(attackType, defenderType);
+                effectiveness = matchups.effectiveness(side, slot, m, matchups.rivalSlot(side));
             }
             
             // Cálculo de puntuación avanzado
@@ -109,24 +233,24 @@ public class ExpertStrategy implements MachineStrategy {
             // Si es un ataque físico y tenemos buen ataque físico, o es especial y tenemos buen ataque especial
             if ((attack instanceof PhysicalAttack && active.getPhysicalAttack() > active.getSpecialAttack()) ||
                 (attack instanceof SpecialAttack && active.getSpecialAttack() > active.getPhysicalAttack())) {
-                score *= 1.2; // 20% extra por usar el tipo de ataque que mejor nos conviene
+                score *= weights.styleBonus(); // Extra por usar el tipo de ataque que mejor nos conviene
             }
             
             if (score > bestScore) {
                 bestScore = score;
-                bestAttack = attack;
+                bestAttack = m;
             }
         }
         
-        return bestAttack != null ? bestAttack.getName() : null;
+        return bestAttack;
     }
     
     @Override
-    public String selectItem(Machine machine, BattleArena battleArena) {
+    public int selectItem(Machine machine, BattleArena battleArena) {
         List<Item> items = machine.getItems();
         
         if (items.isEmpty()) {
-            return null;
+            return -1;
         }
         
         Pokemon active = machine.getActivePokemon();
@@ -135,11 +259,10 @@ public class ExpertStrategy implements MachineStrategy {
         // Situación crítica: usar la mejor poción disponible
         if (healthRatio < 0.3) {
             // Buscar pociones en orden de potencia
-            String[] potionTypes = {"Poción Máxima", "Poción Hiperpoción", "Poción Super", "Poción"};
-            for (String potionType : potionTypes) {
-                for (Item item : items) {
-                    if (item.getName().contains(potionType)) {
-                        return item.getName();
+            for (String potionType : POTION_TYPES) {
+                for (int i = 0; i < items.size(); i++) {
+                    if (items.get(i).getName().contains(potionType)) {
+                        return i;
                     }
                 }
             }
@@ -148,26 +271,27 @@ public class ExpertStrategy implements MachineStrategy {
         // Situación normal: usar item estratégico
         if (turnCounter < 3) {
             // Al inicio de la batalla, considera ítems de mejora de estadísticas
-            for (Item item : items) {
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
                 if (item.getName().contains("X-") || 
                     item.getName().contains("Defensa") || 
                     item.getName().contains("Ataque")) {
-                    return item.getName();
+                    return i;
                 }
             }
         }
         
         // Usar la mejor poción disponible si estamos dañados
         if (healthRatio < 0.7) {
-            for (Item item : items) {
-                if (item.getName().contains("Poción")) {
-                    return item.getName();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).getName().contains("Poción")) {
+                    return i;
                 }
             }
         }
         
         // Si todo falla, usar el primer ítem disponible
-        return items.get(0).getName();
+        return 0;
     }
     
     @Override
@@ -181,6 +305,9 @@ public class ExpertStrategy implements MachineStrategy {
         
         List<Pokemon> pokemons = machine.getPokemons();
         Pokemon current = machine.getActivePokemon();
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int rival = matchups.rivalSlot(side);
         
         // Calcular puntuación para cada Pokémon considerando todos los factores
         int bestIndex = -1;
@@ -198,26 +325,21 @@ public class ExpertStrategy implements MachineStrategy {
             double healthScore = (double) p.getPs() / p.getTotalPs();
             
             // Efectividad de tipo (ofensiva y defensiva)
-            double offensiveTypeAdvantage = getTypeAdvantage(p, opponent);
-            double defensiveTypeResistance = 1.0 / getTypeAdvantage(opponent, p);
+            double offensiveTypeAdvantage = matchups.typeAdvantage(side, i, rival);
+            double defensiveTypeResistance = 1.0 / matchups.typeAdvantage(1 - side, rival, i);
             
             // Velocidad relativa
-            double speedRatio = (double) p.getSpeed() / Math.max(1, opponent.getSpeed());
+            double speedRatio = matchups.speedRatio(side, i, rival);
             
             // Fuerza de ataque relativa
-            double attackRatio;
-            if (p.getPhysicalAttack() > p.getSpecialAttack()) {
-                attackRatio = (double) p.getPhysicalAttack() / Math.max(1, opponent.getPhysicalDefense());
-            } else {
-                attackRatio = (double) p.getSpecialAttack() / Math.max(1, opponent.getSpecialDefense());
-            }
+            double attackRatio = matchups.attackRatio(side, i, rival);
             
             // Calcular puntuación final
-            double score = healthScore * 0.3 + 
-                           offensiveTypeAdvantage * 0.25 + 
-                           defensiveTypeResistance * 0.2 + 
-                           speedRatio * 0.15 + 
-                           attackRatio * 0.1;
+            double score = healthScore * weights.health() + 
+                           offensiveTypeAdvantage * weights.offense() + 
+                           defensiveTypeResistance * weights.defense() + 
+                           speedRatio * weights.speed() + 
+                           attackRatio * weights.attack();
             
             if (score > bestScore) {
                 bestScore = score;
@@ -236,7 +358,9 @@ public class ExpertStrategy implements MachineStrategy {
         int healthyCount = 0;
         int faintedCount = 0;
         
-        for (Pokemon p : machine.getPokemons()) {
+        List<Pokemon> pokemons = machine.getPokemons();
+        for (int i = 0; i < pokemons.size(); i++) {
+            Pokemon p = pokemons.get(i);
             if (p.getPs() <= 0) {
                 faintedCount++;
             } else if (p.getPs() > p.getTotalPs() * 0.5) {
@@ -246,7 +370,7 @@ public class ExpertStrategy implements MachineStrategy {
         
         // Si casi todos están debilitados y ninguno en buen estado, considerar huir
         if (faintedCount >= machine.getPokemons().size() - 1 && healthyCount == 0) {
-            return random.nextInt(100) < 10; // 10% de probabilidad
+            return battleArena.getRandom().nextInt(100) < 10; // 10% de probabilidad
         }
         
         return false;
@@ -263,30 +387,7 @@ public class ExpertStrategy implements MachineStrategy {
         return null;
     }
     
-    private boolean hasTypeDisadvantage(Pokemon attacker, Pokemon defender) {
-        if (attacker == null || defender == null) return false;
-        
-        return getTypeAdvantage(attacker, defender) < 1.0;
-    }
-    
-    private boolean hasTypeAdvantage(Pokemon attacker, Pokemon defender) {
-        if (attacker == null || defender == null) return false;
-        
-        return getTypeAdvantage(attacker, defender) > 1.0;
-    }
-    
-    private double getTypeAdvantage(Pokemon attacker, Pokemon defender) {
-        if (attacker == null || defender == null) return 1.0;
-        
-        int attackerType = efectivity.numberType.getOrDefault(attacker.getType(), 10);
-        int defenderType = efectivity.numberType.getOrDefault(defender.getType(), 10);
-        
-        return efectivity.efectividad(attackerType, defenderType);
-    }
-    
-    private int findBetterPokemon(Machine machine, Pokemon opponent) {
-        if (opponent == null) return -1;
-        
+    private int findBetterPokemon(Machine machine, MatchupTable matchups, int side, int rival) {
         List<Pokemon> pokemons = machine.getPokemons();
         Pokemon current = machine.getActivePokemon();
         int bestIndex = -1;
@@ -299,7 +400,7 @@ public class ExpertStrategy implements MachineStrategy {
                 continue;
             }
             
-            double typeAdvantage = getTypeAdvantage(p, opponent);
+            double typeAdvantage = matchups.typeAdvantage(side, i, rival);
             if (typeAdvantage > bestAdvantage) {
                 bestAdvantage = typeAdvantage;
                 bestIndex = i;
@@ -309,15 +410,13 @@ public class ExpertStrategy implements MachineStrategy {
         return bestIndex;
     }
     
-    private boolean canDeliverFinishingBlow(Pokemon attacker, Pokemon defender) {
-        if (attacker == null || defender == null) return false;
-        
+    private boolean canDeliverFinishingBlow(Pokemon attacker, MatchupTable matchups, int side, int slot, int rival) {
         // Verificar si algún ataque puede derrotar al oponente
-        for (Attack attack : attacker.getAtaques()) {
-            if (attack.getPowerPoint() <= 0) continue;
+        List<Attack> attacks = attacker.getAtaques();
+        for (int m = 0; m < attacks.size(); m++) {
+            if (attacks.get(m).getPowerPoint() <= 0) continue;
             
-            int estimatedDamage = estimateDamage(attacker, defender, attack);
-            if (estimatedDamage >= defender.getPs()) {
+            if (matchups.koProbability(side, slot, m, rival) > 0) {
                 return true;
             }
         }
@@ -325,31 +424,6 @@ public class ExpertStrategy implements MachineStrategy {
         return false;
     }
     
-    private int estimateDamage(Pokemon attacker, Pokemon defender, Attack attack) {
-        // Cálculo simplificado de daño
-        double effectiveness = 1.0;
-        int attackType = efectivity.numberType.getOrDefault(attack.getType(), 10);
-        int defenderType = efectivity.numberType.getOrDefault(defender.getType(), 10);
-        effectiveness = efectivity.efectividad(attackType, defenderType);
-        
-        double power = attack.getBaseDamage();
-        double attackStat = 0;
-        double defenseStat = 0;
-        
-        if (attack instanceof PhysicalAttack) {
-            attackStat = attacker.getPhysicalAttack();
-            defenseStat = defender.getPhysicalDefense();
-        } else if (attack instanceof SpecialAttack) {
-            attackStat = attacker.getSpecialAttack();
-            defenseStat = defender.getSpecialDefense();
-        } else {
-            return 0; // Ataques de estado no causan daño directo
-        }
-        
-        // Fórmula simplificada
-        return (int)((power * attackStat / defenseStat) * effectiveness * 0.2);
-    }
-    
     private int selectBestOverallPokemon(Machine machine) {
         List<Pokemon> pokemons = machine.getPokemons();
         Pokemon current = machine.getActivePokemon();
@@ -383,10 +457,7 @@ public class ExpertStrategy implements MachineStrategy {
     private boolean isDebuffAttack(Attack attack) {
         if (!(attack instanceof StatusAttack)) return false;
         
-        // Lista de efectos que debilitan al oponente
-        String[] debuffEffects = {"BajarAtaque", "BajarDefensa", "BajarVelocidad", "BajarAtaqueEspecial", "BajarDefensaEspecial"};
-        
-        for (String effect : debuffEffects) {
+        for (String effect : DEBUFF_EFFECTS) {
             if (attack.getEffect() != null && attack.getEffect().contains(effect)) {
                 return true;
             }
@@ -0,0 +1,331 @@
+package domain;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Ajuste de los pesos de {@link ExpertStrategy} por autojuego, con un algoritmo genético.
+ * <p>
+ * Cada candidato juega batallas con semilla contra un grupo fijo de rivales
+ * (las estrategias sencillas y la experta con los pesos de partida), la mitad
+ * como entrenador 0 y la otra mitad como entrenador 1; su aptitud es su
+ * porcentaje de victorias, con los empates a medias. Todos los candidatos de
+ * una generación juegan las mismas batallas, para compararlos en igualdad, y
+ * las batallas se reparten entre los núcleos como en {@link Tournament}.
+ * </p>
+ * <p>
+ * Tras cada generación se guarda un punto de control. Si el ajuste se corta,
+ * al lanzarlo de nuevo con la misma semilla continúa desde la última
+ * generación terminada y llega al mismo resultado que sin cortes.
+ * </p>
+ */
+public class ExpertTuner {
+
+    /** Punto de control por defecto, en el directorio de datos. */
+    public static final String CHECKPOINT_FILE = "expert-tuner.checkpoint.json";
+    private static final List<MachineFactory.MachineType> RIVALS = List.of(MachineFactory.MachineType.ATTACKING,
+        MachineFactory.MachineType.DEFENSIVE, MachineFactory.MachineType.CHANGING, MachineFactory.MachineType.EXPERT);
+    private static final int ELITE = 2;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double MUTATION = 0.1;
+    private static final double MAX_WEIGHT = 2.0;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int teamSize;
+    private final int population;
+    private final int battlesPerRival;
+    private final int parallelism;
+    private final ExpertStrategy.Weights baseline;
+    private final BattleSimulator simulator = new BattleSimulator();
+
+    /**
+     * Resultado del ajuste.
+     * @param best Mejores pesos de la última generación
+     * @param fitness Su porcentaje de victorias
+     * @param generations Generaciones terminadas
+     */
+    public record Result(ExpertStrategy.Weights best, double fitness, int generations) {}
+
+    /** Población y mejor candidato tras una generación, tal y como se guardan. */
+    private record Checkpoint(long seed, int generation, double[][] population, double[] best, double fitness) {}
+
+    /**
+     * @param teamSize Pokémon por equipo
+     * @param population Candidatos por generación
+     * @param battlesPerRival Batallas de cada candidato contra cada rival
+     * @param parallelism Hilos para jugar las batallas
+     */
+    public ExpertTuner(int teamSize, int population, int battlesPerRival, int parallelism) {
+        this(teamSize, population, battlesPerRival, parallelism, ExpertStrategy.Weights.DEFAULT);
+    }
+
+    /**
+     * @param baseline Pesos de partida, que también usa la experta rival
+     */
+    public ExpertTuner(int teamSize, int population, int battlesPerRival, int parallelism,
+                       ExpertStrategy.Weights baseline) {
+        if (teamSize <= 0 || teamSize * 2 > Poobkemon.getAvailablePokemon().size()) {
+            throw new IllegalArgumentException("Tamaño de equipo inválido: " + teamSize);
+        }
+        if (population <= ELITE || battlesPerRival <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("La población debe superar " + ELITE
+                + " y el número de batallas y de hilos debe ser positivo.");
+        }
+        this.teamSize = teamSize;
+        this.population = population;
+        this.battlesPerRival = battlesPerRival;
+        this.parallelism = parallelism;
+        this.baseline = baseline;
+    }
+
+    /**
+     * Ajusta los pesos hasta completar las generaciones indicadas.
+     * @param generations Generaciones totales, contando las de un punto de control previo
+     * @param seed Semilla del ajuste
+     * @param checkpoint Punto de control; si existe con la misma semilla y población se continúa desde él
+     * @return Los mejores pesos de la última generación
+     * @throws IOException Si no se puede guardar el punto de control
+     */
+    public Result tune(int generations, long seed, Path checkpoint) throws IOException {
+        Checkpoint state = readCheckpoint(checkpoint, seed);
+        double[][] candidates = state != null ? state.population() : initialPopulation(seed);
+        double[] best = state != null ? state.best() : baseline.toArray();
+        double bestFitness = state != null ? state.fitness() : 0.0;
+        int generation = state != null ? state.generation() : 0;
+
+        for (; generation < generations; generation++) {
+            SplittableRandom random = new SplittableRandom(seed + GOLDEN_GAMMA * (generation + 1));
+            long[] seeds = random.longs((long) RIVALS.size() * battlesPerRival).toArray();
+            double[] fitness = evaluate(candidates, seeds);
+
+            Integer[] ranking = rank(fitness);
+            best = candidates[ranking[0]].clone();
+            bestFitness = fitness[ranking[0]];
+            BattleLogger.info("Generación " + (generation + 1) + ": " + String.format("%.3f", bestFitness)
+                + " con " + ExpertStrategy.Weights.fromArray(best));
+
+            candidates = breed(candidates, fitness, ranking, random);
+            writeCheckpoint(checkpoint, new Checkpoint(seed, generation + 1, candidates, best, bestFitness));
+        }
+        return new Result(ExpertStrategy.Weights.fromArray(best), bestFitness, generation);
+    }
+
+    /**
+     * Porcentaje de victorias de cada candidato en las batallas dadas.
+     */
+    private double[] evaluate(double[][] candidates, long[] seeds) {
+        int battles = candidates.length * seeds.length;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            double[] score = pool.submit(() -> IntStream.range(0, battles).parallel()
+                .collect(() -> new double[candidates.length],
+                         (sum, battle) -> {
+                             int candidate = battle / seeds.length;
+                             int index = battle % seeds.length;
+                             sum[candidate] += playBattle(candidates[candidate], RIVALS.get(index / battlesPerRival),
+                                 index % 2, seeds[index]);
+                         },
+                         (a, b) -> {
+                             for (int i = 0; i < a.length; i++) {
+                                 a[i] += b[i];
+                             }
+                         }))
+                .get();
+            for (int i = 0; i < score.length; i++) {
+                score[i] /= seeds.length;
+            }
+            return score;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("El ajuste fue interrumpido.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al jugar las batallas: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Juega una batalla con equipos aleatorios.
+     * @param side Entrenador que lleva el candidato
+     * @return 1 si gana el candidato, 0.5 si empata y 0 si pierde
+     */
+    private double playBattle(double[] candidate, MachineFactory.MachineType rival, int side, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> pokemons = new ArrayList<>(Poobkemon.getAvailablePokemon());
+        BattleArena.shuffle(pokemons, random);
+        String[] types = new String[2];
+        types[side] = MachineFactory.MachineType.EXPERT.getDisplayName();
+        types[1 - side] = rival.getDisplayName();
+        BattleArenaNormal arena = new BattleArenaNormal(random.nextLong());
+        try {
+            arena.setupMachineVsMachine("CPU 1", "CPU 2", new ArrayList<>(pokemons.subList(0, teamSize)),
+                new ArrayList<>(pokemons.subList(teamSize, 2 * teamSize)), types[0], types[1]);
+            ((StrategyMachine) arena.getCoach(side)).setStrategy(
+                new ExpertStrategy(ExpertStrategy.Weights.fromArray(candidate)));
+            if (rival == MachineFactory.MachineType.EXPERT) {
+                ((StrategyMachine) arena.getCoach(1 - side)).setStrategy(new ExpertStrategy(baseline));
+            }
+            BattleSimulator.Result result = simulator.run(arena);
+            return result.isDraw() ? 0.5 : result.winner() == side ? 1.0 : 0.0;
+        } catch (PoobkemonException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Primera generación: los pesos de partida y variaciones aleatorias suyas.
+     */
+    private double[][] initialPopulation(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[][] candidates = new double[population][];
+        candidates[0] = baseline.toArray();
+        for (int i = 1; i < population; i++) {
+            candidates[i] = mutate(baseline.toArray(), random);
+        }
+        return candidates;
+    }
+
+    /**
+     * Siguiente generación: los mejores pasan tal cual y el resto son hijos
+     * mutados de padres elegidos por torneo.
+     */
+    private double[][] breed(double[][] candidates, double[] fitness, Integer[] ranking, SplittableRandom random) {
+        double[][] next = new double[population][];
+        for (int i = 0; i < ELITE; i++) {
+            next[i] = candidates[ranking[i]].clone();
+        }
+        for (int i = ELITE; i < population; i++) {
+            double[] a = candidates[select(fitness, random)];
+            double[] b = candidates[select(fitness, random)];
+            double[] child = new double[a.length];
+            for (int w = 0; w < child.length; w++) {
+                // Cruce por mezcla: el hijo puede quedar algo fuera del segmento entre los padres
+                double u = random.nextDouble(-0.25, 1.25);
+                child[w] = a[w] + u * (b[w] - a[w]);
+            }
+            next[i] = mutate(child, random);
+        }
+        return next;
+    }
+
+    private static int select(double[] fitness, SplittableRandom random) {
+        int best = random.nextInt(fitness.length);
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int other = random.nextInt(fitness.length);
+            if (fitness[other] > fitness[best]) {
+                best = other;
+            }
+        }
+        return best;
+    }
+
+    private static double[] mutate(double[] weights, SplittableRandom random) {
+        for (int w = 0; w < weights.length; w++) {
+            weights[w] = Math.max(0.0, Math.min(MAX_WEIGHT, weights[w] + random.nextGaussian() * MUTATION));
+        }
+        return weights;
+    }
+
+    /**
+     * Índices de los candidatos de mejor a peor; en los empates, el primero.
+     */
+    private static Integer[] rank(double[] fitness) {
+        Integer[] ranking = new Integer[fitness.length];
+        for (int i = 0; i < ranking.length; i++) {
+            ranking[i] = i;
+        }
+        Arrays.sort(ranking, (a, b) -> Double.compare(fitness[b], fitness[a]));
+        return ranking;
+    }
+
+    private void writeCheckpoint(Path file, Checkpoint state) throws IOException {
+        JSONObject json = new JSONObject();
+        json.put("seed", state.seed());
+        json.put("generation", state.generation());
+        json.put("population", new JSONArray(state.population()));
+        json.put("best", new JSONArray(state.best()));
+        json.put("fitness", state.fitness());
+        Catalog.writeAtomically(file, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lee el punto de control si existe y corresponde a este ajuste.
+     * @return El estado guardado, o null si hay que empezar de cero
+     */
+    private Checkpoint readCheckpoint(Path file, long seed) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(file));
+            JSONArray saved = json.getJSONArray("population");
+            if (json.getLong("seed") != seed || saved.length() != population) {
+                BattleLogger.warn("El punto de control " + file + " es de otro ajuste; se empieza de cero");
+                return null;
+            }
+            double[][] candidates = new double[population][];
+            for (int i = 0; i < population; i++) {
+                candidates[i] = toArray(saved.getJSONArray(i));
+            }
+            return new Checkpoint(seed, json.getInt("generation"), candidates,
+                toArray(json.getJSONArray("best")), json.getDouble("fitness"));
+        } catch (JSONException | IllegalArgumentException e) {
+            BattleLogger.warn("El punto de control " + file + " no es válido; se empieza de cero", e);
+            return null;
+        }
+    }
+
+    private static double[] toArray(JSONArray array) {
+        if (array.length() != ExpertStrategy.Weights.COUNT) {
+            throw new IllegalArgumentException("Se esperaban " + ExpertStrategy.Weights.COUNT + " pesos");
+        }
+        double[] values = new double[array.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getDouble(i);
+        }
+        return values;
+    }
+
+    /**
+     * Ajusta los pesos desde la línea de comandos y los guarda en el
+     * directorio de datos, donde los encuentra {@link ExpertStrategy}.
+     * Uso: {@code ExpertTuner [generaciones] [población] [batallasPorRival] [tamañoEquipo] [hilos] [semilla]}
+     */
+    public static void main(String[] args) throws IOException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int population = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int battlesPerRival = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int teamSize = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+
+        Catalog.getDefault(); // Falla aquí, con un mensaje claro, si no hay datos
+        Path dir = Objects.requireNonNullElse(Catalog.dataDir(), Path.of(Catalog.DEFAULT_DIR));
+        long start = System.nanoTime();
+        Result result = new ExpertTuner(teamSize, population, battlesPerRival, threads)
+            .tune(generations, seed, dir.resolve(CHECKPOINT_FILE));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Path output = dir.resolve(ExpertStrategy.Weights.FILE);
+        result.best().write(output);
+
+        System.out.println("Pesos: " + result.best());
+        System.out.println("Victorias: " + String.format("%.3f", result.fitness()) + " tras " + result.generations()
+            + " generaciones en " + elapsedMillis + " ms con " + threads + " hilos (semilla " + seed + ").");
+        System.out.println("Guardados en " + output.toAbsolutePath());
+    }
+}
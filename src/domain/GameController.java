@@ -71,7 +71,7 @@ public class GameController {
             try {
                 ((HumanCoach)humanTrainer).agregarPokemon(pokemonName);
             } catch (Exception e) {
-                System.err.println("Error al agregar Pokémon al jugador: " + e.getMessage());
+                BattleLogger.warn("Error al agregar Pokémon al jugador: " + e.getMessage());
             }
         }
         
@@ -83,7 +83,7 @@ public class GameController {
                 assignMovesBasedOnStrategy(pokemon, ((Machine)machineTrainer).getMachineType());
                 machineTrainer.getPokemons().add(pokemon);
             } catch (Exception e) {
-                System.err.println("Error al agregar Pokémon a la máquina: " + e.getMessage());
+                BattleLogger.warn("Error al agregar Pokémon a la máquina: " + e.getMessage());
             }
         }
     }
@@ -130,7 +130,7 @@ public class GameController {
             } else if (actionType.equals("switch")) {
                 // Cambiar Pokémon
                 int index = Integer.parseInt(actionValue);
-                humanTrainer.switchPokemon(index);
+                humanTrainer.switchToPokemon(index);
                 result = "Cambiaste a " + humanTrainer.getActivePokemon().getName();
             } else if (actionType.equals("item")) {
                 // Usar ítem
@@ -173,7 +173,7 @@ public class GameController {
             // Si el Pokémon activo está debilitado, seleccionar otro
             if (machineTrainer.getActivePokemon().getPs() <= 0) {
                 int bestPokemonIndex = machine.selectBestPokemon();
-                machineTrainer.switchPokemon(bestPokemonIndex);
+                machineTrainer.switchToPokemon(bestPokemonIndex);
                 result = "La máquina cambió a " + machineTrainer.getActivePokemon().getName();
             } else {
              // Seleccionar movimiento según la estrategia
@@ -192,6 +192,7 @@ public class GameController {
             checkGameOver();
             
         } catch (Exception e) {
+            Log.record(e);
             result = "Error en el turno de la máquina: " + e.getMessage();
         }
         
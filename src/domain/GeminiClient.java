@@ -0,0 +1,243 @@
+package domain;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cliente asíncrono de la API de Gemini usado por {@link GeminiMachine}.
+ * <p>
+ * Las peticiones se envían con {@link HttpClient#sendAsync} y nunca bloquean
+ * más que el plazo configurado: si la respuesta no llega a tiempo,
+ * {@link #answer} devuelve null y la petición sigue en curso para llenar la
+ * caché. Las respuestas se guardan en una caché LRU por clave de situación, y
+ * las peticiones iguales que coinciden en el tiempo comparten una sola
+ * llamada. Tras un fallo la API se deja de consultar durante un rato.
+ * </p>
+ * <p>
+ * La clave de la API no está en el código: se lee de {@value #KEY_PROPERTY}
+ * o de la variable de entorno {@value #KEY_ENV}. Sin clave ni URL el cliente
+ * por defecto no consulta nada y las máquinas usan su estrategia de respaldo.
+ * </p>
+ */
+public class GeminiClient {
+
+    /** Propiedad del sistema con la URL completa del servicio. */
+    public static final String URL_PROPERTY = "poobkemon.gemini.url";
+    /** Propiedad del sistema con el plazo de cada respuesta, en milisegundos. */
+    public static final String DEADLINE_PROPERTY = "poobkemon.gemini.millis";
+    /** Propiedad del sistema con la clave de la API de Gemini. */
+    public static final String KEY_PROPERTY = "poobkemon.gemini.key";
+    /** Variable de entorno con la clave de la API, si no se da la propiedad. */
+    public static final String KEY_ENV = "GEMINI_API_KEY";
+
+    private static final String API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent";
+    private static final long DEFAULT_DEADLINE_MILLIS = 1500;
+    static final int CACHE_SIZE = 512;
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final URI endpoint;
+    private final Duration deadline;
+    private final Map<String, String> cache = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private volatile long unavailableUntil;
+
+    /**
+     * @param endpoint URL a la que se envían las peticiones, o null si no hay
+     *                 servicio configurado y el cliente nunca está disponible
+     * @param deadline Tiempo máximo que {@link #answer} espera una respuesta
+     */
+    public GeminiClient(URI endpoint, Duration deadline) {
+        this.endpoint = endpoint;
+        this.deadline = deadline;
+    }
+
+    private static final class DefaultHolder {
+        static final GeminiClient INSTANCE = new GeminiClient(defaultEndpoint(),
+            Duration.ofMillis(Long.getLong(DEADLINE_PROPERTY, DEFAULT_DEADLINE_MILLIS)));
+    }
+
+    /**
+     * Cliente compartido, con la URL de {@link #defaultEndpoint()}.
+     */
+    public static GeminiClient getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * URL de {@value #URL_PROPERTY} o, si no está, la de Gemini con la clave
+     * de {@value #KEY_PROPERTY} o de {@value #KEY_ENV}.
+     * @return La URL, o null si no hay ni URL ni clave
+     */
+    public static URI defaultEndpoint() {
+        String url = System.getProperty(URL_PROPERTY);
+        if (url != null) {
+            return URI.create(url);
+        }
+        String key = System.getProperty(KEY_PROPERTY, System.getenv(KEY_ENV));
+        if (key == null || key.isBlank()) {
+            BattleLogger.info("Sin clave de la API de Gemini; las máquinas Gemini usan su estrategia de respaldo.");
+            return null;
+        }
+        return URI.create(API_URL + "?key=" + key.trim());
+    }
+
+    public URI getEndpoint() {
+        return endpoint;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Indica si la API se puede consultar, es decir, si no falló hace poco.
+     */
+    public boolean isAvailable() {
+        return endpoint != null && System.nanoTime() - unavailableUntil >= 0;
+    }
+
+    /**
+     * Pide una respuesta sin esperarla. Si ya está en la caché se devuelve
+     * completada, y si hay una petición igual en curso se reutiliza.
+     * @param key Situación normalizada; misma clave, misma respuesta
+     * @param prompt Texto que se envía si no hay respuesta guardada
+     * @return El texto de la respuesta; falla si no hay servicio configurado
+     */
+    public CompletableFuture<String> ask(String key, String prompt) {
+        String cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (endpoint == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No hay servicio de Gemini configurado."));
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = pending.putIfAbsent(key, result);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        CompletableFuture<String> call;
+        try {
+            call = send(prompt);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((text, error) -> {
+            if (error == null) {
+                // Una respuesta vacía no se guarda, para volver a preguntar la próxima vez
+                if (!text.isEmpty()) {
+                    cache.put(key, text);
+                }
+            } else {
+                unavailableUntil = System.nanoTime() + RETRY_DELAY_NANOS;
+                BattleLogger.warn("Error al consultar la API de Gemini: " + error.getMessage());
+                Log.record(error);
+            }
+            pending.remove(key, result);
+            if (error == null) {
+                result.complete(text);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Pide una respuesta y la espera como mucho el plazo del cliente.
+     * @return El texto de la respuesta, o null si la API no está disponible o no respondió a tiempo
+     */
+    public String answer(String key, String prompt) {
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (!isAvailable()) {
+            return null;
+        }
+        try {
+            return ask(key, prompt).get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            BattleLogger.debug("Gemini no respondió a tiempo; se usa la estrategia de respaldo.");
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /** Número de respuestas guardadas. */
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    private CompletableFuture<String> send(String prompt) {
+        JSONObject body = new JSONObject()
+            .put("contents", new JSONArray().put(new JSONObject()
+                .put("parts", new JSONArray().put(new JSONObject().put("text", prompt)))))
+            .put("generationConfig", new JSONObject()
+                .put("temperature", 0.2)
+                .put("maxOutputTokens", 100));
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(endpoint)
+                .timeout(Duration.ofSeconds(BattleArena.MAX_TIME_SECONDS))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .thenApply(response -> {
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException(new IOException(
+                        "Error en la API de Gemini: " + response.statusCode() + " - " + response.body()));
+                }
+                return extractText(response.body());
+            });
+    }
+
+    /**
+     * Extrae el texto de la primera candidata de una respuesta de Gemini.
+     * @throws IllegalStateException Si la respuesta no tiene el formato esperado
+     */
+    static String extractText(String responseJson) {
+        try {
+            JSONArray parts = new JSONObject(responseJson)
+                .getJSONArray("candidates").getJSONObject(0)
+                .getJSONObject("content").getJSONArray("parts");
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < parts.length(); i++) {
+                text.append(parts.getJSONObject(i).optString("text"));
+            }
+            return text.toString().trim();
+        } catch (JSONException e) {
+            throw new IllegalStateException("Respuesta de Gemini no válida: " + e.getMessage(), e);
+        }
+    }
+}
@@ -22,21 +22,21 @@ public class HumanCoach extends Coach {
             try {
                 performAttack();
             } catch (PoobkemonException e) {
-                System.out.println("Error al realizar el ataque: " + e.getMessage());
+                BattleLogger.warn("Error al realizar el ataque: " + e.getMessage());
             }
         });
         actionMap.put(1, hc -> {
             try {
                 performItem();
             } catch (PoobkemonException e) {
-                System.out.println("Error al usar el ítem: " + e.getMessage());
+                BattleLogger.warn("Error al usar el ítem: " + e.getMessage());
             }
         });
         actionMap.put(2, hc -> {
             try {
                 performSwitch();
             } catch (PoobkemonException e) {
-                System.out.println("Error al cambiar de Pokémon: " + e.getMessage());
+                BattleLogger.warn("Error al cambiar de Pokémon: " + e.getMessage());
             }
         });
         actionMap.put(3, hc -> performFlee());
@@ -71,23 +71,11 @@ public class HumanCoach extends Coach {
     private void performItem() throws PoobkemonException {
         int itemIdx = getSelectedItemIndexFromUI();
 
-        if (itemIdx < 0 || itemIdx >= items.size()) {
+        if (itemIdx < 0 || itemIdx >= getItems().size()) {
             //throw new PoobkemonException(PoobkemonException.INVALID_ITEM);
         }
 
-        useItem(itemIdx);
-        items.remove(itemIdx);
-    }
-
-    private void useItem(int itemIdx) throws PoobkemonException {
-        Item item = items.get(itemIdx);
-        Pokemon target = getActivePokemon();
-
-        if (target == null) {
-            //throw new PoobkemonException(PoobkemonException.NO_ACTIVE_POKEMON);
-        }
-
-        item.applyItemEffect(target); // Método a implementar en Item
+        useItem(getItems().get(itemIdx).getId());
     }
 
     private void performSwitch() throws PoobkemonException {
@@ -5,18 +5,32 @@ import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 public class Item {
-    private String name;
-    private String description;
-    private int effectValue;
-    private AttributeType applyTo;
+    private final int id;
+    private final String name;
+    private final String description;
+    private final int effectValue;
+    private final AttributeType applyTo;
 
     public Item(String name, String description, int effectValue, AttributeType applyTo) {
+        this(-1, name, description, effectValue, applyTo);
+    }
+
+    /**
+     * Crea un ítem del catálogo.
+     * @param id Posición del ítem en el catálogo de {@link ItemFactory}, o -1 si no está en él
+     */
+    public Item(int id, String name, String description, int effectValue, AttributeType applyTo) {
+        this.id = id;
         this.name = name;
         this.description = description;
         this.effectValue = effectValue;
         this.applyTo = applyTo;
     }
 
+    public int getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -34,15 +48,17 @@ public class Item {
     }
 
     public void applyItemEffect(Pokemon pokemon) throws PoobkemonException {
-        if (pokemon.getPs() == 0 && this.name != "Revive") {
+        if (pokemon.getPs() == 0 && applyTo != AttributeType.REVIVE) {
             throw new PoobkemonException(PoobkemonException.CANT_USE_ITEM_ON_POKEMON_FAINTED);
         }
-        System.out.println("Aplicando " + name + " a " + pokemon.getName());
+        if (BattleLogger.isDebugEnabled()) {
+            BattleLogger.debug("Aplicando " + name + " a " + pokemon.getName());
+        }
         applyTo.apply(pokemon, effectValue);
     }
 
     public boolean canUse(Pokemon target, List<Pokemon> pokemonsMuertos) {
-        if (name.equalsIgnoreCase("Revivir")) {
+        if (applyTo == AttributeType.REVIVE) {
             // Revivir solo puede usarse si hay pokémon muertos
             return !pokemonsMuertos.isEmpty();
         } else if (applyTo == AttributeType.HP) {
@@ -6,64 +6,55 @@ import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
 
+/**
+ * Catálogo de ítems. Cada ítem tiene un identificador estable, su posición en
+ * {@code data/items.json}, y una única instancia inmutable que comparten todos
+ * los inventarios.
+ */
 public class ItemFactory {
-    // Mapa que asocia nombres de ítems con sus parámetros de construcción
-    private static final Map<String, ItemData> ITEM_REGISTRY = new HashMap<>();
+    // Ítems registrados, indexados por su identificador
+    private static final List<Item> ITEMS = new ArrayList<>();
+    // Identificador de cada ítem por su nombre
+    private static final Map<String, Integer> IDS = new HashMap<>();
 
-    // Clase auxiliar para almacenar datos del ítem
-    private static record ItemData(
-        String description,
-        int effectValue,
-        Item.AttributeType applyTo
-    ) {}
-
-    // Registramos todos los ítems disponibles
+    // Los ítems se leen del catálogo de datos (data/items.json)
     static {
-        // Ejemplo: Pociones, Revive, etc.
-        ITEM_REGISTRY.put("Poción", new ItemData(
-            "Restaura 20 PS de un Pokémon.", 
-            20, 
-            Item.AttributeType.HP
-        ));
-
-        ITEM_REGISTRY.put("Superpoción", new ItemData(
-            "Restaura 50 PS de un Pokémon.", 
-            50, 
-            Item.AttributeType.HP
-        ));
-
-        ITEM_REGISTRY.put("Hyperpoción", new ItemData(
-            "Restaura 200 PS de un Pokémon.", 
-            200, 
-            Item.AttributeType.HP
-        ));
-
-        ITEM_REGISTRY.put("Revive", new ItemData(
-            "Revive a un Pokémon debilitado y restaura la mitad de sus PS.", 
-            180,  // PS máximos / 2 (ejemplo para Blastoise: 362 / 2 ≈ 180)
-            Item.AttributeType.REVIVE
-        ));
-
-        //ITEM_REGISTRY.put("Ataque X", new ItemData(
-        //    "Aumenta el ataque físico de un Pokémon.", 
-        //    10, 
-        //    Item.AttributeType.PHYSICAL_ATTACK
-        //));
-
-        // Añadir más ítems aquí...
+        for (Catalog.ItemData data : Catalog.getDefault().getItems()) {
+            IDS.put(data.name(), ITEMS.size());
+            ITEMS.add(new Item(ITEMS.size(), data.name(), data.description(), data.effectValue(), data.applyTo()));
+        }
     }
 
     // Método para crear un ítem basado en su nombre
     public static Item createItem(String name) {
-        ItemData data = ITEM_REGISTRY.get(name);
-        if (data == null) {
+        int id = getItemId(name);
+        if (id < 0) {
             throw new IllegalArgumentException("Ítem no reconocido: " + name);
         }
-        return new Item(name, data.description(), data.effectValue(), data.applyTo());
+        return getItem(id);
+    }
+
+    /**
+     * Identificador del ítem con ese nombre, o -1 si no está registrado.
+     */
+    public static int getItemId(String name) {
+        return IDS.getOrDefault(name, -1);
+    }
+
+    /**
+     * Ítem con ese identificador; la instancia es compartida.
+     */
+    public static Item getItem(int id) {
+        return ITEMS.get(id);
+    }
+
+    /** Número de ítems distintos del catálogo. */
+    public static int getItemTypeCount() {
+        return ITEMS.size();
     }
 
     // Método para obtener los nombres de todos los ítems registrados
     public static List<String> getItemNames() {
-        return new ArrayList<>(ITEM_REGISTRY.keySet());
+        return new ArrayList<>(IDS.keySet());
     }
 }
@@ -0,0 +1,291 @@
+package domain;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Estrategia que elige ataques y pokémon de reemplazo con un modelo lineal
+ * entrenado fuera de línea por {@link LearnedTrainer}.
+ * <p>
+ * Cada opción (un movimiento del pokémon activo o un pokémon al que cambiar)
+ * se describe con {@value #FEATURES} características sacadas de la
+ * {@link MatchupTable} y de los PS, y su puntuación es el producto escalar
+ * con los pesos del modelo; gana la mayor. Los vectores van en búferes
+ * reservados al crear la estrategia, así que decidir no reserva memoria ni
+ * sale de la CPU. Los ítems se usan con la misma regla que la estrategia
+ * experta. El modelo sale de {@value Model#FILE} en el directorio de datos y,
+ * si no existe, de {@link Model#DEFAULT}.
+ * </p>
+ * <p>
+ * Por los búferes, una instancia no debe decidir desde dos hilos a la vez.
+ * </p>
+ */
+public class LearnedStrategy implements MachineStrategy {
+
+    /** Características de cada opción. */
+    public static final int FEATURES = 8;
+    static final int MAX_MOVES = 4;
+    static final int MAX_TEAM = 6;
+
+    /**
+     * Pesos del modelo, uno por característica.
+     * @param move Pesos para puntuar movimientos
+     * @param swap Pesos para puntuar pokémon de reemplazo
+     */
+    public record Model(float[] move, float[] swap) {
+
+        /** Fichero del modelo en el directorio de datos. */
+        public static final String FILE = "learned-policy.json";
+        /** Modelo inicial: daño esperado y remate para atacar, ventaja de tipo y vida para cambiar. */
+        public static final Model DEFAULT = new Model(
+            new float[] {0f, 2f, 3f, 0.5f, 0f, 0.1f, 0f, 0f},
+            new float[] {0f, 1f, 1f, 0.5f, 0.25f, 0.25f, 1f, 1f});
+
+        public Model {
+            if (move.length != FEATURES || swap.length != FEATURES) {
+                throw new IllegalArgumentException("El modelo necesita " + FEATURES + " pesos por acción");
+            }
+            move = move.clone();
+            swap = swap.clone();
+        }
+
+        private static final class DefaultHolder {
+            static final Model INSTANCE = loadOrDefault(Catalog.dataFile(FILE));
+        }
+
+        /**
+         * Modelo del directorio de datos, cargado una vez.
+         */
+        public static Model getDefault() {
+            return DefaultHolder.INSTANCE;
+        }
+
+        /**
+         * Lee un modelo de un fichero JSON.
+         * @throws UncheckedIOException Si no se puede leer
+         * @throws IllegalArgumentException Si el contenido no es válido
+         */
+        public static Model load(Path file) {
+            try {
+                JSONObject json = new JSONObject(Files.readString(file));
+                return new Model(floats(json.getJSONArray("move")), floats(json.getJSONArray("swap")));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el modelo de " + file.toAbsolutePath(), e);
+            } catch (JSONException e) {
+                throw new IllegalArgumentException("Modelo no válido en " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Lee un modelo de un fichero si existe y es válido; si no (o si es null), {@link #DEFAULT}.
+         */
+        public static Model loadOrDefault(Path file) {
+            if (file == null || !Files.isRegularFile(file)) {
+                return DEFAULT;
+            }
+            try {
+                return load(file);
+            } catch (UncheckedIOException | IllegalArgumentException e) {
+                BattleLogger.warn("No se pudo cargar el modelo de la estrategia aprendida", e);
+                return DEFAULT;
+            }
+        }
+
+        /**
+         * Guarda el modelo como JSON, sin dejar nunca el fichero a medias.
+         */
+        public void write(Path file) throws IOException {
+            JSONObject json = new JSONObject();
+            json.put("move", new JSONArray(move));
+            json.put("swap", new JSONArray(swap));
+            Catalog.writeAtomically(file, json.toString(2).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static float[] floats(JSONArray array) {
+            float[] values = new float[array.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = array.getFloat(i);
+            }
+            return values;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Model model && java.util.Arrays.equals(move, model.move)
+                && java.util.Arrays.equals(swap, model.swap);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * java.util.Arrays.hashCode(move) + java.util.Arrays.hashCode(swap);
+        }
+
+        @Override
+        public String toString() {
+            return "Model[move=" + java.util.Arrays.toString(move) + ", swap=" + java.util.Arrays.toString(swap) + "]";
+        }
+    }
+
+    private final Model model;
+    /** Decide cuándo y qué ítem usar; el modelo solo cubre ataques y cambios. */
+    private final ExpertStrategy items = new ExpertStrategy();
+    private final float[][] moveFeatures = new float[MAX_MOVES][FEATURES];
+    private final float[][] swapFeatures = new float[MAX_TEAM][FEATURES];
+    private final int[] swapSlots = new int[MAX_TEAM];
+
+    /**
+     * Crea la estrategia con el modelo de {@link Model#getDefault()}.
+     */
+    public LearnedStrategy() {
+        this(Model.getDefault());
+    }
+
+    public LearnedStrategy(Model model) {
+        this.model = model;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    @Override
+    public int decideAction(Machine machine, BattleArena battleArena) {
+        return items.decideAction(machine, battleArena);
+    }
+
+    @Override
+    public int selectAttack(Machine machine, BattleArena battleArena) {
+        int count = moveFeatures(machine, battleArena, moveFeatures);
+        int best = -1;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        List<Attack> attacks = machine.getActivePokemon().getAtaques();
+        for (int m = 0; m < count; m++) {
+            if (attacks.get(m).getPowerPoint() <= 0) {
+                continue;
+            }
+            float score = dot(model.move, moveFeatures[m]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = m;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int selectItem(Machine machine, BattleArena battleArena) {
+        return items.selectItem(machine, battleArena);
+    }
+
+    @Override
+    public int selectPokemon(Machine machine, BattleArena battleArena) {
+        int count = swapFeatures(machine, battleArena, swapFeatures, swapSlots);
+        int best = machine.getActivePokemonIndex();
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            float score = dot(model.swap, swapFeatures[i]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = swapSlots[i];
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public boolean shouldFlee(Machine machine, BattleArena battleArena) {
+        return false;
+    }
+
+    static float dot(float[] weights, float[] features) {
+        float score = 0f;
+        for (int f = 0; f < FEATURES; f++) {
+            score += weights[f] * features[f];
+        }
+        return score;
+    }
+
+    /**
+     * Rellena las características de cada movimiento del pokémon activo:
+     * sesgo, daño esperado y probabilidad de debilitar al rival, efectividad,
+     * si es de estado, PP restantes, vida propia y vida propia si es de estado.
+     * @return Número de movimientos
+     */
+    static int moveFeatures(Machine machine, BattleArena battleArena, float[][] out) {
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int slot = machine.getActivePokemonIndex();
+        int rival = matchups.rivalSlot(side);
+        Pokemon active = machine.getActivePokemon();
+        Pokemon opponent = battleArena.getCoach(1 - side).getActivePokemon();
+        float health = ratio(active.getPs(), active.getTotalPs());
+        List<Attack> attacks = active.getAtaques();
+        int count = Math.min(attacks.size(), out.length);
+        for (int m = 0; m < count; m++) {
+            Attack attack = attacks.get(m);
+            float status = attack instanceof StatusAttack ? 1f : 0f;
+            float[] x = out[m];
+            x[0] = 1f;
+            x[1] = (float) Math.min(1.0, matchups.expectedDamage(side, slot, m, rival) / Math.max(1, opponent.getPs()));
+            x[2] = (float) matchups.koProbability(side, slot, m, rival);
+            x[3] = (float) matchups.effectiveness(side, slot, m, rival) / 2f;
+            x[4] = status;
+            x[5] = ratio(attack.getPowerPoint(), attack.getMaxPowerPoint());
+            x[6] = health;
+            x[7] = health * status;
+        }
+        return count;
+    }
+
+    /**
+     * Rellena las características de cada pokémon al que se puede cambiar:
+     * sesgo, vida, ventaja de tipo, resistencia al tipo del rival, velocidad y
+     * ataque relativos, y el mejor daño esperado y la mejor probabilidad de
+     * debilitar al rival con sus movimientos.
+     * @param slots Recibe la posición en el equipo de cada opción
+     * @return Número de opciones
+     */
+    static int swapFeatures(Machine machine, BattleArena battleArena, float[][] out, int[] slots) {
+        MatchupTable matchups = battleArena.getMatchups();
+        int side = matchups.coachIndex(machine);
+        int rival = matchups.rivalSlot(side);
+        Pokemon opponent = battleArena.getCoach(1 - side).getActivePokemon();
+        List<Pokemon> pokemons = machine.getPokemons();
+        int count = 0;
+        for (int i = 0; i < pokemons.size() && count < out.length; i++) {
+            Pokemon p = pokemons.get(i);
+            if (i == machine.getActivePokemonIndex() || p.getPs() <= 0) {
+                continue;
+            }
+            double bestDamage = 0;
+            double bestKo = 0;
+            for (int m = 0; m < p.getAtaques().size(); m++) {
+                bestDamage = Math.max(bestDamage, matchups.expectedDamage(side, i, m, rival));
+                bestKo = Math.max(bestKo, matchups.koProbability(side, i, m, rival));
+            }
+            float[] x = out[count];
+            x[0] = 1f;
+            x[1] = ratio(p.getPs(), p.getTotalPs());
+            x[2] = (float) matchups.typeAdvantage(side, i, rival) / 2f;
+            x[3] = (float) (1.0 / Math.max(0.5, matchups.typeAdvantage(1 - side, rival, i))) / 2f;
+            x[4] = (float) Math.min(2.0, matchups.speedRatio(side, i, rival)) / 2f;
+            x[5] = (float) Math.min(2.0, matchups.attackRatio(side, i, rival)) / 2f;
+            x[6] = (float) Math.min(1.0, bestDamage / Math.max(1, opponent.getPs()));
+            x[7] = (float) bestKo;
+            slots[count++] = i;
+        }
+        return count;
+    }
+
+    private static float ratio(int value, int total) {
+        return total > 0 ? (float) value / total : 0f;
+    }
+}
@@ -0,0 +1,350 @@
+package domain;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Entrenamiento fuera de línea del modelo de {@link LearnedStrategy}.
+ * <p>
+ * Se juegan batallas con semilla entre las estrategias clásicas, repartidas
+ * entre los núcleos como en {@link ExpertTuner}. En cada decisión de ataque o
+ * de cambio se guardan las características de todas las opciones y la
+ * elegida. Con ellas se ajusta un modelo logit condicional (una softmax sobre
+ * las opciones de cada decisión) por descenso de gradiente estocástico con
+ * regularización L2: las decisiones del ganador de cada batalla se vuelven
+ * más probables y las del perdedor menos.
+ * </p>
+ * <p>
+ * Con la misma semilla y los mismos parámetros el modelo resultante es
+ * siempre el mismo, use los hilos que use.
+ * </p>
+ */
+public class LearnedTrainer {
+
+    private static final List<MachineFactory.MachineType> TEACHERS = List.of(MachineFactory.MachineType.ATTACKING,
+        MachineFactory.MachineType.DEFENSIVE, MachineFactory.MachineType.CHANGING, MachineFactory.MachineType.EXPERT);
+    private static final double LEARNING_RATE = 0.05;
+    private static final double L2 = 1e-4;
+
+    private final int teamSize;
+    private final int parallelism;
+    private final BattleSimulator simulator = new BattleSimulator();
+
+    /**
+     * Una decisión grabada.
+     * @param options Características de cada opción
+     * @param chosen Opción elegida
+     * @param reward Peso de la decisión según el resultado de la batalla
+     */
+    record Sample(float[][] options, int chosen, double reward) {}
+
+    /**
+     * Decisiones grabadas de todas las batallas.
+     * @param moves Elecciones de ataque
+     * @param swaps Elecciones de pokémon de reemplazo
+     */
+    record Replays(List<Sample> moves, List<Sample> swaps) {}
+
+    /**
+     * Estrategia que delega en otra y graba sus elecciones de ataque y de cambio.
+     */
+    private static final class Recorder implements MachineStrategy {
+        private final MachineStrategy teacher;
+        private final List<Sample> moves = new ArrayList<>();
+        private final List<Sample> swaps = new ArrayList<>();
+        private final float[][] buffer = new float[LearnedStrategy.MAX_TEAM][LearnedStrategy.FEATURES];
+        private final int[] slots = new int[LearnedStrategy.MAX_TEAM];
+
+        Recorder(MachineStrategy teacher) {
+            this.teacher = teacher;
+        }
+
+        @Override
+        public int decideAction(Machine machine, BattleArena battleArena) {
+            return teacher.decideAction(machine, battleArena);
+        }
+
+        @Override
+        public int selectAttack(Machine machine, BattleArena battleArena) {
+            int count = LearnedStrategy.moveFeatures(machine, battleArena, buffer);
+            int move = teacher.selectAttack(machine, battleArena);
+            if (move >= 0 && move < count && count > 1) {
+                moves.add(new Sample(copy(buffer, count), move, 0));
+            }
+            return move;
+        }
+
+        @Override
+        public int selectItem(Machine machine, BattleArena battleArena) {
+            return teacher.selectItem(machine, battleArena);
+        }
+
+        @Override
+        public int selectPokemon(Machine machine, BattleArena battleArena) {
+            int count = LearnedStrategy.swapFeatures(machine, battleArena, buffer, slots);
+            int slot = teacher.selectPokemon(machine, battleArena);
+            for (int i = 0; i < count && count > 1; i++) {
+                if (slots[i] == slot) {
+                    swaps.add(new Sample(copy(buffer, count), i, 0));
+                    break;
+                }
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean shouldFlee(Machine machine, BattleArena battleArena) {
+            return teacher.shouldFlee(machine, battleArena);
+        }
+
+        private static float[][] copy(float[][] features, int count) {
+            float[][] options = new float[count][];
+            for (int i = 0; i < count; i++) {
+                options[i] = features[i].clone();
+            }
+            return options;
+        }
+    }
+
+    /**
+     * @param teamSize Pokémon por equipo
+     * @param parallelism Hilos para jugar las batallas
+     */
+    public LearnedTrainer(int teamSize, int parallelism) {
+        if (teamSize <= 0 || teamSize > LearnedStrategy.MAX_TEAM
+                || teamSize * 2 > Poobkemon.getAvailablePokemon().size()) {
+            throw new IllegalArgumentException("Tamaño de equipo inválido: " + teamSize);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo: " + parallelism);
+        }
+        this.teamSize = teamSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Graba batallas y entrena un modelo con ellas.
+     * @param initial Modelo del que se parte
+     * @param battles Batallas que se graban
+     * @param epochs Pasadas sobre las decisiones grabadas
+     * @param seed Semilla de las batallas y del entrenamiento
+     */
+    public LearnedStrategy.Model train(LearnedStrategy.Model initial, int battles, int epochs, long seed) {
+        Replays replays = record(battles, seed);
+        SplittableRandom random = new SplittableRandom(~seed);
+        return new LearnedStrategy.Model(
+            fit(replays.moves(), initial.move(), epochs, random),
+            fit(replays.swaps(), initial.swap(), epochs, random));
+    }
+
+    /**
+     * Juega batallas entre maestros elegidos al azar y devuelve sus decisiones,
+     * con peso 1 las del ganador y -1 las del perdedor. Los empates no cuentan.
+     */
+    Replays record(int battles, long seed) {
+        long[] seeds = new SplittableRandom(seed).longs(battles).toArray();
+        List<Replays> perBattle = inPool(() -> IntStream.range(0, battles).parallel()
+            .mapToObj(b -> recordBattle(seeds[b]))
+            .toList());
+        List<Sample> moves = new ArrayList<>();
+        List<Sample> swaps = new ArrayList<>();
+        for (Replays replays : perBattle) {
+            moves.addAll(replays.moves());
+            swaps.addAll(replays.swaps());
+        }
+        return new Replays(moves, swaps);
+    }
+
+    private Replays recordBattle(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MachineFactory.MachineType[] types = {
+            TEACHERS.get(random.nextInt(TEACHERS.size())), TEACHERS.get(random.nextInt(TEACHERS.size()))};
+        BattleArenaNormal arena = setup(random, types[0].getDisplayName(), types[1].getDisplayName());
+        Recorder[] recorders = new Recorder[2];
+        for (int side = 0; side < 2; side++) {
+            StrategyMachine machine = (StrategyMachine) arena.getCoach(side);
+            recorders[side] = new Recorder(machine.getStrategy());
+            machine.setStrategy(recorders[side]);
+        }
+        BattleSimulator.Result result = run(arena);
+        if (result.isDraw()) {
+            return new Replays(List.of(), List.of());
+        }
+        List<Sample> moves = new ArrayList<>();
+        List<Sample> swaps = new ArrayList<>();
+        for (int side = 0; side < 2; side++) {
+            double reward = side == result.winner() ? 1.0 : -1.0;
+            for (Sample sample : recorders[side].moves) {
+                moves.add(new Sample(sample.options(), sample.chosen(), reward));
+            }
+            for (Sample sample : recorders[side].swaps) {
+                swaps.add(new Sample(sample.options(), sample.chosen(), reward));
+            }
+        }
+        return new Replays(moves, swaps);
+    }
+
+    /**
+     * Porcentaje de victorias de un modelo contra un tipo de máquina, con los
+     * empates a medias. Cada batalla alterna el entrenador del modelo.
+     */
+    public double evaluate(LearnedStrategy.Model model, MachineFactory.MachineType rival, int battles, long seed) {
+        long[] seeds = new SplittableRandom(seed).longs(battles).toArray();
+        double wins = inPool(() -> IntStream.range(0, battles).parallel()
+            .mapToDouble(b -> {
+                int side = b % 2;
+                String[] types = new String[2];
+                types[side] = MachineFactory.MachineType.LEARNED.getDisplayName();
+                types[1 - side] = rival.getDisplayName();
+                BattleArenaNormal arena = setup(new SplittableRandom(seeds[b]), types[0], types[1]);
+                ((StrategyMachine) arena.getCoach(side)).setStrategy(new LearnedStrategy(model));
+                BattleSimulator.Result result = run(arena);
+                return result.isDraw() ? 0.5 : result.winner() == side ? 1.0 : 0.0;
+            })
+            .sum());
+        return wins / battles;
+    }
+
+    private BattleArenaNormal setup(SplittableRandom random, String type0, String type1) {
+        List<String> pokemons = new ArrayList<>(Poobkemon.getAvailablePokemon());
+        BattleArena.shuffle(pokemons, random);
+        BattleArenaNormal arena = new BattleArenaNormal(random.nextLong());
+        try {
+            arena.setupMachineVsMachine("CPU 1", "CPU 2", new ArrayList<>(pokemons.subList(0, teamSize)),
+                new ArrayList<>(pokemons.subList(teamSize, 2 * teamSize)), type0, type1);
+        } catch (PoobkemonException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return arena;
+    }
+
+    private BattleSimulator.Result run(BattleArenaNormal arena) {
+        try {
+            return simulator.run(arena);
+        } catch (PoobkemonException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private <T> T inPool(Callable<T> task) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("El entrenamiento fue interrumpido.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al jugar las batallas: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Ajusta los pesos de un logit condicional a las decisiones dadas.
+     * @param initial Pesos de partida
+     */
+    static float[] fit(List<Sample> samples, float[] initial, int epochs, SplittableRandom random) {
+        double[] weights = new double[LearnedStrategy.FEATURES];
+        for (int f = 0; f < weights.length; f++) {
+            weights[f] = initial[f];
+        }
+        int[] order = IntStream.range(0, samples.size()).toArray();
+        double[] probabilities = new double[LearnedStrategy.MAX_TEAM];
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            double rate = LEARNING_RATE / (1 + epoch);
+            for (int index : order) {
+                Sample sample = samples.get(index);
+                float[][] options = sample.options();
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < options.length; i++) {
+                    probabilities[i] = score(weights, options[i]);
+                    max = Math.max(max, probabilities[i]);
+                }
+                double total = 0;
+                for (int i = 0; i < options.length; i++) {
+                    probabilities[i] = Math.exp(probabilities[i] - max);
+                    total += probabilities[i];
+                }
+                // Las decisiones del ganador suben su probabilidad (-log p) y las del
+                // perdedor la bajan (-log(1 - p)), que a diferencia de +log p está acotado
+                double chosen = probabilities[sample.chosen()] / total;
+                double scale = sample.reward() >= 0 ? sample.reward()
+                    : sample.reward() * chosen / Math.max(1e-6, 1 - chosen);
+                for (int f = 0; f < weights.length; f++) {
+                    double expected = 0;
+                    for (int i = 0; i < options.length; i++) {
+                        expected += probabilities[i] / total * options[i][f];
+                    }
+                    weights[f] -= rate * (scale * (expected - options[sample.chosen()][f]) + L2 * weights[f]);
+                }
+            }
+        }
+        float[] result = new float[weights.length];
+        for (int f = 0; f < result.length; f++) {
+            result[f] = (float) weights[f];
+        }
+        return result;
+    }
+
+    private static double score(double[] weights, float[] features) {
+        double score = 0;
+        for (int f = 0; f < weights.length; f++) {
+            score += weights[f] * features[f];
+        }
+        return score;
+    }
+
+    /**
+     * Entrena el modelo desde la línea de comandos partiendo del que usa
+     * {@link LearnedStrategy} y lo compara con él contra la estrategia
+     * experta en las mismas batallas. Solo lo guarda en el directorio de datos
+     * si gana más.
+     * Uso: {@code LearnedTrainer [batallas] [épocas] [tamañoEquipo] [hilos] [semilla] [batallasDePrueba]}
+     */
+    public static void main(String[] args) throws IOException {
+        int battles = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        int epochs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int teamSize = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        int testBattles = args.length > 5 ? Integer.parseInt(args[5]) : 2000;
+
+        Catalog.getDefault(); // Falla aquí, con un mensaje claro, si no hay datos
+        Path output = Objects.requireNonNullElse(Catalog.dataDir(), Path.of(Catalog.DEFAULT_DIR))
+            .resolve(LearnedStrategy.Model.FILE);
+        LearnedStrategy.Model current = LearnedStrategy.Model.loadOrDefault(output);
+        LearnedTrainer trainer = new LearnedTrainer(teamSize, threads);
+        long start = System.nanoTime();
+        LearnedStrategy.Model model = trainer.train(current, battles, epochs, seed);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double before = trainer.evaluate(current, MachineFactory.MachineType.EXPERT, testBattles, seed + 1);
+        double after = trainer.evaluate(model, MachineFactory.MachineType.EXPERT, testBattles, seed + 1);
+
+        System.out.println("Modelo: " + model);
+        System.out.println("Entrenado con " + battles + " batallas en " + elapsedMillis + " ms con " + threads
+            + " hilos (semilla " + seed + ").");
+        System.out.println("Victorias contra Expert en " + testBattles + " batallas: "
+            + String.format("%.3f", after) + " (antes " + String.format("%.3f", before) + ").");
+        if (after > before) {
+            model.write(output);
+            System.out.println("Guardado en " + output.toAbsolutePath());
+        } else {
+            System.out.println("No mejora al modelo actual; no se guarda.");
+        }
+    }
+}
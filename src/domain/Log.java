@@ -1,47 +1,173 @@
 package domain;
 
-import java.util.logging.Logger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.FileHandler;
-import java.util.logging.SimpleFormatter;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
 
 /**
  * Clase utilitaria para registrar errores o excepciones en un archivo de log.
  * <p>
- * El archivo de log se guarda con el nombre "Plan15.log" y contiene
- * los errores capturados con nivel SEVERE. Utiliza la clase {@link java.util.logging}.
+ * Cada log usa un único {@link FileHandler} que se mantiene abierto, con
+ * rotación por tamaño: el log del juego, que se abre la primera vez que se
+ * llama a {@link #record}, guarda hasta {@link #FILE_COUNT} archivos de
+ * {@link #FILE_LIMIT} bytes con el nombre "{@link #nombre}.N.log". La
+ * escritura se hace en un hilo aparte, así que quien registra la excepción no
+ * espera al disco.
+ * </p>
+ * <p>
+ * Las excepciones repetidas (misma clase y misma traza) solo se escriben
+ * completas la primera vez; después se cuentan y se anota un resumen cada vez
+ * que el contador llega a una potencia de dos y al cerrar el log (el del
+ * juego, al cerrar el programa), cuando también se vacía lo pendiente.
  * </p>
  */
-public class Log {
+public class Log implements AutoCloseable {
 
     /**
      * Nombre base del logger y del archivo de log.
      */
     public static String nombre = "Poobkemon Garcia Romero";
 
+    /** Tamaño máximo de cada archivo antes de rotar. */
+    public static final int FILE_LIMIT = 1024 * 1024;
+
+    /** Número de archivos que se conservan al rotar. */
+    public static final int FILE_COUNT = 5;
+
+    /** Excepciones pendientes de escribir como máximo; las demás se descartan. */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final Map<Fingerprint, AtomicInteger> seen = new ConcurrentHashMap<>();
+    private final String name;
+    private final FileHandler handler;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(QUEUE_CAPACITY), Log::newThread, new ThreadPoolExecutor.DiscardPolicy());
+
     /**
-     * Registra una excepción en el archivo de log especificado.
+     * Identifica una excepción por su clase y su traza, sin el mensaje, que
+     * suele variar entre repeticiones del mismo error.
+     */
+    private record Fingerprint(String type, int traceHash) {
+
+        static Fingerprint of(Throwable e) {
+            int hash = 1;
+            for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+                hash = 31 * hash + t.getClass().getName().hashCode();
+                for (StackTraceElement element : t.getStackTrace()) {
+                    hash = 31 * hash + element.hashCode();
+                }
+            }
+            return new Fingerprint(e.getClass().getName(), hash);
+        }
+    }
+
+    /**
+     * Log del juego. Se abre la primera vez que se registra una excepción.
+     * El handler no se añade a ningún {@link java.util.logging.Logger} para
+     * que el {@code LogManager} no lo cierre al apagar la JVM antes de vaciar
+     * lo pendiente.
+     */
+    private static final class DefaultHolder {
+        static final Log INSTANCE = openDefault();
+
+        private static Log openDefault() {
+            try {
+                Log log = new Log(nombre, FILE_LIMIT, FILE_COUNT);
+                Runtime.getRuntime().addShutdownHook(new Thread(log::close, "poobkemon-error-log-close"));
+                return log;
+            } catch (UncheckedIOException | SecurityException e) {
+                BattleLogger.error("No se pudo abrir el archivo de log " + nombre, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Abre un log con rotación en los archivos "{@code base}.N.log".
+     * @param base Ruta y nombre base de los archivos
+     * @param limit Tamaño máximo de cada archivo antes de rotar
+     * @param count Número de archivos que se conservan
+     * @throws UncheckedIOException Si no se puede abrir el archivo
+     */
+    public Log(String base, int limit, int count) {
+        this.name = base;
+        try {
+            handler = new FileHandler(base + ".%g.log", limit, count, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo de log " + base, e);
+        }
+        handler.setFormatter(new SimpleFormatter());
+    }
+
+    private static Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, "poobkemon-error-log");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Registra una excepción en el archivo de log del juego.
      * <p>
-     * El archivo de log se crea o se abre en modo de adición ("append") y se
-     * registra la traza de la excepción con un formato simple.
+     * La escritura es asíncrona; si la excepción ya se registró antes solo se
+     * incrementa su contador.
      * </p>
      *
      * @param e la excepción que se desea registrar.
-     * @throws RuntimeException si ocurre un error al intentar escribir en el archivo de log.
      */
-    public static void record(Exception e) {
+    public static void record(Throwable e) {
+        Log log = DefaultHolder.INSTANCE;
+        if (log != null) {
+            log.write(e);
+        }
+    }
+
+    /**
+     * Registra una excepción en este log, de forma asíncrona y sin repetir trazas.
+     */
+    public void write(Throwable e) {
+        int count = seen.computeIfAbsent(Fingerprint.of(e), key -> new AtomicInteger()).incrementAndGet();
+        if (count == 1) {
+            executor.execute(() -> publish(e.toString(), e));
+        } else if (Integer.bitCount(count) == 1) {
+            executor.execute(() -> publish(e + " (repetida " + count + " veces)", null));
+        }
+    }
+
+    private void publish(String message, Throwable error) {
+        LogRecord record = new LogRecord(Level.SEVERE, message);
+        record.setLoggerName(name);
+        record.setSourceClassName(Log.class.getName());
+        record.setSourceMethodName("record");
+        record.setThrown(error);
+        handler.publish(record);
+    }
+
+    /**
+     * Escribe lo pendiente y el resumen de repeticiones, y cierra el archivo.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
         try {
-            Logger logger = Logger.getLogger(nombre);
-            logger.setUseParentHandlers(false);
-            FileHandler file = new FileHandler(nombre + ".log", true);
-            file.setFormatter(new SimpleFormatter());
-            logger.addHandler(file);
-            logger.log(Level.SEVERE, e.toString(), e);
-            file.close();
-        } catch (Exception oe) {
-            // En caso de que falle el registro, imprime la traza y detiene el programa
-            oe.printStackTrace();
-            System.exit(0);
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Map.Entry<Fingerprint, AtomicInteger> entry : seen.entrySet()) {
+            int count = entry.getValue().get();
+            if (count > 1) {
+                publish(entry.getKey().type() + " repetida " + count + " veces en total.", null);
+            }
         }
+        handler.close();
     }
 }
@@ -2,13 +2,16 @@ package domain;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
 
 public abstract class Machine extends Coach {
     protected String machineName;
     protected String machineType;
-    protected Random random = new Random();
+    protected RandomGenerator random = new SplittableRandom();
     protected Coach opponent;
+    protected BattleArena battleArena;
 
     public Machine(String name, ArrayList<Pokemon> pokemons, ArrayList<String> items) {
         super(pokemons, items);
@@ -50,6 +53,28 @@ public abstract class Machine extends Coach {
      */
     public abstract int selectItem();
 
+    /**
+     * Indica si la máquina aprovecha {@link #prefetch}. Solo merece la pena
+     * en las que tardan en decidir.
+     */
+    public boolean supportsPrefetch() {
+        return false;
+    }
+
+    /**
+     * Prepara en segundo plano la decisión para un estado que aún no ha
+     * ocurrido, de modo que si se da, la máquina responda al instante. Se
+     * llama desde otro hilo mientras juega el rival: no debe tocar la arena
+     * ni sus objetos, solo el estado recibido.
+     * @param model Reglas de la batalla
+     * @param predicted Estado previsto al empezar el turno de la máquina
+     * @param coach Índice de la máquina en la arena
+     * @param cancelled Indica si la previsión ya no sirve; hay que abandonarla en cuanto sea cierto
+     */
+    public void prefetch(BattleModel model, BattleState predicted, int coach, BooleanSupplier cancelled) {
+        // Por defecto, nada que preparar
+    }
+
     /**
      * Calcula la eficacia de un movimiento contra un Pokémon oponente
      * @param attack Ataque a evaluar
@@ -57,12 +82,8 @@ public abstract class Machine extends Coach {
      * @return Valor de efectividad (mayor es mejor)
      */
     protected double calculateEffectiveness(Attack attack, Pokemon defender) {
-        // Convertir tipo del ataque y tipo del defensor a índices
-        int attackType = efectivity.numberType.getOrDefault(attack.getType(), 10); // Default a normal si no se encuentra
-        int defenderType = efectivity.numberType.getOrDefault(defender.getType(), 10);
-        
-        // Obtener el multiplicador de efectividad
-        return efectivity.efectividad(attackType, defenderType);
+        // Los tipos desconocidos cuentan como normal
+        return PokemonType.multiplier(attack.getPokemonType(), defender);
     }
 
     /**
@@ -72,6 +93,23 @@ public abstract class Machine extends Coach {
         this.opponent = opponent;
     }
 
+    /**
+     * Asocia la máquina a la arena en la que juega. A partir de aquí la
+     * máquina usa la fuente de aleatoriedad de esa batalla.
+     * @param battleArena La arena de batalla
+     */
+    public void setBattleArena(BattleArena battleArena) {
+        this.battleArena = battleArena;
+        this.random = battleArena.getRandom();
+    }
+
+    /**
+     * Obtiene la arena en la que juega la máquina, o null si no tiene.
+     */
+    public BattleArena getBattleArena() {
+        return battleArena;
+    }
+
     /**
      * Obtiene el nombre de la máquina
      */
@@ -125,10 +163,7 @@ public abstract class Machine extends Coach {
             return false;
         }
         
-        int ownType = efectivity.numberType.getOrDefault(ownPokemon.getType(), 10);
-        int opponentType = efectivity.numberType.getOrDefault(opponentPokemon.getType(), 10);
-        
-        return efectivity.efectividad(opponentType, ownType) > 1.0;
+        return PokemonType.multiplier(opponentPokemon.getPokemonType(), ownPokemon) > 1.0;
     }
     
     /**
@@ -141,7 +176,6 @@ public abstract class Machine extends Coach {
             return 0;
         }
         
-        int opponentType = efectivity.numberType.getOrDefault(opponentPokemon.getType(), 10);
         double bestAdvantage = 0;
         int bestPokemonIndex = 0;
         
@@ -153,8 +187,7 @@ public abstract class Machine extends Coach {
                 continue;
             }
             
-            int pokemonType = efectivity.numberType.getOrDefault(pokemon.getType(), 10);
-            double typeAdvantage = efectivity.efectividad(pokemonType, opponentType);
+            double typeAdvantage = PokemonType.multiplier(pokemon.getPokemonType(), opponentPokemon);
             
             if (typeAdvantage > bestAdvantage) {
                 bestAdvantage = typeAdvantage;
@@ -181,7 +214,8 @@ public abstract class Machine extends Coach {
         if (getActivePokemon().getPs() <= 0) {
             int bestPokemonIndex = selectBestPokemon();
             try {
-                switchPokemon(bestPokemonIndex);
+                // Por la arena, para que el cambio quede en la repetición
+                battleArena.switchToPokemon(bestPokemonIndex);
                 return true;
             } catch (Exception e) {
                 return false;
@@ -193,9 +227,8 @@ public abstract class Machine extends Coach {
             int itemIndex = selectItem();
             if (itemIndex >= 0 && itemIndex < getItems().size()) {
                 try {
-                    // Lógica para usar el ítem
-                    String itemName = getItems().get(itemIndex).getName();
-                    battleArena.useItem(itemName);
+                    // Usa el ítem por su identificador, sin pasar por el nombre
+                    battleArena.useItem(getItems().get(itemIndex).getId(), battleArena.getCurrentTurn() == 0);
                     return true;
                 } catch (Exception e) {
                     // Si hay un error usando el ítem, continuar con un ataque
@@ -206,8 +239,7 @@ public abstract class Machine extends Coach {
         // Seleccionar y realizar un ataque
         try {
             int moveIndex = selectMove();
-            String moveName = getActivePokemon().getAtaques().get(moveIndex).getName();
-            battleArena.attack(moveName, false, battleArena.getCurrentTurn() == 0);
+            battleArena.attack(moveIndex, false, battleArena.getCurrentTurn() == 0);
             return true;
         } catch (Exception e) {
             return false;
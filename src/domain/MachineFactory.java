@@ -2,7 +2,8 @@ package domain;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random; 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 
 /**
@@ -10,53 +11,104 @@ import java.util.Random;
  */
 public class MachineFactory {
     
-    private static final Random random = new Random();
-    
     /**
      * Tipos disponibles de máquina.
      */
     public enum MachineType {
-        ATTACKING,    // Enfocado en el ataque
-        DEFENSIVE,    // Enfocado en la defensa
-        CHANGING,     // Cambia según el Pokémon rival
-        EXPERT        // Versión experta que combina todas las estrategias
+        ATTACKING("Attacking"),    // Enfocado en el ataque
+        DEFENSIVE("Defensive"),    // Enfocado en la defensa
+        CHANGING("Changing"),      // Cambia según el Pokémon rival
+        EXPERT("Expert"),          // Versión experta que combina todas las estrategias
+        SEARCH("Search"),          // Busca varias jugadas hacia delante
+        LEARNED("Learned");        // Modelo entrenado con batallas entre máquinas
+
+        private final String displayName;
+
+        MachineType(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * Nombre con el que la arena de batalla reconoce este tipo de máquina.
+         */
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Tipo cuyo nombre coincide, sin distinguir mayúsculas; Attacking si no hay ninguno.
+         */
+        public static MachineType fromName(String name) {
+            for (MachineType type : values()) {
+                if (type.displayName.equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            return ATTACKING;
+        }
+    }
+
+    /**
+     * Crea una estrategia nueva del tipo indicado; cada máquina necesita la
+     * suya porque algunas guardan estado entre turnos.
+     */
+    public static MachineStrategy createStrategy(MachineType type) {
+        switch (type) {
+            case DEFENSIVE:
+                return new DefensiveStrategy();
+            case CHANGING:
+                return new ChangingStrategy();
+            case EXPERT:
+                return new ExpertStrategy();
+            case SEARCH:
+                return new SearchStrategy();
+            case LEARNED:
+                return new LearnedStrategy();
+            case ATTACKING:
+            default:
+                return new AttackingStrategy();
+        }
+    }
+
+    /**
+     * Crea una máquina del tipo indicado con un equipo ya formado.
+     */
+    public static Machine createMachine(MachineType type, String name, ArrayList<Pokemon> pokemons,
+                                        ArrayList<String> items) {
+        return new StrategyMachine(name, pokemons, items, type);
     }
     
     /**
      * Crea una nueva máquina con la estrategia especificada.
      */
     public static Machine createMachine(MachineType type, String name, int difficulty) {
+        return createMachine(type, name, difficulty, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Crea una nueva máquina eligiendo su equipo con el generador indicado,
+     * de modo que el mismo generador produce siempre el mismo equipo.
+     */
+    public static Machine createMachine(MachineType type, String name, int difficulty, RandomGenerator random) {
         // Crear lista de pokémon aleatorios
-        ArrayList<Pokemon> pokemons = createRandomPokemons(2 + difficulty);
+        ArrayList<Pokemon> pokemons = createRandomPokemons(2 + difficulty, random);
         
         // Crear lista de ítems aleatorios
         ArrayList<String> items = new ArrayList<>();
-        ArrayList<Item> itemObjects = createRandomItems(difficulty);
+        ArrayList<Item> itemObjects = createRandomItems(difficulty, random);
         
         // Convertir objetos Item a nombres de ítems para el constructor
         for (Item item : itemObjects) {
             items.add(item.getName());
         }
         
-        // Crear y devolver la máquina según el tipo
-        switch (type) {
-            case ATTACKING:
-                return new AttackingMachine(name, pokemons, items);
-            case DEFENSIVE:
-                return new DefensiveMachine(name, pokemons, items);
-            case CHANGING:
-                return new ChangingMachine(name, pokemons, items);
-            case EXPERT:
-                return new ExpertMachine(name, pokemons, items);
-            default:
-                return new AttackingMachine(name, pokemons, items);
-        }
+        return createMachine(type, name, pokemons, items);
     }
     
     /**
      * Crea una lista de pokémon aleatorios.
      */
-    private static ArrayList<Pokemon> createRandomPokemons(int count) {
+    private static ArrayList<Pokemon> createRandomPokemons(int count, RandomGenerator random) {
         ArrayList<Pokemon> result = new ArrayList<>();
         List<String> availablePokemon = Poobkemon.getAvailablePokemon();
         
@@ -67,7 +119,7 @@ public class MachineFactory {
             
             if (pokemon != null) {
                 // Asignar ataques aleatorios
-                assignRandomAttacks(pokemon);
+                assignRandomAttacks(pokemon, random);
                 result.add(pokemon);
                 availablePokemon.remove(index); // Evitar duplicados
             }
@@ -79,7 +131,7 @@ public class MachineFactory {
     /**
      * Asigna ataques aleatorios a un pokémon.
      */
-    private static void assignRandomAttacks(Pokemon pokemon) {
+    private static void assignRandomAttacks(Pokemon pokemon, RandomGenerator random) {
         // Obtener ataques disponibles
         List<String> allAttacks = new ArrayList<>();
         allAttacks.addAll(Poobkemon.getPhysicalAttacks());
@@ -100,7 +152,7 @@ public class MachineFactory {
     /**
      * Crea una lista de ítems aleatorios.
      */
-    private static ArrayList<Item> createRandomItems(int count) {
+    private static ArrayList<Item> createRandomItems(int count, RandomGenerator random) {
         ArrayList<Item> result = new ArrayList<>();
         List<String> availableItems = ItemFactory.getItemNames();
         
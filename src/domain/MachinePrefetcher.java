@@ -0,0 +1,163 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Adelanta la decisión de una máquina mientras juega el humano.
+ * <p>
+ * Al empezar el turno del humano se capturan el estado y las reglas de la
+ * batalla en el hilo que llama, se calculan los estados a los que llevarían
+ * sus acciones más probables y un hilo de fondo pide a la máquina que prepare
+ * su respuesta para cada uno, del más al menos probable. Cuando el humano
+ * actúa, lo que quedaba pendiente se descarta; si el estado real coincide con
+ * uno previsto, la máquina ya tiene la respuesta.
+ * </p>
+ */
+public class MachinePrefetcher {
+
+    /** Máximo de estados previstos por turno. */
+    public static final int MAX_PREDICTIONS = 6;
+
+    private final AtomicLong generation = new AtomicLong();
+    private BattleModel model;
+
+    /**
+     * Estado previsto y lo probable que es, según una estimación simple.
+     */
+    public record Prediction(BattleState state, double weight) {}
+
+    private static final class ExecutorHolder {
+        static final ExecutorService INSTANCE = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "poobkemon-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    /**
+     * Empieza a preparar la respuesta de la máquina. Hay que llamarlo al
+     * empezar el turno del rival, desde el hilo que modifica la arena.
+     * @param battleArena Arena en la que juega la máquina
+     * @param machine Máquina cuyo turno viene después
+     */
+    public void start(BattleArena battleArena, Machine machine) {
+        long current = generation.incrementAndGet();
+        if (!machine.supportsPrefetch()) {
+            return;
+        }
+        int coach = battleArena.getCoach(0) == machine ? 0 : 1;
+        if (model == null || model.getLayout() != battleArena.getStateLayout()) {
+            model = new BattleModel(battleArena);
+        }
+        BattleModel rules = model;
+        BattleState now = battleArena.snapshot();
+        now.setCurrentTurn(1 - coach);
+        List<Prediction> predictions = predict(rules, now);
+
+        BooleanSupplier cancelled = () -> generation.get() != current;
+        ExecutorHolder.INSTANCE.execute(() -> {
+            for (Prediction prediction : predictions) {
+                if (cancelled.getAsBoolean()) {
+                    return;
+                }
+                try {
+                    machine.prefetch(rules, prediction.state(), coach, cancelled);
+                } catch (RuntimeException e) {
+                    BattleLogger.warn("Error al adelantar la decisión de la máquina", e);
+                    Log.record(e);
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Descarta lo que quede pendiente y corta la búsqueda en curso; hay que
+     * llamarlo cuando el rival ya actuó.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Estados posibles tras la acción del entrenador cuyo turno es, ordenados
+     * de más a menos probable. Se supone que el humano prefiere los ataques
+     * que más daño hacen; cambiar de pokémon o usar ítems se considera poco
+     * probable.
+     */
+    public static List<Prediction> predict(BattleModel model, BattleState now) {
+        int coach = now.getCurrentTurn();
+        int rival = 1 - coach;
+        int slot = now.getActiveIndex(coach);
+        int rivalSlot = now.getActiveIndex(rival);
+        int rivalPs = Math.max(1, now.getPs(rival, rivalSlot));
+
+        int[] actions = new int[model.maxActions() + model.getLayout().pokemonCount(coach)];
+        int count = model.actions(now, actions);
+        // El humano también puede cambiar de pokémon sin que el suyo esté debilitado
+        if (now.getPs(coach, slot) > 0) {
+            for (int s = 0; s < model.getLayout().pokemonCount(coach); s++) {
+                if (s != slot && now.getPs(coach, s) > 0) {
+                    actions[count++] = BattleModel.action(BattleModel.SWITCH, s);
+                }
+            }
+        }
+
+        List<Prediction> predictions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int action = actions[i];
+            int type = BattleModel.actionType(action);
+            if (type != BattleModel.ATTACK) {
+                add(predictions, successor(model, now, action, true), type == BattleModel.ITEM ? 0.05 : 0.02);
+                continue;
+            }
+            int move = BattleModel.actionIndex(action);
+            double chance = model.chance(now, action);
+            double strength = model.isUsable(now, coach, slot, move) && now.getPs(rival, rivalSlot) > 0
+                ? Math.min(1.0, (double) model.damage(now, coach, slot, move, rivalSlot) / rivalPs)
+                : 0.0;
+            add(predictions, successor(model, now, action, true), (0.1 + strength) * chance);
+            if (chance < 1) {
+                add(predictions, successor(model, now, action, false), (0.1 + strength) * (1 - chance));
+            }
+        }
+        predictions.sort(Comparator.comparingDouble(Prediction::weight).reversed());
+        return predictions.size() > MAX_PREDICTIONS ? predictions.subList(0, MAX_PREDICTIONS) : predictions;
+    }
+
+    private static BattleState successor(BattleModel model, BattleState now, int action, boolean hit) {
+        BattleState next = now.copy();
+        model.apply(next, action, hit);
+        return next;
+    }
+
+    /**
+     * Añade el estado o, si ya estaba (un fallo y un ataque sin PP dejan el
+     * mismo), suma su probabilidad.
+     */
+    private static void add(List<Prediction> predictions, BattleState state, double weight) {
+        for (int i = 0; i < predictions.size(); i++) {
+            Prediction existing = predictions.get(i);
+            if (existing.state().equals(state)) {
+                predictions.set(i, new Prediction(state, existing.weight() + weight));
+                return;
+            }
+        }
+        predictions.add(new Prediction(state, weight));
+    }
+}
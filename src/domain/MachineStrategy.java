@@ -1,37 +1,67 @@
 package domain;
 
+import java.util.function.BooleanSupplier;
+
 /**
  * Interfaz que define la estrategia a utilizar por las máquinas.
+ * <p>
+ * La usa {@link StrategyMachine}, que le delega todas sus decisiones. Las
+ * respuestas son índices para que decidir un turno no reserve memoria.
+ * </p>
  */
 public interface MachineStrategy {
-    
+
     /**
      * Decide qué acción tomar en el turno actual.
      * @return 1=Ataque, 2=Item, 3=Cambio de pokémon
      */
     int decideAction(Machine machine, BattleArena battleArena);
-    
+
     /**
      * Selecciona un ataque para usar.
-     * @return Nombre del ataque seleccionado
+     * @return Índice del ataque en el pokémon activo, o -1 si no hay ninguno
      */
-    String selectAttack(Machine machine, BattleArena battleArena);
-    
+    int selectAttack(Machine machine, BattleArena battleArena);
+
     /**
      * Selecciona un ítem para usar.
-     * @return Nombre del ítem seleccionado
+     * @return Índice del ítem en {@link Coach#getItems()}, o -1 si no hay ninguno
      */
-    String selectItem(Machine machine, BattleArena battleArena);
-    
+    int selectItem(Machine machine, BattleArena battleArena);
+
     /**
      * Selecciona un pokémon para cambiar.
      * @return Índice del pokémon seleccionado
      */
     int selectPokemon(Machine machine, BattleArena battleArena);
-    
+
     /**
      * Decide si huir de la batalla.
      * @return true si decide huir, false de lo contrario
      */
     boolean shouldFlee(Machine machine, BattleArena battleArena);
-}
\ No newline at end of file
+
+    /**
+     * Indica si la estrategia aprovecha {@link #prefetch}.
+     */
+    default boolean supportsPrefetch() {
+        return false;
+    }
+
+    /**
+     * Prepara en segundo plano la decisión para un estado previsto; ver
+     * {@link Machine#prefetch}.
+     */
+    default void prefetch(BattleModel model, BattleState predicted, int coach, BooleanSupplier cancelled) {
+        // Por defecto, nada que preparar
+    }
+
+    /**
+     * Profundidad de la búsqueda que respalda la decisión del turno actual,
+     * para guardarla en una {@link TranspositionTable}; 0 si la estrategia no
+     * busca y no merece la pena guardarla.
+     */
+    default int decisionDepth(Machine machine, BattleArena battleArena) {
+        return 0;
+    }
+}
@@ -0,0 +1,210 @@
+package domain;
+
+import java.util.List;
+
+/**
+ * Tabla de enfrentamientos de una batalla, para que las estrategias consulten
+ * en vez de recalcular tipos, daños y razones de estadísticas en cada turno.
+ * <p>
+ * Para cada pokémon de un entrenador, cada movimiento suyo y cada pokémon
+ * rival guarda la efectividad, el daño si el movimiento acierta (con la misma
+ * fórmula que {@link Attack#calcDaño}, sin contar los PP) y su probabilidad de
+ * acierto. Se crea una vez por batalla con {@link BattleArena#getMatchups()}.
+ * Las efectividades no cambian; los daños y las razones de velocidad y ataque
+ * dependen de las estadísticas, y solo se recalculan las filas de los pokémon
+ * cuya {@link Pokemon#getStatsVersion()} ha cambiado desde la última consulta,
+ * por ataques de estado, ítems o estados restaurados.
+ * </p>
+ * <p>
+ * Como la arena, no es segura entre hilos.
+ * </p>
+ */
+public final class MatchupTable {
+
+    private final Coach[] coaches;
+    private final Pokemon[][] pokemons;          // [entrenador][pokémon]
+    private final int[][] versions;              // versión de estadísticas con la que se calculó cada pokémon
+    private final double[][][] typeAdvantage;    // [entrenador][pokémon][rival], por el tipo del pokémon
+    private final double[][][][] effectiveness;  // [entrenador][pokémon][movimiento][rival]
+    private final int[][][][] damage;            // [entrenador][pokémon][movimiento][rival]
+    private final double[][][] hitChance;        // [entrenador][pokémon][movimiento]
+    private final double[][][] speedRatio;       // [entrenador][pokémon][rival]
+    private final double[][][] attackRatio;      // [entrenador][pokémon][rival]
+
+    MatchupTable(BattleArena arena) {
+        coaches = new Coach[2];
+        pokemons = new Pokemon[2][];
+        versions = new int[2][];
+        for (int c = 0; c < 2; c++) {
+            coaches[c] = arena.getCoach(c);
+            pokemons[c] = coaches[c].getPokemons().toArray(new Pokemon[0]);
+            versions[c] = new int[pokemons[c].length];
+        }
+        typeAdvantage = new double[2][][];
+        effectiveness = new double[2][][][];
+        damage = new int[2][][][];
+        hitChance = new double[2][][];
+        speedRatio = new double[2][][];
+        attackRatio = new double[2][][];
+
+        for (int c = 0; c < 2; c++) {
+            Pokemon[] rivals = pokemons[1 - c];
+            int size = pokemons[c].length;
+            typeAdvantage[c] = new double[size][rivals.length];
+            effectiveness[c] = new double[size][][];
+            damage[c] = new int[size][][];
+            hitChance[c] = new double[size][];
+            speedRatio[c] = new double[size][rivals.length];
+            attackRatio[c] = new double[size][rivals.length];
+            for (int s = 0; s < size; s++) {
+                Pokemon pokemon = pokemons[c][s];
+                List<Attack> attacks = pokemon.getAtaques();
+                effectiveness[c][s] = new double[attacks.size()][rivals.length];
+                damage[c][s] = new int[attacks.size()][rivals.length];
+                hitChance[c][s] = new double[attacks.size()];
+                for (int m = 0; m < attacks.size(); m++) {
+                    hitChance[c][s][m] = attacks.get(m).getPrecision() / 100.0;
+                    for (int r = 0; r < rivals.length; r++) {
+                        effectiveness[c][s][m][r] = PokemonType.multiplier(attacks.get(m).getPokemonType(), rivals[r]);
+                    }
+                }
+                for (int r = 0; r < rivals.length; r++) {
+                    typeAdvantage[c][s][r] = PokemonType.multiplier(pokemon.getPokemonType(), rivals[r]);
+                }
+            }
+        }
+        for (int c = 0; c < 2; c++) {
+            for (int s = 0; s < pokemons[c].length; s++) {
+                versions[c][s] = pokemons[c][s].getStatsVersion();
+                for (int r = 0; r < pokemons[1 - c].length; r++) {
+                    compute(c, s, r);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indica si la tabla sigue describiendo los equipos de la arena.
+     */
+    boolean matches(BattleArena arena) {
+        for (int c = 0; c < 2; c++) {
+            Coach coach = arena.getCoach(c);
+            if (coach != coaches[c]) {
+                return false;
+            }
+            List<Pokemon> team = coach.getPokemons();
+            if (team.size() != pokemons[c].length) {
+                return false;
+            }
+            for (int s = 0; s < team.size(); s++) {
+                if (team.get(s) != pokemons[c][s] || team.get(s).getAtaques().size() != damage[c][s].length) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Índice en la arena del entrenador dado, o -1 si no está en esta batalla.
+     */
+    public int coachIndex(Coach coach) {
+        return coach == coaches[0] ? 0 : coach == coaches[1] ? 1 : -1;
+    }
+
+    /**
+     * Posición en su equipo del pokémon activo del rival del entrenador dado.
+     */
+    public int rivalSlot(int coach) {
+        return coaches[1 - coach].getActivePokemonIndex();
+    }
+
+    /**
+     * Efectividad del tipo del pokémon contra el rival, contando su segundo tipo.
+     */
+    public double typeAdvantage(int coach, int slot, int rival) {
+        return typeAdvantage[coach][slot][rival];
+    }
+
+    /**
+     * Efectividad de un movimiento del pokémon contra el rival.
+     */
+    public double effectiveness(int coach, int slot, int move, int rival) {
+        return effectiveness[coach][slot][move][rival];
+    }
+
+    /**
+     * Daño que hace el movimiento al rival si acierta; 0 para los de estado.
+     */
+    public int damage(int coach, int slot, int move, int rival) {
+        sync(coach, slot);
+        sync(1 - coach, rival);
+        return damage[coach][slot][move][rival];
+    }
+
+    /**
+     * Daño medio del movimiento contra el rival, contando su precisión.
+     */
+    public double expectedDamage(int coach, int slot, int move, int rival) {
+        return damage(coach, slot, move, rival) * hitChance[coach][slot][move];
+    }
+
+    /**
+     * Probabilidad de que el movimiento debilite al rival con los PS que le quedan.
+     */
+    public double koProbability(int coach, int slot, int move, int rival) {
+        int hit = damage(coach, slot, move, rival);
+        return hit > 0 && hit >= pokemons[1 - coach][rival].getPs() ? hitChance[coach][slot][move] : 0.0;
+    }
+
+    /**
+     * Velocidad del pokémon entre la del rival.
+     */
+    public double speedRatio(int coach, int slot, int rival) {
+        sync(coach, slot);
+        sync(1 - coach, rival);
+        return speedRatio[coach][slot][rival];
+    }
+
+    /**
+     * Mejor ataque del pokémon, físico o especial, entre la defensa
+     * correspondiente del rival.
+     */
+    public double attackRatio(int coach, int slot, int rival) {
+        sync(coach, slot);
+        sync(1 - coach, rival);
+        return attackRatio[coach][slot][rival];
+    }
+
+    /**
+     * Recalcula las entradas del pokémon, como atacante y como rival, si sus
+     * estadísticas han cambiado desde la última vez.
+     */
+    private void sync(int coach, int slot) {
+        int version = pokemons[coach][slot].getStatsVersion();
+        if (versions[coach][slot] == version) {
+            return;
+        }
+        versions[coach][slot] = version;
+        for (int r = 0; r < pokemons[1 - coach].length; r++) {
+            compute(coach, slot, r);
+            compute(1 - coach, r, slot);
+        }
+    }
+
+    private void compute(int c, int s, int r) {
+        Pokemon pokemon = pokemons[c][s];
+        Pokemon rival = pokemons[1 - c][r];
+        List<Attack> attacks = pokemon.getAtaques();
+        for (int m = 0; m < attacks.size(); m++) {
+            Attack attack = attacks.get(m);
+            damage[c][s][m][r] = attack instanceof StatusAttack ? 0 : Math.max(1,
+                (int) ((pokemon.getSpecialAttack() * attack.getBaseDamage() * effectiveness[c][s][m][r])
+                    / rival.getSpecialDefense()));
+        }
+        speedRatio[c][s][r] = (double) pokemon.getSpeed() / Math.max(1, rival.getSpeed());
+        attackRatio[c][s][r] = pokemon.getPhysicalAttack() > pokemon.getSpecialAttack()
+            ? (double) pokemon.getPhysicalAttack() / Math.max(1, rival.getPhysicalDefense())
+            : (double) pokemon.getSpecialAttack() / Math.max(1, rival.getSpecialDefense());
+    }
+}
@@ -11,8 +11,14 @@ public class PhysicalAttack extends Attack {
         super(name, type, baseDamage, powerPoint, precision, attackType, effect);
     }
 
+    protected PhysicalAttack(AttackTemplate template) {
+        super(template);
+    }
+
     @Override
     public Attack clone() {
-        return new PhysicalAttack(getName(), getType(), getBaseDamage(), getPowerPoint(), getPrecision(), "Physical", getEffect());
+        PhysicalAttack copy = new PhysicalAttack(template);
+        copy.powerPoint = powerPoint;
+        return copy;
     }
 }
\ No newline at end of file
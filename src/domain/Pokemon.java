@@ -2,45 +2,53 @@ package domain;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Pokemon {
-    protected String name;
-    protected int id;
-    protected int total_ps;
+    protected final PokemonSpecies species; // Datos fijos, compartidos por todos los ejemplares de la especie
     protected int ps;
     protected int speed;
     protected int specialAttack;
     protected int physicalAttack;
     protected int specialDefense;
     protected int physicalDefense;
-    protected String type;
     protected int evasion;
     protected int status; // 0: normal, 1: paralizado, 2: dormido, 3: quemado, 4: congelado, 5: envenenado
     protected int turnStatus; // Turnos restantes de estado (si aplica)
-    protected ArrayList<Attack> ataques = new ArrayList<>();
+    private int statsVersion; // Crece cada vez que cambia una estadística de combate
+    protected ArrayList<Attack> ataques = new ArrayList<>(4);
 
     public Pokemon(String name, int id, int ps, int speed, int specialAttack,
                    int physicalAttack, int specialDefense, int physicalDefense,
                    String type, int evasion) {
-        this.name = name;
-        this.id = id;
-        this.total_ps = ps;
-        this.ps = ps;
-        this.speed = speed;
-        this.specialAttack = specialAttack;
-        this.physicalAttack = physicalAttack;
-        this.specialDefense = specialDefense;
-        this.physicalDefense = physicalDefense;
-        this.type = type;
-        this.evasion = evasion;
+        this(new PokemonSpecies(name, id, ps, speed, specialAttack, physicalAttack, specialDefense,
+            physicalDefense, type, evasion));
+    }
+
+    /**
+     * Crea un ejemplar de la especie con sus estadísticas iniciales.
+     */
+    public Pokemon(PokemonSpecies species) {
+        this.species = species;
+        this.ps = species.ps();
+        this.speed = species.speed();
+        this.specialAttack = species.specialAttack();
+        this.physicalAttack = species.physicalAttack();
+        this.specialDefense = species.specialDefense();
+        this.physicalDefense = species.physicalDefense();
+        this.evasion = species.evasion();
         this.status = 0; // Normal
         this.turnStatus = 0; // Sin turnos de estado
     }
 
-    public String getName() { return name; }
-    public String getType() { return type; }
-    public int getId() { return id; }
-    public int getTotalPs() { return total_ps; }
+    public PokemonSpecies getSpecies() { return species; }
+    public String getName() { return species.name(); }
+    public String getType() { return species.type(); }
+    public PokemonType getPokemonType() { return species.pokemonType(); }
+    public PokemonType getSecondaryType() { return species.secondaryType(); }
+    public int getId() { return species.id(); }
+    public int getTotalPs() { return species.ps(); }
     public int getPs() { return this.ps; }
     public int getSpeed() { return speed; }
     public int getEvasion() { return evasion; }
@@ -51,17 +59,25 @@ public class Pokemon {
     public int getStatus() { return status; }
     public int getTurnStatus() { return turnStatus; }
 
+    /**
+     * Versión de las estadísticas de combate (velocidad, ataques, defensas y
+     * evasión); cambia con cada modificación, no con los PS.
+     */
+    public int getStatsVersion() { return statsVersion; }
+
 
-    public void setSpeed(int speed) { this.speed = speed; }
-    public void setEvasion(int evasion) { this.evasion = evasion; }
-    public void setSpecialAttack(int specialAttack) { this.specialAttack = specialAttack; }
-    public void setSpecialDefense(int specialDefense) { this.specialDefense = specialDefense; }
-    public void setPhysicalAttack(int physicalAttack) { this.physicalAttack = physicalAttack; }
-    public void setPhysicalDefense(int physicalDefense) { this.physicalDefense = physicalDefense; }
+    public void setSpeed(int speed) { this.speed = speed; statsVersion++; }
+    public void setEvasion(int evasion) { this.evasion = evasion; statsVersion++; }
+    public void setSpecialAttack(int specialAttack) { this.specialAttack = specialAttack; statsVersion++; }
+    public void setSpecialDefense(int specialDefense) { this.specialDefense = specialDefense; statsVersion++; }
+    public void setPhysicalAttack(int physicalAttack) { this.physicalAttack = physicalAttack; statsVersion++; }
+    public void setPhysicalDefense(int physicalDefense) { this.physicalDefense = physicalDefense; statsVersion++; }
     public void setStatus(int status) { this.status = status; }
     public void setTurnStatus(int turnStatus) { this.turnStatus = turnStatus; }
 
 
+    void statsChanged() { statsVersion++; }
+
     public void addAttack(Attack attack) {
         if (ataques.size() < 4) { // Máximo 4 ataques
             ataques.add(attack);
@@ -71,8 +87,8 @@ public class Pokemon {
     }
 
     public void setPs(int ps) { 
-    	if(ps > total_ps) {
-    		this.ps = total_ps;
+    	if(ps > species.ps()) {
+    		this.ps = species.ps();
     		return;
     	}
     	this.ps = Math.max(ps, 0); }
@@ -101,13 +117,13 @@ public class Pokemon {
                     // Lógica de sueño
                     break;
                 case 3: // Quemado
-                    setPs(ps - (total_ps / 16)); // Daño por quemadura
+                    setPs(ps - (species.ps() / 16)); // Daño por quemadura
                     break;
                 case 4: // Congelado
                     // Lógica de congelación
                     break;
                 case 5: // Envenenado
-                    setPs(ps - (total_ps / 8)); // Daño por veneno
+                    setPs(ps - (species.ps() / 8)); // Daño por veneno
                     break;
             }
         }
@@ -131,7 +147,15 @@ public class Pokemon {
      * @return el daño causado
      */
     public int attack(Pokemon defensor, Attack attack) {
-        int daño = attack.calcDaño(this, defensor);
+        return attack(defensor, attack, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Ataca a otro Pokémon usando la fuente de aleatoriedad de la batalla.
+     * @return el daño causado
+     */
+    public int attack(Pokemon defensor, Attack attack, RandomGenerator random) {
+        int daño = attack.calcDaño(this, defensor, random);
         if (daño > 0) {
             defensor.setPs(defensor.getPs() - daño);
         }
@@ -174,30 +198,45 @@ public class Pokemon {
         return daño;
     }
 
-    public int getPPDeAtaque(String nombreAtaque) {
-        for (Attack ataque : ataques) {
-            if (ataque.getName().equals(nombreAtaque)) {
-                return ataque.getPowerPoint();
+    /**
+     * Posición de un ataque entre los del pokémon.
+     * @return El índice, o -1 si no lo conoce
+     */
+    public int indexOfAtaque(String nombreAtaque) {
+        for (int i = 0; i < ataques.size(); i++) {
+            if (ataques.get(i).getName().equals(nombreAtaque)) {
+                return i;
             }
         }
-        return 0; // O lanza excepción si no lo encuentra
+        return -1;
+    }
+
+    /**
+     * Ataque en la posición indicada, o null si no existe.
+     */
+    public Attack getAtaque(int move) {
+        return move >= 0 && move < ataques.size() ? ataques.get(move) : null;
+    }
+
+    public int getPPDeAtaque(int move) {
+        Attack ataque = getAtaque(move);
+        return ataque != null ? ataque.getPowerPoint() : 0;
+    }
+
+    public int getPPMaxDeAtaque(int move) {
+        Attack ataque = getAtaque(move);
+        return ataque != null ? ataque.getTemplate().powerPoint() : 0;
+    }
+
+    public int getPPDeAtaque(String nombreAtaque) {
+        return getPPDeAtaque(indexOfAtaque(nombreAtaque));
     }
 
     public int getPPMaxDeAtaque(String nombreAtaque) {
-        for (Attack ataque : ataques) {
-            if (ataque.getName().equals(nombreAtaque)) {
-                return ataque.getPowerPoint();
-            }
-        }
-        return 0;
+        return getPPMaxDeAtaque(indexOfAtaque(nombreAtaque));
     }
 
     public Attack getAtaquePorNombre(String nombreAtaque) {
-        for (Attack ataque : ataques) {
-            if (ataque.getName().equals(nombreAtaque)) {
-                return ataque;
-            }
-        }
-        return null; // O lanza una excepción si prefieres
+        return getAtaque(indexOfAtaque(nombreAtaque));
     }
 }
@@ -0,0 +1,21 @@
+package domain;
+
+/**
+ * Datos fijos de una especie de pokémon, compartidos por todos sus ejemplares.
+ * <p>
+ * {@link PokemonFactory} guarda una sola instancia por especie; cada
+ * {@link Pokemon} de cada batalla la referencia y solo guarda lo que cambia
+ * durante el combate: PS, estadísticas modificadas y estado alterado.
+ * </p>
+ * @param secondaryType Segundo tipo, o null si la especie solo tiene uno
+ */
+public record PokemonSpecies(String name, int id, int ps, int speed, int specialAttack, int physicalAttack,
+                             int specialDefense, int physicalDefense, String type, PokemonType pokemonType,
+                             PokemonType secondaryType, int evasion) {
+
+    public PokemonSpecies(String name, int id, int ps, int speed, int specialAttack, int physicalAttack,
+                          int specialDefense, int physicalDefense, String type, int evasion) {
+        this(name, id, ps, speed, specialAttack, physicalAttack, specialDefense, physicalDefense, type,
+            PokemonType.fromName(type), null, evasion);
+    }
+}
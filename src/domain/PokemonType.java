@@ -0,0 +1,122 @@
+package domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tipos de pokémon y tabla de efectividad entre ellos.
+ * <p>
+ * La tabla se guarda en un único arreglo plano indexado por
+ * {@code atacante * COUNT + defensor}, de modo que cada consulta es un acceso
+ * directo a memoria sin cadenas ni mapas. Los nombres de tipo solo se
+ * resuelven una vez, al crear pokémon y ataques. Los tipos son fijos; sus
+ * multiplicadores vienen de {@code data/types.json} a través de {@link Catalog}.
+ * </p>
+ */
+public enum PokemonType {
+    ACERO("Acero"),
+    AGUA("Agua"),
+    BICHO("Bicho"),
+    DRAGON("Dragon"),
+    ELECTRICO("Electrico"),
+    FANTASMA("Fantasma"),
+    FUEGO("Fuego"),
+    HADA("Hada"),
+    HIELO("Hielo"),
+    LUCHA("Lucha"),
+    NORMAL("Normal"),
+    PLANTA("Planta"),
+    PSIQUICO("Psiquico"),
+    ROCA("Roca"),
+    SINIESTRO("Siniestro"),
+    TIERRA("Tierra"),
+    VENENO("Veneno"),
+    VOLADOR("Volador");
+
+    /** Número de tipos. */
+    public static final int COUNT = 18;
+
+    private static final PokemonType[] VALUES = values();
+
+    /**
+     * Fila = tipo del ataque, columna = tipo del defensor, en el orden del enum.
+     * Se carga del catálogo la primera vez que se consulta, ya que el propio
+     * catálogo necesita el enum para leer los tipos.
+     */
+    private static final class Chart {
+        static final double[] EFFECTIVENESS = Catalog.getDefault().getTypeChart();
+    }
+
+    private static final Map<String, PokemonType> BY_NAME = new HashMap<>();
+
+    static {
+        for (PokemonType type : VALUES) {
+            BY_NAME.put(type.displayName, type);
+        }
+    }
+
+    private final String displayName;
+
+    PokemonType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Busca un tipo por su nombre.
+     * @param name Nombre del tipo, tal como aparece en los datos del juego
+     * @return El tipo, o null si el nombre no está reconocido
+     */
+    public static PokemonType fromName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
+
+    /**
+     * Obtiene un tipo por su posición en la tabla.
+     */
+    public static PokemonType fromIndex(int index) {
+        return VALUES[index];
+    }
+
+    /**
+     * Multiplicador de daño de un ataque de este tipo contra un defensor de un solo tipo.
+     */
+    public double against(PokemonType defender) {
+        return Chart.EFFECTIVENESS[ordinal() * COUNT + defender.ordinal()];
+    }
+
+    /**
+     * Multiplicador de daño contra un defensor de doble tipo: el producto de
+     * la efectividad contra cada uno de sus tipos.
+     * @param secondary Segundo tipo del defensor, o null si solo tiene uno
+     */
+    public double against(PokemonType primary, PokemonType secondary) {
+        double multiplier = Chart.EFFECTIVENESS[ordinal() * COUNT + primary.ordinal()];
+        if (secondary != null) {
+            multiplier *= Chart.EFFECTIVENESS[ordinal() * COUNT + secondary.ordinal()];
+        }
+        return multiplier;
+    }
+
+    /**
+     * Efectividad entre dos tipos; un tipo desconocido (null) cuenta como Normal.
+     */
+    public static double multiplier(PokemonType attack, PokemonType defender) {
+        return orNormal(attack).against(orNormal(defender));
+    }
+
+    /**
+     * Efectividad de un tipo de ataque contra un pokémon, teniendo en cuenta
+     * su segundo tipo si lo tiene. Un tipo desconocido (null) cuenta como Normal.
+     */
+    public static double multiplier(PokemonType attack, Pokemon defender) {
+        return orNormal(attack).against(orNormal(defender.getPokemonType()), defender.getSecondaryType());
+    }
+
+    private static PokemonType orNormal(PokemonType type) {
+        return type != null ? type : NORMAL;
+    }
+}
@@ -12,6 +12,7 @@ public class Poobkemon {
     private BattleArena battleArenaNormal;
     private ArrayList<BattleArena> battleArenas;
     private Map<String, String[][]> survivalMoves = new HashMap<>();
+    private final MachinePrefetcher prefetcher = new MachinePrefetcher();
 
     //Metodo que envia informacion de los pokemones disponibles a la GUI
     public static List<String> getAvailablePokemon() {
@@ -54,6 +55,13 @@ public class Poobkemon {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Identificador de un ítem del catálogo, o -1 si no existe.
+     */
+    public static int getItemId(String itemName) {
+        return ItemFactory.getItemId(itemName);
+    }
+
     public static ArrayList<String> getAvailableAttacks() {
         ArrayList<String> allAttacks = new ArrayList<>();
         allAttacks.addAll(getPhysicalAttacks());
@@ -67,6 +75,13 @@ public class Poobkemon {
         return battleArenaNormal.attack(nombreAtaque, toItself, esJugador1);
     }
 
+    /**
+     * Ataca con el movimiento de la posición indicada del pokémon activo.
+     */
+    public int attack(int move, boolean toItself, boolean esJugador1) throws PoobkemonException {
+        return battleArenaNormal.attack(move, toItself, esJugador1);
+    }
+
     /**
      * Inicia una nueva batalla entre dos entrenadores.
      * @param coachName1 Nombre del primer entrenador.
@@ -110,7 +125,6 @@ public class Poobkemon {
     }
 
     public void switchToPokemon(int index) throws PoobkemonException {
-        System.out.println(1);
         // Delegar la lógica del cambio de Pokémon a la arena de batalla
         battleArenaNormal.switchToPokemon(index);
     }
@@ -153,6 +167,7 @@ public class Poobkemon {
         battleArenaNormal.setupHumanVsMachine(humanName, machineName, 
             humanPokemon, machinePokemon, 
             humanItems, humanAttacks, machineType);
+        prefetchMachineReply();
     }
 
     /**
@@ -213,13 +228,29 @@ public class Poobkemon {
         return battleArenaNormal.getPPDeAtaqueActual(esJugador1, nombreAtaque);
     }
 
+    public int getPPDeAtaqueActual(boolean esJugador1, int move) {
+        return battleArenaNormal.getPPDeAtaqueActual(esJugador1, move);
+    }
+
+    public int getPPMaxDeAtaqueActual(boolean esJugador1, int move) {
+        return battleArenaNormal.getPPMaxDeAtaqueActual(esJugador1, move);
+    }
+
     public List<String> getItemsJugador(boolean esJugador1) {
         return battleArenaNormal.getItemsJugador(esJugador1);
     }
 
     public boolean esAtaqueSobreSiMismo(String nombreAtaque) {
-        List<String> ataquesEstado = getStatusAttacks();
-        return ataquesEstado.contains(nombreAtaque);
+        Attack ataque = AttackFactory.getAttack(nombreAtaque);
+        return ataque != null && "Status".equals(ataque.getAttackType());
+    }
+
+    /**
+     * Indica si el movimiento indicado del pokémon activo se aplica sobre él mismo.
+     */
+    public boolean esAtaqueSobreSiMismo(boolean esJugador1, int move) {
+        Attack ataque = battleArenaNormal.getCoach(esJugador1 ? 0 : 1).getActivePokemon().getAtaque(move);
+        return ataque != null && "Status".equals(ataque.getAttackType());
     }
 
     /**
@@ -230,47 +261,65 @@ public class Poobkemon {
         if (battleArenaNormal == null) {
             return "No hay una batalla en curso";
         }
-        
+        if (!battleArenaNormal.getCurrentCoach().isMachine()) {
+            return "No es el turno de la máquina";
+        }
         try {
-            // Obtener el entrenador actual
-            Coach currentCoach = battleArenaNormal.getCurrentCoach();
-            
-            // Verificar si es una máquina
-            if (currentCoach instanceof Machine) {
-                Machine machine = (Machine) currentCoach;
-                
-                // Verificar si el Pokémon activo está debilitado
-                if (machine.getActivePokemon().getPs() <= 0) {
-                    // Seleccionar mejor Pokémon
-                    int bestPokemonIndex = machine.selectBestPokemon();
-                    machine.switchPokemon(bestPokemonIndex);
-                    return "La máquina cambió a " + machine.getActivePokemon().getName();
-                } else {
-                    // Seleccionar y usar un movimiento
-                    int moveIndex = machine.selectMove();
-                    String moveName = machine.getActivePokemon().getAtaques().get(moveIndex).getName();
-                    
-                    // Ejecutar el ataque
-                    battleArenaNormal.attack(moveName, false, 
-                        battleArenaNormal.getCurrentTurn() == 0);
-                    
-                    return "La máquina usó " + moveName;
-                }
-            } else {
-                return "No es el turno de la máquina";
-            }
+            return playMachineTurn();
         } catch (Exception e) {
-            e.printStackTrace();
+            BattleLogger.error("Error en el turno de la máquina", e);
+            Log.record(e);
             return "Error en el turno de la máquina: " + e.getMessage();
         }
     }
 
+    /**
+     * Juega el turno de la máquina sin pasar el turno.
+     * @return Mensaje describiendo la acción realizada por la máquina
+     * @throws PoobkemonException Si no hay batalla, no le toca a una máquina o la acción falla
+     */
+    public String playMachineTurn() throws PoobkemonException {
+        if (battleArenaNormal == null) {
+            throw new PoobkemonException(PoobkemonException.NO_MATCH);
+        }
+        if (!(battleArenaNormal.getCurrentCoach() instanceof Machine machine)) {
+            throw new PoobkemonException(PoobkemonException.NOT_MACHINE_TURN);
+        }
+        prefetcher.cancel();
+
+        // Verificar si el Pokémon activo está debilitado
+        if (machine.getActivePokemon().getPs() <= 0) {
+            // Seleccionar mejor Pokémon
+            int bestPokemonIndex = machine.selectBestPokemon();
+            battleArenaNormal.switchToPokemon(bestPokemonIndex);
+            return "La máquina cambió a " + machine.getActivePokemon().getName();
+        }
+        // Seleccionar y usar un movimiento
+        int moveIndex = machine.selectMove();
+        String moveName = machine.getActivePokemon().getAtaques().get(moveIndex).getName();
+        battleArenaNormal.attack(moveIndex, false, battleArenaNormal.getCurrentTurn() == 0);
+        return "La máquina usó " + moveName;
+    }
+
     /**
      * Cambia el turno al siguiente jugador.
      */
     public void changeTurn() {
         if (battleArenaNormal != null) {
             battleArenaNormal.changeTurn();
+            prefetchMachineReply();
+        }
+    }
+
+    /**
+     * Si empieza el turno de un humano que juega contra una máquina, la
+     * máquina empieza a preparar su respuesta mientras el humano decide.
+     */
+    private void prefetchMachineReply() {
+        Coach current = battleArenaNormal.getCurrentCoach();
+        Coach next = battleArenaNormal.getCoach(1 - battleArenaNormal.getCurrentTurn());
+        if (!current.isMachine() && next instanceof Machine machine && !battleArenaNormal.isBattleFinished()) {
+            prefetcher.start(battleArenaNormal, machine);
         }
     }
 
@@ -298,14 +347,33 @@ public class Poobkemon {
         return battleArenaNormal.getPokemonsVivos(esJugador1);
     }
 
+    /**
+     * Posiciones en el equipo de los pokémon del jugador que aún pueden luchar.
+     */
+    public int[] getPokemonsVivosSlots(boolean esJugador1) {
+        return battleArenaNormal.getPokemonsVivosSlots(esJugador1);
+    }
+
+    public String getPokemonName(boolean esJugador1, int slot) {
+        return battleArenaNormal.getPokemonName(esJugador1, slot);
+    }
+
     public void cambiarPokemonActivo(boolean esJugador1, String nombrePokemon) {
         battleArenaNormal.cambiarPokemonActivo(esJugador1, nombrePokemon);
     }
 
+    public void cambiarPokemonActivo(boolean esJugador1, int slot) {
+        battleArenaNormal.cambiarPokemonActivo(esJugador1, slot);
+    }
+
     public void useItem(String nombreItem, boolean esJugador1) throws PoobkemonException {
         battleArenaNormal.useItem(nombreItem, esJugador1);
     }
 
+    public void useItem(int itemId, boolean esJugador1) throws PoobkemonException {
+        battleArenaNormal.useItem(itemId, esJugador1);
+    }
+
     public List<String> getPokemonsMuertos(boolean esJugador1) {
         return battleArenaNormal.getPokemonsMuertos(esJugador1);
     }
@@ -318,6 +386,10 @@ public class Poobkemon {
         battleArenaNormal.eliminarItem(esJugador1, nombreItem);
     }
 
+    public void eliminarItem(boolean esJugador1, int itemId) {
+        battleArenaNormal.eliminarItem(esJugador1, itemId);
+    }
+
     public int getPokemonHP(boolean esJugador1, String nombrePokemon) {
         return battleArenaNormal.getPokemonHP(esJugador1, nombrePokemon);
     }
@@ -326,6 +398,14 @@ public class Poobkemon {
         return battleArenaNormal.getPokemonMaxHP(esJugador1, nombrePokemon);
     }
 
+    public int getPokemonHP(boolean esJugador1, int slot) {
+        return battleArenaNormal.getPokemonHP(esJugador1, slot);
+    }
+
+    public int getPokemonMaxHP(boolean esJugador1, int slot) {
+        return battleArenaNormal.getPokemonMaxHP(esJugador1, slot);
+    }
+
     private Coach createMachineCoach(String name, String machineType, ArrayList<String> pokemonNames, ArrayList<String> items) {
         // Convertir nombres de pokémon a objetos Pokemon
         ArrayList<Pokemon> pokemons = new ArrayList<>();
@@ -336,18 +416,9 @@ public class Poobkemon {
         // Crear la máquina según el tipo
         if (machineType.equals("Gemini")) {
             return new GeminiMachine(name, pokemons, items);
-        } else if (machineType.equalsIgnoreCase("attacking")) {
-            return new AttackingMachine(name, pokemons, items);
-        } else if (machineType.equalsIgnoreCase("defensive")) {
-            return new DefensiveMachine(name, pokemons, items);
-        } else if (machineType.equalsIgnoreCase("changing")) {
-            return new ChangingMachine(name, pokemons, items);
-        } else if (machineType.equalsIgnoreCase("expert")) {
-            return new ExpertMachine(name, pokemons, items);
-        } else {
-            // Por defecto, usar AttackingMachine
-            return new AttackingMachine(name, pokemons, items);
         }
+        // Los tipos desconocidos se crean como Attacking
+        return MachineFactory.createMachine(MachineFactory.MachineType.fromName(machineType), name, pokemons, items);
     }
 }
 
@@ -9,6 +9,11 @@ public class PoobkemonException extends Exception {
     public static final String POKEMON_GAME_OVER = "El juego ha terminado, no hay más pokemones disponibles";
     public static final String FULL_POKEMON_HEALTH ="No se puede usar un ítem en un Pokémon con PS completos.";
     public static final String CANT_USE_ITEM_ON_POKEMON_FAINTED = "No se puede usar un ítem en un Pokémon debilitado.";
+    public static final String UNKNOWN_SESSION = "No existe la sesión de batalla: ";
+    public static final String NOT_YOUR_TURN = "No es tu turno.";
+    public static final String NOT_MACHINE_TURN = "No es el turno de la máquina.";
+    public static final String NO_MATCH = "No estás en ninguna batalla.";
+    public static final String INVALID_ACTION = "Acción no válida.";
 
     
     public PoobkemonException(String message) {
@@ -0,0 +1,212 @@
+package domain;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lee una repetición escrita por {@link ReplayWriter} y reconstruye el estado
+ * de la batalla al comienzo de cualquier turno.
+ */
+public class ReplayReader {
+
+    /**
+     * Pokémon tal como estaba al empezar la grabación.
+     */
+    public record Member(String name, int totalPs, int ps, int status, List<String> moves, List<Integer> pp) {}
+
+    /**
+     * Equipo de un entrenador al empezar la grabación.
+     */
+    public record Team(String coachName, List<Member> members, List<String> items, int activeIndex) {}
+
+    /**
+     * Estado reconstruido de la batalla. Es independiente de la repetición:
+     * se puede modificar sin afectar a otras reconstrucciones.
+     */
+    public static final class State {
+        private final int turn;
+        private final int[][] ps;
+        private final int[][] status;
+        private final int[][][] pp;
+        private final int[] active = new int[2];
+        private final boolean[] fled = new boolean[2];
+        private final List<List<String>> items = new ArrayList<>(2);
+
+        private State(int turn, List<Team> teams) {
+            this.turn = turn;
+            ps = new int[2][];
+            status = new int[2][];
+            pp = new int[2][][];
+            for (int c = 0; c < 2; c++) {
+                Team team = teams.get(c);
+                int size = team.members().size();
+                ps[c] = new int[size];
+                status[c] = new int[size];
+                pp[c] = new int[size][];
+                for (int s = 0; s < size; s++) {
+                    Member member = team.members().get(s);
+                    ps[c][s] = member.ps();
+                    status[c][s] = member.status();
+                    pp[c][s] = new int[member.pp().size()];
+                    for (int m = 0; m < pp[c][s].length; m++) {
+                        pp[c][s][m] = member.pp().get(m);
+                    }
+                }
+                active[c] = team.activeIndex();
+                items.add(new ArrayList<>(team.items()));
+            }
+        }
+
+        private void apply(BattleEvent event) {
+            int c = event.coach();
+            int s = event.slot();
+            switch (event.type()) {
+                case ATTACK -> pp[c][s][event.arg()] = event.value();
+                case DAMAGE, ITEM, REVIVE -> ps[c][s] = event.value();
+                case STATUS_TICK -> {
+                    ps[c][s] = event.value();
+                    status[c][s] = event.arg();
+                }
+                case SWITCH -> active[c] = s;
+                case TIMEOUT -> {
+                    for (int m = 0; m < pp[c][s].length; m++) {
+                        pp[c][s][m]--;
+                    }
+                }
+                case DISCARD -> removeItems(c, event.arg(), event.value());
+                case FLEE -> fled[c] = true;
+                case MISS -> { }
+            }
+            if (event.type() == BattleEvent.Type.ITEM) {
+                removeItems(c, event.arg(), 1);
+            }
+        }
+
+        private void removeItems(int coach, int itemId, int units) {
+            if (itemId < 0) {
+                return;
+            }
+            String name = ItemFactory.getItem(itemId).getName();
+            for (int i = 0; i < units; i++) {
+                items.get(coach).remove(name);
+            }
+        }
+
+        /** Turno al comienzo del cual se tomó este estado. */
+        public int getTurn() { return turn; }
+        public int getPs(int coach, int slot) { return ps[coach][slot]; }
+        public int getStatus(int coach, int slot) { return status[coach][slot]; }
+        public int getPowerPoint(int coach, int slot, int move) { return pp[coach][slot][move]; }
+        public int getActiveIndex(int coach) { return active[coach]; }
+        public boolean hasFled(int coach) { return fled[coach]; }
+        public List<String> getItems(int coach) { return Collections.unmodifiableList(items.get(coach)); }
+    }
+
+    private final List<Team> teams;
+    private final List<BattleEvent> events;
+
+    private ReplayReader(List<Team> teams, List<BattleEvent> events) {
+        this.teams = teams;
+        this.events = events;
+    }
+
+    /**
+     * Lee una repetición completa.
+     * @param input Origen de la repetición; no se cierra
+     * @return La repetición leída
+     * @throws IOException Si el formato no es válido o falla la lectura
+     */
+    public static ReplayReader read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != ReplayWriter.MAGIC) {
+            throw new IOException("No es un archivo de repetición de Poobkemon.");
+        }
+        short version = in.readShort();
+        if (version != ReplayWriter.VERSION) {
+            throw new IOException("Versión de repetición no soportada: " + version);
+        }
+
+        List<Team> teams = List.of(readTeam(in), readTeam(in));
+        List<BattleEvent> events = new ArrayList<>();
+        while (true) {
+            int type;
+            try {
+                type = in.readUnsignedByte();
+            } catch (EOFException end) {
+                break;
+            }
+            int coach = in.readUnsignedByte();
+            int slot = in.readUnsignedByte();
+            int turn = in.readInt();
+            int arg = in.readInt();
+            int value = in.readInt();
+            events.add(new BattleEvent(BattleEvent.Type.fromOrdinal(type), turn, coach, slot, arg, value));
+        }
+        return new ReplayReader(teams, Collections.unmodifiableList(events));
+    }
+
+    private static Team readTeam(DataInputStream in) throws IOException {
+        String coachName = in.readUTF();
+        int size = in.readUnsignedByte();
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = in.readUTF();
+            int totalPs = in.readInt();
+            int ps = in.readInt();
+            int status = in.readByte();
+            int moveCount = in.readUnsignedByte();
+            List<String> moves = new ArrayList<>(moveCount);
+            List<Integer> pp = new ArrayList<>(moveCount);
+            for (int m = 0; m < moveCount; m++) {
+                moves.add(in.readUTF());
+                pp.add(in.readInt());
+            }
+            members.add(new Member(name, totalPs, ps, status, List.copyOf(moves), List.copyOf(pp)));
+        }
+        int itemCount = in.readUnsignedShort();
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(in.readUTF());
+        }
+        int activeIndex = in.readUnsignedByte();
+        return new Team(coachName, List.copyOf(members), List.copyOf(items), activeIndex);
+    }
+
+    public List<Team> getTeams() {
+        return teams;
+    }
+
+    public List<BattleEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Último turno en el que hubo algún evento, o -1 si no hay eventos.
+     */
+    public int getLastTurn() {
+        return events.isEmpty() ? -1 : events.get(events.size() - 1).turn();
+    }
+
+    /**
+     * Reconstruye el estado al comienzo de un turno, aplicando todos los
+     * eventos de los turnos anteriores.
+     * @param turn Turno de la batalla; con {@code getLastTurn() + 1} se obtiene el estado final
+     * @return El estado reconstruido
+     */
+    public State stateAt(int turn) {
+        State state = new State(turn, teams);
+        for (BattleEvent event : events) {
+            if (event.turn() >= turn) {
+                break;
+            }
+            state.apply(event);
+        }
+        return state;
+    }
+}
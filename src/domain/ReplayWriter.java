@@ -0,0 +1,102 @@
+package domain;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Escribe los eventos de una batalla en un archivo binario de repetición.
+ * <p>
+ * Formato: una cabecera con los equipos tal como están al empezar a grabar
+ * (entrenadores, pokémon, PS, movimientos con sus PP, ítems y pokémon activo)
+ * seguida de un registro de tamaño fijo por evento, que solo se añade al
+ * final. {@link ReplayReader} lee el formato.
+ * </p>
+ */
+public class ReplayWriter implements BattleListener, Closeable {
+
+    /** "PKRP" en ASCII. */
+    static final int MAGIC = 0x504B5250;
+    static final short VERSION = 1;
+
+    private final DataOutputStream out;
+    private final BattleArena arena;
+
+    /**
+     * Escribe la cabecera con el estado actual de la arena. Para grabar los
+     * eventos hay que registrarlo como oyente; {@link #record} hace ambas cosas.
+     * @param arena Arena ya configurada con sus dos entrenadores
+     * @param output Destino de la repetición
+     * @throws IOException Si falla la escritura de la cabecera
+     */
+    public ReplayWriter(BattleArena arena, OutputStream output) throws IOException {
+        this.arena = arena;
+        this.out = new DataOutputStream(new BufferedOutputStream(output));
+        writeHeader();
+    }
+
+    /**
+     * Empieza a grabar una arena ya configurada.
+     * @return El escritor, que hay que cerrar al terminar la batalla
+     */
+    public static ReplayWriter record(BattleArena arena, OutputStream output) throws IOException {
+        ReplayWriter writer = new ReplayWriter(arena, output);
+        arena.addListener(writer);
+        return writer;
+    }
+
+    private void writeHeader() throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        for (Coach coach : arena.getCoaches()) {
+            out.writeUTF(coach.getName());
+            List<Pokemon> pokemons = coach.getPokemons();
+            out.writeByte(pokemons.size());
+            for (Pokemon pokemon : pokemons) {
+                out.writeUTF(pokemon.getName());
+                out.writeInt(pokemon.getTotalPs());
+                out.writeInt(pokemon.getPs());
+                out.writeByte(pokemon.getStatus());
+                List<Attack> attacks = pokemon.getAtaques();
+                out.writeByte(attacks.size());
+                for (Attack attack : attacks) {
+                    out.writeUTF(attack.getName());
+                    out.writeInt(attack.getPowerPoint());
+                }
+            }
+            List<String> items = coach.getNombreItems();
+            out.writeShort(items.size());
+            for (String item : items) {
+                out.writeUTF(item);
+            }
+            out.writeByte(coach.getActivePokemonIndex());
+        }
+    }
+
+    @Override
+    public void onEvent(BattleEvent event) {
+        try {
+            out.writeByte(event.type().ordinal());
+            out.writeByte(event.coach());
+            out.writeByte(event.slot());
+            out.writeInt(event.turn());
+            out.writeInt(event.arg());
+            out.writeInt(event.value());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deja de escuchar la arena y cierra el destino.
+     */
+    @Override
+    public void close() throws IOException {
+        arena.removeListener(this);
+        out.close();
+    }
+}
@@ -0,0 +1,407 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Estrategia que busca la mejor acción con expectiminimax sobre {@link BattleState}.
+ * <p>
+ * Los turnos de ambos entrenadores se alternan en el árbol: en los propios se
+ * maximiza y en los del rival se minimiza, y cada ataque que puede fallar abre
+ * un nodo de azar con su probabilidad de acierto. La profundidad crece de uno
+ * en uno mientras quede presupuesto, las acciones de la raíz se evalúan en
+ * paralelo y solo cuenta la última profundidad terminada. El presupuesto
+ * siempre queda por debajo de {@link BattleArena#MAX_TIME_SECONDS}; si ni
+ * la primera profundidad termina, se ataca con el movimiento de más daño
+ * esperado.
+ * </p>
+ */
+public class SearchStrategy implements MachineStrategy {
+
+    /** Propiedad del sistema con el presupuesto de cada decisión, en milisegundos. */
+    public static final String BUDGET_PROPERTY = "poobkemon.search.millis";
+    public static final long DEFAULT_BUDGET_MILLIS = 500;
+    /** Tiempo que se deja libre antes de que venza el turno. */
+    private static final long SAFETY_MARGIN_MILLIS = 2000;
+    /** Tiempo máximo de una decisión, incluida la primera profundidad. */
+    private static final long LIMIT_MILLIS = BattleArena.MAX_TIME_SECONDS * 1000L - SAFETY_MARGIN_MILLIS;
+    static final int MAX_DEPTH = 16;
+    private static final double WIN = 1000.0;
+
+    /**
+     * Resultado de una búsqueda.
+     * @param action {@link BattleModel#ATTACK}, {@link BattleModel#ITEM} o {@link BattleModel#SWITCH}
+     * @param index Movimiento, ítem del inventario inicial o pokémon, según la acción
+     * @param attack Mejor movimiento, por si al final hay que atacar
+     * @param value Valor esperado de la acción
+     * @param depth Profundidad de la última búsqueda terminada
+     */
+    public record Decision(int action, int index, int attack, double value, int depth) {}
+
+    private static final Timeout TIMEOUT = new Timeout();
+    private static final BooleanSupplier NEVER = () -> false;
+
+    private final long budgetNanos;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+    private BattleModel model;
+    private BattleState current; // Estado de la arena, reutilizado para no reservar memoria si no cambia
+    private BattleState lastState;
+    private Decision lastDecision;
+    private final Map<BattleState, Decision> prefetched = new ConcurrentHashMap<>();
+
+    /**
+     * Crea la estrategia con el presupuesto de {@value #BUDGET_PROPERTY} o el
+     * de por defecto.
+     */
+    public SearchStrategy() {
+        this(Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MILLIS));
+    }
+
+    /**
+     * @param budgetMillis Tiempo máximo de cada decisión
+     */
+    public SearchStrategy(long budgetMillis) {
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, Math.min(budgetMillis, LIMIT_MILLIS)));
+    }
+
+    public long getBudgetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(budgetNanos);
+    }
+
+    /**
+     * Busca la acción de la máquina en el estado actual de la arena. Mientras
+     * el estado no cambie se reutiliza la última decisión, así que las
+     * llamadas de un mismo turno solo buscan una vez.
+     */
+    public synchronized Decision decide(Machine machine, BattleArena battleArena) {
+        int me = battleArena.getCoach(0) == machine ? 0 : 1;
+        if (model == null || model.getLayout() != battleArena.getStateLayout()) {
+            model = new BattleModel(battleArena);
+            current = new BattleState(model.getLayout());
+        }
+        battleArena.snapshot(current);
+        current.setCurrentTurn(me);
+        if (current.equals(lastState)) {
+            return lastDecision;
+        }
+        BattleState root = current.copy();
+        Decision decision = prefetched.get(root);
+        if (decision == null) {
+            decision = search(model, root, me, NEVER);
+        }
+        if (BattleLogger.isDebugEnabled()) {
+            BattleLogger.debug("Búsqueda de " + machine.getName() + ": " + decision);
+        }
+        // Lo adelantado para turnos que ya pasaron no se volverá a usar
+        int turn = root.getTurnNumber();
+        prefetched.keySet().removeIf(state -> state.getTurnNumber() <= turn);
+        lastState = root;
+        lastDecision = decision;
+        return decision;
+    }
+
+    @Override
+    public boolean supportsPrefetch() {
+        return true;
+    }
+
+    /**
+     * Busca la decisión para un estado previsto y la guarda para cuando
+     * {@link #decide} lo encuentre. No bloquea las decisiones reales: si se
+     * cancela, la búsqueda se corta como al agotar el tiempo y no se guarda.
+     * @param model Reglas de la batalla
+     * @param predicted Estado previsto; no se modifica
+     * @param me Índice de la máquina en la arena
+     * @param cancelled Indica si la previsión ya no sirve
+     */
+    @Override
+    public void prefetch(BattleModel model, BattleState predicted, int me, BooleanSupplier cancelled) {
+        BattleState root = predicted.copy();
+        root.setCurrentTurn(me);
+        if (prefetched.containsKey(root)) {
+            return;
+        }
+        Decision decision = search(model, root, me, cancelled);
+        if (!cancelled.getAsBoolean()) {
+            prefetched.put(root, decision);
+        }
+    }
+
+    /** Número de decisiones adelantadas que aún pueden usarse. */
+    public int prefetchedCount() {
+        return prefetched.size();
+    }
+
+    /**
+     * @param cancelled Se consulta en cada nodo; si es cierto la búsqueda se corta como al agotar el tiempo
+     */
+    private Decision search(BattleModel model, BattleState root, int me, BooleanSupplier cancelled) {
+        int[] actions = new int[model.maxActions()];
+        int count = model.actions(root, actions);
+        if (count == 0) {
+            return new Decision(BattleModel.ATTACK, 0, 0, -WIN, 0);
+        }
+
+        long start = System.nanoTime();
+        Searcher[] searchers = new Searcher[count];
+        for (int i = 0; i < count; i++) {
+            searchers[i] = new Searcher(model, me, cancelled);
+        }
+        double[] values = new double[count];
+        Decision best = null;
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            // La primera profundidad es inmediata y se le deja hasta el límite del turno
+            long deadline = depth == 1
+                ? start + TimeUnit.MILLISECONDS.toNanos(LIMIT_MILLIS)
+                : start + budgetNanos;
+            if (!searchRoot(root, actions, searchers, depth, deadline, values)) {
+                break;
+            }
+            best = choose(actions, values, depth);
+            if (count == 1 || !anyTruncated(searchers)) {
+                break;
+            }
+        }
+        return best != null ? best : fallback(model, root, me, actions, count);
+    }
+
+    /**
+     * Decisión de un solo nivel para cuando no termina ninguna profundidad:
+     * el ataque con más daño esperado o, si no se puede atacar, la primera
+     * acción posible.
+     */
+    private static Decision fallback(BattleModel model, BattleState root, int me, int[] actions, int count) {
+        int slot = root.getActiveIndex(me);
+        int rivalSlot = root.getActiveIndex(1 - me);
+        int best = 0;
+        int attack = 0;
+        double bestDamage = -1;
+        for (int i = 0; i < count; i++) {
+            if (BattleModel.actionType(actions[i]) != BattleModel.ATTACK) {
+                continue;
+            }
+            int move = BattleModel.actionIndex(actions[i]);
+            double damage = model.isUsable(root, me, slot, move)
+                ? model.chance(root, actions[i]) * model.damage(root, me, slot, move, rivalSlot)
+                : 0;
+            if (damage > bestDamage) {
+                bestDamage = damage;
+                best = i;
+                attack = move;
+            }
+        }
+        return new Decision(BattleModel.actionType(actions[best]), BattleModel.actionIndex(actions[best]),
+            attack, 0, 0);
+    }
+
+    /**
+     * Evalúa en paralelo cada acción de la raíz a la profundidad dada.
+     * @return false si se acabó el tiempo o se interrumpió el hilo antes de terminar
+     */
+    private boolean searchRoot(BattleState root, int[] actions, Searcher[] searchers,
+                               int depth, long deadline, double[] values) {
+        // invokeAll no siempre atiende la interrupción si el hilo ayuda a ejecutar las tareas
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        List<Callable<Double>> tasks = new ArrayList<>(searchers.length);
+        for (int i = 0; i < searchers.length; i++) {
+            Searcher searcher = searchers[i];
+            int action = actions[i];
+            tasks.add(() -> searcher.value(root, action, depth, deadline));
+        }
+        try {
+            List<Future<Double>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                values[i] = results.get(i).get();
+            }
+            return true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Timeout) {
+                return false;
+            }
+            throw new IllegalStateException("Error en la búsqueda", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Decision choose(int[] actions, double[] values, int depth) {
+        int best = -1;
+        int attack = 0;
+        double bestAttack = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < values.length; i++) {
+            if (best < 0 || values[i] > values[best]) {
+                best = i;
+            }
+            if (BattleModel.actionType(actions[i]) == BattleModel.ATTACK && values[i] > bestAttack) {
+                bestAttack = values[i];
+                attack = BattleModel.actionIndex(actions[i]);
+            }
+        }
+        return new Decision(BattleModel.actionType(actions[best]), BattleModel.actionIndex(actions[best]),
+            attack, values[best], depth);
+    }
+
+    private static boolean anyTruncated(Searcher[] searchers) {
+        for (Searcher searcher : searchers) {
+            if (searcher.truncated) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Búsqueda de una acción de la raíz. Reserva una pila de estados, uno por
+     * nivel, al crearse, y la reutiliza en cada profundidad. No es segura
+     * entre hilos: cada tarea usa la suya.
+     */
+    private static final class Searcher {
+        private final BattleModel model;
+        private final int me;
+        private final BooleanSupplier cancelled;
+        private final BattleState[] stack = new BattleState[MAX_DEPTH];
+        private final int[][] actions = new int[MAX_DEPTH][];
+        private long deadline;
+        private boolean truncated;
+
+        Searcher(BattleModel model, int me, BooleanSupplier cancelled) {
+            this.model = model;
+            this.me = me;
+            this.cancelled = cancelled;
+            for (int i = 0; i < MAX_DEPTH; i++) {
+                stack[i] = new BattleState(model.getLayout());
+                actions[i] = new int[model.maxActions()];
+            }
+        }
+
+        double value(BattleState root, int action, int depth, long deadline) {
+            this.deadline = deadline;
+            this.truncated = false;
+            return expected(root, action, 0, depth - 1);
+        }
+
+        private double expected(BattleState state, int action, int ply, int depth) {
+            double chance = model.chance(state, action);
+            double value = 0;
+            if (chance > 0) {
+                value += chance * child(state, action, true, ply, depth);
+            }
+            if (chance < 1) {
+                value += (1 - chance) * child(state, action, false, ply, depth);
+            }
+            return value;
+        }
+
+        private double child(BattleState state, int action, boolean hit, int ply, int depth) {
+            BattleState next = stack[ply];
+            next.copyFrom(state);
+            model.apply(next, action, hit);
+            return search(next, ply + 1, depth);
+        }
+
+        private double search(BattleState state, int ply, int depth) {
+            if (System.nanoTime() - deadline > 0 || cancelled.getAsBoolean()) {
+                throw TIMEOUT;
+            }
+            // Ganar antes vale más que ganar después, y perder después menos que antes
+            if (model.isDefeated(state, me)) {
+                return -WIN - depth;
+            }
+            if (model.isDefeated(state, 1 - me)) {
+                return WIN + depth;
+            }
+            if (depth == 0) {
+                truncated = true;
+                return evaluate(state);
+            }
+            int[] buffer = actions[ply];
+            int count = model.actions(state, buffer);
+            boolean maximize = state.getCurrentTurn() == me;
+            double best = maximize ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                double value = expected(state, buffer[i], ply, depth - 1);
+                best = maximize ? Math.max(best, value) : Math.min(best, value);
+            }
+            return count == 0 ? evaluate(state) : best;
+        }
+
+        /**
+         * Diferencia entre la fracción de vida que conserva cada equipo.
+         */
+        private double evaluate(BattleState state) {
+            return health(state, me) - health(state, 1 - me);
+        }
+
+        private double health(BattleState state, int coach) {
+            double total = 0;
+            for (int s = 0; s < model.getLayout().pokemonCount(coach); s++) {
+                total += (double) state.getPs(coach, s) / model.getTotalPs(coach, s);
+            }
+            return total;
+        }
+    }
+
+    /** Fin de tiempo; sin traza porque se lanza en cada búsqueda cortada. */
+    private static final class Timeout extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Timeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    @Override
+    public int decisionDepth(Machine machine, BattleArena battleArena) {
+        return decide(machine, battleArena).depth();
+    }
+
+    @Override
+    public int decideAction(Machine machine, BattleArena battleArena) {
+        return decide(machine, battleArena).action();
+    }
+
+    @Override
+    public int selectAttack(Machine machine, BattleArena battleArena) {
+        return decide(machine, battleArena).attack();
+    }
+
+    @Override
+    public int selectItem(Machine machine, BattleArena battleArena) {
+        Decision decision = decide(machine, battleArena);
+        if (decision.action() != BattleModel.ITEM) {
+            return -1;
+        }
+        // La decisión se refiere a los ítems iniciales; se busca ese ítem en el inventario actual
+        int me = battleArena.getCoach(0) == machine ? 0 : 1;
+        int id = model.getLayout().item(me, decision.index()).getId();
+        List<Item> inventory = machine.getItems();
+        for (int i = 0; i < inventory.size(); i++) {
+            if (inventory.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int selectPokemon(Machine machine, BattleArena battleArena) {
+        Decision decision = decide(machine, battleArena);
+        return decision.action() == BattleModel.SWITCH ? decision.index() : machine.getActivePokemonIndex();
+    }
+
+    @Override
+    public boolean shouldFlee(Machine machine, BattleArena battleArena) {
+        return false;
+    }
+}
@@ -11,8 +11,14 @@ public class SpecialAttack extends Attack {
         super(name, type, baseDamage, powerPoint, precision, attackType, effect);
     }
 
+    protected SpecialAttack(AttackTemplate template) {
+        super(template);
+    }
+
     @Override
     public Attack clone() {
-        return new SpecialAttack(getName(), getType(), getBaseDamage(), getPowerPoint(), getPrecision(), "Special", getEffect());
+        SpecialAttack copy = new SpecialAttack(template);
+        copy.powerPoint = powerPoint;
+        return copy;
     }
 }
\ No newline at end of file
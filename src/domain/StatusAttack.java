@@ -2,37 +2,37 @@ package domain;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 public class StatusAttack extends Attack {
     public static final List<StatusAttack> ataquesStatus = new ArrayList<>();
-    private AttributeType affects;
-    private int turnosDuracion;
     
     public StatusAttack(String name, String type, int damage, int powerPoints, int precision, AttributeType affects, int turnosDuracion, String attackType) {
-        super(name, type, damage, powerPoints, precision, attackType, affects.name());
-        this.affects = affects;
-        this.turnosDuracion = turnosDuracion;
+        super(new AttackTemplate(name, type, damage, powerPoints, precision, attackType, affects.name(), affects, turnosDuracion));
+    }
+
+    protected StatusAttack(AttackTemplate template) {
+        super(template);
     }
     
     public AttributeType getAffects() {
-        return affects;
+        return template.affects();
     }
 
     public int getTurnosDuracion() {
-        return turnosDuracion;
-    }
-
-    public String getEffect() {
-        return affects.name();
+        return template.turnosDuracion();
     }
 
     @Override
-    public int calcDaño(Pokemon atacante, Pokemon defensor) {
+    public int calcDaño(Pokemon atacante, Pokemon defensor, RandomGenerator random) {
+        AttributeType affects = template.affects();
         switch (affects) {
 
             default:
                 // Mejora de stats o curación, se aplica al atacante
-                System.out.println("[StatusAttack] " + atacante.getName() + " mejora " + affects + " en +10.");
+                if (BattleLogger.isDebugEnabled()) {
+                    BattleLogger.debug("[StatusAttack] " + atacante.getName() + " mejora " + affects + " en +10.");
+                }
                 affects.apply(atacante, 10); // O el valor que desees
                 break;
         }
@@ -42,6 +42,8 @@ public class StatusAttack extends Attack {
 
     @Override
     public Attack clone() {
-        return new StatusAttack(getName(), getType(), getBaseDamage(), getPowerPoint(), getPrecision(), affects, getTurnosDuracion(), getAttackType());
+        StatusAttack copy = new StatusAttack(template);
+        copy.powerPoint = powerPoint;
+        return copy;
     }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Máquina que delega todas sus decisiones en una {@link MachineStrategy}.
+ * <p>
+ * La estrategia se puede cambiar en mitad de la batalla con
+ * {@link #setStrategy}; la nueva se usa desde la siguiente decisión. Fuera
+ * de una arena la máquina elige por efectividad y no usa ítems.
+ * </p>
+ * <p>
+ * Con una {@link TranspositionTable} (la compartida, si está activada), antes
+ * de preguntar a la estrategia se busca la posición en la tabla y, si está, se
+ * juega la acción guardada. Las decisiones de las estrategias que buscan se
+ * guardan en ella con la clave de su tipo de estrategia, así que cada
+ * estrategia solo juega lo que decidió ella misma.
+ * </p>
+ */
+public class StrategyMachine extends Machine {
+
+    private volatile MachineStrategy strategy;
+    private volatile TranspositionTable transpositions = TranspositionTable.getShared();
+
+    /**
+     * Crea una máquina con la estrategia de un tipo de {@link MachineFactory}.
+     */
+    public StrategyMachine(String name, ArrayList<Pokemon> pokemons, ArrayList<String> items,
+                           MachineFactory.MachineType type) {
+        this(name, pokemons, items, MachineFactory.createStrategy(type), type.getDisplayName());
+    }
+
+    /**
+     * Crea una máquina con una estrategia propia.
+     * @param machineType Nombre del tipo de máquina, como "Expert"
+     */
+    public StrategyMachine(String name, ArrayList<Pokemon> pokemons, ArrayList<String> items,
+                           MachineStrategy strategy, String machineType) {
+        super(name, pokemons, items);
+        this.strategy = strategy;
+        this.machineType = machineType;
+    }
+
+    public MachineStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Cambia la estrategia de la máquina; el tipo de máquina no cambia.
+     */
+    public void setStrategy(MachineStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public TranspositionTable getTranspositions() {
+        return transpositions;
+    }
+
+    /**
+     * Cambia la tabla de transposiciones que se consulta; null para no usar ninguna.
+     */
+    public void setTranspositions(TranspositionTable transpositions) {
+        this.transpositions = transpositions;
+    }
+
+    @Override
+    public int selectMove() {
+        if (battleArena == null) {
+            return getBestEffectivenessMove();
+        }
+        long entry = lookup();
+        if (entry != TranspositionTable.MISS) {
+            int move = TranspositionTable.attack(entry);
+            List<Attack> attacks = getActivePokemon().getAtaques();
+            if (move >= 0 && move < attacks.size() && attacks.get(move).getPowerPoint() > 0) {
+                return move;
+            }
+        }
+        int move = strategy.selectAttack(this, battleArena);
+        return move >= 0 ? move : getBestEffectivenessMove();
+    }
+
+    @Override
+    public int selectBestPokemon() {
+        if (battleArena == null) {
+            return getPokemonWithTypeAdvantage();
+        }
+        long entry = lookup();
+        if (entry != TranspositionTable.MISS && TranspositionTable.action(entry) == BattleModel.SWITCH) {
+            int slot = TranspositionTable.index(entry);
+            if (slot < getPokemons().size() && slot != getActivePokemonIndex() && getPokemons().get(slot).getPs() > 0) {
+                return slot;
+            }
+        }
+        return strategy.selectPokemon(this, battleArena);
+    }
+
+    @Override
+    public boolean shouldUseItem() {
+        if (battleArena == null || getItems().isEmpty()) {
+            return false;
+        }
+        long entry = lookup();
+        if (entry != TranspositionTable.MISS) {
+            return TranspositionTable.action(entry) == BattleModel.ITEM && inventoryIndex(entry) >= 0;
+        }
+        return strategy.decideAction(this, battleArena) == BattleModel.ITEM;
+    }
+
+    @Override
+    public int selectItem() {
+        if (battleArena == null) {
+            return -1;
+        }
+        long entry = lookup();
+        if (entry != TranspositionTable.MISS && TranspositionTable.action(entry) == BattleModel.ITEM) {
+            int item = inventoryIndex(entry);
+            if (item >= 0) {
+                return item;
+            }
+        }
+        return strategy.selectItem(this, battleArena);
+    }
+
+    /**
+     * Entrada de la tabla de transposiciones para la posición actual. Si no
+     * está y la estrategia busca, guarda su decisión y devuelve
+     * {@link TranspositionTable#MISS} para que se le pregunte como siempre.
+     */
+    private long lookup() {
+        TranspositionTable table = transpositions;
+        if (table == null) {
+            return TranspositionTable.MISS;
+        }
+        MachineStrategy current = strategy;
+        long key = TranspositionTable.hash(battleArena, battleArena.getCoach(0) == this ? 0 : 1)
+            ^ TranspositionTable.strategyKey(current);
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            return entry;
+        }
+        int depth = current.decisionDepth(this, battleArena);
+        if (depth > 0) {
+            int action = current.decideAction(this, battleArena);
+            int attack = current.selectAttack(this, battleArena);
+            int index = attack;
+            if (action == BattleModel.ITEM) {
+                int item = current.selectItem(this, battleArena);
+                // En la tabla va el id del ítem, porque el inventario cambia
+                index = item >= 0 ? getItems().get(item).getId() : -1;
+            } else if (action == BattleModel.SWITCH) {
+                index = current.selectPokemon(this, battleArena);
+            }
+            if (index >= 0) {
+                table.store(key, action, index, attack, depth);
+            }
+        }
+        return TranspositionTable.MISS;
+    }
+
+    /**
+     * Posición en el inventario del ítem de una entrada, o -1 si ya no queda.
+     */
+    private int inventoryIndex(long entry) {
+        int id = TranspositionTable.index(entry);
+        List<Item> items = getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean supportsPrefetch() {
+        return strategy.supportsPrefetch();
+    }
+
+    @Override
+    public void prefetch(BattleModel model, BattleState predicted, int coach, BooleanSupplier cancelled) {
+        strategy.prefetch(model, predicted, coach, cancelled);
+    }
+}
@@ -0,0 +1,236 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Torneo todos contra todos entre estrategias de máquina.
+ * <p>
+ * Cada par ordenado de estrategias juega varias batallas con equipos
+ * aleatorios. Las batallas se reparten entre todos los núcleos con un
+ * {@link ForkJoinPool}; cada una usa su propia arena, sus propias máquinas y
+ * su propia semilla, por lo que no comparten estado mutable y el torneo es
+ * reproducible sin importar el orden de ejecución. Los resultados se acumulan
+ * por hilo y se combinan al final en matrices de victorias.
+ * </p>
+ * <p>
+ * Por defecto juegan los tipos de {@link #DEFAULT_TYPES}. Search queda fuera:
+ * su búsqueda se corta por tiempo, así que sus resultados dependen del reloj
+ * y de la carga de la máquina aunque las semillas sean las mismas, y cada una
+ * de sus decisiones tarda lo que su presupuesto. Para incluirlo hay que
+ * pedirlo en la lista de tipos.
+ * </p>
+ */
+public class Tournament {
+
+    /** Tipos que juegan si no se indican otros: todos salvo Search. */
+    public static final List<MachineFactory.MachineType> DEFAULT_TYPES = List.of(
+        MachineFactory.MachineType.ATTACKING, MachineFactory.MachineType.DEFENSIVE,
+        MachineFactory.MachineType.CHANGING, MachineFactory.MachineType.EXPERT,
+        MachineFactory.MachineType.LEARNED);
+
+    private final int teamSize;
+    private final int battlesPerPair;
+    private final int parallelism;
+    private final BattleSimulator simulator;
+
+    /**
+     * Resultados agregados del torneo. Las matrices se indexan por la posición
+     * de cada tipo en {@link #types()}: la fila es la estrategia que juega como
+     * entrenador 0 y la columna su rival.
+     */
+    public record Standings(List<MachineFactory.MachineType> types, int[][] wins, int[][] losses, int[][] draws) {
+
+        /**
+         * Porcentaje de victorias de la estrategia {@code row} contra {@code column}.
+         */
+        public double winRate(int row, int column) {
+            int games = wins[row][column] + losses[row][column] + draws[row][column];
+            return games == 0 ? 0.0 : (double) wins[row][column] / games;
+        }
+
+        /**
+         * Porcentaje de victorias global de una estrategia, jugando en cualquier lado.
+         */
+        public double overallWinRate(int type) {
+            int won = 0;
+            int games = 0;
+            for (int other = 0; other < types.size(); other++) {
+                won += wins[type][other] + losses[other][type];
+                games += wins[type][other] + losses[type][other] + draws[type][other]
+                       + wins[other][type] + losses[other][type] + draws[other][type];
+            }
+            return games == 0 ? 0.0 : (double) won / games;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-10s", ""));
+            for (MachineFactory.MachineType type : types) {
+                sb.append(String.format("%10s", type.getDisplayName()));
+            }
+            sb.append('\n');
+            for (int i = 0; i < types.size(); i++) {
+                sb.append(String.format("%-10s", types.get(i).getDisplayName()));
+                for (int j = 0; j < types.size(); j++) {
+                    sb.append(String.format("%10.3f", winRate(i, j)));
+                }
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Acumulador de resultados de un hilo.
+     */
+    private static final class Tally {
+        private final int[][] wins;
+        private final int[][] losses;
+        private final int[][] draws;
+
+        Tally(int size) {
+            wins = new int[size][size];
+            losses = new int[size][size];
+            draws = new int[size][size];
+        }
+
+        void add(int row, int column, BattleSimulator.Result result) {
+            if (result.winner() == 0) {
+                wins[row][column]++;
+            } else if (result.winner() == 1) {
+                losses[row][column]++;
+            } else {
+                draws[row][column]++;
+            }
+        }
+
+        void merge(Tally other) {
+            for (int i = 0; i < wins.length; i++) {
+                for (int j = 0; j < wins.length; j++) {
+                    wins[i][j] += other.wins[i][j];
+                    losses[i][j] += other.losses[i][j];
+                    draws[i][j] += other.draws[i][j];
+                }
+            }
+        }
+    }
+
+    public Tournament(int teamSize, int battlesPerPair) {
+        this(teamSize, battlesPerPair, Runtime.getRuntime().availableProcessors());
+    }
+
+    public Tournament(int teamSize, int battlesPerPair, int parallelism) {
+        if (teamSize <= 0 || teamSize * 2 > Poobkemon.getAvailablePokemon().size()) {
+            throw new IllegalArgumentException("Tamaño de equipo inválido: " + teamSize);
+        }
+        if (battlesPerPair <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("El número de batallas y de hilos debe ser positivo.");
+        }
+        this.teamSize = teamSize;
+        this.battlesPerPair = battlesPerPair;
+        this.parallelism = parallelism;
+        this.simulator = new BattleSimulator();
+    }
+
+    /**
+     * Juega el torneo con los tipos de {@link #DEFAULT_TYPES}.
+     */
+    public Standings play() {
+        return play(DEFAULT_TYPES);
+    }
+
+    /**
+     * Juega el torneo entre los tipos de máquina indicados.
+     * @param types Estrategias participantes
+     * @return Las matrices de resultados
+     */
+    public Standings play(List<MachineFactory.MachineType> types) {
+        return play(types, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Juega un torneo reproducible entre los tipos de máquina indicados.
+     * @param types Estrategias participantes
+     * @param seed Semilla del torneo; de ella salen las semillas de cada batalla
+     * @return Las matrices de resultados
+     */
+    public Standings play(List<MachineFactory.MachineType> types, long seed) {
+        int size = types.size();
+        int battles = size * size * battlesPerPair;
+        long[] seeds = new SplittableRandom(seed).longs(battles).toArray();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Tally tally = pool.submit(() -> IntStream.range(0, battles).parallel()
+                .collect(() -> new Tally(size),
+                         (t, battle) -> {
+                             int pair = battle / battlesPerPair;
+                             int row = pair / size;
+                             int column = pair % size;
+                             t.add(row, column, playBattle(types.get(row), types.get(column), seeds[battle]));
+                         },
+                         Tally::merge))
+                .get();
+            return new Standings(List.copyOf(types), tally.wins, tally.losses, tally.draws);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("El torneo fue interrumpido.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al jugar el torneo: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Juega una batalla entre dos estrategias con equipos aleatorios distintos.
+     */
+    private BattleSimulator.Result playBattle(MachineFactory.MachineType first, MachineFactory.MachineType second,
+                                              long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> pokemons = new ArrayList<>(Poobkemon.getAvailablePokemon());
+        BattleArena.shuffle(pokemons, random);
+        try {
+            return simulator.simulate(
+                new BattleSimulator.Team(first.getDisplayName(), pokemons.subList(0, teamSize)),
+                new BattleSimulator.Team(second.getDisplayName(), pokemons.subList(teamSize, 2 * teamSize)),
+                random.nextLong());
+        } catch (PoobkemonException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ejecuta un torneo desde la línea de comandos.
+     * Uso: {@code Tournament [tamañoEquipo] [batallasPorPar] [hilos] [semilla] [tipos]}, donde
+     * {@code tipos} es una lista separada por comas, como {@code Expert,Search}; por defecto
+     * {@link #DEFAULT_TYPES}.
+     */
+    public static void main(String[] args) {
+        Catalog.getDefault(); // Falla aquí, con un mensaje claro, si no hay datos
+        int teamSize = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int battlesPerPair = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : new SplittableRandom().nextLong();
+        List<MachineFactory.MachineType> types = DEFAULT_TYPES;
+        if (args.length > 4) {
+            types = new ArrayList<>();
+            for (String name : args[4].split(",")) {
+                types.add(MachineFactory.MachineType.fromName(name.trim()));
+            }
+        }
+
+        long start = System.nanoTime();
+        Standings standings = new Tournament(teamSize, battlesPerPair, threads).play(types, seed);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.print(standings);
+        System.out.println("Batallas: " + standings.types().size() * standings.types().size() * battlesPerPair
+            + " en " + elapsedMillis + " ms con " + threads + " hilos (semilla " + seed + ").");
+    }
+}
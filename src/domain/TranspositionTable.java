@@ -0,0 +1,319 @@
+package domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Tabla de transposiciones con la mejor acción conocida de cada posición,
+ * guardada en un fichero proyectado en memoria para que dure entre ejecuciones.
+ * <p>
+ * Las posiciones se identifican con un hash de Zobrist: el XOR de una clave
+ * por cada rasgo de la batalla (turno, pokémon activo, especie, tramo de PS y
+ * estado de cada pokémon, y ataques y tramo de PP del activo de cada
+ * entrenador), más la clave del tipo de estrategia que decide. Las claves
+ * salen de mezclar el rasgo con SplitMix64 en vez de una tabla aleatoria, así
+ * que son las mismas en todas las ejecuciones.
+ * </p>
+ * <p>
+ * El tamaño es fijo: las entradas van en cubetas de {@value #WAYS} y, si la
+ * cubeta está llena, se reemplaza la de una ejecución anterior o, entre las
+ * de la misma, la menos profunda. Cada entrada son dos {@code long}, el dato y
+ * el XOR del dato con la clave, escritos sin bloqueos; una entrada a medio
+ * escribir por otro hilo no cuadra con su clave y cuenta como fallo.
+ * </p>
+ */
+public final class TranspositionTable implements AutoCloseable {
+
+    /** Fichero de la tabla en el directorio de datos. */
+    public static final String FILE = "transpositions.bin";
+    /** Propiedad del sistema que activa la tabla compartida. */
+    public static final String ENABLED_PROPERTY = "poobkemon.transpositions";
+    /** Entradas de la tabla compartida: 1 MiB. */
+    public static final int DEFAULT_ENTRIES = 1 << 16;
+    /** Resultado de {@link #probe} cuando la posición no está. */
+    public static final long MISS = 0L;
+
+    private static final int MAGIC = 0x504B5454; // "PKTT"
+    private static final int VERSION = 2;
+    private static final int HEADER = 32; // magic, versión, huella, entradas, generación
+    private static final int STAMP_OFFSET = 8;
+    private static final int ENTRIES_OFFSET = 16;
+    private static final int GENERATION_OFFSET = 20;
+    private static final int ENTRY = 16;
+    static final int WAYS = 4;
+    static final int HP_BUCKETS = 8;
+    static final int PP_BUCKETS = 4;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    // Rasgos del hash
+    private static final int SIDE = 0;
+    private static final int ACTIVE = 1;
+    private static final int SPECIES = 2;
+    private static final int HP = 3;
+    private static final int STATUS = 4;
+    private static final int MOVE = 5;
+    private static final int PP = 6;
+    private static final int STRATEGY = 7;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int buckets;
+    private final int generation;
+
+    private TranspositionTable(FileChannel channel, MappedByteBuffer buffer, int entries, int generation) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.buckets = entries / WAYS;
+        this.generation = generation;
+    }
+
+    private static final class SharedHolder {
+        static final TranspositionTable INSTANCE = openShared();
+    }
+
+    /**
+     * Tabla compartida del directorio de datos, abierta una vez, o null si
+     * {@value #ENABLED_PROPERTY} no está activada o no se puede abrir.
+     */
+    public static TranspositionTable getShared() {
+        return Boolean.getBoolean(ENABLED_PROPERTY) ? SharedHolder.INSTANCE : null;
+    }
+
+    private static TranspositionTable openShared() {
+        Path dir = Catalog.dataDir();
+        if (dir == null) {
+            BattleLogger.warn("No hay directorio de datos para la tabla de transposiciones");
+            return null;
+        }
+        try {
+            TranspositionTable table = open(dir.resolve(FILE), DEFAULT_ENTRIES, Catalog.stamp(dir));
+            Runtime.getRuntime().addShutdownHook(new Thread(table::close, "transpositions-flush"));
+            return table;
+        } catch (IOException | UncheckedIOException e) {
+            BattleLogger.warn("No se pudo abrir la tabla de transposiciones", e);
+            return null;
+        }
+    }
+
+    /**
+     * Abre una tabla o la crea vacía. Si el fichero es de otra versión, de
+     * otro tamaño o de otros datos, se vacía.
+     * @param entries Entradas; se redondea a una potencia de dos de al menos {@value #WAYS}
+     * @param stamp Huella de los datos con los que se calcularon las decisiones
+     */
+    public static TranspositionTable open(Path file, int entries, long stamp) throws IOException {
+        int size = Math.max(WAYS, Integer.highestOneBit(Math.max(1, entries - 1)) << 1);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            long bytes = HEADER + (long) size * ENTRY;
+            boolean fresh = channel.size() != bytes;
+            if (fresh) {
+                channel.truncate(0);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            if (fresh || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(STAMP_OFFSET) != stamp || buffer.getInt(ENTRIES_OFFSET) != size) {
+                for (int i = 0; i < bytes; i += Long.BYTES) {
+                    buffer.putLong(i, 0L);
+                }
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(STAMP_OFFSET, stamp);
+                buffer.putInt(ENTRIES_OFFSET, size);
+            }
+            // Cada apertura es una generación nueva; las entradas de las anteriores se reemplazan antes
+            int generation = (buffer.getShort(GENERATION_OFFSET) & 0xFFFF) + 1;
+            if (generation > 0xFFFF) {
+                generation = 1;
+            }
+            buffer.putShort(GENERATION_OFFSET, (short) generation);
+            return new TranspositionTable(channel, buffer, size, generation);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int capacity() {
+        return buckets * WAYS;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Busca una posición.
+     * @return La entrada empaquetada, que se lee con {@link #action}, {@link #index},
+     *         {@link #attack} y {@link #depth}, o {@link #MISS}
+     */
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int way = 0; way < WAYS; way++) {
+            int offset = base + way * ENTRY;
+            long data = (long) LONGS.getOpaque(buffer, offset);
+            if (data != 0 && ((long) LONGS.getOpaque(buffer, offset + Long.BYTES) ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Guarda la acción de una posición. Si la posición ya está, solo se
+     * reemplaza por una decisión al menos igual de profunda o si la guardada
+     * es de una ejecución anterior.
+     * @param action {@link BattleModel#ATTACK}, {@link BattleModel#ITEM} o {@link BattleModel#SWITCH}
+     * @param index Pokémon para un cambio o id del ítem para un ítem
+     * @param attack Mejor movimiento, o -1
+     * @param depth Profundidad de la búsqueda que dio la decisión, de 1 a 255
+     */
+    public void store(long key, int action, int index, int attack, int depth) {
+        long data = pack(action, index, attack, depth);
+        int base = bucket(key);
+        int victim = -1;
+        int worst = Integer.MAX_VALUE;
+        for (int way = 0; way < WAYS; way++) {
+            int offset = base + way * ENTRY;
+            long stored = (long) LONGS.getOpaque(buffer, offset);
+            if (stored == 0) {
+                // Un hueco libre gana a cualquier entrada, pero la posición aún puede estar más adelante
+                if (worst != Integer.MIN_VALUE) {
+                    victim = offset;
+                    worst = Integer.MIN_VALUE;
+                }
+                continue;
+            }
+            if (((long) LONGS.getOpaque(buffer, offset + Long.BYTES) ^ stored) == key) {
+                if (depth(stored) > depth && generation(stored) == generation) {
+                    return;
+                }
+                victim = offset;
+                break;
+            }
+            // Las entradas de ejecuciones anteriores pesan como si fueran muy poco profundas
+            int value = generation(stored) == generation ? depth(stored) : depth(stored) - 256;
+            if (value < worst) {
+                worst = value;
+                victim = offset;
+            }
+        }
+        LONGS.setOpaque(buffer, victim, 0L);
+        LONGS.setOpaque(buffer, victim + Long.BYTES, key ^ data);
+        LONGS.setOpaque(buffer, victim, data);
+    }
+
+    /** Vuelca la tabla al disco. */
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            BattleLogger.warn("No se pudo cerrar la tabla de transposiciones", e);
+        }
+    }
+
+    private int bucket(long key) {
+        return HEADER + (int) (key & (buckets - 1)) * WAYS * ENTRY;
+    }
+
+    private long pack(int action, int index, int attack, int depth) {
+        if (depth <= 0 || depth > 0xFF) {
+            throw new IllegalArgumentException("Profundidad fuera de rango: " + depth);
+        }
+        return (action & 0xFFL) | (index & 0xFFL) << 8 | (attack & 0xFFL) << 16 | (long) depth << 24
+            | (long) generation << 32;
+    }
+
+    public static int action(long entry) {
+        return (byte) entry;
+    }
+
+    public static int index(long entry) {
+        return (int) (entry >>> 8) & 0xFF;
+    }
+
+    public static int attack(long entry) {
+        return (byte) (entry >>> 16);
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 24) & 0xFF;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * Hash de Zobrist de la posición de la arena vista por un entrenador.
+     * @param me Entrenador al que le toca decidir
+     */
+    public static long hash(BattleArena arena, int me) {
+        long hash = me == 0 ? 0L : key(0, SIDE, 0, 1);
+        for (int c = 0; c < 2; c++) {
+            Coach coach = arena.getCoach(c);
+            List<Pokemon> team = coach.getPokemons();
+            for (int s = 0; s < team.size(); s++) {
+                Pokemon p = team.get(s);
+                // Por nombre: el id de especie puede repetirse en los datos
+                hash ^= key(c, SPECIES, s, p.getName().hashCode());
+                hash ^= key(c, HP, s, bucket(p.getPs(), p.getTotalPs(), HP_BUCKETS));
+                hash ^= key(c, STATUS, s, p.getStatus());
+            }
+            int active = coach.getActivePokemonIndex();
+            hash ^= key(c, ACTIVE, 0, active);
+            List<Attack> attacks = team.get(active).getAtaques();
+            for (int m = 0; m < attacks.size(); m++) {
+                Attack attack = attacks.get(m);
+                hash ^= key(c, MOVE, m, attack.getName().hashCode());
+                hash ^= key(c, PP, m, bucket(attack.getPowerPoint(), attack.getMaxPowerPoint(), PP_BUCKETS));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Clave de Zobrist del tipo de estrategia. Se combina con {@link #hash}
+     * para que cada estrategia solo juegue las decisiones que guardó ella.
+     */
+    public static long strategyKey(MachineStrategy strategy) {
+        return key(0, STRATEGY, 0, strategy.getClass().getName().hashCode());
+    }
+
+    /**
+     * Tramo de un valor: 0 si se agotó y, si no, de 1 a {@code buckets - 1}.
+     */
+    static int bucket(int value, int total, int buckets) {
+        if (value <= 0 || total <= 0) {
+            return 0;
+        }
+        return Math.min(buckets - 1, 1 + (int) ((long) (value - 1) * (buckets - 1) / total));
+    }
+
+    /**
+     * Clave de Zobrist de un rasgo: el rasgo mezclado con el finalizador de SplitMix64.
+     */
+    private static long key(int coach, int feature, int position, int value) {
+        long z = ((long) coach << 60 | (long) feature << 52 | (long) position << 40 | (value & 0xFFFFFFFFL))
+            + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
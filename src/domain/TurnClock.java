@@ -0,0 +1,180 @@
+package domain;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloj de turno de una batalla.
+ * <p>
+ * Todos los relojes comparten un único planificador con un hilo, así que
+ * tener muchas batallas a la vez no crea hilos nuevos: cada reloj en marcha es
+ * solo una tarea programada, y al cancelarla se quita de la cola. El tiempo se
+ * mide con {@link System#nanoTime}, de modo que pausar y reanudar descuenta
+ * exactamente lo transcurrido aunque cambie la hora del sistema.
+ * </p>
+ * <p>
+ * Las acciones de fin de tiempo se ejecutan en el hilo del planificador y
+ * deben ser breves; la interfaz gráfica debe pasarlas a su propio hilo.
+ * </p>
+ */
+public final class TurnClock {
+
+    private static final class SchedulerHolder {
+        static final ScheduledThreadPoolExecutor INSTANCE = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "poobkemon-clock");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    private final long durationNanos;
+    private Runnable onTimeout;
+    private ScheduledFuture<?> deadline;
+    private long armed; // Cuenta las programaciones, para ignorar las ya canceladas
+    private long remainingNanos;
+    private long resumedAt;
+    private boolean running;
+    private boolean paused;
+
+    /**
+     * @param durationMillis Duración de cada turno
+     */
+    public TurnClock(long durationMillis) {
+        this.durationNanos = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        this.remainingNanos = durationNanos;
+    }
+
+    /**
+     * Ejecuta una acción tras un retraso en el planificador compartido.
+     * @return La tarea, que se puede cancelar
+     */
+    public static ScheduledFuture<?> schedule(Runnable action, long delayMillis) {
+        return SchedulerHolder.INSTANCE.schedule(action, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ejecuta una acción periódicamente en el planificador compartido.
+     * @return La tarea, que hay que cancelar para detenerla
+     */
+    public static ScheduledFuture<?> scheduleAtFixedRate(Runnable action, long delayMillis, long periodMillis) {
+        return SchedulerHolder.INSTANCE.scheduleAtFixedRate(action, delayMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Número de tareas pendientes en el planificador compartido.
+     */
+    public static int pendingTasks() {
+        return SchedulerHolder.INSTANCE.getQueue().size();
+    }
+
+    /**
+     * Empieza un turno con la duración completa, descartando el anterior.
+     * @param onTimeout Acción que se ejecuta si el turno se agota
+     */
+    public synchronized void start(Runnable onTimeout) {
+        cancelDeadline();
+        this.onTimeout = onTimeout;
+        this.remainingNanos = durationNanos;
+        this.running = true;
+        if (!paused) {
+            arm();
+        }
+    }
+
+    /**
+     * Detiene el reloj sin ejecutar la acción de fin de tiempo.
+     */
+    public synchronized void cancel() {
+        cancelDeadline();
+        running = false;
+        onTimeout = null;
+    }
+
+    /**
+     * Congela el tiempo restante hasta {@link #resume}.
+     */
+    public synchronized void pause() {
+        if (paused) {
+            return;
+        }
+        paused = true;
+        if (running) {
+            remainingNanos -= System.nanoTime() - resumedAt;
+            cancelDeadline();
+        }
+    }
+
+    /**
+     * Sigue contando desde donde se pausó.
+     */
+    public synchronized void resume() {
+        if (!paused) {
+            return;
+        }
+        paused = false;
+        if (running) {
+            arm();
+        }
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Tiempo que le queda al turno en curso, o 0 si no hay ninguno.
+     */
+    public synchronized long getRemainingMillis() {
+        if (!running) {
+            return 0;
+        }
+        long remaining = paused ? remainingNanos : remainingNanos - (System.nanoTime() - resumedAt);
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+
+    private void arm() {
+        resumedAt = System.nanoTime();
+        long current = ++armed;
+        deadline = SchedulerHolder.INSTANCE.schedule(() -> expire(current),
+            Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+    }
+
+    private void expire(long fired) {
+        Runnable action;
+        synchronized (this) {
+            // Una tarea cancelada puede llegar a ejecutarse si ya había empezado
+            if (fired != armed || !running || paused) {
+                return;
+            }
+            running = false;
+            deadline = null;
+            remainingNanos = 0;
+            action = onTimeout;
+            onTimeout = null;
+        }
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            BattleLogger.warn("Error al agotarse el tiempo del turno", e);
+        }
+    }
+
+    private void cancelDeadline() {
+        armed++;
+        if (deadline != null) {
+            deadline.cancel(false);
+            deadline = null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package network;
+
+import domain.BattleArena;
+import domain.BattleArenaNormal;
+import domain.BattleModel;
+import domain.BattleState;
+import domain.ItemFactory;
+import domain.PoobkemonException;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Cliente de {@link BattleServer} con una copia local de la batalla.
+ * <p>
+ * Al empezar, el cliente monta la misma arena que el servidor a partir de los
+ * dos equipos; después solo recibe los cambios de cada turno, que aplica a su
+ * {@link BattleState} y vuelca en esa arena, de modo que la interfaz puede
+ * consultarla como si la batalla fuera local. Es bloqueante y pensado para un
+ * hilo por jugador.
+ * </p>
+ */
+public class BattleClient implements Closeable {
+
+    /** Valor de {@link #getWinner()} mientras no hay ganador. */
+    public static final int NO_WINNER = -1;
+
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(Protocol.MAX_FRAME + 2);
+    private BattleArena arena;
+    private BattleState state;
+    private int coach;
+    private int winner = NO_WINNER;
+    private String lastRejection;
+    private long bytesReceived;
+
+    public BattleClient(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+    }
+
+    /**
+     * Pide una batalla con el equipo dado; empieza al recibir {@link Protocol#START}.
+     */
+    public void join(Protocol.Team team) throws IOException {
+        write(Protocol.join(team));
+    }
+
+    /**
+     * Ataca con el movimiento indicado del pokémon activo.
+     */
+    public void attack(int move) throws IOException {
+        write(Protocol.action(BattleModel.ATTACK, move));
+    }
+
+    /**
+     * Cambia al pokémon indicado del equipo.
+     */
+    public void switchTo(int slot) throws IOException {
+        write(Protocol.action(BattleModel.SWITCH, slot));
+    }
+
+    /**
+     * Usa un ítem, identificado por su nombre del catálogo.
+     */
+    public void useItem(String item) throws IOException {
+        useItem(ItemFactory.getItemId(item));
+    }
+
+    /**
+     * Usa un ítem, identificado por su identificador en {@link ItemFactory}.
+     */
+    public void useItem(int itemId) throws IOException {
+        write(Protocol.action(BattleModel.ITEM, itemId));
+    }
+
+    /**
+     * Espera el siguiente mensaje del servidor y lo aplica.
+     * @return El tipo del mensaje, como {@link Protocol#DELTA} o {@link Protocol#END}
+     */
+    public byte receive() throws IOException {
+        while (true) {
+            in.flip();
+            ByteBuffer frame = Protocol.nextFrame(in);
+            if (frame != null) {
+                bytesReceived += 2 + frame.remaining();
+                byte type = handle(frame);
+                in.compact();
+                return type;
+            }
+            in.compact();
+            if (channel.read(in) < 0) {
+                throw new EOFException("El servidor cerró la conexión");
+            }
+        }
+    }
+
+    private byte handle(ByteBuffer frame) throws IOException {
+        byte type = frame.get();
+        switch (type) {
+            case Protocol.START -> start(frame);
+            case Protocol.DELTA -> {
+                Protocol.applyDelta(frame, state);
+                state.restoreTo(arena);
+            }
+            case Protocol.REJECT -> lastRejection = Protocol.getString(frame);
+            case Protocol.END -> winner = frame.get();
+            default -> throw new IOException("Mensaje desconocido: " + type);
+        }
+        return type;
+    }
+
+    private void start(ByteBuffer frame) throws IOException {
+        coach = frame.get();
+        boolean firstStarts = frame.get() != 0;
+        Protocol.Team first = Protocol.Team.read(frame);
+        Protocol.Team second = Protocol.Team.read(frame);
+        arena = new BattleArenaNormal();
+        try {
+            arena.setupCoaches(first.name(), second.name(), first.pokemonList(), second.pokemonList(),
+                first.itemList(), second.itemList(), first.attackMatrix(), second.attackMatrix(), firstStarts);
+        } catch (PoobkemonException e) {
+            throw new IOException("No se pudo montar la batalla recibida", e);
+        }
+        state = BattleState.capture(arena);
+        winner = NO_WINNER;
+    }
+
+    private void write(ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    /** Copia local de la arena, o null antes de empezar la batalla. */
+    public BattleArena getArena() {
+        return arena;
+    }
+
+    public BattleState getState() {
+        return state;
+    }
+
+    /** Índice del entrenador de este cliente en la arena. */
+    public int getCoach() {
+        return coach;
+    }
+
+    public boolean isMyTurn() {
+        return arena != null && winner == NO_WINNER && arena.getCurrentTurn() == coach;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public boolean isFinished() {
+        return winner != NO_WINNER;
+    }
+
+    /** Motivo del último rechazo del servidor. */
+    public String getLastRejection() {
+        return lastRejection;
+    }
+
+    /** Bytes recibidos en tramas, para medir lo que ocupa el protocolo. */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
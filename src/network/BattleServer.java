@@ -0,0 +1,364 @@
+package network;
+
+import domain.Attack;
+import domain.BattleArena;
+import domain.BattleArenaNormal;
+import domain.BattleLogger;
+import domain.BattleModel;
+import domain.BattleState;
+import domain.Coach;
+import domain.ItemFactory;
+import domain.PoobkemonException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Servidor de batallas entre jugadores en red.
+ * <p>
+ * Un único hilo atiende todas las conexiones con un {@link Selector} sin
+ * bloquearse, así que un proceso puede arbitrar muchas batallas a la vez. Los
+ * jugadores se emparejan por orden de llegada; cada pareja juega en su propia
+ * {@link BattleArenaNormal}, y tras cada acción se envía a los dos solo lo que
+ * cambió de su {@link BattleState}. Como todo ocurre en el hilo del selector,
+ * las arenas no necesitan cerrojos.
+ * </p>
+ */
+public class BattleServer implements Runnable, Closeable {
+
+    private static final int READ_BUFFER = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final SplittableRandom random = new SplittableRandom();
+    private volatile boolean running = true;
+    private volatile int matches;
+    private Connection waiting;
+
+    /**
+     * Jugador conectado: su canal, lo pendiente de leer y escribir y su batalla.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        SelectionKey key;
+        Protocol.Team team;
+        Match match;
+        int coach;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Batalla en curso entre dos conexiones, indexadas por su entrenador en la arena.
+     */
+    private static final class Match {
+        final BattleArenaNormal arena = new BattleArenaNormal();
+        final Connection[] players = new Connection[2];
+        BattleState last;
+        BattleState next;
+    }
+
+    /**
+     * Abre el servidor en el puerto indicado; 0 elige uno libre.
+     */
+    public BattleServer(int port) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /** Número de batallas en curso. */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * Atiende conexiones en un hilo nuevo.
+     */
+    public Thread start() {
+        Thread thread = new Thread(this, "poobkemon-server");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            read(connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(connection);
+                        }
+                    } catch (IOException e) {
+                        disconnect(connection);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            BattleLogger.error("Error en el servidor de batallas", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    /**
+     * Detiene el servidor y cierra todas las conexiones.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.channel.read(connection.in) < 0) {
+            disconnect(connection);
+            return;
+        }
+        connection.in.flip();
+        ByteBuffer frame;
+        while (connection.key.isValid() && (frame = Protocol.nextFrame(connection.in)) != null) {
+            handle(connection, frame);
+        }
+        connection.in.compact();
+        if (!connection.in.hasRemaining()) {
+            // Una trama que no cabe en el búfer no es de un cliente válido
+            disconnect(connection);
+        }
+    }
+
+    private void handle(Connection connection, ByteBuffer frame) {
+        byte type = frame.get();
+        try {
+            switch (type) {
+                case Protocol.JOIN -> join(connection, Protocol.Team.read(frame));
+                case Protocol.ACTION -> act(connection, frame.get(), frame.getShort() & 0xFFFF);
+                default -> throw new PoobkemonException(PoobkemonException.INVALID_ACTION);
+            }
+        } catch (PoobkemonException e) {
+            send(connection, Protocol.reject(e.getMessage()));
+        } catch (RuntimeException e) {
+            // Trama mal formada o con índices fuera de los catálogos
+            send(connection, Protocol.reject(PoobkemonException.INVALID_ACTION));
+        }
+    }
+
+    private void join(Connection connection, Protocol.Team team) throws PoobkemonException {
+        if (connection.team != null) {
+            throw new PoobkemonException(PoobkemonException.INVALID_ACTION);
+        }
+        connection.team = team;
+        if (waiting == null) {
+            waiting = connection;
+            return;
+        }
+        Connection first = waiting;
+        waiting = null;
+        startMatch(first, connection);
+    }
+
+    private void startMatch(Connection first, Connection second) {
+        Match match = new Match();
+        boolean firstStarts = random.nextBoolean();
+        try {
+            match.arena.setupCoaches(first.team.name(), second.team.name(),
+                first.team.pokemonList(), second.team.pokemonList(),
+                first.team.itemList(), second.team.itemList(),
+                first.team.attackMatrix(), second.team.attackMatrix(), firstStarts);
+        } catch (PoobkemonException e) {
+            send(first, Protocol.reject(e.getMessage()));
+            send(second, Protocol.reject(e.getMessage()));
+            first.team = null;
+            second.team = null;
+            return;
+        }
+        match.last = BattleState.capture(match.arena);
+        match.next = new BattleState(match.last.getLayout());
+        first.coach = firstStarts ? 0 : 1;
+        second.coach = 1 - first.coach;
+        match.players[first.coach] = first;
+        match.players[second.coach] = second;
+        first.match = match;
+        second.match = match;
+        matches++;
+        send(first, Protocol.start(first.coach, firstStarts, first.team, second.team));
+        send(second, Protocol.start(second.coach, firstStarts, first.team, second.team));
+        BattleLogger.info("Batalla en red iniciada: " + first.team.name() + " contra " + second.team.name());
+    }
+
+    /**
+     * Aplica la acción del jugador si es su turno, pasa el turno y envía a
+     * ambos jugadores lo que cambió.
+     */
+    private void act(Connection connection, int kind, int index) throws PoobkemonException {
+        Match match = connection.match;
+        if (match == null) {
+            throw new PoobkemonException(PoobkemonException.NO_MATCH);
+        }
+        BattleArena arena = match.arena;
+        if (arena.getCurrentTurn() != connection.coach) {
+            throw new PoobkemonException(PoobkemonException.NOT_YOUR_TURN);
+        }
+        boolean esJugador1 = connection.coach == 0;
+        switch (kind) {
+            case BattleModel.ATTACK -> {
+                if (arena.getActivePokemonCurrentHP(esJugador1) <= 0) {
+                    throw new PoobkemonException(PoobkemonException.FAINTED_POKEMON);
+                }
+                Attack move = arena.getCoach(connection.coach).getActivePokemon().getAtaque(index);
+                if (move == null) {
+                    throw new PoobkemonException(PoobkemonException.INVALID_ACTION);
+                }
+                arena.attack(index, Protocol.isSelfTargeted(move.getName()), esJugador1);
+            }
+            case BattleModel.ITEM -> {
+                if (index >= ItemFactory.getItemTypeCount()) {
+                    throw new PoobkemonException(PoobkemonException.INVALID_ACTION);
+                }
+                arena.useItem(index, esJugador1);
+            }
+            case BattleModel.SWITCH -> {
+                // Solo se puede cambiar a otro pokémon del equipo que pueda luchar
+                Coach coach = arena.getCoach(connection.coach);
+                if (index >= coach.getPokemons().size() || index == coach.getActivePokemonIndex()
+                        || coach.getPokemons().get(index).getPs() <= 0) {
+                    throw new PoobkemonException(PoobkemonException.INVALID_ACTION);
+                }
+                arena.setCurrentPokemon(index);
+            }
+            default -> throw new PoobkemonException(PoobkemonException.INVALID_ACTION);
+        }
+        arena.changeTurn();
+
+        match.next.captureFrom(arena);
+        ByteBuffer delta = Protocol.delta(match.last, match.next);
+        BattleState previous = match.last;
+        match.last = match.next;
+        match.next = previous;
+        for (Connection player : match.players) {
+            send(player, delta.duplicate());
+        }
+        if (arena.isBattleFinished()) {
+            finish(match, winner(arena));
+        }
+    }
+
+    private static int winner(BattleArena arena) {
+        Coach first = arena.getCoach(0);
+        return first.areAllPokemonFainted() || first.getHasFled() ? 1 : 0;
+    }
+
+    private void finish(Match match, int winner) {
+        ByteBuffer end = Protocol.end(winner);
+        for (Connection player : match.players) {
+            player.match = null;
+            player.team = null;
+        }
+        matches--;
+        for (Connection player : match.players) {
+            send(player, end.duplicate());
+        }
+    }
+
+    /**
+     * Encola la trama y escribe lo que admita el socket. Si la conexión
+     * falla se cierra, sin afectar a quien provocó el envío.
+     */
+    private void send(Connection connection, ByteBuffer frame) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        connection.out.add(frame);
+        try {
+            flush(connection);
+        } catch (IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    private void flush(Connection connection) throws IOException {
+        while (!connection.out.isEmpty()) {
+            ByteBuffer head = connection.out.peek();
+            connection.channel.write(head);
+            if (head.hasRemaining()) {
+                // El socket está lleno: se sigue cuando el selector avise
+                connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            connection.out.poll();
+        }
+        connection.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Cierra la conexión; si estaba en una batalla, gana su rival.
+     */
+    private void disconnect(Connection connection) {
+        connection.key.cancel();
+        closeQuietly(connection.channel);
+        if (waiting == connection) {
+            waiting = null;
+        }
+        if (connection.match != null) {
+            finish(connection.match, 1 - connection.coach);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            BattleLogger.debug(() -> "Error al cerrar: " + e.getMessage());
+        }
+    }
+}
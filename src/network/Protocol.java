@@ -0,0 +1,286 @@
+package network;
+
+import domain.BattleModel;
+import domain.BattleState;
+import domain.ItemFactory;
+import domain.Poobkemon;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Formato binario de los mensajes entre {@link BattleServer} y {@link BattleClient}.
+ * <p>
+ * Cada trama es {@code [longitud u16][tipo u8][contenido]}, donde la longitud
+ * cuenta el tipo y el contenido. Pokémon y ataques viajan como su índice en
+ * los catálogos ordenados de esta clase, e ítems como su identificador de
+ * {@link ItemFactory}; ambos son iguales en los dos extremos.
+ * </p>
+ * <ul>
+ *   <li>{@link #JOIN}: el equipo del jugador ({@link Team}).</li>
+ *   <li>{@link #ACTION}: tipo u8 ({@link BattleModel#ATTACK}, {@link BattleModel#ITEM}
+ *       o {@link BattleModel#SWITCH}) e índice u16: movimiento del pokémon
+ *       activo, identificador del ítem o pokémon del equipo.</li>
+ *   <li>{@link #START}: el índice del entrenador del destinatario en la arena,
+ *       si el primero en unirse es coaches[0] y los dos equipos por orden de llegada.</li>
+ *   <li>{@link #DELTA}: las posiciones del {@link BattleState} que cambiaron,
+ *       como pares {@code [posición u16][valor i32]}.</li>
+ *   <li>{@link #REJECT}: el motivo de rechazo de una acción.</li>
+ *   <li>{@link #END}: el índice del entrenador ganador.</li>
+ * </ul>
+ */
+public final class Protocol {
+
+    // Cliente a servidor
+    public static final byte JOIN = 1;
+    public static final byte ACTION = 2;
+
+    // Servidor a cliente
+    public static final byte START = 10;
+    public static final byte DELTA = 11;
+    public static final byte REJECT = 12;
+    public static final byte END = 13;
+
+    /** Tamaño máximo del tipo y el contenido de una trama. */
+    public static final int MAX_FRAME = 0xFFFF;
+
+    /** Catálogos ordenados; el orden de los registros de las fábricas no está garantizado. */
+    public static final List<String> POKEMON = sorted(Poobkemon.getAvailablePokemon());
+    public static final List<String> ATTACKS = sorted(Poobkemon.getAvailableAttacks());
+    private static final Set<String> SELF_TARGETED = new HashSet<>(Poobkemon.getStatusAttacks());
+
+    private Protocol() {
+    }
+
+    /**
+     * Equipo con el que se une un jugador: nombre, pokémon, sus ataques e ítems.
+     */
+    public record Team(String name, List<String> pokemon, List<List<String>> attacks, List<String> items) {
+
+        public ArrayList<String> pokemonList() {
+            return new ArrayList<>(pokemon);
+        }
+
+        public ArrayList<String> itemList() {
+            return new ArrayList<>(items);
+        }
+
+        public String[][] attackMatrix() {
+            String[][] matrix = new String[attacks.size()][];
+            for (int i = 0; i < matrix.length; i++) {
+                matrix[i] = attacks.get(i).toArray(new String[0]);
+            }
+            return matrix;
+        }
+
+        int encodedSize() {
+            int size = 2 + name.getBytes(StandardCharsets.UTF_8).length + 2 + 2 * items.size();
+            for (List<String> moves : attacks) {
+                size += 3 + 2 * moves.size();
+            }
+            return size;
+        }
+
+        void write(ByteBuffer out) {
+            putString(out, name);
+            out.put((byte) pokemon.size());
+            for (int i = 0; i < pokemon.size(); i++) {
+                out.putShort((short) id(POKEMON, pokemon.get(i)));
+                List<String> moves = attacks.get(i);
+                out.put((byte) moves.size());
+                for (String move : moves) {
+                    out.putShort((short) id(ATTACKS, move));
+                }
+            }
+            out.put((byte) items.size());
+            for (String item : items) {
+                out.putShort((short) itemId(item));
+            }
+        }
+
+        static Team read(ByteBuffer in) {
+            String name = getString(in);
+            int count = in.get() & 0xFF;
+            List<String> pokemon = new ArrayList<>(count);
+            List<List<String>> attacks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                pokemon.add(lookup(POKEMON, in.getShort()));
+                int moveCount = in.get() & 0xFF;
+                List<String> moves = new ArrayList<>(moveCount);
+                for (int m = 0; m < moveCount; m++) {
+                    moves.add(lookup(ATTACKS, in.getShort()));
+                }
+                attacks.add(moves);
+            }
+            int itemCount = in.get() & 0xFF;
+            List<String> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(itemName(in.getShort()));
+            }
+            return new Team(name, pokemon, attacks, items);
+        }
+    }
+
+    /**
+     * Indica si el ataque se aplica sobre el propio pokémon, como los de estado.
+     */
+    public static boolean isSelfTargeted(String attack) {
+        return SELF_TARGETED.contains(attack);
+    }
+
+    public static ByteBuffer join(Team team) {
+        ByteBuffer out = begin(JOIN, team.encodedSize());
+        team.write(out);
+        return finish(out);
+    }
+
+    public static ByteBuffer action(int kind, int index) {
+        ByteBuffer out = begin(ACTION, 3);
+        out.put((byte) kind);
+        out.putShort((short) index);
+        return finish(out);
+    }
+
+    public static ByteBuffer start(int coach, boolean firstStarts, Team first, Team second) {
+        ByteBuffer out = begin(START, 2 + first.encodedSize() + second.encodedSize());
+        out.put((byte) coach);
+        out.put((byte) (firstStarts ? 1 : 0));
+        first.write(out);
+        second.write(out);
+        return finish(out);
+    }
+
+    /**
+     * Trama con las posiciones en las que {@code after} difiere de {@code before}.
+     */
+    public static ByteBuffer delta(BattleState before, BattleState after) {
+        ByteBuffer out = begin(DELTA, 2 + 6 * after.size());
+        int countAt = out.position();
+        out.putShort((short) 0);
+        int count = 0;
+        for (int i = 0; i < after.size(); i++) {
+            if (before.get(i) != after.get(i)) {
+                out.putShort((short) i);
+                out.putInt(after.get(i));
+                count++;
+            }
+        }
+        out.putShort(countAt, (short) count);
+        return finish(out);
+    }
+
+    /**
+     * Aplica al estado el contenido de una trama {@link #DELTA}, ya sin el tipo.
+     */
+    public static void applyDelta(ByteBuffer in, BattleState state) {
+        int count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            state.set(in.getShort() & 0xFFFF, in.getInt());
+        }
+    }
+
+    public static ByteBuffer reject(String reason) {
+        byte[] bytes = reason.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = begin(REJECT, 2 + bytes.length);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+        return finish(out);
+    }
+
+    public static ByteBuffer end(int winner) {
+        ByteBuffer out = begin(END, 1);
+        out.put((byte) winner);
+        return finish(out);
+    }
+
+    /**
+     * Extrae la siguiente trama completa de un búfer en modo lectura.
+     * @return El tipo y el contenido de la trama, o null si aún no ha llegado entera;
+     *         en ese caso el búfer no avanza
+     */
+    public static ByteBuffer nextFrame(ByteBuffer in) {
+        if (in.remaining() < 2) {
+            return null;
+        }
+        int length = in.getShort(in.position()) & 0xFFFF;
+        if (in.remaining() < 2 + length) {
+            return null;
+        }
+        ByteBuffer frame = in.slice(in.position() + 2, length);
+        in.position(in.position() + 2 + length);
+        return frame;
+    }
+
+    public static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    public static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Empieza una trama con espacio para el contenido indicado.
+     */
+    private static ByteBuffer begin(byte type, int contentSize) {
+        if (1 + contentSize > MAX_FRAME) {
+            throw new IllegalArgumentException("Mensaje demasiado grande: " + contentSize + " bytes");
+        }
+        ByteBuffer out = ByteBuffer.allocate(3 + contentSize);
+        out.putShort((short) 0);
+        out.put(type);
+        return out;
+    }
+
+    private static ByteBuffer finish(ByteBuffer out) {
+        out.putShort(0, (short) (out.position() - 2));
+        out.flip();
+        return out;
+    }
+
+    private static int id(List<String> catalog, String name) {
+        int id = catalog.indexOf(name);
+        if (id < 0) {
+            throw new IllegalArgumentException("Nombre desconocido: " + name);
+        }
+        return id;
+    }
+
+    private static String lookup(List<String> catalog, short id) {
+        int index = id & 0xFFFF;
+        if (index >= catalog.size()) {
+            throw new IllegalArgumentException("Índice fuera del catálogo: " + index);
+        }
+        return catalog.get(index);
+    }
+
+    private static int itemId(String name) {
+        int id = ItemFactory.getItemId(name);
+        if (id < 0) {
+            throw new IllegalArgumentException("Ítem desconocido: " + name);
+        }
+        return id;
+    }
+
+    private static String itemName(short id) {
+        int index = id & 0xFFFF;
+        if (index >= ItemFactory.getItemTypeCount()) {
+            throw new IllegalArgumentException("Ítem fuera del catálogo: " + index);
+        }
+        return ItemFactory.getItem(index).getName();
+    }
+
+    private static List<String> sorted(List<String> names) {
+        List<String> copy = new ArrayList<>(new HashSet<>(names));
+        copy.sort(null);
+        return List.copyOf(copy);
+    }
+}
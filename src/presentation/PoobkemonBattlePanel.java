@@ -2,10 +2,10 @@ package presentation;
 
 import domain.Coach;
 import domain.Poobkemon;
+import domain.TurnClock;
 import java.awt.*;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.*;
@@ -20,8 +20,9 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
     private JButton pauseButton;
     private JButton fightBtn, itemsBtn, pokemonsBtn, fleeBtn;
     private Color colorJugador1, colorJugador2;
-    private int tiempoRestante = 20;
-    private Timer timer;
+    private final TurnClock turnClock = new TurnClock(20_000);
+    private ScheduledFuture<?> timer; // Refresca la cuenta atrás cada segundo
+    private boolean turnoMaquinaPendiente; // Turno de máquina aplazado por la pausa
     private boolean turnoJugador1 = true;
     private JPanel buttonsPanel;
     private Poobkemon poobkemon;
@@ -174,8 +175,8 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         // Temporizador
         iniciarTemporizador();
 
-        // Ejemplo: Cambiar de turno al presionar pausa
-        pauseButton.addActionListener(e -> cambiarTurno());
+        // Pausa y reanuda el reloj del turno
+        pauseButton.addActionListener(e -> alternarPausa());
 
         // En el constructor, después de crear los botones:
         fightBtn.addActionListener(e -> {
@@ -205,10 +206,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
             );
             if (opcion == JOptionPane.YES_OPTION) {
                 // Detiene el temporizador si está activo
-                if (timer != null) {
-                    timer.cancel();
-                    timer = null;
-                }
+                detenerTemporizador();
                 JOptionPane.showMessageDialog(
                     this,
                     jugador + " ha abandonado la partida.\n" + rival + " gana.",
@@ -224,11 +222,12 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
 
         pokemonsBtn.addActionListener(e -> {
             boolean esJugador1 = turnoJugador1;
-            String pokemonActual = esJugador1 ? nombrePokemon1 : nombrePokemon2;
-            java.util.List<String> pokemonsVivos = poobkemon.getPokemonsVivos(esJugador1);
-
-            // Elimina el Pokémon actual de la lista para evitar que lo seleccione de nuevo (opcional)
-            pokemonsVivos.remove(pokemonActual);
+            int activo = poobkemon.getBattleArena().getCoach(esJugador1 ? 0 : 1).getActivePokemonIndex();
+            java.util.List<Integer> pokemonsVivos = new java.util.ArrayList<>();
+            for (int slot : poobkemon.getPokemonsVivosSlots(esJugador1)) {
+                // Se excluye el Pokémon actual para evitar que lo seleccione de nuevo
+                if (slot != activo) pokemonsVivos.add(slot);
+            }
 
             if (pokemonsVivos.isEmpty()) {
                 JOptionPane.showMessageDialog(this, "No tienes otros pokémon vivos para cambiar.", "Cambio de Pokémon", JOptionPane.INFORMATION_MESSAGE);
@@ -240,7 +239,8 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
             ButtonGroup group = new ButtonGroup();
             java.util.List<JRadioButton> botones = new java.util.ArrayList<>();
 
-            for (String nombre : pokemonsVivos) {
+            for (int slot : pokemonsVivos) {
+                String nombre = poobkemon.getPokemonName(esJugador1, slot);
                 // Crear un panel para cada Pokémon con su imagen, nombre y barra de vida
                 JPanel pokemonPanel = new JPanel(new BorderLayout());
                 pokemonPanel.setOpaque(false);
@@ -255,8 +255,8 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
                 pokemonPanel.add(btn, BorderLayout.NORTH);
 
                 // Barra de vida del Pokémon
-                int vidaActual = poobkemon.getPokemonHP(esJugador1, nombre);
-                int vidaMaxima = poobkemon.getPokemonMaxHP(esJugador1, nombre);
+                int vidaActual = poobkemon.getPokemonHP(esJugador1, slot);
+                int vidaMaxima = poobkemon.getPokemonMaxHP(esJugador1, slot);
                 JProgressBar hpBar = new JProgressBar(0, vidaMaxima);
                 hpBar.setValue(vidaActual);
                 hpBar.setString(vidaActual + " / " + vidaMaxima);
@@ -276,10 +276,9 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
             );
 
             if (result == JOptionPane.OK_OPTION) {
-                for (JRadioButton btn : botones) {
-                    if (btn.isSelected()) {
-                        String nuevoPokemon = btn.getText();
-                        poobkemon.cambiarPokemonActivo(esJugador1, nuevoPokemon);
+                for (int b = 0; b < botones.size(); b++) {
+                    if (botones.get(b).isSelected()) {
+                        poobkemon.cambiarPokemonActivo(esJugador1, (int) pokemonsVivos.get(b));
 
                         // Actualiza nombres y GIFs
                         nombrePokemon1 = app.getPokemonActivoJugador1();
@@ -335,31 +334,49 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
     }
 
     private void iniciarTemporizador() {
-        if (timer != null) timer.cancel();
-        tiempoRestante = 20;
-        timerLabel.setText(String.valueOf(tiempoRestante));
-        timer = new Timer();
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                SwingUtilities.invokeLater(() -> {
-                    tiempoRestante--;
-                    timerLabel.setText(String.valueOf(tiempoRestante));
-                    if (tiempoRestante <= 0) {
-                        timer.cancel();
-                        cambiarTurno(); // Cambia el turno cuando se acaba el tiempo
-                    }
-                });
-            }
-        }, 1000, 1000);
+        detenerTemporizador();
+        timerLabel.setText("20");
+        // Cambia el turno cuando se acaba el tiempo
+        turnClock.start(() -> SwingUtilities.invokeLater(this::cambiarTurno));
+        timer = TurnClock.scheduleAtFixedRate(() -> SwingUtilities.invokeLater(() -> {
+            long segundos = (turnClock.getRemainingMillis() + 999) / 1000;
+            timerLabel.setText(String.valueOf(segundos));
+        }), 1000, 1000);
     }
 
-    private void cambiarTurno() {
-        // Detener temporizador actual
+    private void detenerTemporizador() {
+        turnClock.cancel();
         if (timer != null) {
-            timer.cancel();
+            timer.cancel(false);
             timer = null;
         }
+    }
+
+    /**
+     * Pausa o reanuda la batalla. El reloj del turno conserva el tiempo
+     * restante, y un turno de máquina que llegue durante la pausa se aplaza
+     * hasta reanudar.
+     */
+    private void alternarPausa() {
+        if (turnClock.isPaused()) {
+            turnClock.resume();
+            pauseButton.setText("II");
+            if (turnoMaquinaPendiente) {
+                turnoMaquinaPendiente = false;
+                ejecutarTurnoMaquina();
+            } else if (!isMachineVsMachine && !poobkemon.getBattleArena().getCurrentCoach().isMachine()) {
+                habilitarBotones(true);
+            }
+        } else {
+            turnClock.pause();
+            pauseButton.setText("▶");
+            habilitarBotones(false);
+        }
+    }
+
+    private void cambiarTurno() {
+        // Detener temporizador actual
+        detenerTemporizador();
         
         // IMPORTANTE: Primero verificar si algún Pokémon necesita ser reemplazado
         // antes de cambiar el turno
@@ -430,15 +447,17 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
      * Ejecuta automáticamente un turno de la máquina
      */
     private void ejecutarTurnoMaquina() {
+        if (turnClock.isPaused()) {
+            turnoMaquinaPendiente = true;
+            return;
+        }
+
         // Desactivar botones durante el turno de la máquina
         habilitarBotones(false);
         
         // Mostrar mensaje indicando que la máquina está pensando
         timerLabel.setText("IA");
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
-        }
+        detenerTemporizador();
         
         // Verificar que es realmente el turno de una máquina
         Coach currentCoach = poobkemon.getBattleArena().getCurrentCoach();
@@ -452,89 +471,79 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         }
         
         // Espera visual para simular "pensamiento" de la máquina
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                SwingUtilities.invokeLater(() -> {
-                    try {
-                        // Procesar el turno de la máquina
-                        String resultadoAccion = poobkemon.processMachineTurn();
-                        
-                        // IMPORTANTE: Actualizar la interfaz INMEDIATAMENTE
-                        actualizarPokemonActivos();
-                        actualizarBarrasDeVida();
-                        
-                        // Mostrar mensaje con la acción realizada
-                        JOptionPane.showMessageDialog(
-                            PoobkemonBattlePanel.this,
-                            resultadoAccion,
-                            "Turno de la máquina",
-                            JOptionPane.INFORMATION_MESSAGE
-                        );
-                        
-                        // Verificar si hay un ganador
-                        if (verificarFinJuego()) {
-                            return; // No cambiar turno si ya terminó
-                        }
-                        
-                        // Verificar si el Pokémon del oponente quedó debilitado
-                        boolean jugadorHumano = app.isMachinePlayer1() ? false : true;
-                        int psOponente = poobkemon.getActivePokemonCurrentHP(jugadorHumano);
-                        if (psOponente <= 0 && poobkemon.tienePokemonesVivos(jugadorHumano)) {
-                            manejarPokemonDerrotado(jugadorHumano);
-                        }
-                        
-                        // Cambio de turno (SOLO AQUÍ - eliminar el cambio de turno en cambiarTurno para máquinas)
-                        poobkemon.changeTurn();
-                        turnoJugador1 = !turnoJugador1;
-                        actualizarPokemonActivos();
-                        actualizarColoresBotones();
-                        actualizarBarrasDeVida();
-                        
-                        // IMPORTANTE: Verificar si estamos en modo máquina vs máquina
-                        if (isMachineVsMachine) {
-                            // Si es máquina vs máquina, continuar con el siguiente turno automáticamente
-                            // después de una pequeña pausa para que se vea el resultado
-                            new Timer().schedule(new TimerTask() {
-                                @Override
-                                public void run() {
-                                    SwingUtilities.invokeLater(() -> ejecutarTurnoMaquina());
-                                }
-                            }, 1000); // Esperar 1 segundo entre turnos
-                        } else {
-                            // Como ahora es turno del humano, mostramos los botones y activamos el temporizador
-                            mostrarPanelBotones();
-                            habilitarBotones(true);
-                            iniciarTemporizador();
-                        }
-                        
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(
-                            PoobkemonBattlePanel.this,
-                            "Error en el turno de la máquina: " + e.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE
-                        );
-                        Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Error en el turno de la máquina", e);
-                        
-                        // En caso de error en modo máquina vs máquina, intentar continuar
-                        if (isMachineVsMachine) {
-                            new Timer().schedule(new TimerTask() {
-                                @Override
-                                public void run() {
-                                    SwingUtilities.invokeLater(() -> ejecutarTurnoMaquina());
-                                }
-                            }, 1000);
-                        } else {
-                            // En caso de error, habilitar los botones para el usuario humano
-                            mostrarPanelBotones();
-                            habilitarBotones(true);
-                            iniciarTemporizador();
-                        }
-                    }
-                });
+        TurnClock.schedule(() -> SwingUtilities.invokeLater(() -> {
+            if (turnClock.isPaused()) {
+                turnoMaquinaPendiente = true;
+                return;
+            }
+            try {
+                // Procesar el turno de la máquina
+                String resultadoAccion = poobkemon.processMachineTurn();
+                
+                // IMPORTANTE: Actualizar la interfaz INMEDIATAMENTE
+                actualizarPokemonActivos();
+                actualizarBarrasDeVida();
+                
+                // Mostrar mensaje con la acción realizada
+                JOptionPane.showMessageDialog(
+                    PoobkemonBattlePanel.this,
+                    resultadoAccion,
+                    "Turno de la máquina",
+                    JOptionPane.INFORMATION_MESSAGE
+                );
+                
+                // Verificar si hay un ganador
+                if (verificarFinJuego()) {
+                    return; // No cambiar turno si ya terminó
+                }
+                
+                // Verificar si el Pokémon del oponente quedó debilitado
+                boolean jugadorHumano = app.isMachinePlayer1() ? false : true;
+                int psOponente = poobkemon.getActivePokemonCurrentHP(jugadorHumano);
+                if (psOponente <= 0 && poobkemon.tienePokemonesVivos(jugadorHumano)) {
+                    manejarPokemonDerrotado(jugadorHumano);
+                }
+                
+                // Cambio de turno (SOLO AQUÍ - eliminar el cambio de turno en cambiarTurno para máquinas)
+                poobkemon.changeTurn();
+                turnoJugador1 = !turnoJugador1;
+                actualizarPokemonActivos();
+                actualizarColoresBotones();
+                actualizarBarrasDeVida();
+                
+                // IMPORTANTE: Verificar si estamos en modo máquina vs máquina
+                if (isMachineVsMachine) {
+                    // Si es máquina vs máquina, continuar con el siguiente turno automáticamente
+                    // después de una pequeña pausa para que se vea el resultado
+                    TurnClock.schedule(() -> SwingUtilities.invokeLater(this::ejecutarTurnoMaquina),
+                        1000); // Esperar 1 segundo entre turnos
+                } else {
+                    // Como ahora es turno del humano, mostramos los botones y activamos el temporizador
+                    mostrarPanelBotones();
+                    habilitarBotones(true);
+                    iniciarTemporizador();
+                }
+                
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(
+                    PoobkemonBattlePanel.this,
+                    "Error en el turno de la máquina: " + e.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+                Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Error en el turno de la máquina", e);
+                
+                // En caso de error en modo máquina vs máquina, intentar continuar
+                if (isMachineVsMachine) {
+                    TurnClock.schedule(() -> SwingUtilities.invokeLater(this::ejecutarTurnoMaquina), 1000);
+                } else {
+                    // En caso de error, habilitar los botones para el usuario humano
+                    mostrarPanelBotones();
+                    habilitarBotones(true);
+                    iniciarTemporizador();
+                }
             }
-        }, 1500); // Esperar 1.5 segundos para simular "pensamiento"
+        }), 1500); // Esperar 1.5 segundos para simular "pensamiento"
     }
 
     /**
@@ -544,23 +553,9 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         // En batalla máquina vs máquina, desactivar botones permanentemente
         habilitarBotones(false);
         
-        // Botón para pausar/continuar la simulación
-        pauseButton.setText("▶/II");
+        // El botón de pausa detiene la simulación entre turnos
         pauseButton.setEnabled(true);
         
-        // Variable para controlar si la simulación está pausada
-        final boolean[] pausado = {false};
-        
-        // Reconfigurar botón de pausa
-        pauseButton.removeActionListener(pauseButton.getActionListeners()[0]);
-        pauseButton.addActionListener(e -> {
-            pausado[0] = !pausado[0];
-            if (!pausado[0]) {
-                // Si se reanuda, continuar con la simulación
-                ejecutarTurnoMaquina();
-            }
-        });
-        
         // Actualizar interfaz para mostrar nombres de máquinas
         actualizarPokemonActivos();
         
@@ -593,6 +588,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
      * Habilita o deshabilita todos los botones de acción
      */
     private void habilitarBotones(boolean habilitar) {
+        habilitar = habilitar && !turnClock.isPaused(); // En pausa no se puede actuar
         fightBtn.setEnabled(habilitar);
         itemsBtn.setEnabled(habilitar);
         pokemonsBtn.setEnabled(habilitar);
@@ -623,10 +619,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
             );
             
             // Detener temporizadores
-            if (timer != null) {
-                timer.cancel();
-                timer = null;
-            }
+            detenerTemporizador();
             
             // Finalizar batalla
             app.pausarMusicaBatalla();
@@ -679,10 +672,11 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         
         for (int i = 0; i < Math.min(4, ataques.length); i++) {
             String nombreAtaque = ataques[i];
+            int movimiento = i;
             JButton ataqueBtn = new JButton(nombreAtaque);
 
             try {
-                int ppActual = poobkemon.getPPDeAtaqueActual(turnoJugador1, nombreAtaque);
+                int ppActual = poobkemon.getPPDeAtaqueActual(turnoJugador1, movimiento);
                 ataqueBtn.setToolTipText("PP: " + ppActual);
             } catch (Exception e) {
                 // Si no se pueden obtener los PP, no mostrar tooltip
@@ -694,8 +688,8 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
 
             ataqueBtn.addActionListener(e -> {
                 try {
-                    boolean toItself = poobkemon.esAtaqueSobreSiMismo(nombreAtaque);
-                    int damage = poobkemon.attack(nombreAtaque, toItself, turnoJugador1);
+                    boolean toItself = poobkemon.esAtaqueSobreSiMismo(turnoJugador1, movimiento);
+                    int damage = poobkemon.attack(movimiento, toItself, turnoJugador1);
                     actualizarBarrasDeVida();
                     mostrarPanelBotones();
 
@@ -720,10 +714,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
                             "Fin de la partida",
                             JOptionPane.INFORMATION_MESSAGE
                         );
-                        if (timer != null) {
-                            timer.cancel();
-                            timer = null;
-                        }
+                        detenerTemporizador();
                         app.pausarMusicaBatalla();
                         app.reanudarMusicaGlobal();
                         app.mostrarMenuPrincipal();
@@ -761,9 +752,9 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
      * @param jugador true para jugador 1, false para jugador 2
      */
     private void manejarPokemonDerrotado(boolean jugador) {
-        java.util.List<String> pokemonsVivos = poobkemon.getPokemonsVivos(jugador);
+        int[] pokemonsVivos = poobkemon.getPokemonsVivosSlots(jugador);
 
-        if (pokemonsVivos.isEmpty()) {
+        if (pokemonsVivos.length == 0) {
             JOptionPane.showMessageDialog(this, "No tienes otros pokémon vivos para cambiar.", "Cambio de Pokémon", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
@@ -773,7 +764,8 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         ButtonGroup group = new ButtonGroup();
         java.util.List<JRadioButton> botones = new java.util.ArrayList<>();
 
-        for (String nombre : pokemonsVivos) {
+        for (int slot : pokemonsVivos) {
+            String nombre = poobkemon.getPokemonName(jugador, slot);
             // Crear un panel para cada Pokémon con su imagen, nombre y barra de vida
             JPanel pokemonPanel = new JPanel(new BorderLayout());
             pokemonPanel.setOpaque(false);
@@ -788,8 +780,8 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
             pokemonPanel.add(btn, BorderLayout.NORTH);
 
             // Barra de vida del Pokémon
-            int vidaActual = poobkemon.getPokemonHP(jugador, nombre);
-            int vidaMaxima = poobkemon.getPokemonMaxHP(jugador, nombre);
+            int vidaActual = poobkemon.getPokemonHP(jugador, slot);
+            int vidaMaxima = poobkemon.getPokemonMaxHP(jugador, slot);
             JProgressBar hpBar = new JProgressBar(0, vidaMaxima);
             hpBar.setValue(vidaActual);
             hpBar.setString(vidaActual + " / " + vidaMaxima);
@@ -809,10 +801,9 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         );
 
         if (result == JOptionPane.OK_OPTION) {
-            for (JRadioButton btn : botones) {
-                if (btn.isSelected()) {
-                    String nuevoPokemon = btn.getText();
-                    poobkemon.cambiarPokemonActivo(jugador, nuevoPokemon);
+            for (int b = 0; b < botones.size(); b++) {
+                if (botones.get(b).isSelected()) {
+                    poobkemon.cambiarPokemonActivo(jugador, pokemonsVivos[b]);
 
                     // Actualiza nombres y GIFs
                     nombrePokemon1 = app.getPokemonActivoJugador1();
@@ -833,6 +824,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         Color color = turnoJugador1 ? colorJugador1 : colorJugador2;
         
         for (String item : items) {
+            int itemId = Poobkemon.getItemId(item);
             JButton itemBtn = new JButton(item);
 
             ImageIcon icon = new ImageIcon("mult/items/" + item + ".png");
@@ -847,7 +839,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
             itemBtn.addActionListener(e -> {
                 try {
                     if (item.equalsIgnoreCase("Revive")) {
-                        mostrarDialogoRevivir();
+                        mostrarDialogoRevivir(itemId);
                     } else {
                         // Ítems curativos: solo si el pokémon activo no tiene la vida completa
                         int vidaActual = poobkemon.getActivePokemonCurrentHP(turnoJugador1);
@@ -857,7 +849,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
                                 "Ítem no permitido", JOptionPane.INFORMATION_MESSAGE);
                             return;
                         }
-                        poobkemon.useItem(item, turnoJugador1);
+                        poobkemon.useItem(itemId, turnoJugador1);
                         JOptionPane.showMessageDialog(this, "Has usado el ítem: " + item, 
                             "Ítem usado", JOptionPane.INFORMATION_MESSAGE);
                         actualizarBarrasDeVida();
@@ -874,7 +866,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
         buttonsPanel.repaint();
     }
 
-    private void mostrarDialogoRevivir() {
+    private void mostrarDialogoRevivir(int itemId) {
         // Obtener pokémon muertos del jugador actual
         java.util.List<String> pokemonsMuertos = poobkemon.getPokemonsMuertos(turnoJugador1);
         if (pokemonsMuertos.isEmpty()) {
@@ -917,7 +909,7 @@ public class PoobkemonBattlePanel extends BackgroundPanel {
                     String pokemonARevivir = btn.getText();
                     try {
                         poobkemon.revivirPokemon(turnoJugador1, pokemonARevivir);
-                        poobkemon.eliminarItem(turnoJugador1, "Revivir");
+                        poobkemon.eliminarItem(turnoJugador1, itemId);
                         JOptionPane.showMessageDialog(this, "Has revivido a " + pokemonARevivir, 
                             "Ítem usado", JOptionPane.INFORMATION_MESSAGE);
                         actualizarBarrasDeVida();
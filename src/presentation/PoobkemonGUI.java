@@ -1,5 +1,6 @@
 package presentation;
 
+import domain.Catalog;
 import domain.Poobkemon;
 import java.awt.*;
 import javax.swing.*;
@@ -268,6 +269,13 @@ public class PoobkemonGUI extends JFrame {
     }
 
     public static void main(String[] args) {
+        // Sin catálogo de datos no se puede jugar; se avisa antes de abrir la ventana
+        try {
+            Catalog.getDefault();
+        } catch (IllegalStateException e) {
+            JOptionPane.showMessageDialog(null, e.getMessage(), "Poobkemon", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
         SwingUtilities.invokeLater(PoobkemonGUI::new);
         
     }
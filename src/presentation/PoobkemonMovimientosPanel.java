@@ -213,7 +213,7 @@ public class PoobkemonMovimientosPanel extends BackgroundPanel {
      * @return El tipo de máquina seleccionado
      */
     private String seleccionarTipoMaquina(String titulo) {
-        String[] tiposMaquina = {"Attacking", "Defensive", "Changing", "Expert"};
+        String[] tiposMaquina = {"Attacking", "Defensive", "Changing", "Expert", "Search", "Learned"};
         
         // Crear descripciones para cada tipo
         Map<String, String> descripciones = new HashMap<>();
@@ -221,6 +221,8 @@ public class PoobkemonMovimientosPanel extends BackgroundPanel {
         descripciones.put("Defensive", "Enfocada en resistencia y recuperación");
         descripciones.put("Changing", "Cambia estrategias y Pokémon según la situación");
         descripciones.put("Expert", "Combina todas las estrategias de forma inteligente");
+        descripciones.put("Search", "Calcula varias jugadas por adelantado antes de decidir");
+        descripciones.put("Learned", "Elige con un modelo entrenado en batallas entre máquinas");
         
         // Crear panel con botones de radio
         JPanel panel = new JPanel(new GridLayout(0, 1));
@@ -478,7 +478,7 @@ public class PoobkemonSeleccionPanel extends BackgroundPanel {
      * @return El tipo de máquina seleccionado
      */
     private String seleccionarTipoMaquina(String titulo) {
-        String[] tiposMaquina = {"Attacking", "Defensive", "Changing", "Expert", "Gemini"};
+        String[] tiposMaquina = {"Attacking", "Defensive", "Changing", "Expert", "Search", "Learned", "Gemini"};
         
         // Crear descripciones para cada tipo
         Map<String, String> descripciones = new HashMap<>();
@@ -486,6 +486,8 @@ public class PoobkemonSeleccionPanel extends BackgroundPanel {
         descripciones.put("Defensive", "Enfocada en resistencia y recuperación");
         descripciones.put("Changing", "Cambia estrategias y Pokémon según la situación");
         descripciones.put("Expert", "Combina todas las estrategias de forma inteligente");
+        descripciones.put("Search", "Calcula varias jugadas por adelantado antes de decidir");
+        descripciones.put("Learned", "Elige con un modelo entrenado en batallas entre máquinas");
         descripciones.put("Gemini", "IA avanzada utilizando Google Gemini 2 Flash");
         
         // Crear panel con botones de radio
@@ -586,12 +588,14 @@ public class PoobkemonSeleccionPanel extends BackgroundPanel {
     }
 
     public static String seleccionarTipoMaquinaStatic(Component parent, String titulo) {
-        String[] tiposMaquina = {"Attacking", "Defensive", "Changing", "Expert", "Gemini"};
+        String[] tiposMaquina = {"Attacking", "Defensive", "Changing", "Expert", "Search", "Learned", "Gemini"};
         Map<String, String> descripciones = new HashMap<>();
         descripciones.put("Attacking", "Prioriza ataques potentes y estadísticas ofensivas");
         descripciones.put("Defensive", "Enfocada en resistencia y recuperación");
         descripciones.put("Changing", "Cambia estrategias y Pokémon según la situación");
         descripciones.put("Expert", "Combina todas las estrategias de forma inteligente");
+        descripciones.put("Search", "Calcula varias jugadas por adelantado antes de decidir");
+        descripciones.put("Learned", "Elige con un modelo entrenado en batallas entre máquinas");
         descripciones.put("Gemini", "IA avanzada utilizando Google Gemini 2 Flash");
     
         JPanel panel = new JPanel(new GridLayout(0, 1));
@@ -0,0 +1,90 @@
+package test;
+
+import domain.Attack;
+import domain.AttackFactory;
+import domain.Pokemon;
+import domain.PokemonFactory;
+import domain.PokemonType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AttackTest {
+    private Pokemon charizard;
+    private Pokemon venusaur;
+    private Attack cascada;
+
+    @BeforeEach
+    public void setUp() {
+        charizard = PokemonFactory.createPokemon("Charizard");
+        venusaur = PokemonFactory.createPokemon("Venusaur");
+        cascada = AttackFactory.createAttack("Cascada");
+    }
+
+    @Test
+    public void shouldResolveTypeOnCreation() {
+        assertEquals(PokemonType.AGUA, cascada.getPokemonType());
+        assertEquals(PokemonType.FUEGO, charizard.getPokemonType());
+        Pokemon unknown = new Pokemon("Raichu", 1, 100, 90, 55, 40, 50, 50, "Eléctrico", 100);
+        assertNull(unknown.getPokemonType());
+    }
+
+    @Test
+    public void shouldRejectUnknownDefenderType() {
+        Pokemon unknown = new Pokemon("Raichu", 1, 100, 90, 55, 40, 50, 50, "Eléctrico", 100);
+        assertThrows(RuntimeException.class, () -> cascada.calcDaño(charizard, unknown, new SplittableRandom(1)));
+    }
+
+    @Test
+    public void shouldUsePowerPointOnHit() {
+        int pp = cascada.getPowerPoint();
+        int damage = cascada.calcDaño(charizard, venusaur, new SplittableRandom(1));
+        assertTrue(damage >= 1);
+        assertEquals(pp - 1, cascada.getPowerPoint());
+    }
+
+    @Test
+    public void shouldNotAllocateWhenCalculatingDamage() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        SplittableRandom random = new SplittableRandom(7);
+        long threadId = Thread.currentThread().getId();
+        long total = 0;
+        for (int i = 0; i < 20_000; i++) {
+            cascada.setPowerPoint(5);
+            total += cascada.calcDaño(charizard, venusaur, random);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            cascada.setPowerPoint(5);
+            total += cascada.calcDaño(charizard, venusaur, random);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(total > 0);
+        // Margen para la propia medición; un objeto por golpe serían varios MB
+        assertTrue(allocated < 16 * 1024, "Bytes reservados: " + allocated);
+    }
+
+    @Test
+    public void shouldShareTemplateButNotPowerPoints() {
+        Attack other = AttackFactory.createAttack("Cascada");
+        assertSame(cascada.getTemplate(), other.getTemplate());
+
+        cascada.usarAtaque();
+        assertEquals(other.getPowerPoint() - 1, cascada.getPowerPoint());
+        Attack copy = cascada.clone();
+        assertEquals(cascada.getPowerPoint(), copy.getPowerPoint());
+        assertSame(cascada.getTemplate(), copy.getTemplate());
+    }
+}
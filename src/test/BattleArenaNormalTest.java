@@ -1,6 +1,8 @@
 package test;
 
 import domain.BattleArenaNormal;
+import domain.BattleEvent;
+import domain.ItemFactory;
 import domain.Poobkemon;
 import domain.PoobkemonException;
 import org.junit.jupiter.api.BeforeEach;
@@ -83,4 +85,21 @@ public class BattleArenaNormalTest {
         assertEquals(0, muertos2.size());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void shouldEmitTheCatalogIdWhenAnItemIsUsedByName() throws PoobkemonException {
+        items1.add("Poción");
+        arena.setupCoaches("Ash", "Gary", pokemons1, pokemons2, items1, items2, moves1, moves2, true);
+        arena.getCoach(0).getActivePokemon().setPs(10);
+        List<BattleEvent> events = new ArrayList<>();
+        arena.addListener(events::add);
+
+        arena.useItem("Poción");
+
+        int pocion = ItemFactory.getItemId("Poción");
+        assertEquals(1, events.size());
+        assertEquals(BattleEvent.Type.ITEM, events.get(0).type());
+        assertEquals(pocion, events.get(0).arg());
+        assertEquals(0, arena.getCoach(0).getItemCount(pocion));
+    }
+}
@@ -0,0 +1,107 @@
+package test;
+
+import domain.BattleLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BattleLoggerTest {
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final StringBuffer written = new StringBuffer();
+
+    /**
+     * Destino que retiene al hilo escritor hasta que se suelta el cerrojo.
+     */
+    private final PrintStream output = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.append(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        }
+    }, true, StandardCharsets.UTF_8);
+
+    @BeforeEach
+    public void setUp() {
+        BattleLogger.setOutput(output);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        released.countDown();
+        // Espera a que se vacíe lo pendiente antes de devolver la salida estándar;
+        // se repite porque el búfer puede seguir lleno y descartar el aviso
+        long deadline = System.currentTimeMillis() + 5000;
+        while (written.indexOf("fin de la prueba") < 0 && System.currentTimeMillis() < deadline) {
+            BattleLogger.warn("fin de la prueba");
+            Thread.sleep(10);
+        }
+        BattleLogger.setOutput(System.err);
+    }
+
+    @Test
+    public void shouldParseLevelNames() {
+        assertEquals(BattleLogger.Level.DEBUG, BattleLogger.parseLevel(" debug "));
+        assertEquals(BattleLogger.Level.OFF, BattleLogger.parseLevel("OFF"));
+        assertEquals(BattleLogger.Level.WARN, BattleLogger.parseLevel(null));
+        assertEquals(BattleLogger.Level.WARN, BattleLogger.parseLevel("verbose"));
+    }
+
+    @Test
+    public void shouldOnlyWriteMessagesAtTheDefaultLevelOrAbove() throws InterruptedException {
+        // Las pruebas se ejecutan sin poobkemon.log.level, así que el nivel es WARN
+        assertEquals(BattleLogger.Level.WARN, BattleLogger.LEVEL);
+        assertFalse(BattleLogger.isInfoEnabled());
+        assertTrue(BattleLogger.isWarnEnabled());
+        released.countDown();
+
+        BattleLogger.debug("mensaje de depuración");
+        BattleLogger.info(() -> { throw new AssertionError("No debe construirse un mensaje desactivado"); });
+        BattleLogger.warn("mensaje de aviso");
+        BattleLogger.error("mensaje de error", new IllegalStateException("fallo"));
+        awaitWritten("fallo");
+
+        String content = written.toString();
+        assertFalse(content.contains("mensaje de depuración"));
+        assertTrue(content.contains("WARN"));
+        assertTrue(content.contains("mensaje de aviso"));
+        assertTrue(content.contains("mensaje de error"));
+        assertTrue(content.contains("IllegalStateException"));
+    }
+
+    @Test
+    public void shouldCountMessagesDroppedWhenTheBufferIsFull() {
+        long before = BattleLogger.getDroppedCount();
+        int extra = 100;
+
+        // El escritor se queda bloqueado en el primer mensaje, así que caben poco más de CAPACITY
+        for (int i = 0; i < BattleLogger.CAPACITY + extra; i++) {
+            BattleLogger.warn("mensaje " + i);
+        }
+
+        assertTrue(BattleLogger.getDroppedCount() - before >= extra / 2);
+    }
+
+    private void awaitWritten(String text) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (written.indexOf(text) < 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(written.indexOf(text) >= 0, "No se escribió: " + text);
+    }
+}
@@ -0,0 +1,244 @@
+package test;
+
+import domain.Attack;
+import domain.BattleState;
+import domain.Coach;
+import domain.ItemFactory;
+import domain.Pokemon;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import network.BattleClient;
+import network.BattleServer;
+import network.Protocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BattleServerTest {
+    private static final int MAX_MESSAGES = 5000;
+
+    private BattleServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new BattleServer(0);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    private static Protocol.Team team(String name, int offset) {
+        return team(name, offset, List.of());
+    }
+
+    private static Protocol.Team team(String name, int offset, List<String> items) {
+        List<String> attacks = Poobkemon.getPhysicalAttacks();
+        List<String> pokemon = new ArrayList<>();
+        List<List<String>> moves = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            pokemon.add(Protocol.POKEMON.get((offset + i) % Protocol.POKEMON.size()));
+            List<String> own = new ArrayList<>();
+            for (int j = 0; j < 4; j++) {
+                own.add(attacks.get((offset + i + j) % attacks.size()));
+            }
+            moves.add(own);
+        }
+        return new Protocol.Team(name, pokemon, moves, items);
+    }
+
+    private BattleClient connect(Protocol.Team team) throws IOException {
+        BattleClient client = new BattleClient("localhost", server.getPort());
+        client.join(team);
+        return client;
+    }
+
+    /**
+     * Jugador guionizado: ataca con el primer movimiento que tenga PP y, si
+     * su pokémon está debilitado o sin PP, cambia al siguiente que pueda luchar.
+     * @return Número de mensajes de cambios recibidos
+     */
+    private static int play(BattleClient client) throws IOException {
+        int deltas = 0;
+        for (int i = 0; i < MAX_MESSAGES && !client.isFinished(); i++) {
+            if (client.isMyTurn()) {
+                act(client);
+            }
+            if (client.receive() == Protocol.DELTA) {
+                deltas++;
+            }
+        }
+        return deltas;
+    }
+
+    private static void act(BattleClient client) throws IOException {
+        List<Pokemon> team = client.getArena().getCoach(client.getCoach()).getPokemons();
+        int active = client.getArena().getCoach(client.getCoach()).getActivePokemonIndex();
+        if (team.get(active).getPs() > 0) {
+            List<Attack> attacks = team.get(active).getAtaques();
+            for (int m = 0; m < attacks.size(); m++) {
+                if (attacks.get(m).getPowerPoint() > 0) {
+                    client.attack(m);
+                    return;
+                }
+            }
+        }
+        for (int s = 0; s < team.size(); s++) {
+            if (s != active && team.get(s).getPs() > 0) {
+                client.switchTo(s);
+                return;
+            }
+        }
+        client.attack(0);
+    }
+
+    @Test
+    public void shouldPlayAMatchOverLoopbackWithMatchingStates() throws Exception {
+        BattleClient first = connect(team("Ash", 0));
+        BattleClient second = connect(team("Gary", 3));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Integer> firstDeltas = executor.submit(() -> play(first));
+        Future<Integer> secondDeltas = executor.submit(() -> play(second));
+        int deltas = firstDeltas.get(30, TimeUnit.SECONDS);
+        assertEquals(deltas, (int) secondDeltas.get(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertTrue(first.isFinished());
+        assertEquals(first.getWinner(), second.getWinner());
+        assertNotEquals(first.getCoach(), second.getCoach());
+        BattleState a = first.getState();
+        BattleState b = second.getState();
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i), b.get(i));
+        }
+        // Cada turno envía solo lo que cambió: de media, menos de un cuarto del estado completo
+        assertTrue(first.getBytesReceived() / deltas < a.size());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void shouldRejectActionsOutOfTurn() throws Exception {
+        BattleClient first = connect(team("Ash", 0));
+        BattleClient second = connect(team("Gary", 3));
+        assertEquals(Protocol.START, first.receive());
+        assertEquals(Protocol.START, second.receive());
+        BattleClient waiting = first.isMyTurn() ? second : first;
+        BattleClient playing = waiting == first ? second : first;
+
+        waiting.attack(0);
+        assertEquals(Protocol.REJECT, waiting.receive());
+        assertEquals(PoobkemonException.NOT_YOUR_TURN, waiting.getLastRejection());
+
+        playing.attack(0);
+        assertEquals(Protocol.DELTA, playing.receive());
+        assertEquals(Protocol.DELTA, waiting.receive());
+        assertTrue(waiting.isMyTurn());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void shouldUseItemsByCatalogId() throws Exception {
+        BattleClient first = connect(team("Ash", 0, List.of("Poción")));
+        BattleClient second = connect(team("Gary", 3, List.of("Poción")));
+        assertEquals(Protocol.START, first.receive());
+        assertEquals(Protocol.START, second.receive());
+        BattleClient playing = first.isMyTurn() ? first : second;
+        BattleClient waiting = playing == first ? second : first;
+
+        playing.useItem(ItemFactory.getItemTypeCount());
+        assertEquals(Protocol.REJECT, playing.receive());
+        assertEquals(PoobkemonException.INVALID_ACTION, playing.getLastRejection());
+
+        int pocion = ItemFactory.getItemId("Poción");
+        playing.useItem(pocion);
+        assertEquals(Protocol.DELTA, playing.receive());
+        assertEquals(Protocol.DELTA, waiting.receive());
+        assertEquals(0, playing.getArena().getCoach(playing.getCoach()).getItemCount(pocion));
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void shouldRejectSwitchingToTheActiveOrAFaintedPokemon() throws Exception {
+        BattleClient first = connect(team("Ash", 0));
+        BattleClient second = connect(team("Gary", 3));
+        assertEquals(Protocol.START, first.receive());
+        assertEquals(Protocol.START, second.receive());
+
+        BattleClient playing = first.isMyTurn() ? first : second;
+        playing.switchTo(playing.getArena().getCoach(playing.getCoach()).getActivePokemonIndex());
+        assertEquals(Protocol.REJECT, playing.receive());
+        assertEquals(PoobkemonException.INVALID_ACTION, playing.getLastRejection());
+
+        // Se juega hasta que un pokémon que no es el activo esté debilitado
+        for (int i = 0; i < MAX_MESSAGES && !first.isFinished(); i++) {
+            playing = first.isMyTurn() ? first : second;
+            BattleClient waiting = playing == first ? second : first;
+            Coach coach = playing.getArena().getCoach(playing.getCoach());
+            for (int s = 0; s < coach.getPokemons().size(); s++) {
+                if (s != coach.getActivePokemonIndex() && coach.getPokemons().get(s).getPs() == 0) {
+                    playing.switchTo(s);
+                    assertEquals(Protocol.REJECT, playing.receive());
+                    assertEquals(PoobkemonException.INVALID_ACTION, playing.getLastRejection());
+                    first.close();
+                    second.close();
+                    return;
+                }
+            }
+            act(playing);
+            playing.receive();
+            waiting.receive();
+        }
+        fail("Ningún pokémon quedó debilitado");
+    }
+
+    @Test
+    public void shouldAwardTheMatchWhenTheRivalDisconnects() throws Exception {
+        BattleClient first = connect(team("Ash", 0));
+        BattleClient second = connect(team("Gary", 3));
+        assertEquals(Protocol.START, first.receive());
+        assertEquals(Protocol.START, second.receive());
+
+        second.close();
+        assertEquals(Protocol.END, first.receive());
+        assertEquals(first.getCoach(), first.getWinner());
+        first.close();
+    }
+
+    @Test
+    public void shouldMultiplexManyMatchesOnOneServer() throws Exception {
+        int matches = 10;
+        List<BattleClient> clients = new ArrayList<>();
+        for (int i = 0; i < matches * 2; i++) {
+            clients.add(connect(team("Jugador " + i, i)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(clients.size());
+        List<Future<Integer>> results = new ArrayList<>();
+        for (BattleClient client : clients) {
+            results.add(executor.submit(() -> play(client)));
+        }
+        for (Future<Integer> result : results) {
+            assertTrue(result.get(60, TimeUnit.SECONDS) > 0);
+        }
+        executor.shutdown();
+        for (BattleClient client : clients) {
+            assertTrue(client.isFinished());
+            client.close();
+        }
+        assertEquals(0, server.getMatches());
+    }
+}
@@ -0,0 +1,122 @@
+package test;
+
+import domain.BattleSessionManager;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BattleSessionManagerTest {
+    private BattleSessionManager manager;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new BattleSessionManager();
+    }
+
+    private long startSession() throws PoobkemonException {
+        ArrayList<String> pokemons = new ArrayList<>(Poobkemon.getAvailablePokemon().subList(0, 6));
+        List<String> attacks = Poobkemon.getPhysicalAttacks();
+        String[][] moves = new String[6][4];
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 4; j++) {
+                moves[i][j] = attacks.get((i + j) % attacks.size());
+            }
+        }
+        return manager.startHumanVsMachine("Ash", "Gary", pokemons, new ArrayList<>(pokemons),
+            new ArrayList<>(), moves, "Attacking");
+    }
+
+    @Test
+    public void shouldRejectUnknownSession() {
+        assertThrows(PoobkemonException.class, () -> manager.isFinished(99));
+        assertFalse(manager.end(99));
+    }
+
+    @Test
+    public void shouldPlayTurnsOnASession() throws PoobkemonException {
+        long id = startSession();
+        assertEquals(1, manager.size());
+        String move = manager.query(id, game -> game.getActivePokemonMoves(true).get(0));
+
+        manager.attack(id, move);
+        assertEquals(1, (int) manager.query(id, game -> game.getBattleArena().getCurrentTurn()));
+        assertTrue(manager.playMachineTurn(id).startsWith("La máquina"));
+        assertEquals(0, (int) manager.query(id, game -> game.getBattleArena().getCurrentTurn()));
+
+        assertTrue(manager.end(id));
+        assertEquals(0, manager.size());
+        assertThrows(PoobkemonException.class, () -> manager.attack(id, move));
+    }
+
+    @Test
+    public void shouldRejectMachineTurnsOnTheHumansTurn() throws PoobkemonException {
+        long id = startSession();
+
+        PoobkemonException e = assertThrows(PoobkemonException.class, () -> manager.playMachineTurn(id));
+        assertEquals(PoobkemonException.NOT_MACHINE_TURN, e.getMessage());
+        assertEquals(0, (int) manager.query(id, game -> game.getBattleArena().getCurrentTurn()));
+    }
+
+    @Test
+    public void shouldRejectHumanAttacksOnTheMachinesTurn() throws PoobkemonException {
+        long id = startSession();
+        String move = manager.query(id, game -> game.getActivePokemonMoves(true).get(0));
+        manager.attack(id, move);
+        int machinePs = manager.query(id, game -> game.getActivePokemonCurrentHP(false));
+        int humanPs = manager.query(id, game -> game.getActivePokemonCurrentHP(true));
+
+        PoobkemonException e = assertThrows(PoobkemonException.class, () -> manager.attack(id, move));
+        assertEquals(PoobkemonException.NOT_YOUR_TURN, e.getMessage());
+        assertEquals(1, (int) manager.query(id, game -> game.getBattleArena().getCurrentTurn()));
+        assertEquals(machinePs, (int) manager.query(id, game -> game.getActivePokemonCurrentHP(false)));
+        assertEquals(humanPs, (int) manager.query(id, game -> game.getActivePokemonCurrentHP(true)));
+    }
+
+    @Test
+    public void shouldKeepSessionsIndependentUnderConcurrentTurns() throws Exception {
+        long[] ids = new long[50];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = startSession();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    long id = ids[(offset + i) % ids.length];
+                    // Cada turno del humano y de la máquina se juega de una vez
+                    manager.act(id, game -> {
+                        if (game.getBattleArena().isBattleFinished() || game.getActivePokemonCurrentHP(true) <= 0) {
+                            return null;
+                        }
+                        game.attack(game.getActivePokemonMoves(true).get(0), false, true);
+                        game.changeTurn();
+                        game.processMachineTurn();
+                        game.changeTurn();
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (long id : ids) {
+            assertEquals(0, (int) manager.query(id, game -> game.getBattleArena().getCurrentTurn()));
+        }
+        assertEquals(ids.length, manager.size());
+    }
+}
@@ -0,0 +1,64 @@
+package test;
+
+import domain.BattleSimulator;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BattleSimulatorTest {
+    private BattleSimulator simulator;
+    private List<String> pokemons1;
+    private List<String> pokemons2;
+
+    @BeforeEach
+    public void setUp() {
+        simulator = new BattleSimulator();
+        List<String> available = Poobkemon.getAvailablePokemon();
+        pokemons1 = new ArrayList<>(available.subList(0, 3));
+        pokemons2 = new ArrayList<>(available.subList(3, 6));
+    }
+
+    @Test
+    public void shouldFinishMachineVsMachineBattle() throws PoobkemonException {
+        BattleSimulator.Result result = simulator.simulate(
+            new BattleSimulator.Team("Attacking", pokemons1),
+            new BattleSimulator.Team("Expert", pokemons2));
+        assertTrue(result.turns() > 0);
+        assertTrue(result.turns() <= BattleSimulator.DEFAULT_MAX_TURNS);
+        if (result.winner() == 0) {
+            assertEquals(0, result.hpLeft1());
+        } else if (result.winner() == 1) {
+            assertEquals(0, result.hpLeft0());
+        }
+    }
+
+    @Test
+    public void shouldStopAtTurnLimit() throws PoobkemonException {
+        BattleSimulator shortSimulator = new BattleSimulator(1);
+        BattleSimulator.Result result = shortSimulator.simulate(
+            new BattleSimulator.Team("Defensive", pokemons1),
+            new BattleSimulator.Team("Defensive", pokemons2));
+        assertEquals(1, result.turns());
+        assertTrue(result.isDraw());
+    }
+
+    @Test
+    public void shouldReproduceBattleFromSeed() throws PoobkemonException {
+        BattleSimulator.Team team1 = new BattleSimulator.Team("Changing", pokemons1);
+        BattleSimulator.Team team2 = new BattleSimulator.Team("Defensive", pokemons2);
+        for (long seed = 1; seed <= 5; seed++) {
+            assertEquals(simulator.simulate(team1, team2, seed), simulator.simulate(team1, team2, seed));
+        }
+    }
+
+    @Test
+    public void shouldRejectNonPositiveTurnLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new BattleSimulator(0));
+    }
+}
@@ -0,0 +1,110 @@
+package test;
+
+import domain.BattleArenaNormal;
+import domain.BattleSimulator;
+import domain.BattleState;
+import domain.Coach;
+import domain.ItemFactory;
+import domain.Pokemon;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BattleStateTest {
+    private BattleArenaNormal arena;
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(5);
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(available.subList(0, 4)), new ArrayList<>(available.subList(4, 8)),
+            "Changing", "Expert");
+    }
+
+    @Test
+    public void shouldRestoreBattleAfterPlaying() throws PoobkemonException {
+        BattleState start = arena.snapshot();
+        int[] hp = activeHp();
+        new BattleSimulator(30).run(arena);
+        assertNotEquals(start, arena.snapshot());
+
+        arena.restore(start);
+        assertEquals(start, arena.snapshot());
+        assertArrayEquals(hp, activeHp());
+        assertEquals(start.getTurnNumber(), arena.getTurnNumber());
+        assertEquals(start.getActiveIndex(0), arena.getCoach(0).getActivePokemonIndex());
+    }
+
+    @Test
+    public void shouldRestoreItemStacks() throws PoobkemonException {
+        Coach coach = arena.getCoach(0);
+        int pocion = ItemFactory.getItemId("Poción");
+        coach.agregarItem(pocion);
+        coach.agregarItem(pocion);
+        int held = coach.getItemCount(pocion);
+        BattleState start = BattleState.capture(arena);
+        int kind = 0;
+        while (start.getLayout().item(0, kind).getId() != pocion) {
+            kind++;
+        }
+        assertEquals(held, start.getItemCount(0, kind));
+
+        coach.getActivePokemon().setPs(1);
+        coach.useItem(pocion);
+        assertEquals(held - 1, coach.getItemCount(pocion));
+        start.restoreTo(arena);
+        assertEquals(held, coach.getItemCount(pocion));
+        assertEquals(held, coach.getNombreItems().stream().filter("Poción"::equals).count());
+    }
+
+    @Test
+    public void shouldShareLayoutBetweenSnapshots() throws PoobkemonException {
+        BattleState start = arena.snapshot();
+        new BattleSimulator(10).run(arena);
+        BattleState later = arena.snapshot();
+        assertSame(start.getLayout(), later.getLayout());
+
+        arena.snapshot(start);
+        assertEquals(later, start);
+    }
+
+    @Test
+    public void shouldCopyWithoutSharingData() {
+        BattleState state = arena.snapshot();
+        BattleState copy = state.copy();
+        assertEquals(state, copy);
+
+        Pokemon active = arena.getCoach(1).getActivePokemon();
+        active.setPs(active.getPs() - 10);
+        state.captureFrom(arena);
+        assertNotEquals(state, copy);
+
+        copy.copyFrom(state);
+        assertEquals(state, copy);
+        assertEquals(active.getPs(), copy.getPs(1, arena.getCoach(1).getActivePokemonIndex()));
+    }
+
+    @Test
+    public void shouldTrackPowerPoints() {
+        Coach coach = arena.getCoach(0);
+        Pokemon active = coach.getActivePokemon();
+        int pp = active.getAtaques().get(0).getPowerPoint();
+        BattleState state = arena.snapshot();
+
+        active.getAtaques().get(0).setPowerPoint(0);
+        arena.restore(state);
+        assertEquals(pp, active.getAtaques().get(0).getPowerPoint());
+        assertEquals(pp, state.getPowerPoint(0, coach.getActivePokemonIndex(), 0));
+    }
+
+    private int[] activeHp() {
+        return new int[] {arena.getCoach(0).getActivePokemon().getPs(), arena.getCoach(1).getActivePokemon().getPs()};
+    }
+}
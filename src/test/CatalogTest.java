@@ -0,0 +1,186 @@
+package test;
+
+import domain.AttackFactory;
+import domain.AttackTemplate;
+import domain.AttributeType;
+import domain.Catalog;
+import domain.PokemonFactory;
+import domain.PokemonSpecies;
+import domain.PokemonType;
+import domain.StatusAttack;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogTest {
+
+    private static final String ITEMS = "{\"items\":[{\"name\":\"Poción\",\"description\":\"Restaura 20 PS.\","
+        + "\"value\":20,\"applyTo\":\"HP\"}]}";
+
+    private static String types() {
+        StringBuilder names = new StringBuilder();
+        StringBuilder rows = new StringBuilder();
+        for (int t = 0; t < PokemonType.COUNT; t++) {
+            String name = PokemonType.fromIndex(t).getDisplayName();
+            names.append(t > 0 ? "," : "").append('"').append(name).append('"');
+            rows.append(t > 0 ? "," : "").append('"').append(name).append("\":[");
+            for (int d = 0; d < PokemonType.COUNT; d++) {
+                rows.append(d > 0 ? "," : "").append(t == d ? "0.5" : "1");
+            }
+            rows.append(']');
+        }
+        return "{\"types\":[" + names + "],\"effectiveness\":{" + rows + "}}";
+    }
+
+    private static String species(int count) {
+        StringBuilder json = new StringBuilder("{\"pokemon\":[");
+        for (int i = 0; i < count; i++) {
+            json.append(i > 0 ? "," : "").append("{\"name\":\"Especie ").append(i).append("\",\"id\":").append(i)
+                .append(",\"type\":\"").append(PokemonType.fromIndex(i % PokemonType.COUNT).getDisplayName());
+            if (i % 3 == 1) {
+                json.append("\",\"secondaryType\":\"")
+                    .append(PokemonType.fromIndex((i + 1) % PokemonType.COUNT).getDisplayName());
+            }
+            json.append("\",\"ps\":").append(200 + i % 100)
+                .append(",\"speed\":100,\"specialAttack\":90,\"physicalAttack\":80,\"specialDefense\":70,"
+                    + "\"physicalDefense\":60,\"evasion\":100}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String attacks(int count, String... extra) {
+        StringBuilder json = new StringBuilder("{\"attacks\":[");
+        for (int i = 0; i < count; i++) {
+            json.append(i > 0 ? "," : "").append("{\"name\":\"Movimiento ").append(i).append('"')
+                .append(",\"type\":\"Normal\",\"baseDamage\":").append(i % 150).append(",\"powerPoint\":5,\"precision\":100,");
+            if (i % 3 == 2) {
+                json.append("\"category\":\"Status\",\"affects\":\"SPEED\",\"duration\":3}");
+            } else {
+                json.append("\"category\":\"").append(i % 3 == 0 ? "Physical" : "Special").append("\"}");
+            }
+        }
+        for (String entry : extra) {
+            json.append(',').append(entry);
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void writeSources(Path dir, String types, String pokemon, String attacks, String items)
+            throws IOException {
+        Files.writeString(dir.resolve("types.json"), types);
+        Files.writeString(dir.resolve("pokemon.json"), pokemon);
+        Files.writeString(dir.resolve("attacks.json"), attacks);
+        Files.writeString(dir.resolve("items.json"), items);
+    }
+
+    @Test
+    public void shouldLoadTheGameDataFromTheCatalog() {
+        Catalog catalog = Catalog.getDefault();
+        assertEquals(14, catalog.getSpecies().size());
+        assertEquals(72, catalog.getAttacks().size());
+        assertEquals(4, catalog.getItems().size());
+        // Silbato figuraba dos veces en el registro; queda la versión de estado
+        assertInstanceOf(StatusAttack.class, AttackFactory.getAttack("Silbato"));
+        assertEquals(2.0, PokemonType.FUEGO.against(PokemonType.PLANTA));
+        assertEquals(0.0, PokemonType.NORMAL.against(PokemonType.FANTASMA));
+        assertEquals(PokemonType.VOLADOR, PokemonFactory.getSpecies("Charizard").secondaryType());
+        assertNull(PokemonFactory.getSpecies("Blastoise").secondaryType());
+    }
+
+    @Test
+    public void shouldReportEveryProblemAtOnce() {
+        String duplicate = "{\"name\":\"Movimiento 0\",\"category\":\"Physical\",\"type\":\"Normal\","
+            + "\"baseDamage\":10,\"powerPoint\":5,\"precision\":100}";
+        String unknownType = "{\"name\":\"Rayo cósmico\",\"category\":\"Special\",\"type\":\"Cósmico\","
+            + "\"baseDamage\":10,\"powerPoint\":5,\"precision\":100}";
+        String badPrecision = "{\"name\":\"Fallo seguro\",\"category\":\"Physical\",\"type\":\"Normal\","
+            + "\"baseDamage\":10,\"powerPoint\":5,\"precision\":150}";
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+            Catalog.parse(types(), species(3), attacks(3, duplicate, unknownType, badPrecision), ITEMS));
+        assertTrue(e.getMessage().contains("\"Movimiento 0\""));
+        assertTrue(e.getMessage().contains("Cósmico"));
+        assertTrue(e.getMessage().contains("Fallo seguro"));
+    }
+
+    @Test
+    public void shouldRejectDuplicateSpeciesIds() {
+        String pokemon = species(3).replace("\"id\":2", "\"id\":0");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+            Catalog.parse(types(), pokemon, attacks(3), ITEMS));
+        assertTrue(e.getMessage().contains("Id repetido en pokemon: 0"));
+        assertTrue(e.getMessage().contains("\"Especie 2\""));
+    }
+
+    @Test
+    public void shouldRejectAnUnknownOrRepeatedSecondaryType() {
+        String pokemon = species(3)
+            .replace("\"type\":\"Acero\"", "\"type\":\"Acero\",\"secondaryType\":\"Cósmico\"")
+            .replace("\"secondaryType\":\"Bicho\"", "\"secondaryType\":\"Agua\"");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+            Catalog.parse(types(), pokemon, attacks(3), ITEMS));
+        assertTrue(e.getMessage().contains("segundo tipo desconocido Cósmico"));
+        assertTrue(e.getMessage().contains("Especie 1: el segundo tipo repite el primero"));
+    }
+
+    @Test
+    public void shouldGiveEverySpeciesItsOwnId() {
+        List<PokemonSpecies> species = Catalog.getDefault().getSpecies();
+        assertEquals(species.size(), species.stream().mapToInt(PokemonSpecies::id).distinct().count());
+    }
+
+    @Test
+    public void shouldRejectAnIncompleteTypeChart() {
+        String types = types().replace(",\"Volador\"]", "]");
+        assertThrows(IllegalArgumentException.class, () -> Catalog.parse(types, species(3), attacks(3), ITEMS));
+    }
+
+    @Test
+    public void shouldRoundTripALargeCatalogThroughTheBinaryImage(@TempDir Path dir) throws IOException {
+        Catalog parsed = Catalog.parse(types(), species(1000), attacks(900), ITEMS);
+        Path image = dir.resolve(Catalog.CACHE_FILE);
+        parsed.write(image, 42);
+
+        assertNull(Catalog.read(image, 43));
+        Catalog read = Catalog.read(image, 42);
+        assertEquals(parsed.getSpecies(), read.getSpecies());
+        assertEquals(parsed.getAttacks(), read.getAttacks());
+        assertEquals(parsed.getItems(), read.getItems());
+        assertArrayEquals(parsed.getTypeChart(), read.getTypeChart());
+        AttackTemplate status = read.getAttacks().get(2);
+        assertEquals(AttributeType.SPEED, status.affects());
+        assertEquals(3, status.turnosDuracion());
+    }
+
+    @Test
+    public void shouldRebuildTheImageWhenTheDataChanges(@TempDir Path dir) throws IOException {
+        writeSources(dir, types(), species(20), attacks(30), ITEMS);
+        Catalog first = Catalog.load(dir);
+        assertTrue(Files.isRegularFile(dir.resolve(Catalog.CACHE_FILE)));
+        assertEquals(first.getSpecies(), Catalog.load(dir).getSpecies());
+
+        Path pokemon = dir.resolve("pokemon.json");
+        Files.writeString(pokemon, species(25));
+        Files.setLastModifiedTime(pokemon, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        Catalog changed = Catalog.load(dir);
+        assertEquals(25, changed.getSpecies().size());
+        PokemonSpecies last = changed.getSpecies().get(24);
+        assertEquals("Especie 24", last.name());
+    }
+
+    @Test
+    public void shouldFindTheDataDirectoryAboveTheCode(@TempDir Path dir) throws IOException {
+        Path data = Files.createDirectories(dir.resolve("juego").resolve(Catalog.DEFAULT_DIR));
+        Files.writeString(data.resolve("types.json"), types());
+        Path classes = Files.createDirectories(dir.resolve("juego").resolve("bin").resolve("domain"));
+
+        assertEquals(data, Catalog.findDataDir(List.of(classes)));
+        assertEquals(data, Catalog.findDataDir(List.of(dir.resolve("juego"), classes)));
+    }
+}
@@ -2,6 +2,7 @@ package test;
 
 import domain.Coach;
 import domain.HumanCoach;
+import domain.ItemFactory;
 import domain.Pokemon;
 import domain.PokemonFactory;
 import domain.PoobkemonException;
@@ -58,6 +59,48 @@ public class CoachTest {
         assertFalse(coach.getNombreItems().contains("Poción"));
     }
 
+    @Test
+    public void shouldUseAndRemoveItemsById() throws PoobkemonException {
+        int superpocion = ItemFactory.getItemId("Superpoción");
+        Pokemon active = coach.getActivePokemon();
+        active.setPs(active.getTotalPs() - 40);
+        coach.useItem(superpocion);
+        assertEquals(active.getTotalPs(), active.getPs());
+        assertEquals(List.of("Poción"), coach.getNombreItems());
+        assertThrows(PoobkemonException.class, () -> coach.useItem(superpocion));
+        coach.eliminarItem(ItemFactory.getItemId("Poción"));
+        assertTrue(coach.getItems().isEmpty());
+    }
+
+    @Test
+    public void shouldKeepItemsAsCountedStacks() {
+        int pocion = ItemFactory.getItemId("Poción");
+        for (int i = 0; i < 500; i++) {
+            coach.agregarItem(pocion);
+        }
+        assertEquals(501, coach.getItemCount(pocion));
+        assertEquals(502, coach.getItems().size());
+        assertSame(coach.getItems().get(0), coach.getItems().get(1));
+
+        List<String> nombres = coach.getNombreItems();
+        assertSame(nombres, coach.getNombreItems());
+        assertThrows(UnsupportedOperationException.class, () -> nombres.add("Revive"));
+        coach.eliminarItem(pocion);
+        assertNotSame(nombres, coach.getNombreItems());
+        assertEquals(500, coach.getItemCount(pocion));
+    }
+
+    @Test
+    public void shouldSwitchBySlotOnlyToHealthyPokemon() {
+        coach.getPokemon(1).setPs(0);
+        coach.cambiarPokemonActivo(1);
+        assertEquals(0, coach.getActivePokemonIndex());
+        coach.getPokemon(1).setPs(10);
+        coach.cambiarPokemonActivo(1);
+        assertSame(coach.getPokemon(1), coach.getActivePokemon());
+        assertNull(coach.getPokemon(6));
+    }
+
     @Test
     public void shouldReturnActivePokemon() {
         assertEquals("Raichu", coach.getActivePokemon().getName());
@@ -0,0 +1,46 @@
+package test;
+
+import domain.ExpertStrategy;
+import domain.ExpertTuner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpertTunerTest {
+
+    @Test
+    public void shouldLoadTheWeightsWrittenToTheDataDirectory(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve(ExpertStrategy.Weights.FILE);
+        assertEquals(ExpertStrategy.Weights.DEFAULT, ExpertStrategy.Weights.loadOrDefault(file));
+
+        ExpertStrategy.Weights tuned = new ExpertStrategy.Weights(0.5, 0.125, 0.3, 0.05, 0.7, 1.45);
+        tuned.write(file);
+        assertEquals(tuned, ExpertStrategy.Weights.loadOrDefault(file));
+        assertEquals(tuned, new ExpertStrategy(ExpertStrategy.Weights.load(file)).getWeights());
+
+        Files.writeString(file, "{\"health\":0.5}");
+        assertEquals(ExpertStrategy.Weights.DEFAULT, ExpertStrategy.Weights.loadOrDefault(file));
+    }
+
+    @Test
+    public void shouldResumeFromTheCheckpointWithTheSameResult(@TempDir Path dir) throws IOException {
+        ExpertTuner tuner = new ExpertTuner(2, 4, 2, 2);
+        ExpertTuner.Result straight = tuner.tune(2, 7, dir.resolve("straight.json"));
+        assertEquals(2, straight.generations());
+
+        Path checkpoint = dir.resolve("resumed.json");
+        ExpertTuner.Result first = tuner.tune(1, 7, checkpoint);
+        assertEquals(1, first.generations());
+        assertTrue(Files.readString(checkpoint).contains("\"generation\":1"));
+        ExpertTuner.Result resumed = new ExpertTuner(2, 4, 2, 3).tune(2, 7, checkpoint);
+        assertEquals(straight, resumed);
+
+        // Con todas las generaciones hechas no se juega nada más
+        assertEquals(straight, tuner.tune(2, 7, checkpoint));
+    }
+}
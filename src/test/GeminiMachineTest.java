@@ -0,0 +1,151 @@
+package test;
+
+import com.sun.net.httpserver.HttpServer;
+import domain.AttackFactory;
+import domain.GeminiClient;
+import domain.GeminiMachine;
+import domain.MachineFactory;
+import domain.Pokemon;
+import domain.PokemonFactory;
+import domain.Poobkemon;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeminiMachineTest {
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String reply = "";
+    private volatile long delayMillis;
+    private volatile String rawBody;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String json = rawBody != null ? rawBody
+                : "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + reply + "\"}]}}]}";
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private GeminiMachine createMachine(long deadlineMillis) {
+        URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/generate");
+        GeminiClient client = new GeminiClient(endpoint, Duration.ofMillis(deadlineMillis));
+        GeminiMachine machine = new GeminiMachine("Gemini", pokemons(0), new ArrayList<>(), client);
+        machine.setOpponent(MachineFactory.createMachine(MachineFactory.MachineType.EXPERT, "Rival", pokemons(2), new ArrayList<>()));
+        return machine;
+    }
+
+    private static ArrayList<Pokemon> pokemons(int from) {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        List<String> attacks = Poobkemon.getPhysicalAttacks();
+        ArrayList<Pokemon> pokemons = new ArrayList<>();
+        for (String name : available.subList(from, from + 2)) {
+            Pokemon pokemon = PokemonFactory.createPokemon(name);
+            for (String attack : attacks.subList(0, 4)) {
+                pokemon.addAttack(AttackFactory.createAttack(attack));
+            }
+            pokemons.add(pokemon);
+        }
+        return pokemons;
+    }
+
+    @Test
+    public void shouldNotQueryOnCreation() {
+        createMachine(1000);
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void shouldUseMoveSuggestedByEndpoint() {
+        GeminiMachine machine = createMachine(2000);
+        reply = machine.getActivePokemon().getAtaques().get(2).getName();
+        assertEquals(2, machine.selectMove());
+    }
+
+    @Test
+    public void shouldCacheRepeatedSituations() {
+        GeminiMachine machine = createMachine(2000);
+        reply = machine.getActivePokemon().getAtaques().get(1).getName();
+        assertEquals(1, machine.selectMove());
+        assertEquals(1, machine.selectMove());
+        assertEquals(1, requests.get());
+        assertEquals(1, machine.getClient().cacheSize());
+    }
+
+    @Test
+    public void shouldFallBackWhenEndpointIsSlow() {
+        GeminiMachine machine = createMachine(50);
+        delayMillis = 1000;
+        reply = machine.getActivePokemon().getAtaques().get(3).getName();
+
+        long start = System.nanoTime();
+        int move = machine.selectMove();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 500, "La decisión tardó " + elapsedMillis + " ms");
+        assertTrue(move >= 0 && move < machine.getActivePokemon().getAtaques().size());
+    }
+
+    @Test
+    public void shouldNotCacheEmptyAnswers() {
+        GeminiMachine machine = createMachine(2000);
+        reply = "";
+        machine.selectMove();
+        assertEquals(0, machine.getClient().cacheSize());
+
+        reply = machine.getActivePokemon().getAtaques().get(1).getName();
+        assertEquals(1, machine.selectMove());
+        assertEquals(2, requests.get());
+        assertEquals(1, machine.getClient().cacheSize());
+    }
+
+    @Test
+    public void shouldNotCacheMalformedAnswers() {
+        GeminiMachine machine = createMachine(2000);
+        rawBody = "no es JSON";
+        int move = machine.selectMove();
+        assertTrue(move >= 0 && move < machine.getActivePokemon().getAtaques().size());
+        assertEquals(0, machine.getClient().cacheSize());
+        assertFalse(machine.getClient().isAvailable());
+    }
+
+    @Test
+    public void shouldNotQueryWithoutAnEndpoint() {
+        GeminiClient client = new GeminiClient(null, Duration.ofMillis(100));
+        assertFalse(client.isAvailable());
+        assertNull(client.answer("clave", "pregunta"));
+        assertTrue(client.ask("clave", "pregunta").isCompletedExceptionally());
+    }
+}
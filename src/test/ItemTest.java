@@ -20,6 +20,7 @@ public class ItemTest {
         raichu = new Pokemon("Raichu", 1, 100, 90, 55, 40, 50, 50, "Eléctrico", 100);
         pocion = ItemFactory.createItem("Poción");
         superpocion = ItemFactory.createItem("Superpoción");
+        revive = ItemFactory.createItem("Revive");
     }
 
     @Test
@@ -41,4 +42,17 @@ public class ItemTest {
         raichu.setPs(0);
         assertThrows(PoobkemonException.class, () -> pocion.applyItemEffect(raichu));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReviveFaintedPokemonWithCatalogRevive() throws PoobkemonException {
+        raichu.setPs(0);
+        revive.applyItemEffect(raichu);
+        assertEquals(100, raichu.getPs()); // Revive restaura hasta el máximo del pokémon
+    }
+
+    @Test
+    public void shouldNotUseReviveOnHealthyPokemon() {
+        raichu.setPs(50);
+        assertThrows(IllegalStateException.class, () -> revive.applyItemEffect(raichu));
+    }
+}
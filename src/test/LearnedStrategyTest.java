@@ -0,0 +1,79 @@
+package test;
+
+import domain.Attack;
+import domain.BattleArenaNormal;
+import domain.BattleSimulator;
+import domain.LearnedStrategy;
+import domain.LearnedTrainer;
+import domain.Machine;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import domain.StatusAttack;
+import domain.StrategyMachine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LearnedStrategyTest {
+    private BattleArenaNormal arena;
+    private Machine machine;
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(5);
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            "Learned", "Expert");
+        machine = (Machine) arena.getCoach(0);
+    }
+
+    @Test
+    public void shouldPlayABattleAsALearnedMachine() throws PoobkemonException {
+        assertEquals("Learned", machine.getMachineType());
+        assertInstanceOf(LearnedStrategy.class, ((StrategyMachine) machine).getStrategy());
+        BattleSimulator.Result result = new BattleSimulator(200).run(arena);
+        assertTrue(result.turns() > 0);
+    }
+
+    @Test
+    public void shouldPickTheOptionWithTheHighestScore() {
+        float[] none = new float[LearnedStrategy.FEATURES];
+        float[] status = new float[LearnedStrategy.FEATURES];
+        status[4] = 1f;
+        float[] health = new float[LearnedStrategy.FEATURES];
+        health[1] = 1f;
+
+        List<Attack> attacks = machine.getActivePokemon().getAtaques();
+        int move = new LearnedStrategy(new LearnedStrategy.Model(status, none)).selectAttack(machine, arena);
+        assertEquals(attacks.stream().anyMatch(a -> a instanceof StatusAttack),
+            attacks.get(move) instanceof StatusAttack);
+
+        // Con el pokémon del segundo puesto herido se prefiere el tercero
+        machine.getPokemons().get(1).setPs(1);
+        assertEquals(2, new LearnedStrategy(new LearnedStrategy.Model(none, health)).selectPokemon(machine, arena));
+    }
+
+    @Test
+    public void shouldLoadTheModelWrittenToTheDataDirectory(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve(LearnedStrategy.Model.FILE);
+        assertEquals(LearnedStrategy.Model.DEFAULT, LearnedStrategy.Model.loadOrDefault(file));
+
+        LearnedStrategy.Model trained = new LearnedTrainer(2, 2).train(LearnedStrategy.Model.DEFAULT, 20, 2, 7);
+        assertEquals(trained, new LearnedTrainer(2, 1).train(LearnedStrategy.Model.DEFAULT, 20, 2, 7));
+        trained.write(file);
+        assertEquals(trained, LearnedStrategy.Model.loadOrDefault(file));
+        assertEquals(trained, new LearnedStrategy(LearnedStrategy.Model.load(file)).getModel());
+
+        Files.writeString(file, "{\"move\":[1,2]}");
+        assertEquals(LearnedStrategy.Model.DEFAULT, LearnedStrategy.Model.loadOrDefault(file));
+    }
+}
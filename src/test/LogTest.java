@@ -0,0 +1,50 @@
+package test;
+
+import domain.Log;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogTest {
+
+    @Test
+    public void shouldWriteARepeatedTraceOnlyOnce(@TempDir Path dir) throws IOException {
+        Log log = new Log(dir.resolve("errores").toString(), Log.FILE_LIMIT, 2);
+        IllegalStateException error = new IllegalStateException("fallo");
+        for (int i = 0; i < 3; i++) {
+            log.write(error);
+        }
+        log.close();
+
+        String content = Files.readString(dir.resolve("errores.0.log"));
+        String firstFrame = error.getStackTrace()[0].toString();
+        assertEquals(content.indexOf(firstFrame), content.lastIndexOf(firstFrame));
+        assertTrue(content.contains("(repetida 2 veces)"));
+        assertTrue(content.contains("repetida 3 veces en total."));
+    }
+
+    @Test
+    public void shouldRotateWhenTheFileIsFull(@TempDir Path dir) {
+        Log log = new Log(dir.resolve("errores").toString(), 1024, 2);
+        for (int depth = 0; depth < 40; depth++) {
+            log.write(nested(depth));
+        }
+        log.close();
+
+        assertTrue(Files.isRegularFile(dir.resolve("errores.0.log")));
+        assertTrue(Files.isRegularFile(dir.resolve("errores.1.log")));
+        assertFalse(Files.exists(dir.resolve("errores.2.log")));
+    }
+
+    /**
+     * Excepción con una traza distinta para cada profundidad.
+     */
+    private static Exception nested(int depth) {
+        return depth == 0 ? new Exception("profundo") : nested(depth - 1);
+    }
+}
@@ -0,0 +1,104 @@
+package test;
+
+import domain.BattleArenaNormal;
+import domain.BattleModel;
+import domain.BattleState;
+import domain.MachinePrefetcher;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import domain.SearchStrategy;
+import domain.StrategyMachine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MachinePrefetcherTest {
+    private BattleArenaNormal arena;
+    private StrategyMachine machine;
+    private SearchStrategy strategy;
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        System.setProperty(SearchStrategy.BUDGET_PROPERTY, "300");
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(5);
+        arena.setupMachineVsMachine("Rival", "Search",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            "Expert", "Search");
+        machine = (StrategyMachine) arena.getCoach(1);
+        strategy = (SearchStrategy) machine.getStrategy();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(SearchStrategy.BUDGET_PROPERTY);
+    }
+
+    @Test
+    public void shouldPredictStatesAfterRivalAction() {
+        BattleState now = arena.snapshot();
+        List<MachinePrefetcher.Prediction> predictions = MachinePrefetcher.predict(new BattleModel(arena), now);
+
+        assertFalse(predictions.isEmpty());
+        assertTrue(predictions.size() <= MachinePrefetcher.MAX_PREDICTIONS);
+        for (int i = 0; i < predictions.size(); i++) {
+            BattleState state = predictions.get(i).state();
+            assertEquals(1, state.getCurrentTurn());
+            assertEquals(now.getTurnNumber() + 1, state.getTurnNumber());
+            if (i > 0) {
+                assertTrue(predictions.get(i - 1).weight() >= predictions.get(i).weight());
+            }
+        }
+    }
+
+    @Test
+    public void shouldAnswerInstantlyWhenPredictionHappens() {
+        BattleModel model = new BattleModel(arena);
+        List<MachinePrefetcher.Prediction> predictions = MachinePrefetcher.predict(model, arena.snapshot());
+        for (MachinePrefetcher.Prediction prediction : predictions) {
+            strategy.prefetch(model, prediction.state(), 1, () -> false);
+        }
+        assertEquals(predictions.size(), strategy.prefetchedCount());
+
+        arena.restore(predictions.get(0).state());
+        long start = System.nanoTime();
+        strategy.decide(machine, arena);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < strategy.getBudgetMillis() / 2, "La decisión tardó " + elapsedMillis + " ms");
+        assertEquals(0, strategy.prefetchedCount());
+    }
+
+    @Test
+    public void shouldAbandonACancelledPrefetch() throws Exception {
+        SearchStrategy slow = new SearchStrategy(10_000);
+        BattleModel model = new BattleModel(arena);
+        BattleState predicted = MachinePrefetcher.predict(model, arena.snapshot()).get(0).state();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Thread prefetch = new Thread(() -> slow.prefetch(model, predicted, 1, cancelled::get));
+        prefetch.start();
+        Thread.sleep(50);
+        cancelled.set(true);
+        prefetch.join(2000);
+
+        assertFalse(prefetch.isAlive(), "La búsqueda cancelada sigue en marcha");
+        assertEquals(0, slow.prefetchedCount());
+    }
+
+    @Test
+    public void shouldPrefetchInBackground() throws InterruptedException {
+        new MachinePrefetcher().start(arena, machine);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (strategy.prefetchedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(strategy.prefetchedCount() > 0);
+    }
+}
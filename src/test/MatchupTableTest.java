@@ -0,0 +1,108 @@
+package test;
+
+import domain.Attack;
+import domain.AttributeType;
+import domain.BattleArenaNormal;
+import domain.BattleState;
+import domain.MatchupTable;
+import domain.Pokemon;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import domain.StatusAttack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchupTableTest {
+    /** Fuente que hace acertar siempre: nextInt(100) devuelve 0. */
+    private static final RandomGenerator ALWAYS_HIT = () -> 0L;
+
+    private BattleArenaNormal arena;
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(11);
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(available.subList(0, 5)), new ArrayList<>(available.subList(5, 10)),
+            "Expert", "Changing");
+    }
+
+    @Test
+    public void shouldMatchTheDamageOfTheAttacks() {
+        MatchupTable table = arena.getMatchups();
+        BattleState start = arena.snapshot();
+        for (int c = 0; c < 2; c++) {
+            List<Pokemon> team = arena.getCoach(c).getPokemons();
+            List<Pokemon> rivals = arena.getCoach(1 - c).getPokemons();
+            for (int s = 0; s < team.size(); s++) {
+                List<Attack> attacks = team.get(s).getAtaques();
+                for (int m = 0; m < attacks.size(); m++) {
+                    if (attacks.get(m) instanceof StatusAttack) {
+                        assertEquals(0, table.damage(c, s, m, 0));
+                        continue;
+                    }
+                    for (int r = 0; r < rivals.size(); r++) {
+                        int expected = attacks.get(m).calcDaño(team.get(s), rivals.get(r), ALWAYS_HIT);
+                        assertEquals(expected, table.damage(c, s, m, r));
+                    }
+                }
+            }
+        }
+        arena.restore(start);
+        assertSame(table, arena.getMatchups());
+    }
+
+    @Test
+    public void shouldRecomputeOnlyAfterTheStatsChange() {
+        MatchupTable table = arena.getMatchups();
+        BattleState start = arena.snapshot();
+        Pokemon attacker = arena.getCoach(0).getPokemons().get(1);
+        Pokemon defender = arena.getCoach(1).getPokemons().get(2);
+        int move = firstDamagingMove(attacker);
+        int before = table.damage(0, 1, move, 2);
+        double speed = table.speedRatio(1, 2, 1);
+
+        AttributeType.SPECIAL_ATTACK.apply(attacker, attacker.getSpecialAttack());
+        AttributeType.SPEED.apply(attacker, 10);
+        int boosted = table.damage(0, 1, move, 2);
+        assertTrue(boosted > before);
+        assertEquals((double) defender.getSpeed() / attacker.getSpeed(), table.speedRatio(1, 2, 1));
+        assertTrue(table.speedRatio(1, 2, 1) < speed);
+
+        // Restaurar un estado anterior también invalida las entradas afectadas
+        arena.restore(start);
+        assertEquals(before, table.damage(0, 1, move, 2));
+        assertEquals(speed, table.speedRatio(1, 2, 1));
+    }
+
+    @Test
+    public void shouldEstimateKnockOutsWithTheRemainingHealth() {
+        MatchupTable table = arena.getMatchups();
+        Pokemon attacker = arena.getCoach(0).getPokemons().get(0);
+        Pokemon defender = arena.getCoach(1).getPokemons().get(0);
+        int move = firstDamagingMove(attacker);
+        double hit = attacker.getAtaques().get(move).getPrecision() / 100.0;
+
+        defender.setPs(table.damage(0, 0, move, 0) + 1);
+        assertEquals(0.0, table.koProbability(0, 0, move, 0));
+        defender.setPs(table.damage(0, 0, move, 0));
+        assertEquals(hit, table.koProbability(0, 0, move, 0));
+        assertEquals(table.damage(0, 0, move, 0) * hit, table.expectedDamage(0, 0, move, 0));
+    }
+
+    private static int firstDamagingMove(Pokemon pokemon) {
+        List<Attack> attacks = pokemon.getAtaques();
+        for (int m = 0; m < attacks.size(); m++) {
+            if (!(attacks.get(m) instanceof StatusAttack)) {
+                return m;
+            }
+        }
+        throw new IllegalStateException(pokemon.getName() + " solo tiene ataques de estado");
+    }
+}
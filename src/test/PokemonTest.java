@@ -3,6 +3,7 @@ package test;
 import domain.Pokemon;
 import domain.Attack;
 import domain.AttackFactory;
+import domain.PokemonFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -62,4 +63,31 @@ public class PokemonTest {
         Raichu.setPs(-10);
         assertEquals(0, Raichu.getPs());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldShareSpeciesButNotBattleState() {
+        Pokemon first = PokemonFactory.createPokemon("Charizard");
+        Pokemon second = PokemonFactory.createPokemon("Charizard");
+        assertSame(first.getSpecies(), second.getSpecies());
+        assertSame(PokemonFactory.getSpecies("Charizard"), first.getSpecies());
+
+        first.setPs(10);
+        first.setSpeed(first.getSpeed() + 10);
+        assertEquals(second.getTotalPs(), second.getPs());
+        assertEquals(first.getSpecies().speed(), second.getSpeed());
+    }
+
+    @Test
+    public void shouldAddressAttacksByIndex() {
+        Pokemon snorlax = PokemonFactory.createPokemon("Snorlax");
+        snorlax.addAttack(AttackFactory.createAttack("Chispa"));
+        snorlax.addAttack(AttackFactory.createAttack("Cascada"));
+        assertEquals(1, snorlax.indexOfAtaque("Cascada"));
+        assertEquals(-1, snorlax.indexOfAtaque("Hidrobomba"));
+        snorlax.getAtaque(1).usarAtaque();
+        assertEquals(4, snorlax.getPPDeAtaque(1));
+        assertEquals(5, snorlax.getPPMaxDeAtaque(1));
+        assertEquals(4, snorlax.getPPDeAtaque("Cascada"));
+        assertNull(snorlax.getAtaque(4));
+    }
+}
@@ -0,0 +1,52 @@
+package test;
+
+import domain.Pokemon;
+import domain.PokemonSpecies;
+import domain.PokemonType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PokemonTypeTest {
+
+    @Test
+    public void shouldResolveTypeByName() {
+        assertEquals(PokemonType.FUEGO, PokemonType.fromName("Fuego"));
+        assertEquals(PokemonType.VOLADOR, PokemonType.fromName("Volador"));
+        assertNull(PokemonType.fromName("Desconocido"));
+        assertNull(PokemonType.fromName(null));
+    }
+
+    @Test
+    public void shouldKeepTableOrder() {
+        for (int i = 0; i < PokemonType.COUNT; i++) {
+            assertEquals(i, PokemonType.fromIndex(i).ordinal());
+        }
+        assertEquals(PokemonType.COUNT, PokemonType.values().length);
+    }
+
+    @Test
+    public void shouldLookUpEffectiveness() {
+        assertEquals(2.0, PokemonType.AGUA.against(PokemonType.FUEGO));
+        assertEquals(0.5, PokemonType.FUEGO.against(PokemonType.AGUA));
+        assertEquals(0.0, PokemonType.NORMAL.against(PokemonType.FANTASMA));
+        assertEquals(0.0, PokemonType.ELECTRICO.against(PokemonType.TIERRA));
+    }
+
+    @Test
+    public void shouldMultiplyForDualTypeDefender() {
+        assertEquals(4.0, PokemonType.HIELO.against(PokemonType.TIERRA, PokemonType.VOLADOR));
+        assertEquals(0.0, PokemonType.TIERRA.against(PokemonType.ROCA, PokemonType.VOLADOR));
+        assertEquals(2.0, PokemonType.AGUA.against(PokemonType.FUEGO, null));
+
+        Pokemon gyarados = new Pokemon(new PokemonSpecies("Gyarados", 130, 394, 287, 240, 383, 328, 284,
+            "Agua", PokemonType.AGUA, PokemonType.VOLADOR, 100));
+        assertEquals(4.0, PokemonType.multiplier(PokemonType.ELECTRICO, gyarados));
+    }
+
+    @Test
+    public void shouldTreatUnknownTypeAsNormal() {
+        assertEquals(0.0, PokemonType.multiplier(null, PokemonType.FANTASMA));
+        assertEquals(2.0, PokemonType.multiplier(PokemonType.LUCHA, (PokemonType) null));
+    }
+}
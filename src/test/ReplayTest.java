@@ -0,0 +1,178 @@
+package test;
+
+import domain.BattleArenaNormal;
+import domain.BattleEvent;
+import domain.BattleSimulator;
+import domain.Coach;
+import domain.ItemFactory;
+import domain.Machine;
+import domain.Pokemon;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import domain.ReplayReader;
+import domain.ReplayWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayTest {
+    private BattleArenaNormal arena;
+    private List<BattleEvent> events;
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(11);
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            "Expert", "Attacking");
+        events = new ArrayList<>();
+        arena.addListener(events::add);
+    }
+
+    @Test
+    public void shouldEmitAttackAndDamageEvents() throws PoobkemonException {
+        new BattleSimulator(20).run(arena);
+        assertTrue(events.stream().anyMatch(e -> e.type() == BattleEvent.Type.ATTACK));
+        for (BattleEvent event : events) {
+            if (event.type() == BattleEvent.Type.DAMAGE) {
+                Pokemon target = arena.getCoach(event.coach()).getPokemons().get(event.slot());
+                assertTrue(event.value() <= target.getTotalPs());
+            }
+        }
+    }
+
+    @Test
+    public void shouldReconstructFinalStateFromReplay() throws IOException, PoobkemonException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int[][] initialPs = currentPs();
+        ReplayWriter writer = ReplayWriter.record(arena, bytes);
+        new BattleSimulator().run(arena);
+        writer.close();
+
+        ReplayReader replay = ReplayReader.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(events, replay.getEvents());
+        assertEquals("CPU 1", replay.getTeams().get(0).coachName());
+
+        ReplayReader.State start = replay.stateAt(0);
+        ReplayReader.State end = replay.stateAt(replay.getLastTurn() + 1);
+        for (int c = 0; c < 2; c++) {
+            Coach coach = arena.getCoach(c);
+            assertEquals(coach.getActivePokemonIndex(), end.getActiveIndex(c));
+            for (int s = 0; s < coach.getPokemons().size(); s++) {
+                Pokemon pokemon = coach.getPokemons().get(s);
+                assertEquals(initialPs[c][s], start.getPs(c, s));
+                assertEquals(pokemon.getPs(), end.getPs(c, s));
+                for (int m = 0; m < pokemon.getAtaques().size(); m++) {
+                    assertEquals(pokemon.getAtaques().get(m).getPowerPoint(), end.getPowerPoint(c, s, m));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReconstructItemsRevivesAndFleeFromReplay() throws IOException, PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        List<String> attacks = Poobkemon.getAvailableAttacks();
+        String[][] moves = new String[3][4];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                moves[i][j] = attacks.get((i + j) % attacks.size());
+            }
+        }
+        arena = new BattleArenaNormal(11);
+        arena.setupCoaches("Ash", "Gary",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            new ArrayList<>(List.of("Poción", "Poción", "Revive")), new ArrayList<>(List.of("Superpoción")),
+            moves, moves, true);
+        Coach ash = arena.getCoach(0);
+        ash.getActivePokemon().setPs(10);
+        ash.getPokemons().get(1).setPs(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayWriter writer = ReplayWriter.record(arena, bytes);
+        arena.useItem(ItemFactory.getItemId("Poción"), true);
+        arena.revivirPokemon(true, ash.getPokemons().get(1).getName());
+        arena.eliminarItem(true, ItemFactory.getItemId("Revive"));
+        arena.flee();
+        writer.close();
+
+        ReplayReader replay = ReplayReader.read(new ByteArrayInputStream(bytes.toByteArray()));
+        ReplayReader.State start = replay.stateAt(0);
+        ReplayReader.State end = replay.stateAt(replay.getLastTurn() + 1);
+        assertEquals(List.of("Poción", "Poción", "Revive"), start.getItems(0));
+        assertEquals(0, start.getPs(0, 1));
+        assertEquals(ash.getNombreItems(), end.getItems(0));
+        assertEquals(List.of("Poción"), end.getItems(0));
+        assertEquals(List.of("Superpoción"), end.getItems(1));
+        for (int s = 0; s < ash.getPokemons().size(); s++) {
+            assertEquals(ash.getPokemons().get(s).getPs(), end.getPs(0, s));
+        }
+        assertTrue(end.getPs(0, 1) > 0);
+        assertTrue(end.hasFled(0));
+    }
+
+    @Test
+    public void shouldRecordAMachineReplacingAFaintedPokemon() throws IOException {
+        Machine machine = (Machine) arena.getCurrentCoach();
+        int coach = arena.getCurrentTurn();
+        machine.getActivePokemon().setPs(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayWriter writer = ReplayWriter.record(arena, bytes);
+        assertTrue(machine.executeTurn(arena));
+        writer.close();
+
+        assertNotEquals(0, machine.getActivePokemonIndex());
+        assertTrue(events.stream().anyMatch(e -> e.type() == BattleEvent.Type.SWITCH && e.coach() == coach));
+        ReplayReader replay = ReplayReader.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(0, replay.stateAt(0).getActiveIndex(coach));
+        assertEquals(machine.getActivePokemonIndex(), replay.stateAt(replay.getLastTurn() + 1).getActiveIndex(coach));
+    }
+
+    @Test
+    public void shouldRecordTheFacadesMachineReplacement() throws IOException, PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        Poobkemon game = new Poobkemon();
+        game.startBattleMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            "Expert", "Attacking");
+        Coach machine = game.getBattleArena().getCurrentCoach();
+        int coach = game.getBattleArena().getCurrentTurn();
+        machine.getActivePokemon().setPs(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayWriter writer = ReplayWriter.record(game.getBattleArena(), bytes);
+        assertTrue(game.playMachineTurn().startsWith("La máquina cambió"));
+        writer.close();
+
+        ReplayReader replay = ReplayReader.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(machine.getActivePokemonIndex(), replay.stateAt(replay.getLastTurn() + 1).getActiveIndex(coach));
+        assertNotEquals(0, machine.getActivePokemonIndex());
+    }
+
+    @Test
+    public void shouldRejectInvalidReplay() {
+        byte[] garbage = {1, 2, 3, 4, 5, 6};
+        assertThrows(IOException.class, () -> ReplayReader.read(new ByteArrayInputStream(garbage)));
+    }
+
+    private int[][] currentPs() {
+        int[][] ps = new int[2][];
+        for (int c = 0; c < 2; c++) {
+            List<Pokemon> pokemons = arena.getCoach(c).getPokemons();
+            ps[c] = new int[pokemons.size()];
+            for (int s = 0; s < pokemons.size(); s++) {
+                ps[c][s] = pokemons.get(s).getPs();
+            }
+        }
+        return ps;
+    }
+}
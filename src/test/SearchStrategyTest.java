@@ -0,0 +1,113 @@
+package test;
+
+import domain.BattleArenaNormal;
+import domain.BattleModel;
+import domain.BattleSimulator;
+import domain.BattleState;
+import domain.Machine;
+import domain.Pokemon;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import domain.SearchStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchStrategyTest {
+    private BattleArenaNormal arena;
+    private Machine machine;
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        System.setProperty(SearchStrategy.BUDGET_PROPERTY, "20");
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(7);
+        arena.setupMachineVsMachine("Search", "Expert",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            "Search", "Expert");
+        machine = (Machine) arena.getCoach(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(SearchStrategy.BUDGET_PROPERTY);
+    }
+
+    @Test
+    public void shouldDecideWithinBudget() {
+        SearchStrategy strategy = new SearchStrategy(50);
+        long start = System.nanoTime();
+        SearchStrategy.Decision decision = strategy.decide(machine, arena);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1000, "La búsqueda tardó " + elapsedMillis + " ms");
+        assertTrue(decision.depth() >= 1);
+        assertTrue(decision.attack() < machine.getActivePokemon().getAtaques().size());
+    }
+
+    @Test
+    public void shouldFallBackToTheStrongestAttackWhenNoDepthFinishes() {
+        SearchStrategy strategy = new SearchStrategy(50);
+        // Interrumpido, ni la primera profundidad termina
+        Thread.currentThread().interrupt();
+        SearchStrategy.Decision decision;
+        try {
+            decision = strategy.decide(machine, arena);
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertNotNull(decision);
+        assertEquals(0, decision.depth());
+        assertEquals(BattleModel.ATTACK, decision.action());
+        BattleModel model = new BattleModel(arena);
+        BattleState state = arena.snapshot();
+        state.setCurrentTurn(0);
+        int slot = state.getActiveIndex(0);
+        int rivalSlot = state.getActiveIndex(1);
+        double chosen = expectedDamage(model, state, slot, decision.attack(), rivalSlot);
+        for (int move = 0; move < machine.getActivePokemon().getAtaques().size(); move++) {
+            assertTrue(expectedDamage(model, state, slot, move, rivalSlot) <= chosen);
+        }
+    }
+
+    private static double expectedDamage(BattleModel model, BattleState state, int slot, int move, int rivalSlot) {
+        if (!model.isUsable(state, 0, slot, move)) {
+            return 0;
+        }
+        return model.chance(state, BattleModel.action(BattleModel.ATTACK, move)) * model.damage(state, 0, slot, move, rivalSlot);
+    }
+
+    @Test
+    public void shouldNeverExceedTurnTime() {
+        SearchStrategy strategy = new SearchStrategy(Long.MAX_VALUE);
+        assertTrue(strategy.getBudgetMillis() < domain.BattleArena.MAX_TIME_SECONDS * 1000L);
+    }
+
+    @Test
+    public void shouldAttackWhenRivalIsAboutToFaint() {
+        Machine rival = (Machine) arena.getCoach(1);
+        for (Pokemon pokemon : rival.getPokemons()) {
+            pokemon.setPs(0);
+        }
+        rival.getActivePokemon().setPs(1);
+
+        SearchStrategy.Decision decision = new SearchStrategy(50).decide(machine, arena);
+        assertEquals(BattleModel.ATTACK, decision.action());
+        assertTrue(decision.value() > 0);
+    }
+
+    @Test
+    public void shouldPlayCompleteBattle() throws PoobkemonException {
+        BattleSimulator.Result result = new BattleSimulator(60).run(arena);
+        assertTrue(result.turns() > 0);
+        for (Pokemon pokemon : machine.getPokemons()) {
+            assertTrue(pokemon.getPs() >= 0 && pokemon.getPs() <= pokemon.getTotalPs());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package test;
+
+import domain.BattleArena;
+import domain.BattleArenaNormal;
+import domain.BattleModel;
+import domain.BattleSimulator;
+import domain.EnsembleStrategy;
+import domain.ExpertStrategy;
+import domain.Machine;
+import domain.MachineFactory;
+import domain.MachineStrategy;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import domain.SearchStrategy;
+import domain.StrategyMachine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StrategyMachineTest {
+    private BattleArenaNormal arena;
+    private StrategyMachine machine;
+
+    /** Estrategia que siempre responde lo mismo. */
+    private record Fixed(int action, int attack, int item, int pokemon) implements MachineStrategy {
+        @Override
+        public int decideAction(Machine machine, BattleArena battleArena) {
+            return action;
+        }
+
+        @Override
+        public int selectAttack(Machine machine, BattleArena battleArena) {
+            return attack;
+        }
+
+        @Override
+        public int selectItem(Machine machine, BattleArena battleArena) {
+            return item;
+        }
+
+        @Override
+        public int selectPokemon(Machine machine, BattleArena battleArena) {
+            return pokemon;
+        }
+
+        @Override
+        public boolean shouldFlee(Machine machine, BattleArena battleArena) {
+            return action == 0;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(3);
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            "Expert", "Search");
+        machine = (StrategyMachine) arena.getCoach(0);
+    }
+
+    @Test
+    public void shouldCreateEveryTypeAsAStrategyMachine() {
+        assertEquals("Expert", machine.getMachineType());
+        assertInstanceOf(ExpertStrategy.class, machine.getStrategy());
+        StrategyMachine search = (StrategyMachine) arena.getCoach(1);
+        assertInstanceOf(SearchStrategy.class, search.getStrategy());
+        assertTrue(search.supportsPrefetch());
+        assertFalse(machine.supportsPrefetch());
+    }
+
+    @Test
+    public void shouldSwapStrategiesInTheMiddleOfABattle() {
+        machine.setStrategy(new Fixed(BattleModel.ITEM, 1, -1, 2));
+        assertEquals(1, machine.selectMove());
+        assertEquals(2, machine.selectBestPokemon());
+        // Sin ítems no se usa ninguno aunque la estrategia lo pida
+        assertFalse(machine.shouldUseItem());
+
+        machine.setStrategy(new Fixed(BattleModel.ATTACK, 3, -1, 0));
+        assertEquals(3, machine.selectMove());
+        assertEquals("Expert", machine.getMachineType());
+    }
+
+    @Test
+    public void shouldFollowTheMajorityOfTheEnsemble() {
+        EnsembleStrategy ensemble = new EnsembleStrategy(
+            new Fixed(BattleModel.ATTACK, 0, -1, 1),
+            new Fixed(BattleModel.SWITCH, 2, -1, 2),
+            new Fixed(BattleModel.SWITCH, 2, 4, 1));
+        assertEquals(BattleModel.SWITCH, ensemble.decideAction(machine, arena));
+        assertEquals(2, ensemble.selectAttack(machine, arena));
+        assertEquals(1, ensemble.selectPokemon(machine, arena));
+        // Las respuestas vacías no votan
+        assertEquals(4, ensemble.selectItem(machine, arena));
+        assertFalse(ensemble.shouldFlee(machine, arena));
+
+        // En un empate gana la primera estrategia
+        EnsembleStrategy tie = new EnsembleStrategy(new Fixed(0, 3, -1, 0), new Fixed(0, 1, -1, 0));
+        assertEquals(3, tie.selectAttack(machine, arena));
+        assertTrue(tie.shouldFlee(machine, arena));
+    }
+
+    @Test
+    public void shouldPlayABattleWithAnEnsemble() throws PoobkemonException {
+        machine.setStrategy(new EnsembleStrategy(new ExpertStrategy(),
+            MachineFactory.createStrategy(MachineFactory.MachineType.ATTACKING),
+            MachineFactory.createStrategy(MachineFactory.MachineType.CHANGING)));
+        ((StrategyMachine) arena.getCoach(1)).setStrategy(
+            MachineFactory.createStrategy(MachineFactory.MachineType.DEFENSIVE));
+        BattleSimulator.Result result = new BattleSimulator(200).run(arena);
+        assertTrue(result.turns() > 0);
+    }
+}
@@ -0,0 +1,40 @@
+package test;
+
+import domain.MachineFactory;
+import domain.Tournament;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+    private static final List<MachineFactory.MachineType> TYPES = List.of(
+        MachineFactory.MachineType.ATTACKING, MachineFactory.MachineType.DEFENSIVE,
+        MachineFactory.MachineType.CHANGING, MachineFactory.MachineType.EXPERT);
+    private static final int BATTLES_PER_PAIR = 2;
+
+    @Test
+    public void shouldGiveTheSameStandingsForTheSameSeedWhateverTheParallelism() {
+        Tournament.Standings sequential = new Tournament(2, BATTLES_PER_PAIR, 1).play(TYPES, 42);
+        Tournament.Standings parallel = new Tournament(2, BATTLES_PER_PAIR, 2).play(TYPES, 42);
+
+        assertEquals(TYPES, parallel.types());
+        assertArrayEquals(sequential.wins(), parallel.wins());
+        assertArrayEquals(sequential.losses(), parallel.losses());
+        assertArrayEquals(sequential.draws(), parallel.draws());
+    }
+
+    @Test
+    public void shouldCountEveryBattleOfEachPair() {
+        Tournament.Standings standings = new Tournament(2, BATTLES_PER_PAIR, 2).play(TYPES, 7);
+
+        for (int row = 0; row < TYPES.size(); row++) {
+            for (int column = 0; column < TYPES.size(); column++) {
+                assertEquals(BATTLES_PER_PAIR,
+                    standings.wins()[row][column] + standings.losses()[row][column] + standings.draws()[row][column],
+                    TYPES.get(row) + " contra " + TYPES.get(column));
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package test;
+
+import domain.BattleArenaNormal;
+import domain.BattleModel;
+import domain.MachineFactory;
+import domain.MachineStrategy;
+import domain.Pokemon;
+import domain.Poobkemon;
+import domain.PoobkemonException;
+import domain.SearchStrategy;
+import domain.StrategyMachine;
+import domain.TranspositionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+    private BattleArenaNormal arena;
+    private StrategyMachine machine;
+
+    @BeforeEach
+    public void setUp() throws PoobkemonException {
+        System.setProperty(SearchStrategy.BUDGET_PROPERTY, "20");
+        List<String> available = Poobkemon.getAvailablePokemon();
+        arena = new BattleArenaNormal(11);
+        arena.setupMachineVsMachine("CPU 1", "CPU 2",
+            new ArrayList<>(available.subList(0, 3)), new ArrayList<>(available.subList(3, 6)),
+            "Search", "Expert");
+        machine = (StrategyMachine) arena.getCoach(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(SearchStrategy.BUDGET_PROPERTY);
+    }
+
+    @Test
+    public void shouldHashThePositionNotTheObjects() {
+        long key = TranspositionTable.hash(arena, 0);
+        assertEquals(key, TranspositionTable.hash(arena, 0));
+        assertNotEquals(key, TranspositionTable.hash(arena, 1));
+
+        // Un rasguño no cambia el tramo de PS; quedarse a la mitad, sí
+        Pokemon active = machine.getActivePokemon();
+        active.setPs(active.getTotalPs() - 1);
+        assertEquals(key, TranspositionTable.hash(arena, 0));
+        active.setPs(active.getTotalPs() / 2);
+        assertNotEquals(key, TranspositionTable.hash(arena, 0));
+    }
+
+    @Test
+    public void shouldHashSpeciesThatShareAnIdDifferently() {
+        List<Pokemon> team = machine.getPokemons();
+        Pokemon reserve = team.get(1);
+        team.set(1, twin(reserve, "Gemelo A"));
+        long first = TranspositionTable.hash(arena, 0);
+        team.set(1, twin(reserve, "Gemelo B"));
+        assertNotEquals(first, TranspositionTable.hash(arena, 0));
+    }
+
+    /**
+     * Especie con las mismas estadísticas e id que la del pokémon, pero otro nombre.
+     */
+    private static Pokemon twin(Pokemon pokemon, String name) {
+        return new Pokemon(name, pokemon.getId(), pokemon.getTotalPs(), pokemon.getSpeed(),
+            pokemon.getSpecialAttack(), pokemon.getPhysicalAttack(), pokemon.getSpecialDefense(),
+            pokemon.getPhysicalDefense(), pokemon.getType(), pokemon.getEvasion());
+    }
+
+    @Test
+    public void shouldKeepTheDeepestDecisionsAndPersistThem(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve(TranspositionTable.FILE);
+        try (TranspositionTable table = TranspositionTable.open(file, 8, 1L)) {
+            assertEquals(8, table.capacity());
+            assertEquals(TranspositionTable.MISS, table.probe(42));
+            table.store(42, BattleModel.SWITCH, 2, -1, 9);
+            table.store(42, BattleModel.ATTACK, 1, 1, 2);
+            long entry = table.probe(42);
+            assertEquals(BattleModel.SWITCH, TranspositionTable.action(entry));
+            assertEquals(2, TranspositionTable.index(entry));
+            assertEquals(-1, TranspositionTable.attack(entry));
+            assertEquals(9, TranspositionTable.depth(entry));
+
+            // La cubeta de 42 está en 42 % 2; al llenarla se va la menos profunda
+            for (long key = 44; key < 52; key += 2) {
+                table.store(key, BattleModel.ATTACK, 0, 0, (int) (key - 40));
+            }
+            assertNotEquals(TranspositionTable.MISS, table.probe(42));
+            assertEquals(TranspositionTable.MISS, table.probe(44));
+        }
+
+        try (TranspositionTable table = TranspositionTable.open(file, 8, 1L)) {
+            assertEquals(2, table.getGeneration());
+            assertEquals(9, TranspositionTable.depth(table.probe(42)));
+            // Lo de ejecuciones anteriores se reemplaza aunque sea más profundo
+            table.store(42, BattleModel.ATTACK, 0, 0, 1);
+            assertEquals(BattleModel.ATTACK, TranspositionTable.action(table.probe(42)));
+        }
+
+        // Con otros datos la tabla empieza vacía
+        try (TranspositionTable table = TranspositionTable.open(file, 8, 2L)) {
+            assertEquals(TranspositionTable.MISS, table.probe(42));
+        }
+    }
+
+    @Test
+    public void shouldConsultTheTableBeforeTheStrategy(@TempDir Path dir) throws IOException {
+        try (TranspositionTable table = TranspositionTable.open(dir.resolve(TranspositionTable.FILE), 64, 1L)) {
+            machine.setTranspositions(table);
+            long key = TranspositionTable.hash(arena, 0) ^ TranspositionTable.strategyKey(machine.getStrategy());
+            int move = machine.selectMove();
+            long entry = table.probe(key);
+            assertNotEquals(TranspositionTable.MISS, entry, "La decisión de la búsqueda se guarda");
+            assertEquals(move, TranspositionTable.attack(entry));
+
+            // En la misma posición se juega lo guardado
+            int other = (move + 1) % machine.getActivePokemon().getAtaques().size();
+            table.store(key, BattleModel.ATTACK, other, other, 200);
+            assertEquals(other, machine.selectMove());
+        }
+    }
+
+    @Test
+    public void shouldNotPlayAnotherStrategysDecisions(@TempDir Path dir) throws IOException {
+        try (TranspositionTable table = TranspositionTable.open(dir.resolve(TranspositionTable.FILE), 64, 1L)) {
+            machine.setTranspositions(table);
+            int move = machine.selectMove();
+            MachineStrategy attacking = MachineFactory.createStrategy(MachineFactory.MachineType.ATTACKING);
+            assertNotEquals(TranspositionTable.strategyKey(machine.getStrategy()),
+                TranspositionTable.strategyKey(attacking));
+
+            // Otra estrategia en la misma posición decide por sí misma
+            long key = TranspositionTable.hash(arena, 0) ^ TranspositionTable.strategyKey(machine.getStrategy());
+            int other = (move + 1) % machine.getActivePokemon().getAtaques().size();
+            table.store(key, BattleModel.ATTACK, other, other, 200);
+            machine.setStrategy(attacking);
+            assertEquals(attacking.selectAttack(machine, arena), machine.selectMove());
+            assertEquals(TranspositionTable.MISS,
+                table.probe(TranspositionTable.hash(arena, 0) ^ TranspositionTable.strategyKey(attacking)));
+        }
+    }
+}
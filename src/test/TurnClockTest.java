@@ -0,0 +1,74 @@
+package test;
+
+import domain.TurnClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TurnClockTest {
+
+    @Test
+    public void shouldFireWhenTurnExpires() throws InterruptedException {
+        TurnClock clock = new TurnClock(50);
+        CountDownLatch fired = new CountDownLatch(1);
+        clock.start(fired::countDown);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertFalse(clock.isRunning());
+    }
+
+    @Test
+    public void shouldNotCountPausedTime() throws InterruptedException {
+        TurnClock clock = new TurnClock(300);
+        CountDownLatch fired = new CountDownLatch(1);
+        clock.start(fired::countDown);
+        clock.pause();
+        long remaining = clock.getRemainingMillis();
+
+        assertFalse(fired.await(500, TimeUnit.MILLISECONDS));
+        assertEquals(remaining, clock.getRemainingMillis());
+
+        clock.resume();
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotFireAfterCancel() throws InterruptedException {
+        TurnClock clock = new TurnClock(50);
+        CountDownLatch fired = new CountDownLatch(1);
+        clock.start(fired::countDown);
+        clock.cancel();
+        assertFalse(fired.await(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldHandleManyClocksWithoutNewThreads() throws InterruptedException {
+        int clocks = 20_000;
+        int threadsBefore = Thread.activeCount();
+        AtomicInteger fired = new AtomicInteger();
+        List<TurnClock> waiting = new ArrayList<>();
+        for (int i = 0; i < clocks; i++) {
+            TurnClock clock = new TurnClock(i % 2 == 0 ? 20 : 60_000);
+            clock.start(fired::incrementAndGet);
+            if (i % 2 != 0) {
+                waiting.add(clock);
+            }
+        }
+        assertTrue(Thread.activeCount() - threadsBefore <= 1);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (fired.get() < clocks / 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(clocks / 2, fired.get());
+
+        // Los relojes cancelados salen de la cola del planificador
+        waiting.forEach(TurnClock::cancel);
+        assertTrue(TurnClock.pendingTasks() < clocks / 2);
+    }
+}